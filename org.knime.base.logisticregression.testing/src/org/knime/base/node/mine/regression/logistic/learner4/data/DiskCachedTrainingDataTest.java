@@ -0,0 +1,265 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerNodeFactory4;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerResult;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.Prior;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow.FeatureIterator;
+import org.knime.base.node.mine.regression.logistic.learner4.sg.SagLogRegLearner;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.workflow.SingleNodeContainer;
+
+/**
+ * Tests {@link DiskCachedTrainingData}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class DiskCachedTrainingDataTest {
+
+    private static final int ROW_COUNT = 1000;
+
+    private static final int CHUNK_SIZE = 10;
+
+    private ExecutionContext m_exec;
+
+    /** Creates the execution context. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Before
+    public void setUp() {
+        NodeFactory<NodeModel> factory = (NodeFactory)new LogRegLearnerNodeFactory4();
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(factory),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, new HashMap<Integer, ContainerTable>());
+    }
+
+    /**
+     * Each epoch returns every row exactly once with its original content and the rows of a chunk are spread over
+     * the whole table instead of being a contiguous block of it.
+     */
+    @Test
+    public void testRandomRowsPerEpoch() throws Exception {
+        final BufferedDataTable table = createTable(ROW_COUNT, 0);
+        final Map<Integer, ClassificationTrainingRow> expectedRows = new HashMap<>();
+        for (ClassificationTrainingRow row : new InMemoryData<>(table, 0L, new TestRowBuilder())) {
+            expectedRows.put(row.getId(), row);
+        }
+        try (DiskCachedTrainingData data =
+            new DiskCachedTrainingData(table, 0L, new TestRowBuilder(), CHUNK_SIZE, new ExecutionMonitor())) {
+            assertEquals(ROW_COUNT, data.getRowCount());
+            for (int epoch = 0; epoch < 3; epoch++) {
+                final BitSet visited = new BitSet(ROW_COUNT);
+                final Set<Integer> blocksOfFirstChunk = new HashSet<>();
+                for (int i = 0; i < ROW_COUNT; i++) {
+                    final ClassificationTrainingRow row = data.getRandomRow();
+                    assertTrue("Row " + row.getId() + " returned twice in epoch " + epoch, !visited.get(row.getId()));
+                    visited.set(row.getId());
+                    assertSameRow(expectedRows.get(row.getId()), row);
+                    if (i < CHUNK_SIZE) {
+                        blocksOfFirstChunk.add(row.getId() / CHUNK_SIZE);
+                    }
+                }
+                assertEquals("Not all rows visited in epoch " + epoch, ROW_COUNT, visited.cardinality());
+                assertTrue("The first chunk of epoch " + epoch + " only contains neighboring rows of the table",
+                    blocksOfFirstChunk.size() > 1);
+            }
+            final BitSet iterated = new BitSet(ROW_COUNT);
+            for (ClassificationTrainingRow row : data) {
+                iterated.set(row.getId());
+                assertSameRow(expectedRows.get(row.getId()), row);
+            }
+            assertEquals(ROW_COUNT, iterated.cardinality());
+        }
+    }
+
+    /** The order in the cache file depends only on the seed. */
+    @Test
+    public void testDeterministicWithSeed() throws Exception {
+        final BufferedDataTable table = createTable(ROW_COUNT, 1);
+        try (DiskCachedTrainingData data1 =
+                new DiskCachedTrainingData(table, 42L, new TestRowBuilder(), CHUNK_SIZE, new ExecutionMonitor());
+                DiskCachedTrainingData data2 =
+                    new DiskCachedTrainingData(table, 42L, new TestRowBuilder(), CHUNK_SIZE, new ExecutionMonitor())) {
+            for (int i = 0; i < 2 * ROW_COUNT; i++) {
+                assertEquals(data1.getRandomRow().getId(), data2.getRandomRow().getId());
+            }
+        }
+    }
+
+    /** Training on the disk cached data leads to the same model as training on the data held in memory. */
+    @Test
+    public void testSameModelAsInMemory() throws Exception {
+        final BufferedDataTable table = createTable(ROW_COUNT, 2);
+        final LogRegLearnerSettings settings = new LogRegLearnerSettings();
+        settings.setSeed(7L);
+        settings.setPrior(Prior.Gauss);
+        settings.setPriorVariance(1.0);
+        settings.setMaxEpoch(1000);
+        settings.setEpsilon(1e-8);
+        settings.setCalcCovMatrix(false);
+        final LogRegLearnerResult inMemory = new SagLogRegLearner(settings)
+            .learn(new InMemoryData<>(table, settings.getSeed(), new TestRowBuilder()), new ExecutionMonitor());
+        final LogRegLearnerResult diskCached;
+        try (DiskCachedTrainingData data = new DiskCachedTrainingData(table, settings.getSeed(),
+            new TestRowBuilder(), CHUNK_SIZE, new ExecutionMonitor())) {
+            diskCached = new SagLogRegLearner(settings).learn(data, new ExecutionMonitor());
+        }
+        final double[][] expected = inMemory.getBeta().getData();
+        final double[][] actual = diskCached.getBeta().getData();
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals("Coefficients differ for category " + i, expected[i], actual[i], 1e-3);
+        }
+        assertEquals(inMemory.getLogLike(), diskCached.getLogLike(), 1e-3);
+    }
+
+    private static void assertSameRow(final ClassificationTrainingRow expected,
+        final ClassificationTrainingRow actual) {
+        assertEquals(expected.getCategory(), actual.getCategory());
+        final FeatureIterator expectedIter = expected.getFeatureIterator();
+        final FeatureIterator actualIter = actual.getFeatureIterator();
+        while (expectedIter.next()) {
+            assertTrue(actualIter.next());
+            assertEquals(expectedIter.getFeatureIndex(), actualIter.getFeatureIndex());
+            assertEquals(expectedIter.getFeatureValue(), actualIter.getFeatureValue(), 0.0);
+        }
+        assertTrue(!actualIter.next());
+    }
+
+    /**
+     * Creates a table with two features (float precision, as the cache stores floats) and a binary target that
+     * depends on the features, with some noise.
+     */
+    private BufferedDataTable createTable(final int rowCount, final long seed) {
+        final DataTableSpec spec = new DataTableSpec(new String[]{"x1", "x2", "target"},
+            new DataType[]{DoubleCell.TYPE, DoubleCell.TYPE, IntCell.TYPE});
+        final Random random = new Random(seed);
+        final BufferedDataContainer container = m_exec.createDataContainer(spec);
+        for (int i = 0; i < rowCount; i++) {
+            final float x1 = random.nextFloat() * 2 - 1;
+            final float x2 = random.nextFloat() * 2 - 1;
+            final double p = 1 / (1 + Math.exp(-(0.5 + 2 * x1 - 3 * x2)));
+            final int target = random.nextDouble() < p ? 1 : 0;
+            container.addRowToTable(
+                new DefaultRow(RowKey.createRowKey((long)i), new DoubleCell(x1), new DoubleCell(x2), new IntCell(target)));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    /** Builds rows with the intercept and the two features of the test table. */
+    private static final class TestRowBuilder implements TrainingRowBuilder<ClassificationTrainingRow> {
+
+        @Override
+        public ClassificationTrainingRow build(final DataRow row, final int id) {
+            final float[] values = new float[]{1, (float)((DoubleValue)row.getCell(0)).getDoubleValue(),
+                (float)((DoubleValue)row.getCell(1)).getDoubleValue()};
+            return new SparseClassificationTrainingRow(values, new int[]{0, 1, 2}, id,
+                ((IntValue)row.getCell(2)).getIntValue());
+        }
+
+        @Override
+        public int getFeatureCount() {
+            return 3;
+        }
+
+        @Override
+        public int getTargetDimension() {
+            return 1;
+        }
+
+        @Override
+        public Map<Integer, List<DataCell>> getNominalDomainValues() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public List<Integer> getLearningColumns() {
+            return Arrays.asList(0, 1);
+        }
+
+        @Override
+        public Map<Integer, Integer> getVectorLengths() {
+            return Collections.emptyMap();
+        }
+    }
+}
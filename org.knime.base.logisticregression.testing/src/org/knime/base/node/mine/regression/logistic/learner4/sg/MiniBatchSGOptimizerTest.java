@@ -0,0 +1,257 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.sg;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerResult;
+import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Contains unit tests for the mini-batch mode of the {@link AbstractSGOptimizer}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class MiniBatchSGOptimizerTest {
+
+    private static final int N_ROWS = 200;
+
+    private static final int N_FEATURES = 4;
+
+    private static final int N_CATS = 3;
+
+    private ThreadPool m_pool;
+
+    /** Creates the pool to calculate the gradients with. */
+    @Before
+    public void setUp() {
+        m_pool = new ThreadPool(4);
+    }
+
+    /** Shuts the pool down. */
+    @After
+    public void tearDown() {
+        m_pool.shutdown();
+    }
+
+    /**
+     * Mini-batches of size 1 must lead to the very same coefficients as the sequential processing.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMiniBatchSizeOneEager() throws Exception {
+        final ClassificationTrainingRow[] rows = createRows(0);
+        final LogRegLearnerResult sequential = optimize(createEagerOptimizer(rows, 1e-10), 20);
+        final LogRegLearnerResult miniBatch = optimize(createEagerOptimizer(rows, 1e-10), 20, 1);
+        checkEquality(sequential, miniBatch, 1e-12);
+        assertEquals(sequential.getIter(), miniBatch.getIter());
+    }
+
+    /**
+     * Mini-batches of size 1 must lead to the very same coefficients as the sequential processing.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMiniBatchSizeOneLazy() throws Exception {
+        final ClassificationTrainingRow[] rows = createRows(1);
+        final LogRegLearnerResult sequential = optimize(createLazyOptimizer(rows, 1e-10), 20);
+        final LogRegLearnerResult miniBatch = optimize(createLazyOptimizer(rows, 1e-10), 20, 1);
+        checkEquality(sequential, miniBatch, 1e-12);
+        assertEquals(sequential.getIter(), miniBatch.getIter());
+    }
+
+    /**
+     * Training with larger mini-batches converges to the same coefficients as the sequential training.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMiniBatchConvergesEager() throws Exception {
+        final ClassificationTrainingRow[] rows = createRows(2);
+        final LogRegLearnerResult sequential = optimize(createEagerOptimizer(rows, 1e-10), 5000);
+        for (int miniBatchSize : new int[]{5, 20}) {
+            final LogRegLearnerResult miniBatch = optimize(createEagerOptimizer(rows, 1e-10), 5000, miniBatchSize);
+            checkEquality(sequential, miniBatch, 1e-3);
+        }
+    }
+
+    /**
+     * Training with larger mini-batches converges to the same coefficients as the sequential training.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMiniBatchConvergesLazy() throws Exception {
+        final ClassificationTrainingRow[] rows = createRows(3);
+        final LogRegLearnerResult sequential = optimize(createLazyOptimizer(rows, 1e-10), 5000);
+        for (int miniBatchSize : new int[]{5, 20}) {
+            final LogRegLearnerResult miniBatch = optimize(createLazyOptimizer(rows, 1e-10), 5000, miniBatchSize);
+            checkEquality(sequential, miniBatch, 1e-3);
+        }
+    }
+
+    private static LogRegLearnerResult optimize(
+        final AbstractSGOptimizer<ClassificationTrainingRow, ?, ?> optimizer, final int maxEpoch)
+        throws CanceledExecutionException {
+        return optimizer.optimize(maxEpoch, optimizer.getData(), new NoProgress());
+    }
+
+    private LogRegLearnerResult optimize(final AbstractSGOptimizer<ClassificationTrainingRow, ?, ?> optimizer,
+        final int maxEpoch, final int miniBatchSize) throws CanceledExecutionException {
+        optimizer.setMiniBatches(miniBatchSize, m_pool);
+        return optimize(optimizer, maxEpoch);
+    }
+
+    private static AbstractSGOptimizer<ClassificationTrainingRow, ?, ?>
+        createEagerOptimizer(final ClassificationTrainingRow[] rows, final double epsilon) {
+        return new EagerSgOptimizer<>(new MockTrainingData(rows), MultinomialLoss.INSTANCE,
+            new EagerSagUpdater.EagerSagUpdaterFactory<ClassificationTrainingRow>(N_ROWS, N_FEATURES, N_CATS - 1),
+            new EagerPriorUpdater(new GaussPrior(1.0), N_ROWS, true), new FixedLearningRateStrategy<>(0.1),
+            new BetaChangeStoppingCriterion<>(N_FEATURES, N_CATS - 1, epsilon), false);
+    }
+
+    private static AbstractSGOptimizer<ClassificationTrainingRow, ?, ?>
+        createLazyOptimizer(final ClassificationTrainingRow[] rows, final double epsilon) {
+        return new LazySGOptimizer<>(new MockTrainingData(rows), MultinomialLoss.INSTANCE,
+            new LazySagUpdater.LazySagUpdaterFactory<ClassificationTrainingRow>(N_ROWS, N_FEATURES, N_CATS - 1),
+            new LazyPriorUpdater(new GaussPrior(1.0), N_ROWS, true), new FixedLearningRateStrategy<>(0.1),
+            new BetaChangeStoppingCriterion<>(N_FEATURES, N_CATS - 1, epsilon), false);
+    }
+
+    /** Creates sparse rows whose category depends on the features. */
+    private static ClassificationTrainingRow[] createRows(final long seed) {
+        final Random random = new Random(seed);
+        final ClassificationTrainingRow[] rows = new ClassificationTrainingRow[N_ROWS];
+        for (int i = 0; i < N_ROWS; i++) {
+            final double[] features = new double[N_FEATURES - 1];
+            for (int j = 0; j < features.length; j++) {
+                features[j] = random.nextDouble() < 0.3 ? 0 : random.nextDouble() * 2 - 1;
+            }
+            final double score = features[0] - features[1] + 0.5 * random.nextGaussian();
+            final int cat = score < -0.3 ? 0 : (score < 0.3 ? 1 : 2);
+            rows[i] = new MockClassificationTrainingRow(features, i, cat);
+        }
+        return rows;
+    }
+
+    private static void checkEquality(final LogRegLearnerResult expected, final LogRegLearnerResult actual,
+        final double epsilon) {
+        final double[][] expectedBeta = expected.getBeta().getData();
+        final double[][] actualBeta = actual.getBeta().getData();
+        assertEquals(expectedBeta.length, actualBeta.length);
+        for (int i = 0; i < expectedBeta.length; i++) {
+            assertArrayEquals("Row " + i + " doesn't match. Expected " + Arrays.toString(expectedBeta[i])
+                + " but was " + Arrays.toString(actualBeta[i]), expectedBeta[i], actualBeta[i], epsilon);
+        }
+    }
+
+    /** Draws the rows with a fixed seed, i.e. two instances return the same sequence of rows. */
+    private static final class MockTrainingData implements TrainingData<ClassificationTrainingRow> {
+
+        private final ClassificationTrainingRow[] m_rows;
+
+        private final Random m_random = new Random(42);
+
+        MockTrainingData(final ClassificationTrainingRow[] rows) {
+            m_rows = rows;
+        }
+
+        @Override
+        public Iterator<ClassificationTrainingRow> iterator() {
+            return Arrays.asList(m_rows).iterator();
+        }
+
+        @Override
+        public int getRowCount() {
+            return m_rows.length;
+        }
+
+        @Override
+        public int getFeatureCount() {
+            return N_FEATURES;
+        }
+
+        @Override
+        public int getTargetDimension() {
+            return N_CATS - 1;
+        }
+
+        @Override
+        public ClassificationTrainingRow getRandomRow() {
+            return m_rows[m_random.nextInt(m_rows.length)];
+        }
+    }
+
+    private static final class NoProgress implements Progress {
+
+        @Override
+        public void setProgress(final double progress) {
+        }
+
+        @Override
+        public void setProgress(final double progress, final String message) {
+        }
+
+        @Override
+        public void checkCanceled() throws CanceledExecutionException {
+        }
+    }
+}
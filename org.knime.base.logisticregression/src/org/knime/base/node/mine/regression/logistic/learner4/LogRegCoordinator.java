@@ -48,6 +48,7 @@
  */
 package org.knime.base.node.mine.regression.logistic.learner4;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -65,7 +66,7 @@
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.Prior;
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.Solver;
 import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
-import org.knime.base.node.mine.regression.logistic.learner4.data.DataTableTrainingData;
+import org.knime.base.node.mine.regression.logistic.learner4.data.DiskCachedTrainingData;
 import org.knime.base.node.mine.regression.logistic.learner4.data.InMemoryData;
 import org.knime.base.node.mine.regression.logistic.learner4.data.SparseClassificationTrainingRowBuilder;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
@@ -163,8 +164,10 @@ String getWarningMessage() {
      * @return the content of the logistic regression model
      * @throws InvalidSettingsException if the settings cause inconsistencies during training
      * @throws CanceledExecutionException if the training is canceled
+     * @throws IOException if the training data can't be cached on disk
      */
-    LogisticRegressionContent learn(final BufferedDataTable trainingData, final ExecutionContext exec) throws InvalidSettingsException, CanceledExecutionException {
+    LogisticRegressionContent learn(final BufferedDataTable trainingData, final ExecutionContext exec)
+        throws InvalidSettingsException, CanceledExecutionException, IOException {
         CheckUtils.checkArgument(trainingData.size() > 0,
                 "The input table is empty. Please provide data to learn on.");
         CheckUtils.checkArgument(trainingData.size() <= Integer.MAX_VALUE,
@@ -180,8 +183,7 @@ LogisticRegressionContent learn(final BufferedDataTable trainingData, final Exec
         BufferedDataTable dataTable =
             recalcDomainForTargetAndLearningFields(trainingData, exec.createSubExecutionContext(calcDomainTime));
         checkConstantLearningFields(dataTable);
-        exec.setMessage("Building logistic regression model");
-        ExecutionMonitor trainExec = exec.createSubProgress(1.0 - calcDomainTime);
+        final double cacheTime = m_settings.isInMemory() ? 0.0 : calcDomainTime;
         LogRegLearnerResult result;
         TrainingRowBuilder<ClassificationTrainingRow> rowBuilder = new SparseClassificationTrainingRowBuilder(dataTable, m_pmmlOutSpec,
             m_settings.getTargetReferenceCategory(), m_settings.getSortTargetCategories(), m_settings.getSortIncludesCategories());
@@ -190,11 +192,20 @@ LogisticRegressionContent learn(final BufferedDataTable trainingData, final Exec
         if (m_settings.isInMemory()) {
             data = new InMemoryData<ClassificationTrainingRow>(dataTable, seed, rowBuilder);
         } else {
-            data = new DataTableTrainingData<ClassificationTrainingRow>(trainingData, seed,
-                    rowBuilder, m_settings.getChunkSize(), exec.createSilentSubExecutionContext(0.0));
+            exec.setMessage("Caching training data");
+            data = new DiskCachedTrainingData(dataTable, seed, rowBuilder, m_settings.getChunkSize(),
+                exec.createSubProgress(cacheTime));
+        }
+        exec.setMessage("Building logistic regression model");
+        ExecutionMonitor trainExec = exec.createSubProgress(1.0 - calcDomainTime - cacheTime);
+        try {
+            checkShapeCompatibility(data);
+            result = learner.learn(data, trainExec);
+        } finally {
+            if (data instanceof DiskCachedTrainingData) {
+                ((DiskCachedTrainingData)data).close();
+            }
         }
-        checkShapeCompatibility(data);
-        result = learner.learn(data, trainExec);
 
         LogisticRegressionContent content = createContentFromLearnerResult(result, rowBuilder, trainingData.getDataTableSpec());
 
@@ -117,6 +117,8 @@ public final class LogRegLearnerNodeDialogPane extends NodeDialogPane {
     private JCheckBox m_lazyCalculationCheckBox;
     private JSpinner m_maxEpochSpinner;
     private JCheckBox m_calcCovMatrixCheckBox;
+    private JCheckBox m_miniBatchCheckBox;
+    private JSpinner m_miniBatchSizeSpinner;
     private JTextField m_epsilonField;
 
     private JComboBox<LearningRateStrategies> m_learningRateStrategyComboBox;
@@ -151,6 +153,8 @@ public LogRegLearnerNodeDialogPane() {
 
         m_lazyCalculationCheckBox = new JCheckBox("Perform calculations lazily (more memory expensive but often faster)");
         m_calcCovMatrixCheckBox = new JCheckBox("Calculate statistics for coefficients");
+        m_miniBatchCheckBox = new JCheckBox("Process mini-batches in parallel");
+        m_miniBatchSizeSpinner = new JSpinner(new SpinnerNumberModel(100, 2, Integer.MAX_VALUE, 10));
         m_maxEpochSpinner = new JSpinner(new SpinnerNumberModel(LogRegLearnerSettings.DEFAULT_MAX_EPOCH, 1, Integer.MAX_VALUE, 1));
         m_epsilonField= new JTextField(Double.toString(LogRegLearnerSettings.DEFAULT_EPSILON), NUMBER_INPUT_FIELD_COLS);
         m_initialLearningRateField = new JTextField(Double.toString(LogRegLearnerSettings.DEFAULT_EPSILON), NUMBER_INPUT_FIELD_COLS);
@@ -219,6 +223,14 @@ public void itemStateChanged(final ItemEvent e) {
 
         });
 
+        m_miniBatchCheckBox.addActionListener(new ActionListener() {
+
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                m_miniBatchSizeSpinner.setEnabled(m_miniBatchCheckBox.isSelected());
+            }
+        });
+
         m_inMemoryCheckBox.addActionListener(new ActionListener() {
 
             @Override
@@ -298,6 +310,8 @@ private void setEnabledSGRelated(final boolean enable) {
         m_initialLearningRateField.setEnabled(enable);
         m_priorComboBox.setEnabled(enable);
         m_priorVarianceSpinner.setEnabled(enable);
+        m_miniBatchCheckBox.setEnabled(enable);
+        m_miniBatchSizeSpinner.setEnabled(enable && m_miniBatchCheckBox.isSelected());
     }
 
     private JPanel createAdvancedSettingsPanel() {
@@ -364,6 +378,13 @@ private JPanel createSolverOptionsPanel() {
         panel.add(m_lazyCalculationCheckBox, c);
         c.gridy++;
         panel.add(m_calcCovMatrixCheckBox, c);
+        c.gridy++;
+        panel.add(m_miniBatchCheckBox, c);
+        c.gridy++;
+        c.gridwidth = 1;
+        panel.add(new JLabel("Mini-batch size:"), c);
+        c.gridx++;
+        panel.add(m_miniBatchSizeSpinner, c);
 
         return panel;
     }
@@ -606,6 +627,12 @@ protected void loadSettingsFrom(final NodeSettingsRO s, final PortObjectSpec[] s
         m_maxEpochSpinner.setValue(settings.getMaxEpoch());
         m_lazyCalculationCheckBox.setSelected(settings.isPerformLazy());
         m_calcCovMatrixCheckBox.setSelected(settings.isCalcCovMatrix());
+        int miniBatchSize = settings.getMiniBatchSize();
+        m_miniBatchCheckBox.setSelected(miniBatchSize > 1);
+        if (miniBatchSize > 1) {
+            m_miniBatchSizeSpinner.setValue(miniBatchSize);
+        }
+        m_miniBatchSizeSpinner.setEnabled(m_miniBatchCheckBox.isEnabled() && miniBatchSize > 1);
         double epsilon = settings.getEpsilon();
         m_epsilonField.setText(Double.toString(epsilon));
         m_learningRateStrategyComboBox.setSelectedItem(settings.getLearningRateStrategy());
@@ -638,6 +665,7 @@ protected void saveSettingsTo(final NodeSettingsWO s) throws InvalidSettingsExce
         settings.setMaxEpoch((int)m_maxEpochSpinner.getValue());
         settings.setPerformLazy(m_lazyCalculationCheckBox.isSelected());
         settings.setCalcCovMatrix(m_calcCovMatrixCheckBox.isSelected());
+        settings.setMiniBatchSize(m_miniBatchCheckBox.isSelected() ? (int)m_miniBatchSizeSpinner.getValue() : 1);
         try {
             String str = m_epsilonField.getText();
             double epsilon = Double.valueOf(str);
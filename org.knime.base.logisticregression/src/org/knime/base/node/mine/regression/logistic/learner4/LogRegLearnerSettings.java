@@ -231,6 +231,7 @@ public boolean hasInitialValue() {
     private static final String CFG_IN_MEMORY = "inMemory";
     private static final String CFG_CHUNK_SIZE = "chunkSize";
     private static final String CFG_CALC_COVMATRIX = "calcCoefficientStatistics";
+    private static final String CFG_MINI_BATCH_SIZE = "miniBatchSize";
 
     static final Solver DEFAULT_SOLVER = Solver.SAG;
     static final boolean DEFAULT_PERFORM_LAZY = true;
@@ -244,6 +245,7 @@ public boolean hasInitialValue() {
     static final boolean DEFAULT_IN_MEMORY = true;
     static final int DEFAULT_CHUNK_SIZE = 10000;
     static final boolean DEFAULT_CALC_COVMATRIX = true;
+    static final int DEFAULT_MINI_BATCH_SIZE = 1;
 
 
     private String m_targetColumn;
@@ -264,6 +266,7 @@ public boolean hasInitialValue() {
     private boolean m_performLazy;
     private double m_epsilon;
     private boolean m_calcCovMatrix;
+    private int m_miniBatchSize;
     // learning rate strategy and relevant parameters
     private LearningRateStrategies m_learningRateStrategy;
     private double m_initialLearningRate;
@@ -297,6 +300,7 @@ public LogRegLearnerSettings() {
         m_seed = System.currentTimeMillis();
         m_chunkSize = DEFAULT_CHUNK_SIZE;
         m_calcCovMatrix = DEFAULT_CALC_COVMATRIX;
+        m_miniBatchSize = DEFAULT_MINI_BATCH_SIZE;
     }
 
 
@@ -342,6 +346,9 @@ public void loadSettings(final NodeSettingsRO settings)
 
         m_calcCovMatrix = settings.getBoolean(CFG_CALC_COVMATRIX);
 
+        // added in 3.6
+        m_miniBatchSize = settings.getInt(CFG_MINI_BATCH_SIZE, DEFAULT_MINI_BATCH_SIZE);
+
         validate();
 
 
@@ -390,6 +397,8 @@ public void loadSettingsForDialog(final NodeSettingsRO settings, final DataTable
 
         m_calcCovMatrix = settings.getBoolean(CFG_CALC_COVMATRIX, DEFAULT_CALC_COVMATRIX);
 
+        m_miniBatchSize = settings.getInt(CFG_MINI_BATCH_SIZE, DEFAULT_MINI_BATCH_SIZE);
+
     }
 
     /**
@@ -424,6 +433,7 @@ public void saveSettings(final NodeSettingsWO settings) {
         settings.addInt(CFG_CHUNK_SIZE, m_chunkSize);
 
         settings.addBoolean(CFG_CALC_COVMATRIX, m_calcCovMatrix);
+        settings.addInt(CFG_MINI_BATCH_SIZE, m_miniBatchSize);
     }
 
     /**
@@ -438,6 +448,8 @@ public void validate() throws InvalidSettingsException {
         CheckUtils.checkSetting(m_epsilon >= 0, "Epsilon must be positive but was %g.", m_epsilon);
         CheckUtils.checkSetting(m_initialLearningRate > 0, "The initial learning rate must be larger than 0 but was %g.", m_initialLearningRate);
         CheckUtils.checkSetting(m_chunkSize > 0, "The chunk size must be larger than 0 but was %d", m_chunkSize);
+        CheckUtils.checkSetting(m_miniBatchSize > 0, "The mini-batch size must be larger than 0 but was %d",
+            m_miniBatchSize);
 
     }
 
@@ -731,6 +743,24 @@ public void setChunkSize(final int chunkSize) {
     }
 
 
+    /**
+     * @return the number of rows per mini-batch, 1 if the rows are processed one by one
+     * @since 3.6
+     */
+    public int getMiniBatchSize() {
+        return m_miniBatchSize;
+    }
+
+
+    /**
+     * @param miniBatchSize the number of rows per mini-batch, 1 to process the rows one by one
+     * @since 3.6
+     */
+    public void setMiniBatchSize(final int miniBatchSize) {
+        m_miniBatchSize = miniBatchSize;
+    }
+
+
     /**
      * @return the calcCovMatrix
      */
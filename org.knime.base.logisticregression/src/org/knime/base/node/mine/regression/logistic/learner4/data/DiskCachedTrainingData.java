@@ -0,0 +1,364 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.data;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow.FeatureIterator;
+import org.knime.core.data.DataRow;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.FileUtil;
+
+/**
+ * {@link TrainingData} implementation for tables that do not fit into memory.
+ * The rows are converted only once into their sparse representation (feature indices and values) and written to a
+ * temporary file in a random permutation of the table order, i.e. each chunk holds a random sample of the whole
+ * table rather than a contiguous block of it. During training the file is read in chunks (mini-batches) of a
+ * configurable number of rows, the chunks are visited in random order in each epoch and the rows within a chunk are
+ * shuffled. Hence only one chunk is held in memory at a time and each row is visited once per epoch.
+ * Call {@link #close()} once the training is finished in order to delete the temporary file.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.6
+ */
+public final class DiskCachedTrainingData extends AbstractTrainingData<ClassificationTrainingRow>
+    implements AutoCloseable {
+
+    /** Upper bound for the size of a chunk in bytes, a chunk is closed early if it grows larger. */
+    private static final int MAX_CHUNK_BYTES = 1 << 28;
+
+    private final File m_file;
+
+    private final RandomAccessFile m_input;
+
+    /** Byte offsets of the chunks in the file, the last entry is the file length. */
+    private final long[] m_chunkOffsets;
+
+    private final byte[] m_buffer;
+
+    private final int[] m_chunkOrder;
+
+    private int m_nextChunk;
+
+    private List<ClassificationTrainingRow> m_chunk = Collections.emptyList();
+
+    private int m_chunkPos;
+
+    /**
+     * @param data the {@link BufferedDataTable} containing the data to learn on
+     * @param seed for the generation of pseudo random numbers
+     * @param rowBuilder object that creates {@link TrainingRow} objects from {@link DataRow} objects
+     * @param chunkSize the number of rows that are held in memory at once
+     * @param exec used to report progress while the cache file is written
+     * @throws CanceledExecutionException if the user cancels the node execution
+     * @throws IOException if the cache file can't be written
+     */
+    public DiskCachedTrainingData(final BufferedDataTable data, final Long seed,
+        final TrainingRowBuilder<ClassificationTrainingRow> rowBuilder, final int chunkSize,
+        final ExecutionMonitor exec) throws CanceledExecutionException, IOException {
+        super(data, seed, rowBuilder);
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+        }
+        // byte offsets of the rows in the staging file, the last entry is the file length
+        final long[] rowOffsets = new long[getRowCount() + 1];
+        final File rowFile = FileUtil.createTempFile("logreg-training-rows", ".bin");
+        m_file = FileUtil.createTempFile("logreg-training-data", ".bin");
+        try {
+            writeRows(data, rowBuilder, rowFile, rowOffsets, exec.createSubProgress(0.5));
+            final int[] rowOrder = new int[getRowCount()];
+            for (int i = 0; i < rowOrder.length; i++) {
+                rowOrder[i] = i;
+            }
+            shuffle(rowOrder, getRandomDataGenerator());
+            m_chunkOffsets = createChunks(rowOrder, rowOffsets, chunkSize);
+            long maxChunkBytes = 0;
+            for (int i = 1; i < m_chunkOffsets.length; i++) {
+                maxChunkBytes = Math.max(maxChunkBytes, m_chunkOffsets[i] - m_chunkOffsets[i - 1]);
+            }
+            m_buffer = new byte[(int)maxChunkBytes];
+            writeShuffledRows(rowFile, rowOffsets, rowOrder, exec.createSubProgress(0.5));
+        } catch (IOException | CanceledExecutionException | RuntimeException e) {
+            m_file.delete();
+            throw e;
+        } finally {
+            rowFile.delete();
+        }
+        m_chunkOrder = new int[m_chunkOffsets.length - 1];
+        for (int i = 0; i < m_chunkOrder.length; i++) {
+            m_chunkOrder[i] = i;
+        }
+        // the rows are already shuffled, hence the chunks can be read in file order in the first epoch
+        m_nextChunk = 0;
+        m_input = new RandomAccessFile(m_file, "r");
+    }
+
+    /** Writes the rows in table order to the staging file and records their offsets. */
+    private static void writeRows(final BufferedDataTable data,
+        final TrainingRowBuilder<ClassificationTrainingRow> rowBuilder, final File rowFile, final long[] rowOffsets,
+        final ExecutionMonitor exec) throws CanceledExecutionException, IOException {
+        final int rowCount = rowOffsets.length - 1;
+        try (DataOutputStream out =
+            new DataOutputStream(new BufferedOutputStream(new FileOutputStream(rowFile)))) {
+            long position = 0;
+            int id = 0;
+            for (DataRow row : data) {
+                exec.checkCanceled();
+                exec.setProgress(id / (double)rowCount, "Caching row " + id + " of " + rowCount);
+                rowOffsets[id] = position;
+                position += write(rowBuilder.build(row, id++), out);
+            }
+            rowOffsets[rowCount] = position;
+        }
+    }
+
+    /**
+     * Splits the rows (in the given order) into chunks of at most <code>chunkSize</code> rows, a chunk is closed early
+     * if it exceeds {@link #MAX_CHUNK_BYTES}. Returns the byte offsets of the chunks in the cache file.
+     */
+    private static long[] createChunks(final int[] rowOrder, final long[] rowOffsets, final int chunkSize) {
+        final List<Long> chunkOffsets = new ArrayList<>();
+        long position = 0;
+        long chunkStart = 0;
+        int rowsInChunk = 0;
+        for (int row : rowOrder) {
+            if (rowsInChunk == 0) {
+                chunkStart = position;
+                chunkOffsets.add(chunkStart);
+            }
+            position += rowOffsets[row + 1] - rowOffsets[row];
+            rowsInChunk++;
+            if (rowsInChunk == chunkSize || position - chunkStart >= MAX_CHUNK_BYTES) {
+                rowsInChunk = 0;
+            }
+        }
+        chunkOffsets.add(position);
+        final long[] result = new long[chunkOffsets.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = chunkOffsets.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Copies the rows from the staging file into the cache file in the given order. The rows of a chunk are read in
+     * the order of the staging file (i.e. mostly sequentially) into the chunk buffer and the chunk is written at once.
+     */
+    private void writeShuffledRows(final File rowFile, final long[] rowOffsets, final int[] rowOrder,
+        final ExecutionMonitor exec) throws CanceledExecutionException, IOException {
+        final double chunkCount = m_chunkOffsets.length - 1;
+        try (RandomAccessFile in = new RandomAccessFile(rowFile, "r");
+                FileOutputStream out = new FileOutputStream(m_file)) {
+            int chunkFirstRow = 0;
+            for (int c = 0; c < chunkCount; c++) {
+                exec.checkCanceled();
+                exec.setProgress(c / chunkCount, "Shuffling chunk " + (c + 1) + " of " + (int)chunkCount);
+                final long chunkStart = m_chunkOffsets[c];
+                final int chunkLength = (int)(m_chunkOffsets[c + 1] - chunkStart);
+                // (source row, position in chunk) pairs, sorted by source row, i.e. by offset in the staging file
+                final List<long[]> rows = new ArrayList<>();
+                int chunkPos = 0;
+                int r = chunkFirstRow;
+                for (; chunkPos < chunkLength; r++) {
+                    final int row = rowOrder[r];
+                    rows.add(new long[]{row, chunkPos});
+                    chunkPos += (int)(rowOffsets[row + 1] - rowOffsets[row]);
+                }
+                chunkFirstRow = r;
+                rows.sort((a, b) -> Long.compare(a[0], b[0]));
+                for (long[] row : rows) {
+                    final int rowIdx = (int)row[0];
+                    in.seek(rowOffsets[rowIdx]);
+                    in.readFully(m_buffer, (int)row[1], (int)(rowOffsets[rowIdx + 1] - rowOffsets[rowIdx]));
+                }
+                out.write(m_buffer, 0, chunkLength);
+            }
+        }
+    }
+
+    /** Writes the sparse representation of the row and returns the number of bytes written. */
+    private static int write(final ClassificationTrainingRow row, final DataOutputStream out) throws IOException {
+        int nonZero = 0;
+        for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
+            nonZero++;
+        }
+        out.writeInt(row.getId());
+        out.writeInt(row.getCategory());
+        out.writeInt(nonZero);
+        for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
+            out.writeInt(iter.getFeatureIndex());
+        }
+        for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
+            out.writeFloat((float)iter.getFeatureValue());
+        }
+        return 12 + 8 * nonZero;
+    }
+
+    private static ClassificationTrainingRow read(final ByteBuffer buffer) {
+        final int id = buffer.getInt();
+        final int category = buffer.getInt();
+        final int nonZero = buffer.getInt();
+        final int[] indices = new int[nonZero];
+        buffer.asIntBuffer().get(indices);
+        buffer.position(buffer.position() + 4 * nonZero);
+        final float[] values = new float[nonZero];
+        buffer.asFloatBuffer().get(values);
+        buffer.position(buffer.position() + 4 * nonZero);
+        return new SparseClassificationTrainingRow(values, indices, id, category);
+    }
+
+    /**
+     * Reads the chunk with the given index from the file.
+     * Synchronized because the buffer and file pointer are shared between random access and iteration.
+     */
+    private synchronized List<ClassificationTrainingRow> readChunk(final int chunkIdx) {
+        final long start = m_chunkOffsets[chunkIdx];
+        final int length = (int)(m_chunkOffsets[chunkIdx + 1] - start);
+        try {
+            m_input.seek(start);
+            m_input.readFully(m_buffer, 0, length);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read cached training data from " + m_file + ".", e);
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(m_buffer, 0, length);
+        final List<ClassificationTrainingRow> rows = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            rows.add(read(buffer));
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the rows in random order. Within one epoch (i.e. {@link #getRowCount()} calls) every row is returned
+     * exactly once, the order of the chunks as well as the order of the rows within a chunk change with every epoch.
+     * {@inheritDoc}
+     */
+    @Override
+    public ClassificationTrainingRow getRandomRow() {
+        if (m_chunkPos >= m_chunk.size()) {
+            final Random random = getRandomDataGenerator();
+            if (m_nextChunk >= m_chunkOrder.length) {
+                // new epoch
+                shuffle(m_chunkOrder, random);
+                m_nextChunk = 0;
+            }
+            m_chunk = readChunk(m_chunkOrder[m_nextChunk++]);
+            Collections.shuffle(m_chunk, random);
+            m_chunkPos = 0;
+        }
+        return m_chunk.get(m_chunkPos++);
+    }
+
+    private static void shuffle(final int[] array, final Random random) {
+        for (int i = array.length - 1; i > 0; i--) {
+            final int r = random.nextInt(i + 1);
+            final int swap = array[r];
+            array[r] = array[i];
+            array[i] = swap;
+        }
+    }
+
+    /**
+     * Iterates over all rows in the (shuffled) order of the cache file, which is not the order of the underlying
+     * table.
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<ClassificationTrainingRow> iterator() {
+        return new Iterator<ClassificationTrainingRow>() {
+
+            private int m_chunkIdx = 0;
+
+            private Iterator<ClassificationTrainingRow> m_rows = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!m_rows.hasNext() && m_chunkIdx < m_chunkOrder.length) {
+                    m_rows = readChunk(m_chunkIdx++).iterator();
+                }
+                return m_rows.hasNext();
+            }
+
+            @Override
+            public ClassificationTrainingRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return m_rows.next();
+            }
+        };
+    }
+
+    /**
+     * Closes the cache file and deletes it.
+     */
+    @Override
+    public void close() {
+        try {
+            m_input.close();
+        } catch (IOException e) {
+            // nothing we can do about it, the file is deleted on exit at the latest
+        }
+        m_file.delete();
+    }
+
+}
@@ -48,7 +48,10 @@
  */
 package org.knime.base.node.mine.regression.logistic.learner4.sg;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.commons.math3.linear.QRDecomposition;
@@ -58,6 +61,8 @@
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow;
 import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.util.HelperThreads;
+import org.knime.core.util.ThreadPool;
 
 /**
  * Abstract implementation for stochastic gradient descent like optimization scheme.
@@ -77,6 +82,8 @@ abstract class AbstractSGOptimizer <T extends TrainingRow, U extends Updater<T>,
     private final TrainingData<T> m_data;
     private final boolean m_calcCovMatrix;
     private String m_warning = null;
+    private int m_miniBatchSize = 1;
+    private ThreadPool m_pool = null;
 
     /**
      * Creates an AbstractSGOptimizer.
@@ -115,23 +122,26 @@ public LogRegLearnerResult optimize(final int maxEpoch, final TrainingData<T> da
             // notify learning rate strategy that a new epoch starts
             m_lrStrategy.startNewEpoch(epoch);
             progress.setProgress(((double)epoch) / maxEpoch, "Start epoch " + epoch + " of " + maxEpoch);
-            for (int k = 0; k < nRows; k++) {
-                progress.checkCanceled();
-                T x = data.getRandomRow();
-                prepareIteration(beta, x, updater, m_regUpdater, k);
-                double[] prediction = beta.predict(x);
-                double[] sig = m_loss.gradient(x, prediction);
-                double stepSize = m_lrStrategy.getCurrentLearningRate(x, prediction, sig);
-                // beta is updated in two steps
-                m_regUpdater.update(beta, stepSize, k);
-                performUpdate(x, updater, sig, beta, stepSize, k);
-                double scale = beta.getScale();
-                if (scale > 1e10 || scale < -1e10 || (scale > 0 && scale < 1e-10) || (scale < 0 && scale > -1e-10)) {
-                    normalize(beta, updater, k);
-                    beta.normalize();
+            // an epoch draws exactly nRows rows, which allows chunked data to visit every row once per epoch
+            final int lastIteration;
+            if (m_pool != null) {
+                lastIteration = miniBatchEpoch(data, beta, updater, progress);
+            } else {
+                for (int k = 0; k < nRows; k++) {
+                    progress.checkCanceled();
+                    T x = data.getRandomRow();
+                    prepareIteration(beta, x, updater, m_regUpdater, k);
+                    double[] prediction = beta.predict(x);
+                    double[] sig = m_loss.gradient(x, prediction);
+                    double stepSize = m_lrStrategy.getCurrentLearningRate(x, prediction, sig);
+                    // beta is updated in two steps
+                    m_regUpdater.update(beta, stepSize, k);
+                    performUpdate(x, updater, sig, beta, stepSize, k);
+                    checkScale(beta, updater, k);
                 }
+                lastIteration = nRows - 1;
             }
-            postProcessEpoch(beta, updater, m_regUpdater);
+            postProcessEpoch(beta, updater, m_regUpdater, lastIteration);
             if (m_stoppingCriterion.checkConvergence(beta)) {
                 break;
             }
@@ -164,6 +174,62 @@ public LogRegLearnerResult optimize(final int maxEpoch, final TrainingData<T> da
         return new LogRegLearnerResult(betaMat, covMat, epoch, -lossSum);
     }
 
+    /**
+     * Performs a single epoch in which each iteration processes a mini-batch of rows. The predictions and gradients
+     * of the rows in a mini-batch are calculated concurrently while the coefficients are updated once per mini-batch
+     * by the calling thread.
+     *
+     * @return the last iteration of the epoch
+     */
+    private int miniBatchEpoch(final TrainingData<T> data, final WeightMatrix<T> beta, final U updater,
+        final Progress progress) throws CanceledExecutionException {
+        final int nRows = data.getRowCount();
+        final List<T> batch = new ArrayList<>(m_miniBatchSize);
+        final double[][] predictions = new double[m_miniBatchSize][];
+        final double[][] sigs = new double[m_miniBatchSize][];
+        int iteration = 0;
+        for (int k = 0; k < nRows; iteration++) {
+            progress.checkCanceled();
+            batch.clear();
+            for (; k < nRows && batch.size() < m_miniBatchSize; k++) {
+                batch.add(data.getRandomRow());
+            }
+            prepareMiniBatch(beta, batch, updater, m_regUpdater, iteration);
+            calculateGradients(beta, batch, predictions, sigs);
+            // the learning rate strategy might be stateful and is therefore queried by this thread only
+            double stepSize = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < batch.size(); i++) {
+                stepSize = Math.min(stepSize,
+                    m_lrStrategy.getCurrentLearningRate(batch.get(i), predictions[i], sigs[i]));
+            }
+            m_regUpdater.update(beta, stepSize, iteration);
+            performMiniBatchUpdate(batch, updater, sigs, beta, stepSize, iteration);
+            checkScale(beta, updater, iteration);
+        }
+        return iteration - 1;
+    }
+
+    private void calculateGradients(final WeightMatrix<T> beta, final List<T> batch, final double[][] predictions,
+        final double[][] sigs) throws CanceledExecutionException {
+        final int batchSize = batch.size();
+        final AtomicInteger nextRow = new AtomicInteger();
+        HelperThreads.run(m_pool, Math.min(batchSize, m_pool.getMaxThreads()) - 1, () -> {
+            for (int i = nextRow.getAndIncrement(); i < batchSize; i = nextRow.getAndIncrement()) {
+                final T x = batch.get(i);
+                predictions[i] = beta.predict(x);
+                sigs[i] = m_loss.gradient(x, predictions[i]);
+            }
+        });
+    }
+
+    private void checkScale(final WeightMatrix<T> beta, final U updater, final int iteration) {
+        double scale = beta.getScale();
+        if (scale > 1e10 || scale < -1e10 || (scale > 0 && scale < 1e-10) || (scale < 0 && scale > -1e-10)) {
+            normalize(beta, updater, iteration);
+            beta.normalize();
+        }
+    }
+
     /**
      * Calculates the sum of losses of all rows.
      *
@@ -208,14 +274,28 @@ private RealMatrix calculateCovariateMatrix(final WeightMatrix<T> beta) {
     protected abstract void prepareIteration(final WeightMatrix<T> beta, final T x, final U updater, final R regUpdater,
         int iteration);
 
+    /**
+     * Prepare a new iteration with the mini-batch <b>batch</b>.
+     *
+     * @param beta current estimate of the coefficient matrix
+     * @param batch the rows of the current mini-batch
+     * @param updater the loss updater used for this training run
+     * @param regUpdater the regularization updater
+     * @param iteration the current iteration
+     */
+    protected abstract void prepareMiniBatch(final WeightMatrix<T> beta, final List<T> batch, final U updater,
+        final R regUpdater, int iteration);
+
     /**
      * Perform any operations necessary to finalize a single epoch.
      *
      * @param beta current estimate of the coefficient matrix
      * @param updater the loss updater used for this training run
      * @param regUpdater the regularization updater
+     * @param lastIteration the last iteration of the epoch
      */
-    protected abstract void postProcessEpoch(final WeightMatrix<T> beta, final U updater, final R regUpdater);
+    protected abstract void postProcessEpoch(final WeightMatrix<T> beta, final U updater, final R regUpdater,
+        int lastIteration);
 
     /**
      * Perform the updates of the coefficients in <b>beta</b>.
@@ -232,6 +312,36 @@ protected abstract void prepareIteration(final WeightMatrix<T> beta, final T x,
     protected abstract void performUpdate(final T x, final U updater, final double[] gradient, final WeightMatrix<T> beta,
         final double stepSize, final int iteration);
 
+    /**
+     * Perform the updates of the coefficients in <b>beta</b> for a whole mini-batch.
+     *
+     * @param batch the rows of the current mini-batch
+     * @param updater the loss updater used in the current training run
+     * @param gradients the partial gradients of the rows in <b>batch</b>
+     * @param beta the current estimate of the coefficient matrix
+     * @param stepSize or learning rate for gradient descent
+     * @param iteration the current iteration
+     */
+    protected abstract void performMiniBatchUpdate(final List<T> batch, final U updater, final double[][] gradients,
+        final WeightMatrix<T> beta, final double stepSize, final int iteration);
+
+    /**
+     * Lets each iteration process a mini-batch of <b>miniBatchSize</b> rows instead of a single row.
+     * The predictions and gradients of the rows in a mini-batch are calculated by the calling thread and the idle
+     * threads of <b>pool</b> (see {@link ThreadPool#trySubmit(Runnable)}), the coefficients are updated once per
+     * mini-batch.
+     *
+     * A mini-batch size of 1 leads to the same coefficients as the sequential processing, which is used if this
+     * method isn't called.
+     *
+     * @param miniBatchSize the number of rows per mini-batch
+     * @param pool the pool to take idle threads from
+     */
+    void setMiniBatches(final int miniBatchSize, final ThreadPool pool) {
+        m_miniBatchSize = miniBatchSize;
+        m_pool = pool;
+    }
+
     protected TrainingData<T> getData() {
         return m_data;
     }
@@ -49,6 +49,7 @@
 package org.knime.base.node.mine.regression.logistic.learner4.sg;
 
 import java.util.BitSet;
+import java.util.List;
 
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow.FeatureIterator;
@@ -80,6 +81,24 @@ private EagerSagUpdater(final int nRows, final int nFets, final int nCats) {
      */
     @Override
     public void update(final T x, final double[] sig, final WeightMatrix<T> beta, final double stepSize, final int iteration) {
+        memorize(x, sig);
+        step(beta, stepSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final List<T> batch, final double[][] sigs, final WeightMatrix<T> beta, final double stepSize,
+        final int iteration) {
+        for (int i = 0; i < batch.size(); i++) {
+            memorize(batch.get(i), sigs[i]);
+        }
+        step(beta, stepSize);
+    }
+
+    /** Replaces the gradient remembered for <b>x</b> by <b>sig</b> and updates the gradient sum accordingly. */
+    private void memorize(final T x, final double[] sig) {
         int id = x.getId();
         if (!m_seen.get(id)) {
             m_seen.set(id);
@@ -98,6 +117,9 @@ public void update(final T x, final double[] sig, final WeightMatrix<T> beta, fi
         for (int c = 0; c < m_nCats; c++) {
             m_gradientMemory[c][id] = sig[c];
         }
+    }
+
+    private void step(final WeightMatrix<T> beta, final double stepSize) {
         double scale = beta.getScale();
         beta.update((val, c, i) -> performUpdate(val, stepSize, scale, c, i), true);
     }
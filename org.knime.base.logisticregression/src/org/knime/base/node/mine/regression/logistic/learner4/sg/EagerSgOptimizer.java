@@ -48,6 +48,8 @@
  */
 package org.knime.base.node.mine.regression.logistic.learner4.sg;
 
+import java.util.List;
+
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow;
 
@@ -87,7 +89,18 @@ protected void prepareIteration(final WeightMatrix<T> beta, final T x, final U u
      * {@inheritDoc}
      */
     @Override
-    protected void postProcessEpoch(final WeightMatrix<T> beta, final U updater, final R regUpdater) {
+    protected void prepareMiniBatch(final WeightMatrix<T> beta, final List<T> batch, final U updater, final R regUpdater,
+        final int iteration) {
+        // nothing to prepare
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void postProcessEpoch(final WeightMatrix<T> beta, final U updater, final R regUpdater,
+        final int lastIteration) {
         // nothing to postprocess
     }
 
@@ -102,6 +115,16 @@ protected void performUpdate(final T x, final U updater, final double[] gradient
     }
 
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void performMiniBatchUpdate(final List<T> batch, final U updater, final double[][] gradients,
+        final WeightMatrix<T> beta, final double stepSize, final int iteration) {
+        updater.update(batch, gradients, beta, stepSize, iteration);
+    }
+
+
 
 
     /**
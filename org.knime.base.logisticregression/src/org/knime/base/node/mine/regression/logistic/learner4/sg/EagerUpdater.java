@@ -48,6 +48,8 @@
  */
 package org.knime.base.node.mine.regression.logistic.learner4.sg;
 
+import java.util.List;
+
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow;
 
 /**
@@ -70,4 +72,16 @@
      * @param iteration the current iteration
      */
     void update(T x, double[] sig, WeightMatrix<T> beta, double stepSize, int iteration);
+
+    /**
+     * Performs a single update of all coefficients for a mini-batch of rows, i.e. the gradients of all rows in
+     * <b>batch</b> are accounted for before the coefficients are updated once.
+     *
+     * @param batch the rows of the current mini-batch
+     * @param sigs the gradients for each model, one per row in <b>batch</b>
+     * @param beta the current estimate of the coefficient matrix
+     * @param stepSize to use for gradient descent
+     * @param iteration the current iteration
+     */
+    void update(List<T> batch, double[][] sigs, WeightMatrix<T> beta, double stepSize, int iteration);
 }
@@ -0,0 +1,169 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.sg;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow;
+
+/**
+ * Row that contains every feature that is present in at least one row of a mini-batch.
+ * It is used by the lazy optimizer to bring the coefficients of all features touched by a mini-batch up to date
+ * in a single pass. The feature values are all 1.0 because lazy updates only depend on the feature indices.
+ * The instance is reused for all mini-batches of a training run in order to avoid garbage.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class FeatureUnionRow implements TrainingRow {
+
+    private final boolean[] m_contained;
+
+    private final int[] m_indices;
+
+    private int m_nFeatures = 0;
+
+    /**
+     * @param nFets the total number of features (including the intercept)
+     */
+    FeatureUnionRow(final int nFets) {
+        m_contained = new boolean[nFets];
+        m_indices = new int[nFets];
+    }
+
+    /**
+     * Replaces the features of this row by the union of the features of <b>rows</b>.
+     *
+     * @param rows the rows of the current mini-batch
+     */
+    void reset(final List<? extends TrainingRow> rows) {
+        for (int i = 0; i < m_nFeatures; i++) {
+            m_contained[m_indices[i]] = false;
+        }
+        m_nFeatures = 0;
+        for (TrainingRow row : rows) {
+            for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
+                int idx = iter.getFeatureIndex();
+                if (!m_contained[idx]) {
+                    m_contained[idx] = true;
+                    m_indices[m_nFeatures++] = idx;
+                }
+            }
+        }
+        Arrays.sort(m_indices, 0, m_nFeatures);
+    }
+
+    /**
+     * The union does not correspond to an actual row of the training data and therefore has no id.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public int getId() {
+        throw new UnsupportedOperationException("A feature union row is not part of the training data.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FeatureIterator getFeatureIterator() {
+        return new UnionFeatureIterator(-1);
+    }
+
+    private class UnionFeatureIterator implements FeatureIterator {
+
+        private int m_idx;
+
+        private UnionFeatureIterator(final int startIdx) {
+            m_idx = startIdx;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return m_idx < m_nFeatures - 1;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean next() {
+            return ++m_idx < m_nFeatures;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getFeatureIndex() {
+            return m_indices[m_idx];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public double getFeatureValue() {
+            return 1.0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public FeatureIterator spawn() {
+            return new UnionFeatureIterator(m_idx - 1);
+        }
+
+    }
+
+}
@@ -104,7 +104,15 @@ private double clippedLazyUpdate(final double betaValue, final int lastVisited,
      */
     @Override
     public void resetJITSystem(final WeightMatrix<?> beta, final int[] lastVisited) {
-        double lastCummSum = m_cummulativeSum[getNRows() - 1];
+        resetJITSystem(beta, lastVisited, getNRows() - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetJITSystem(final WeightMatrix<?> beta, final int[] lastVisited, final int lastIteration) {
+        double lastCummSum = m_cummulativeSum[lastIteration];
         // intercept is not regularized
         beta.update((val, c, i) -> doLazyUpdate(val, lastVisited[i], lastCummSum), false);
 
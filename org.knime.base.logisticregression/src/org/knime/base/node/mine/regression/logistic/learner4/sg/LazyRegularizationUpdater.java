@@ -75,4 +75,13 @@ interface LazyRegularizationUpdater extends RegularizationUpdater {
      * @param lastVisited array containing for each feature when it was last visited (non zero)
      */
     void resetJITSystem(final WeightMatrix<?> beta, final int[] lastVisited);
+
+    /**
+     * Apply accumulated updates to all features after an epoch that consisted of less iterations than rows
+     * (mini-batches).
+     * @param beta current estimate of coeffients
+     * @param lastVisited array containing for each feature when it was last visited (non zero)
+     * @param lastIteration the last iteration of the epoch
+     */
+    void resetJITSystem(final WeightMatrix<?> beta, final int[] lastVisited, final int lastIteration);
 }
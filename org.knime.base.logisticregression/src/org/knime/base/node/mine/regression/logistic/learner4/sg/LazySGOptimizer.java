@@ -49,6 +49,7 @@
 package org.knime.base.node.mine.regression.logistic.learner4.sg;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow;
@@ -63,6 +64,7 @@ final class LazySGOptimizer <T extends TrainingRow, U extends LazyUpdater<T>, R
 
     private int[] m_lastVisited;
 
+    private final FeatureUnionRow m_batchFeatures;
 
     /**
      * Creates a LazySGOptimizer.
@@ -81,6 +83,7 @@ public LazySGOptimizer(final TrainingData<T> data, final Loss<T> loss, final Upd
         final StoppingCriterion<T> stoppingCriterion, final boolean calcCovMatrix) {
         super(data, loss, updaterFactory, regularizationUpdater, learningRateStrategy, stoppingCriterion, calcCovMatrix);
         m_lastVisited = new int[data.getFeatureCount()];
+        m_batchFeatures = new FeatureUnionRow(data.getFeatureCount());
     }
 
 
@@ -95,12 +98,41 @@ protected void performUpdate(final T x, final U updater, final double[] gradient
     }
 
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void performMiniBatchUpdate(final List<T> batch, final U updater, final double[][] gradients,
+        final WeightMatrix<T> beta, final double stepSize, final int iteration) {
+        updater.update(batch, gradients, beta, stepSize, iteration);
+    }
+
+
     /**
      * {@inheritDoc}
      */
     @Override
     protected void prepareIteration(final WeightMatrix<T> beta, final T x, final U updater, final R regUpdater,
         final int iteration) {
+        applyLazyUpdates(beta, x, updater, regUpdater, iteration);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void prepareMiniBatch(final WeightMatrix<T> beta, final List<T> batch, final U updater,
+        final R regUpdater, final int iteration) {
+        // bring all coefficients of the mini-batch up to date at once because the lazy update of the intercept
+        // must only happen once per iteration
+        m_batchFeatures.reset(batch);
+        applyLazyUpdates(beta, m_batchFeatures, updater, regUpdater, iteration);
+    }
+
+
+    private void applyLazyUpdates(final WeightMatrix<T> beta, final TrainingRow x, final U updater,
+        final R regUpdater, final int iteration) {
         // apply lazy updates
         updater.lazyUpdate(beta, x, m_lastVisited, iteration);
         regUpdater.lazyUpdate(beta, x, m_lastVisited, iteration);
@@ -116,9 +148,10 @@ protected void prepareIteration(final WeightMatrix<T> beta, final T x, final U u
      * {@inheritDoc}
      */
     @Override
-    protected void postProcessEpoch(final WeightMatrix<T> beta, final U updater, final R regUpdater) {
-        updater.resetJITSystem(beta, m_lastVisited);
-        regUpdater.resetJITSystem(beta, m_lastVisited);
+    protected void postProcessEpoch(final WeightMatrix<T> beta, final U updater, final R regUpdater,
+        final int lastIteration) {
+        updater.resetJITSystem(beta, m_lastVisited, lastIteration);
+        regUpdater.resetJITSystem(beta, m_lastVisited, lastIteration);
         Arrays.fill(m_lastVisited, 0);
     }
 
@@ -50,6 +50,7 @@
 
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.List;
 
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow.FeatureIterator;
@@ -89,6 +90,24 @@ private LazySagUpdater(final int nRows, final int nFets, final int nCats) {
     @Override
     public void update(final T x, final double[] sig, final WeightMatrix<T> beta, final double stepSize,
         final int iteration) {
+        memorize(x, sig);
+        step(beta, stepSize, iteration);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void update(final List<T> batch, final double[][] sigs, final WeightMatrix<T> beta, final double stepSize,
+        final int iteration) {
+        for (int i = 0; i < batch.size(); i++) {
+            memorize(batch.get(i), sigs[i]);
+        }
+        step(beta, stepSize, iteration);
+    }
+
+    /** Replaces the gradient remembered for <b>x</b> by <b>sig</b> and updates the gradient sum accordingly. */
+    private void memorize(final T x, final double[] sig) {
         int id = x.getId();
         if (!m_seen.get(id)) {
             m_seen.set(id);
@@ -110,9 +129,9 @@ public void update(final T x, final double[] sig, final WeightMatrix<T> beta, fi
         for (int c = 0; c < m_nCats; c++) {
             m_gradientMemory[c][id] = sig[c];
         }
+    }
 
-
-
+    private void step(final WeightMatrix<T> beta, final double stepSize, final int iteration) {
         double prev = iteration == 0 ? 0 : m_cummulativeSum[iteration - 1];
         double scale = beta.getScale();
         m_cummulativeSum[iteration] = prev + stepSize / (scale * m_covered);
@@ -124,7 +143,7 @@ public void update(final T x, final double[] sig, final WeightMatrix<T> beta, fi
      * {@inheritDoc}
      */
     @Override
-    public void lazyUpdate(final WeightMatrix<T> beta, final T x, final int[] lastVisited, final int iteration) {
+    public void lazyUpdate(final WeightMatrix<T> beta, final TrainingRow x, final int[] lastVisited, final int iteration) {
         if (iteration > 0) {
             int lastValid = iteration - 1;
             beta.update((val, c, i, f) -> doLazyUpdate(val, c, i, lastVisited[i], lastValid), true, x);
@@ -164,7 +183,14 @@ public void normalize(final WeightMatrix<T> beta, final int[] lastVisited, final
      */
     @Override
     public void resetJITSystem(final WeightMatrix<T> beta, final int[] lastVisited) {
-        int lastIteration = m_cummulativeSum.length - 1;
+        resetJITSystem(beta, lastVisited, m_cummulativeSum.length - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetJITSystem(final WeightMatrix<T> beta, final int[] lastVisited, final int lastIteration) {
         beta.update((val, c, i) -> doLazyUpdate(val, c, i, lastVisited[i], lastIteration), true);
         Arrays.fill(m_cummulativeSum, 0.0);
     }
@@ -48,6 +48,8 @@
  */
 package org.knime.base.node.mine.regression.logistic.learner4.sg;
 
+import java.util.List;
+
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow;
 
 /**
@@ -69,15 +71,28 @@ interface LazyUpdater <T extends TrainingRow> extends Updater<T> {
      */
     void update(T x, double[] sig, WeightMatrix<T> beta, double stepSize, int iteration);
 
+    /**
+     * Accumulate updates for a mini-batch of rows, i.e. the gradients of all rows in <b>batch</b> are accounted for
+     * in a single iteration.
+     * Does not perform the actual updates.
+     *
+     * @param batch the rows of the current mini-batch
+     * @param sigs the partial gradients for each linear model, one per row in <b>batch</b>
+     * @param beta the current estimate of the coefficient matrix
+     * @param stepSize or learning rate for gradient descent steps
+     * @param iteration the current iteration
+     */
+    void update(List<T> batch, double[][] sigs, WeightMatrix<T> beta, double stepSize, int iteration);
+
     /**
      * Apply accumulated updates for the coefficients for which the features are present in <b>x</b>.
      *
      * @param beta the current estimate of the coefficient matrix
-     * @param x the currently looked at row
+     * @param x the currently looked at row (or the union of the features of a mini-batch)
      * @param lastVisited array containing for each feature in which iteration it was last seen (non zero)
      * @param iteration the current iteration
      */
-    void lazyUpdate(final WeightMatrix<T> beta, final T x, final int[] lastVisited, final int iteration);
+    void lazyUpdate(final WeightMatrix<T> beta, final TrainingRow x, final int[] lastVisited, final int iteration);
 
     /**
      * Apply accumulated updates to all coefficients and reset tracking.
@@ -88,6 +103,16 @@ interface LazyUpdater <T extends TrainingRow> extends Updater<T> {
      */
     void resetJITSystem(final WeightMatrix<T> beta, final int[] lastVisited);
 
+    /**
+     * Apply accumulated updates to all coefficients and reset tracking.
+     * Called after an epoch is finished that consisted of less iterations than rows (mini-batches).
+     *
+     * @param beta the current estimate of the coefficient matrix
+     * @param lastVisited array containing for each feature in which iteration it was last seen (non zero)
+     * @param lastIteration the last iteration of the epoch
+     */
+    void resetJITSystem(final WeightMatrix<T> beta, final int[] lastVisited, final int lastIteration);
+
     /**
      * Apply accumulated updates to all coefficients but don't completely reset tracking.
      * This means that tracking continues from the current iteration.
@@ -59,6 +59,7 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeProgressMonitor;
 
 /**
@@ -151,6 +152,15 @@ private UpdaterFactory<ClassificationTrainingRow, EagerUpdater<ClassificationTra
     }
 
     private AbstractSGOptimizer createOptimizer(
+        final LogRegLearnerSettings settings, final TrainingData<ClassificationTrainingRow> data) throws InvalidSettingsException {
+        final AbstractSGOptimizer optimizer = createSequentialOptimizer(settings, data);
+        if (settings.getMiniBatchSize() > 1) {
+            optimizer.setMiniBatches(settings.getMiniBatchSize(), KNIMEConstants.GLOBAL_THREAD_POOL);
+        }
+        return optimizer;
+    }
+
+    private AbstractSGOptimizer createSequentialOptimizer(
         final LogRegLearnerSettings settings, final TrainingData<ClassificationTrainingRow> data) throws InvalidSettingsException {
         final Loss<ClassificationTrainingRow> loss = MultinomialLoss.INSTANCE;
         final StoppingCriterion<ClassificationTrainingRow> stoppingCriterion =
@@ -77,6 +77,14 @@ public void resetJITSystem(final WeightMatrix<?> beta, final int[] lastVisited)
         // do nothing
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetJITSystem(final WeightMatrix<?> beta, final int[] lastVisited, final int lastIteration) {
+        // do nothing
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,175 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.data.aggregation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import org.junit.Test;
+import org.knime.base.data.aggregation.general.ConcatenateOperator;
+import org.knime.base.data.aggregation.general.CountOperator;
+import org.knime.base.data.aggregation.general.FirstOperator;
+import org.knime.base.data.aggregation.general.MaxOperator;
+import org.knime.base.data.aggregation.general.MinOperator;
+import org.knime.base.data.aggregation.general.UniqueCountOperator;
+import org.knime.base.data.aggregation.numerical.MeanOperator;
+import org.knime.base.data.aggregation.numerical.SumOperator;
+import org.knime.base.data.aggregation.numerical.VarianceOperator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.def.DoubleCell;
+
+/**
+ * Tests {@link AggregationOperator#merge(AggregationOperator)}, i.e. that merging partial results gives the same
+ * result as aggregating all values with a single operator.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class AggregationOperatorMergeTest {
+
+    private static final OperatorColumnSettings COL_SETTINGS =
+        new OperatorColumnSettings(false, new DataColumnSpecCreator("c", DoubleCell.TYPE).createSpec());
+
+    private static final DataCell[] VALUES = createValues();
+
+    private static DataCell[] createValues() {
+        final Random random = new Random(42);
+        final DataCell[] values = new DataCell[1000];
+        for (int i = 0; i < values.length; i++) {
+            // few distinct values for the unique count, some missing values
+            values[i] = i % 97 == 0 ? DataType.getMissingCell() : new DoubleCell(random.nextInt(50) - 20);
+        }
+        return values;
+    }
+
+    /** Sum. */
+    @Test
+    public void testSum() {
+        checkMerge(SumOperator::new);
+    }
+
+    /** Mean. */
+    @Test
+    public void testMean() {
+        checkMerge(MeanOperator::new);
+    }
+
+    /** Count. */
+    @Test
+    public void testCount() {
+        checkMerge(CountOperator::new);
+    }
+
+    /** Minimum and maximum. */
+    @Test
+    public void testMinMax() {
+        checkMerge(MinOperator::new);
+        checkMerge(MaxOperator::new);
+    }
+
+    /** Variance. */
+    @Test
+    public void testVariance() {
+        checkMerge(VarianceOperator::new);
+    }
+
+    /** Unique count. */
+    @Test
+    public void testUniqueCount() {
+        checkMerge(UniqueCountOperator::new);
+    }
+
+    /** Operators whose result depends on the row order must not support merging. */
+    @Test
+    public void testOrderDependentOperators() {
+        assertFalse(new FirstOperator(GlobalSettings.DEFAULT, COL_SETTINGS).supportsMerge());
+        assertFalse(new ConcatenateOperator(GlobalSettings.DEFAULT, COL_SETTINGS).supportsMerge());
+    }
+
+    /** Merging operators of different types fails. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentOperators() {
+        new SumOperator(GlobalSettings.DEFAULT, COL_SETTINGS)
+            .merge(new MeanOperator(GlobalSettings.DEFAULT, COL_SETTINGS));
+    }
+
+    private static void checkMerge(
+        final BiFunction<GlobalSettings, OperatorColumnSettings, AggregationOperator> factory) {
+        final AggregationOperator sequential = factory.apply(GlobalSettings.DEFAULT, COL_SETTINGS);
+        assertTrue(sequential.getClass().getSimpleName() + " should support merge", sequential.supportsMerge());
+        for (final DataCell value : VALUES) {
+            sequential.compute(value);
+        }
+        // split into unequal parts, including an empty one
+        final int[] bounds = {0, 0, 13, 500, 501, VALUES.length};
+        final AggregationOperator merged = factory.apply(GlobalSettings.DEFAULT, COL_SETTINGS);
+        for (int p = 0; p + 1 < bounds.length; p++) {
+            final AggregationOperator partial = factory.apply(GlobalSettings.DEFAULT, COL_SETTINGS);
+            for (int i = bounds[p]; i < bounds[p + 1]; i++) {
+                partial.compute(VALUES[i]);
+            }
+            merged.merge(partial);
+        }
+        final String name = sequential.getClass().getSimpleName();
+        final DataCell expected = sequential.getResult();
+        final DataCell actual = merged.getResult();
+        if (expected instanceof DoubleValue && actual instanceof DoubleValue) {
+            assertEquals(name, ((DoubleValue)expected).getDoubleValue(), ((DoubleValue)actual).getDoubleValue(),
+                1e-9);
+        } else {
+            assertEquals(name, expected, actual);
+        }
+        assertEquals(name, sequential.getMissingValuesCount(), merged.getMissingValuesCount());
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.cluster.hierarchical;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.mine.cluster.hierarchical.HierarchicalClusterNodeModel.Linkage;
+import org.knime.base.node.mine.cluster.hierarchical.distfunctions.DistanceFunction;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelFilterString;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
+import org.knime.core.node.defaultnodesettings.SettingsModelString;
+import org.knime.core.node.workflow.SingleNodeContainer;
+
+/**
+ * Compares the clustering on the cached distance matrix with the loop that recomputes the linkage of all cluster
+ * pairs in each fusion step (cache switched off).
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class HierarchicalClusterNodeModelTest {
+
+    private ExecutionContext m_exec;
+
+    /** Creates the execution context. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Before
+    public void setUp() {
+        NodeFactory<NodeModel> factory = (NodeFactory)new HierarchicalClusterNodeFactory();
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(factory),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, new HashMap<Integer, ContainerTable>());
+    }
+
+    /** Single linkage on random data without ties. */
+    @Test
+    public void testSingleLinkage() throws Exception {
+        checkCacheMatchesLoop(createRandomTable(60, 0), Linkage.SINGLE, DistanceFunction.Names.Euclidean, 0);
+    }
+
+    /** Complete linkage on random data without ties. */
+    @Test
+    public void testCompleteLinkage() throws Exception {
+        checkCacheMatchesLoop(createRandomTable(60, 1), Linkage.COMPLETE, DistanceFunction.Names.Euclidean, 0);
+    }
+
+    /** Average linkage on random data without ties, the distances may differ by rounding errors. */
+    @Test
+    public void testAverageLinkage() throws Exception {
+        checkCacheMatchesLoop(createRandomTable(60, 2), Linkage.AVERAGE, DistanceFunction.Names.Euclidean, 1e-5);
+    }
+
+    /** Single linkage on a grid with many tied (integer) distances and duplicate rows. */
+    @Test
+    public void testSingleLinkageTies() throws Exception {
+        checkCacheMatchesLoop(createGridTable(3), Linkage.SINGLE, DistanceFunction.Names.Manhattan, 0);
+        checkCacheMatchesLoop(createGridTable(4), Linkage.SINGLE, DistanceFunction.Names.Euclidean, 0);
+    }
+
+    /** Complete linkage on a grid with many tied (integer) distances and duplicate rows. */
+    @Test
+    public void testCompleteLinkageTies() throws Exception {
+        checkCacheMatchesLoop(createGridTable(5), Linkage.COMPLETE, DistanceFunction.Names.Manhattan, 0);
+        checkCacheMatchesLoop(createGridTable(6), Linkage.COMPLETE, DistanceFunction.Names.Euclidean, 0);
+    }
+
+    /** Average linkage on a grid with many tied (integer) distances and duplicate rows. */
+    @Test
+    public void testAverageLinkageTies() throws Exception {
+        checkCacheMatchesLoop(createGridTable(7), Linkage.AVERAGE, DistanceFunction.Names.Manhattan, 0);
+        checkCacheMatchesLoop(createGridTable(8), Linkage.AVERAGE, DistanceFunction.Names.Manhattan, 0);
+    }
+
+    private void checkCacheMatchesLoop(final BufferedDataTable table, final Linkage linkage,
+        final DistanceFunction.Names distance, final double epsilon) throws Exception {
+        final HierarchicalClusterNodeModel loop = createModel(linkage, distance, false);
+        final BufferedDataTable loopResult = loop.execute(new BufferedDataTable[]{table}, m_exec)[0];
+        final HierarchicalClusterNodeModel cached = createModel(linkage, distance, true);
+        final BufferedDataTable cachedResult = cached.execute(new BufferedDataTable[]{table}, m_exec)[0];
+
+        assertSameDendrogram(loop.getRootNode(), cached.getRootNode(), epsilon);
+        final Iterator<DataRow> loopFusions = loop.getDataArray(0).iterator();
+        final Iterator<DataRow> cachedFusions = cached.getDataArray(0).iterator();
+        while (loopFusions.hasNext()) {
+            assertTrue("Fusion steps missing", cachedFusions.hasNext());
+            final DataRow expected = loopFusions.next();
+            final DataRow actual = cachedFusions.next();
+            assertEquals(expected.getKey(), actual.getKey());
+            assertEquals(((IntValue)expected.getCell(0)).getIntValue(), ((IntValue)actual.getCell(0)).getIntValue());
+            assertEquals("Fusion distance of step " + expected.getKey(),
+                ((DoubleValue)expected.getCell(1)).getDoubleValue(),
+                ((DoubleValue)actual.getCell(1)).getDoubleValue(), epsilon);
+        }
+        assertTrue("Too many fusion steps", !cachedFusions.hasNext());
+        assertEquals(loopResult.size(), cachedResult.size());
+        final Iterator<DataRow> loopRows = loopResult.iterator();
+        final Iterator<DataRow> cachedRows = cachedResult.iterator();
+        while (loopRows.hasNext()) {
+            final DataRow expected = loopRows.next();
+            final DataRow actual = cachedRows.next();
+            assertEquals(expected.getKey(), actual.getKey());
+            assertEquals(expected.getCell(expected.getNumCells() - 1), actual.getCell(actual.getNumCells() - 1));
+        }
+    }
+
+    private static void assertSameDendrogram(final ClusterNode expected, final ClusterNode actual,
+        final double epsilon) {
+        assertEquals(expected.isLeaf(), actual.isLeaf());
+        if (expected.isLeaf()) {
+            assertEquals(expected.getLeafDataPoint().getKey(), actual.getLeafDataPoint().getKey());
+            return;
+        }
+        assertEquals("Distance of " + Arrays.toString(getKeys(expected)), expected.getDist(), actual.getDist(),
+            epsilon);
+        assertEquals(expected.getLeafCount(), actual.getLeafCount());
+        assertSameDendrogram(expected.getFirstSubnode(), actual.getFirstSubnode(), epsilon);
+        assertSameDendrogram(expected.getSecondSubnode(), actual.getSecondSubnode(), epsilon);
+    }
+
+    private static RowKey[] getKeys(final ClusterNode node) {
+        return Arrays.stream(node.getAllDataRows()).map(DataRow::getKey).toArray(RowKey[]::new);
+    }
+
+    private static HierarchicalClusterNodeModel createModel(final Linkage linkage,
+        final DistanceFunction.Names distance, final boolean cacheDistances) throws Exception {
+        final NodeSettings settings = new NodeSettings("hierarchicalClustering");
+        final SettingsModelIntegerBounded numClusters = HierarchicalClusterNodeDialog.createSettingsNumberOfClusters();
+        numClusters.setIntValue(4);
+        numClusters.saveSettingsTo(settings);
+        final SettingsModelString distFunction = HierarchicalClusterNodeDialog.createSettingsDistanceFunction();
+        distFunction.setStringValue(distance.toString());
+        distFunction.saveSettingsTo(settings);
+        final SettingsModelString linkageType = HierarchicalClusterNodeDialog.createSettingsLinkageType();
+        linkageType.setStringValue(linkage.name());
+        linkageType.saveSettingsTo(settings);
+        final SettingsModelBoolean cache = HierarchicalClusterNodeDialog.createSettingsCacheKeys();
+        cache.setBooleanValue(cacheDistances);
+        cache.saveSettingsTo(settings);
+        final SettingsModelFilterString columns = HierarchicalClusterNodeDialog.createSettingsColumns();
+        columns.setIncludeList(new String[]{"x", "y"});
+        columns.saveSettingsTo(settings);
+        final HierarchicalClusterNodeModel model = new HierarchicalClusterNodeModel();
+        model.validateSettings(settings);
+        model.loadValidatedSettingsFrom(settings);
+        return model;
+    }
+
+    private BufferedDataTable createRandomTable(final int rowCount, final long seed) {
+        final Random random = new Random(seed);
+        final double[][] points = new double[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            points[i] = new double[]{random.nextGaussian(), random.nextGaussian()};
+        }
+        return createTable(points);
+    }
+
+    /**
+     * Creates points on a small integer grid in random order, many distances are equal and some points occur more
+     * than once.
+     */
+    private BufferedDataTable createGridTable(final long seed) {
+        final Random random = new Random(seed);
+        final double[][] points = new double[30][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[]{random.nextInt(5), random.nextInt(4)};
+        }
+        return createTable(points);
+    }
+
+    private BufferedDataTable createTable(final double[][] points) {
+        final DataTableSpec spec =
+            new DataTableSpec(new String[]{"x", "y"}, new DataType[]{DoubleCell.TYPE, DoubleCell.TYPE});
+        final BufferedDataContainer container = m_exec.createDataContainer(spec);
+        for (int i = 0; i < points.length; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new DoubleCell(points[i][0]),
+                new DoubleCell(points[i][1])));
+        }
+        container.close();
+        return container.getTable();
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.cluster.kmeans;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tests the k-Means node and the {@link KMeans} steps on the {@link KMeansData} snapshot.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class KMeansTest {
+
+    private static final int DIMENSION = 3;
+
+    private static final int NR_CLUSTERS = 4;
+
+    private ExecutionContext m_exec;
+
+    private ThreadPool m_singleThread;
+
+    private ThreadPool m_multiThread;
+
+    /** Creates the execution context and the pools. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Before
+    public void setUp() {
+        NodeFactory<NodeModel> factory = (NodeFactory)new ClusterNodeFactory2();
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(factory),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, new HashMap<Integer, ContainerTable>());
+        m_singleThread = new ThreadPool(1);
+        m_multiThread = new ThreadPool(8);
+    }
+
+    /** Shuts the pools down. */
+    @After
+    public void tearDown() {
+        m_singleThread.shutdown();
+        m_multiThread.shutdown();
+    }
+
+    /**
+     * With the default settings the node computes the same clusters as the Lloyd iterations over the table did
+     * before the snapshot was introduced. A table of a single block is summed up in the same order, more blocks might
+     * lead to rounding differences.
+     */
+    @Test
+    public void testDefaultModeReproducesLloyd() throws Exception {
+        checkDefaultModeReproducesLloyd(5000, 0, 0);
+        checkDefaultModeReproducesLloyd(30000, 1, 1e-9);
+    }
+
+    private void checkDefaultModeReproducesLloyd(final int rowCount, final long seed, final double epsilon)
+        throws Exception {
+        final BufferedDataTable table = createTable(rowCount, seed);
+        final double[][] points = readPoints(table);
+        final double[][] expectedClusters = new double[NR_CLUSTERS][];
+        for (int c = 0; c < NR_CLUSTERS; c++) {
+            expectedClusters[c] = points[c].clone();
+        }
+        final int[] expectedCoverage = lloyd(points, expectedClusters, ClusterNodeModel.INITIAL_MAX_ITERATIONS);
+
+        final ClusterNodeModel model = new ClusterNodeModel(false, true);
+        final NodeSettings settings = new NodeSettings("kMeans");
+        model.saveSettingsTo(settings);
+        settings.addInt(ClusterNodeModel.CFG_NR_OF_CLUSTERS, NR_CLUSTERS);
+        model.validateSettings(settings);
+        model.loadValidatedSettingsFrom(settings);
+        final PortObject[] result = model.execute(new PortObject[]{table}, m_exec);
+
+        final double[][] clusters = model.getViewData().clusters();
+        for (int c = 0; c < NR_CLUSTERS; c++) {
+            assertArrayEquals("Center of cluster " + c, expectedClusters[c], clusters[c], epsilon);
+        }
+        assertArrayEquals(expectedCoverage, model.getViewData().clusterCoverage());
+        int r = 0;
+        for (DataRow row : (BufferedDataTable)result[0]) {
+            final String label = ((StringValue)row.getCell(DIMENSION)).getStringValue();
+            assertEquals("Cluster of row " + r, ClusterNodeModel.CLUSTER + findClosest(points[r], expectedClusters),
+                label);
+            r++;
+        }
+    }
+
+    /** Lloyd iterations and k-means++ lead to identical results with one or more threads. */
+    @Test
+    public void testIndependentOfThreadCount() throws Exception {
+        final BufferedDataTable table = createTable(30000, 2);
+        try (KMeansData data = createData(table)) {
+            assertTrue("Test requires several blocks", data.getNrBlocks() > 1);
+            final KMeans single = new KMeans(data, m_singleThread);
+            final KMeans multi = new KMeans(data, m_multiThread);
+            final double[][] singleClusters = single.initWithFirstRows(NR_CLUSTERS);
+            final double[][] multiClusters = multi.initWithFirstRows(NR_CLUSTERS);
+            assertArrayEquals(lloyd(single, singleClusters), lloyd(multi, multiClusters));
+            assertClustersEqual(singleClusters, multiClusters);
+
+            assertClustersEqual(single.initWithKMeansPlusPlus(NR_CLUSTERS, new Random(3), new ExecutionMonitor()),
+                multi.initWithKMeansPlusPlus(NR_CLUSTERS, new Random(3), new ExecutionMonitor()));
+        }
+    }
+
+    /** The memory-mapped snapshot contains the same values and leads to the same clusters as the heap snapshot. */
+    @Test
+    public void testMemoryMappedSnapshot() throws Exception {
+        final BufferedDataTable table = createTable(20000, 4);
+        final double oldFraction = KMeansData.maxHeapFraction;
+        final KMeansData mapped;
+        KMeansData.maxHeapFraction = 0;
+        try {
+            mapped = createData(table);
+        } finally {
+            KMeansData.maxHeapFraction = oldFraction;
+        }
+        try (KMeansData heap = createData(table)) {
+            try {
+                assertTrue("Snapshot not memory-mapped", mapped.getBlock(0).isDirect());
+                assertFalse("Snapshot not on the heap", heap.getBlock(0).isDirect());
+                assertEquals(heap.getNrRows(), mapped.getNrRows());
+                assertEquals(heap.getNrBlocks(), mapped.getNrBlocks());
+                final double[] heapRow = new double[DIMENSION];
+                final double[] mappedRow = new double[DIMENSION];
+                for (long r = 0; r < heap.getNrRows(); r++) {
+                    heap.getRow(r, heapRow);
+                    mapped.getRow(r, mappedRow);
+                    assertArrayEquals("Row " + r, heapRow, mappedRow, 0);
+                }
+                final KMeans heapKMeans = new KMeans(heap, m_multiThread);
+                final KMeans mappedKMeans = new KMeans(mapped, m_multiThread);
+                final double[][] heapClusters = heapKMeans.initWithFirstRows(NR_CLUSTERS);
+                final double[][] mappedClusters = mappedKMeans.initWithFirstRows(NR_CLUSTERS);
+                assertArrayEquals(lloyd(heapKMeans, heapClusters), lloyd(mappedKMeans, mappedClusters));
+                assertClustersEqual(heapClusters, mappedClusters);
+            } finally {
+                mapped.close();
+            }
+        }
+    }
+
+    /** k-means++ and mini-batch k-Means lead to the same clusters if the same seed is used. */
+    @Test
+    public void testFixedSeed() throws Exception {
+        final BufferedDataTable table = createTable(20000, 5);
+        try (KMeansData data = createData(table)) {
+            final KMeans kMeans = new KMeans(data, m_multiThread);
+            final double[][] clusters1 =
+                kMeans.initWithKMeansPlusPlus(NR_CLUSTERS, new Random(11), new ExecutionMonitor());
+            final double[][] clusters2 =
+                kMeans.initWithKMeansPlusPlus(NR_CLUSTERS, new Random(11), new ExecutionMonitor());
+            assertClustersEqual(clusters1, clusters2);
+
+            final Random random1 = new Random(12);
+            final Random random2 = new Random(12);
+            final long[] counts1 = new long[NR_CLUSTERS];
+            final long[] counts2 = new long[NR_CLUSTERS];
+            for (int i = 0; i < 50; i++) {
+                kMeans.miniBatchStep(clusters1, counts1, 100, random1);
+                kMeans.miniBatchStep(clusters2, counts2, 100, random2);
+            }
+            assertArrayEquals(counts1, counts2);
+            assertClustersEqual(clusters1, clusters2);
+        }
+    }
+
+    private static void assertClustersEqual(final double[][] expected, final double[][] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int c = 0; c < expected.length; c++) {
+            assertArrayEquals("Center of cluster " + c, expected[c], actual[c], 0);
+        }
+    }
+
+    /** Lloyd iterations on the snapshot, as performed by the node, returns the coverage. */
+    private static int[] lloyd(final KMeans kMeans, final double[][] clusters) throws Exception {
+        final int[] coverage = new int[clusters.length];
+        final double[][] delta = new double[clusters.length][];
+        for (int i = 0; i < ClusterNodeModel.INITIAL_MAX_ITERATIONS; i++) {
+            kMeans.assign(clusters, delta, coverage, new ExecutionMonitor());
+            boolean finished = true;
+            for (int c = 0; c < clusters.length; c++) {
+                if (coverage[c] > 0) {
+                    for (int d = 0; d < clusters[c].length; d++) {
+                        final double newValue = delta[c][d] / coverage[c];
+                        finished &= Math.abs(clusters[c][d] - newValue) <= 1e-10;
+                        clusters[c][d] = newValue;
+                    }
+                }
+            }
+            if (finished) {
+                break;
+            }
+        }
+        return coverage;
+    }
+
+    /**
+     * The Lloyd iterations as the node performed them before the snapshot was introduced: in every iteration the rows
+     * are assigned and summed up one after the other.
+     */
+    private static int[] lloyd(final double[][] points, final double[][] clusters, final int maxIterations) {
+        final int[] coverage = new int[clusters.length];
+        boolean finished = false;
+        for (int it = 0; !finished && it < maxIterations; it++) {
+            final double[][] delta = new double[clusters.length][DIMENSION];
+            Arrays.fill(coverage, 0);
+            for (double[] point : points) {
+                final int winner = findClosest(point, clusters);
+                for (int d = 0; d < DIMENSION; d++) {
+                    delta[winner][d] += point[d];
+                }
+                coverage[winner]++;
+            }
+            finished = true;
+            for (int c = 0; c < clusters.length; c++) {
+                if (coverage[c] > 0) {
+                    for (int d = 0; d < DIMENSION; d++) {
+                        final double newValue = delta[c][d] / coverage[c];
+                        if (Math.abs(clusters[c][d] - newValue) > 1e-10) {
+                            finished = false;
+                        }
+                        clusters[c][d] = newValue;
+                    }
+                }
+            }
+        }
+        return coverage;
+    }
+
+    private static int findClosest(final double[] point, final double[][] clusters) {
+        int winner = -1;
+        double winnerDistance = Double.MAX_VALUE;
+        for (int c = 0; c < clusters.length; c++) {
+            double distance = 0;
+            for (int d = 0; d < DIMENSION; d++) {
+                final double diff = clusters[c][d] - point[d];
+                distance += diff * diff;
+            }
+            if (distance < winnerDistance) {
+                winner = c;
+                winnerDistance = distance;
+            }
+        }
+        return winner;
+    }
+
+    private static KMeansData createData(final BufferedDataTable table) throws Exception {
+        return KMeansData.create(table, new boolean[DIMENSION], DIMENSION, new ExecutionMonitor());
+    }
+
+    private static double[][] readPoints(final BufferedDataTable table) {
+        final double[][] points = new double[(int)table.size()][DIMENSION];
+        int r = 0;
+        for (DataRow row : table) {
+            for (int d = 0; d < DIMENSION; d++) {
+                points[r][d] = ((DoubleValue)row.getCell(d)).getDoubleValue();
+            }
+            r++;
+        }
+        return points;
+    }
+
+    /** Creates rows around a few random centers, the first rows are not spread over all centers. */
+    private BufferedDataTable createTable(final int rowCount, final long seed) {
+        final Random random = new Random(seed);
+        final double[][] centers = new double[6][DIMENSION];
+        for (double[] center : centers) {
+            for (int d = 0; d < DIMENSION; d++) {
+                center[d] = random.nextDouble() * 20 - 10;
+            }
+        }
+        final DataTableSpec spec = new DataTableSpec(new String[]{"x", "y", "z"},
+            new DataType[]{DoubleCell.TYPE, DoubleCell.TYPE, DoubleCell.TYPE});
+        final BufferedDataContainer container = m_exec.createDataContainer(spec);
+        for (int r = 0; r < rowCount; r++) {
+            final double[] center = centers[random.nextInt(centers.length)];
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)r),
+                new DoubleCell(center[0] + random.nextGaussian()), new DoubleCell(center[1] + random.nextGaussian()),
+                new DoubleCell(center[2] + random.nextGaussian())));
+        }
+        container.close();
+        return container.getTable();
+    }
+}
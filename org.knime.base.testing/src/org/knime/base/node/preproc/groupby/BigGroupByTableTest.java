@@ -0,0 +1,227 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.data.aggregation.OperatorColumnSettings;
+import org.knime.base.data.aggregation.general.CountOperator;
+import org.knime.base.data.aggregation.numerical.SumOperator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.workflow.SingleNodeContainer;
+
+/**
+ * Tests that the groups of {@link BigGroupByTable} created by hashing are the same as the ones created by sorting the
+ * table, also if memory gets low and the rows are written to (nested) partitions.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class BigGroupByTableTest {
+
+    private static final int ROW_COUNT = 20000;
+
+    private static ExecutionContext EXEC_CONTEXT;
+
+    private IntFunction<MemoryActionIndicator> m_memoryIndicatorFactory;
+
+    /** The highest partition level an indicator was created for. */
+    private final AtomicInteger m_maxLevel = new AtomicInteger(-1);
+
+    /** Creates the execution context. */
+    @BeforeClass
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static void setUpBeforeClass() throws Exception {
+        NodeFactory<NodeModel> factory = (NodeFactory)new GroupByNodeFactory();
+        EXEC_CONTEXT = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(factory),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, new HashMap<Integer, ContainerTable>());
+    }
+
+    /** Releases the execution context. */
+    @AfterClass
+    public static void tearDownAfterClass() {
+        EXEC_CONTEXT = null;
+    }
+
+    /** Remembers the memory indicator factory. */
+    @Before
+    public void setUp() {
+        m_memoryIndicatorFactory = BigGroupByTable.memoryIndicatorFactory;
+    }
+
+    /** Restores the memory indicator factory. */
+    @After
+    public void tearDown() {
+        BigGroupByTable.memoryIndicatorFactory = m_memoryIndicatorFactory;
+    }
+
+    /** All groups fit into memory. */
+    @Test
+    public void testWithoutPartitioning() throws Exception {
+        setMemoryGetsLowAt(new int[0][]);
+        checkSameAsSorted();
+        assertEquals("Partition level", 0, m_maxLevel.get());
+    }
+
+    /** Memory gets low once, the partitions fit into memory. */
+    @Test
+    public void testOneLevelOfPartitioning() throws Exception {
+        setMemoryGetsLowAt(new int[][]{{1000}});
+        checkSameAsSorted();
+        assertEquals("Partition level", 1, m_maxLevel.get());
+    }
+
+    /**
+     * Memory gets low again while rows are partitioned (the resident groups are partitioned, too) and also while
+     * aggregating the partitions, which are split again.
+     */
+    @Test
+    public void testTwoLevelsOfPartitioning() throws Exception {
+        setMemoryGetsLowAt(new int[][]{{1000, 5000}, {50}});
+        checkSameAsSorted();
+        assertEquals("Partition level", 2, m_maxLevel.get());
+    }
+
+    /**
+     * Installs indicators that report low memory at the given calls.
+     *
+     * @param lowAtCalls per partition level the (1-based) calls of each indicator that report low memory, no low
+     *            memory on higher levels
+     */
+    private void setMemoryGetsLowAt(final int[][] lowAtCalls) {
+        BigGroupByTable.memoryIndicatorFactory = level -> {
+            m_maxLevel.accumulateAndGet(level, Math::max);
+            final int[] lowAt = level < lowAtCalls.length ? lowAtCalls[level] : new int[0];
+            final int[] calls = new int[1];
+            return () -> {
+                calls[0]++;
+                return Arrays.stream(lowAt).anyMatch(c -> c == calls[0]);
+            };
+        };
+    }
+
+    private static void checkSameAsSorted() throws Exception {
+        final BufferedDataTable table = createTable();
+        final DataTableSpec spec = table.getDataTableSpec();
+        final ColumnAggregator[] aggregators = new ColumnAggregator[]{
+            new ColumnAggregator(spec.getColumnSpec("Value"),
+                new SumOperator(GlobalSettings.DEFAULT, OperatorColumnSettings.DEFAULT_EXCL_MISSING)),
+            new ColumnAggregator(spec.getColumnSpec("Value"),
+                new CountOperator(GlobalSettings.DEFAULT, OperatorColumnSettings.DEFAULT_INCL_MISSING))};
+        final GroupByTable sorted = new BigGroupByTable(EXEC_CONTEXT, table, Arrays.asList("Group"), aggregators,
+            GlobalSettings.DEFAULT, true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, false);
+        final GroupByTable hashed = BigGroupByTable.createHashed(EXEC_CONTEXT, table, Arrays.asList("Group"),
+            aggregators, GlobalSettings.DEFAULT, true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, false);
+        final Map<DataCell, DataRow> expected = getGroups(sorted);
+        final Map<DataCell, DataRow> actual = getGroups(hashed);
+        assertEquals("Groups", expected.keySet(), actual.keySet());
+        for (final Map.Entry<DataCell, DataRow> e : expected.entrySet()) {
+            final DataRow expectedRow = e.getValue();
+            final DataRow actualRow = actual.get(e.getKey());
+            assertEquals("Sum of " + e.getKey(), ((DoubleCell)expectedRow.getCell(1)).getDoubleValue(),
+                ((DoubleCell)actualRow.getCell(1)).getDoubleValue(), 1e-6);
+            assertEquals("Count of " + e.getKey(), expectedRow.getCell(2), actualRow.getCell(2));
+            assertEquals("Rows of " + e.getKey(), sorted.getHiliteMapping().get(expectedRow.getKey()),
+                hashed.getHiliteMapping().get(actualRow.getKey()));
+        }
+    }
+
+    /** The groups are in a different order, hence they are compared by their group value. */
+    private static Map<DataCell, DataRow> getGroups(final GroupByTable groupByTable) {
+        final Map<DataCell, DataRow> groups = new HashMap<>();
+        for (final DataRow row : groupByTable.getBufferedTable()) {
+            assertTrue("Duplicate group " + row.getCell(0), groups.put(row.getCell(0), row) == null);
+        }
+        return groups;
+    }
+
+    private static BufferedDataTable createTable() {
+        final DataTableSpec spec = new DataTableSpec(new String[]{"Group", "Value"},
+            new DataType[]{StringCell.TYPE, DoubleCell.TYPE});
+        final BufferedDataContainer dc = EXEC_CONTEXT.createDataContainer(spec);
+        final Random random = new Random(42);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            // new groups keep showing up throughout the table
+            dc.addRowToTable(new DefaultRow(RowKey.createRowKey(i),
+                new StringCell("Group " + random.nextInt(ROW_COUNT / 4)), new DoubleCell(random.nextInt(100))));
+        }
+        dc.close();
+        return dc.getTable();
+    }
+}
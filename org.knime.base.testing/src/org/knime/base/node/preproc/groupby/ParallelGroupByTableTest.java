@@ -0,0 +1,190 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.data.aggregation.OperatorColumnSettings;
+import org.knime.base.data.aggregation.general.CountOperator;
+import org.knime.base.data.aggregation.numerical.SumOperator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.workflow.SingleNodeContainer;
+
+/**
+ * Tests that {@link ParallelGroupByTable} gives the same result as {@link MemoryGroupByTable}, also if rows are
+ * spilled to disc.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ParallelGroupByTableTest {
+
+    private static ExecutionContext EXEC_CONTEXT;
+
+    private Supplier<MemoryActionIndicator> m_memoryIndicatorFactory;
+
+    /** Creates the execution context. */
+    @BeforeClass
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static void setUpBeforeClass() throws Exception {
+        NodeFactory<NodeModel> factory = (NodeFactory)new GroupByNodeFactory();
+        EXEC_CONTEXT = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(factory),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, new HashMap<Integer, ContainerTable>());
+    }
+
+    /** Releases the execution context. */
+    @AfterClass
+    public static void tearDownAfterClass() {
+        EXEC_CONTEXT = null;
+    }
+
+    /** Remembers the memory indicator factory. */
+    @Before
+    public void setUp() {
+        m_memoryIndicatorFactory = ParallelGroupByTable.memoryIndicatorFactory;
+    }
+
+    /** Restores the memory indicator factory. */
+    @After
+    public void tearDown() {
+        ParallelGroupByTable.memoryIndicatorFactory = m_memoryIndicatorFactory;
+    }
+
+    /** Without spilling the groups are in the order of first occurrence. */
+    @Test
+    public void testWithoutSpilling() throws Exception {
+        ParallelGroupByTable.memoryIndicatorFactory = () -> () -> false;
+        checkSameAsMemoryGroupBy(20000);
+    }
+
+    /** Spilled groups (also of partitions that are spilled again) are in the order of first occurrence. */
+    @Test
+    public void testWithSpilling() throws Exception {
+        // memory gets low after the second chunk of each aggregation, i.e. also partitions are split again
+        ParallelGroupByTable.memoryIndicatorFactory = () -> {
+            final int[] calls = new int[1];
+            return () -> ++calls[0] == 2;
+        };
+        checkSameAsMemoryGroupBy(200000);
+    }
+
+    private static void checkSameAsMemoryGroupBy(final int rowCount) throws Exception {
+        final BufferedDataTable table = createTable(rowCount);
+        final DataTableSpec spec = table.getDataTableSpec();
+        final ColumnAggregator[] aggregators = new ColumnAggregator[]{
+            new ColumnAggregator(spec.getColumnSpec("Value"),
+                new SumOperator(GlobalSettings.DEFAULT, OperatorColumnSettings.DEFAULT_EXCL_MISSING)),
+            new ColumnAggregator(spec.getColumnSpec("Value"),
+                new CountOperator(GlobalSettings.DEFAULT, OperatorColumnSettings.DEFAULT_INCL_MISSING))};
+        assertTrue(ParallelGroupByTable.supportsParallelAggregation(aggregators, GlobalSettings.DEFAULT));
+        final GroupByTable expected = new MemoryGroupByTable(EXEC_CONTEXT, table, Arrays.asList("Group"),
+            aggregators, GlobalSettings.DEFAULT, true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, true);
+        final GroupByTable actual = new ParallelGroupByTable(EXEC_CONTEXT, table, Arrays.asList("Group"),
+            aggregators, GlobalSettings.DEFAULT, true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME);
+        final BufferedDataTable expectedTable = expected.getBufferedTable();
+        final BufferedDataTable actualTable = actual.getBufferedTable();
+        assertEquals("Number of groups", expectedTable.size(), actualTable.size());
+        try (CloseableRowIterator expectedIt = expectedTable.iterator();
+                CloseableRowIterator actualIt = actualTable.iterator()) {
+            long index = 0;
+            while (expectedIt.hasNext()) {
+                final DataRow expectedRow = expectedIt.next();
+                final DataRow actualRow = actualIt.next();
+                assertEquals("Key of group " + index, expectedRow.getKey(), actualRow.getKey());
+                assertEquals("Group " + index, expectedRow.getCell(0), actualRow.getCell(0));
+                assertEquals("Sum of group " + index, ((DoubleCell)expectedRow.getCell(1)).getDoubleValue(),
+                    ((DoubleCell)actualRow.getCell(1)).getDoubleValue(), 1e-6);
+                assertEquals("Count of group " + index, expectedRow.getCell(2), actualRow.getCell(2));
+                index++;
+            }
+        }
+        assertEquals("Hilite mapping", expected.getHiliteMapping(), actual.getHiliteMapping());
+    }
+
+    private static BufferedDataTable createTable(final int rowCount) {
+        final DataTableSpec spec = new DataTableSpec(new String[]{"Group", "Value"},
+            new DataType[]{StringCell.TYPE, DoubleCell.TYPE});
+        final BufferedDataContainer dc = EXEC_CONTEXT.createDataContainer(spec);
+        final Random random = new Random(42);
+        for (int i = 0; i < rowCount; i++) {
+            // new groups keep showing up throughout the table
+            dc.addRowToTable(new DefaultRow(RowKey.createRowKey(i),
+                new StringCell("Group " + random.nextInt(rowCount / 4)), new DoubleCell(random.nextInt(100))));
+        }
+        dc.close();
+        return dc.getTable();
+    }
+}
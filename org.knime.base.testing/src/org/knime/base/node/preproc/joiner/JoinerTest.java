@@ -56,6 +56,7 @@
 
 import org.junit.Before;
 import org.junit.Test;
+import org.knime.base.node.preproc.joiner.Joiner2Settings.CompositionMode;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.JoinMode;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
@@ -405,9 +406,64 @@ public void testSortPartitionsFullOuterJoin() throws Exception {
     }
 
 
-    private Joiner2Settings createReferenceSettings(final String col) {
+    /**
+     * Checks whether the grace hash join gives the same result as the default algorithm for all join modes, also when
+     * partitions need to be split due to low memory.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testGraceHashJoin() throws Exception {
+        for (JoinMode joinMode : JoinMode.values()) {
+            runGraceHashJoinTest(joinMode, CompositionMode.MatchAll, "Data");
+            runGraceHashJoinTest(joinMode, CompositionMode.MatchAll, Joiner2Settings.ROW_KEY_IDENTIFIER);
+        }
+    }
+
+    /**
+     * Checks whether the grace hash join gives the same result as the default algorithm when rows match via any of
+     * the join columns.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testGraceHashJoinMatchAny() throws Exception {
+        for (JoinMode joinMode : JoinMode.values()) {
+            runGraceHashJoinTest(joinMode, CompositionMode.MatchAny, "Data", Joiner2Settings.ROW_KEY_IDENTIFIER);
+        }
+    }
+
+    private void runGraceHashJoinTest(final JoinMode joinMode, final CompositionMode compositionMode,
+        final String... cols) throws Exception {
+        Joiner2Settings settingsRef = createReferenceSettings(cols);
+        settingsRef.setJoinMode(joinMode);
+        settingsRef.setCompositionMode(compositionMode);
+
+        BufferedDataTable leftTable = m_exec.createBufferedDataTable(new TestData(200, 1), m_exec);
+        BufferedDataTable rightTable = m_exec.createBufferedDataTable(new TestData(100, 2), m_exec);
+
+        Joiner joinerRef = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settingsRef);
+        BufferedDataTable reference = joinerRef.computeJoinTable(leftTable, rightTable, m_exec);
+
+        // partitions fit into memory
+        Joiner2Settings settingsTest = createReferenceSettings(cols);
+        settingsTest.setJoinMode(joinMode);
+        settingsTest.setCompositionMode(compositionMode);
+        settingsTest.setUseGraceHashJoin(true);
+        Joiner joinerTest = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settingsTest);
+        compareTables(reference, joinerTest.computeJoinTable(leftTable, rightTable, m_exec));
+
+        // a single initial partition which must be split repeatedly
+        settingsTest.setMaxOpenFiles(3);
+        joinerTest = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settingsTest);
+        joinerTest.setRowsAddedBeforeOOM(10);
+        joinerTest.setNumBitsInitial(0);
+        compareTables(reference, joinerTest.computeJoinTable(leftTable, rightTable, m_exec));
+    }
+
+    private Joiner2Settings createReferenceSettings(final String... col) {
         Joiner2Settings settingsRef = new Joiner2Settings();
-        String[] joinColumns = new String[]{col};
+        String[] joinColumns = col;
         settingsRef.setLeftJoinColumns(joinColumns);
         settingsRef.setRightJoinColumns(joinColumns);
         return settingsRef;
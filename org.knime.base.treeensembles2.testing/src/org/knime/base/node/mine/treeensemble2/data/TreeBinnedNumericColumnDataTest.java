@@ -0,0 +1,190 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.treeensemble2.data;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.apache.commons.math.random.RandomData;
+import org.junit.Test;
+import org.knime.base.node.mine.treeensemble2.data.memberships.DataMemberships;
+import org.knime.base.node.mine.treeensemble2.data.memberships.DefaultDataIndexManager;
+import org.knime.base.node.mine.treeensemble2.data.memberships.RootDataMemberships;
+import org.knime.base.node.mine.treeensemble2.learner.NumericSplitCandidate;
+import org.knime.base.node.mine.treeensemble2.learner.SplitCandidate;
+import org.knime.base.node.mine.treeensemble2.model.TreeNodeNumericCondition;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration.ColumnSamplingMode;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration.SplitCriterion;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.util.Pair;
+
+/**
+ * Tests the histogram based split search of {@link TreeBinnedNumericColumnData}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TreeBinnedNumericColumnDataTest {
+
+    /* data from J. Fuernkranz, Uni Darmstadt (see TreeNumericColumnDataTest) */
+    private static final double[] DATA =
+        TreeNumericColumnDataTest.asDataArray("60,70,75,85, 90, 95, 100,120,125,220");
+
+    private static final String[] TARGET =
+        TreeNumericColumnDataTest.asStringArray("No,No,No,Yes,Yes,Yes,No, No, No, No");
+
+    private static TreeEnsembleLearnerConfiguration createConfig(final int nrBins) throws InvalidSettingsException {
+        TreeEnsembleLearnerConfiguration config = new TreeEnsembleLearnerConfiguration(false);
+        config.setColumnSamplingMode(ColumnSamplingMode.None);
+        config.setSplitCriterion(SplitCriterion.Gini);
+        config.setNrModels(1);
+        config.setDataSelectionWithReplacement(false);
+        config.setUseDifferentAttributesAtEachNode(false);
+        config.setDataFractionPerTree(1.0);
+        config.setNrHistogramBins(nrBins);
+        return config;
+    }
+
+    private static Pair<TreeOrdinaryNumericColumnData, TreeTargetNominalColumnData>
+        exampleData(final TreeEnsembleLearnerConfiguration config) {
+        TestDataGenerator dataGen = new TestDataGenerator(config);
+        return Pair.create(dataGen.createNumericAttributeColumnData(DATA, "test-col", 0),
+            TestDataGenerator.createNominalTargetColumn(TARGET));
+    }
+
+    private static DataMemberships createRootMemberships(final TreeData treeData) {
+        double[] rowWeights = new double[DATA.length];
+        Arrays.fill(rowWeights, 1.0);
+        return new RootDataMemberships(rowWeights, treeData, new DefaultDataIndexManager(treeData));
+    }
+
+    /**
+     * With at least as many bins as distinct values the binned split must be the exact split.
+     *
+     * @throws Exception ...
+     */
+    @Test
+    public void testManyBinsEqualsExactSplit() throws Exception {
+        TreeEnsembleLearnerConfiguration config = createConfig(16);
+        Pair<TreeOrdinaryNumericColumnData, TreeTargetNominalColumnData> exampleData = exampleData(config);
+        assertThat(exampleData.getFirst(), instanceOf(TreeBinnedNumericColumnData.class));
+        TreeBinnedNumericColumnData columnData = (TreeBinnedNumericColumnData)exampleData.getFirst();
+        assertEquals(DATA.length, columnData.getNrBins());
+        TreeTargetNominalColumnData targetData = exampleData.getSecond();
+        DataMemberships dataMemberships =
+            createRootMemberships(TreeNumericColumnDataTest.createTreeDataClassification(exampleData));
+        ClassificationPriors priors = targetData.getDistribution(dataMemberships, config);
+        RandomData rd = config.createRandomData();
+        SplitCandidate splitCandidate = columnData.calcBestSplitClassification(dataMemberships, priors, targetData, rd);
+        assertThat(splitCandidate, instanceOf(NumericSplitCandidate.class));
+        assertEquals(0.12, splitCandidate.getGainValue(), 0.00001);
+        TreeNodeNumericCondition[] childConditions = ((NumericSplitCandidate)splitCandidate).getChildConditions();
+        assertEquals((95.0 + 100.0) / 2.0, childConditions[0].getSplitValue(), 0.0);
+    }
+
+    /**
+     * With two bins the only candidate is the boundary at the median.
+     *
+     * @throws Exception ...
+     */
+    @Test
+    public void testTwoBinsSplitAtBinBoundary() throws Exception {
+        TreeEnsembleLearnerConfiguration config = createConfig(2);
+        Pair<TreeOrdinaryNumericColumnData, TreeTargetNominalColumnData> exampleData = exampleData(config);
+        TreeBinnedNumericColumnData columnData = (TreeBinnedNumericColumnData)exampleData.getFirst();
+        assertEquals(2, columnData.getNrBins());
+        TreeTargetNominalColumnData targetData = exampleData.getSecond();
+        DataMemberships dataMemberships =
+            createRootMemberships(TreeNumericColumnDataTest.createTreeDataClassification(exampleData));
+        ClassificationPriors priors = targetData.getDistribution(dataMemberships, config);
+        SplitCandidate splitCandidate =
+            columnData.calcBestSplitClassification(dataMemberships, priors, targetData, config.createRandomData());
+        assertEquals(/* 0.42 - 0.4 */0.02, splitCandidate.getGainValue(), 0.00001);
+        TreeNodeNumericCondition[] childConditions = ((NumericSplitCandidate)splitCandidate).getChildConditions();
+        assertEquals((90.0 + 95.0) / 2.0, childConditions[0].getSplitValue(), 0.0);
+    }
+
+    /**
+     * The histogram of a child derived by subtracting its sibling from the parent must match the directly computed
+     * one.
+     *
+     * @throws Exception ...
+     */
+    @Test
+    public void testSiblingSubtraction() throws Exception {
+        TreeEnsembleLearnerConfiguration config = createConfig(4);
+        Pair<TreeOrdinaryNumericColumnData, TreeTargetNominalColumnData> exampleData = exampleData(config);
+        TreeBinnedNumericColumnData columnData = (TreeBinnedNumericColumnData)exampleData.getFirst();
+        TreeTargetNominalColumnData targetData = exampleData.getSecond();
+        DataMemberships dataMemberships =
+            createRootMemberships(TreeNumericColumnDataTest.createTreeDataClassification(exampleData));
+        ClassificationPriors priors = targetData.getDistribution(dataMemberships, config);
+        NumericSplitCandidate splitCandidate = (NumericSplitCandidate)columnData
+            .calcBestSplitClassification(dataMemberships, priors, targetData, config.createRandomData());
+        TreeNodeNumericCondition[] childConditions = splitCandidate.getChildConditions();
+        BitSet inLeft = columnData.updateChildMemberships(childConditions[0], dataMemberships);
+        BitSet inRight = columnData.updateChildMemberships(childConditions[1], dataMemberships);
+
+        NumericHistogram parent = columnData.createHistogram(dataMemberships, targetData);
+        NumericHistogram left = columnData.createHistogram(dataMemberships.createChildMemberships(inLeft), targetData);
+        NumericHistogram right =
+            columnData.createHistogram(dataMemberships.createChildMemberships(inRight), targetData);
+        NumericHistogram derivedRight = parent.subtract(left);
+        assertEquals(right.getTotalWeight(), derivedRight.getTotalWeight(), TreeColumnData.EPSILON);
+        for (int bin = 0; bin <= right.getNrBins(); bin++) {
+            assertEquals(right.getWeight(bin), derivedRight.getWeight(bin), TreeColumnData.EPSILON);
+            for (int stat = 0; stat < right.getNrStats(); stat++) {
+                assertEquals(right.getStat(bin, stat), derivedRight.getStat(bin, stat), TreeColumnData.EPSILON);
+            }
+        }
+    }
+}
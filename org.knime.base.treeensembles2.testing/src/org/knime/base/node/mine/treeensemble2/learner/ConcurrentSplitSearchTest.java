@@ -0,0 +1,155 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.treeensemble2.learner;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.util.Random;
+
+import org.apache.commons.math.random.RandomData;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knime.base.node.mine.treeensemble2.data.TestDataGenerator;
+import org.knime.base.node.mine.treeensemble2.data.TreeAttributeColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeData;
+import org.knime.base.node.mine.treeensemble2.data.TreeTargetNumericColumnData;
+import org.knime.base.node.mine.treeensemble2.data.memberships.DefaultDataIndexManager;
+import org.knime.base.node.mine.treeensemble2.model.TreeModelRegression;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration;
+import org.knime.base.node.mine.treeensemble2.sample.row.RowSample;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tests that the concurrent split search of {@link AbstractTreeLearner} learns the same tree for a fixed seed, no
+ * matter whether the columns are searched by the threads of the pool or all by the calling thread.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ConcurrentSplitSearchTest {
+
+    private static final long SEED = 42L;
+
+    /** Enough rows to search the columns of the upper nodes concurrently. */
+    private static final int NR_ROWS = 4 * AbstractTreeLearner.MIN_ROWS_FOR_CONCURRENT_SPLIT_SEARCH;
+
+    private static final int NR_COLUMNS = 8;
+
+    private static ThreadPool POOL;
+
+    /** Creates the pool. */
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        POOL = new ThreadPool(NR_COLUMNS);
+    }
+
+    /** Shuts the pool down. */
+    @AfterClass
+    public static void tearDownAfterClass() {
+        POOL.shutdown();
+        POOL = null;
+    }
+
+    /** The tree learned with the threads of the pool is the same as the one learned by the calling thread only. */
+    @Test
+    public void testSameTreeWithAndWithoutPool() throws Exception {
+        final TreeEnsembleLearnerConfiguration config = new TreeEnsembleLearnerConfiguration(true);
+        config.setSeed(SEED);
+        config.setMaxLevels(6);
+        final TreeData data = createData(config);
+        // a pool without threads, trySubmit never finds an idle thread
+        final ThreadPool noThreads = new ThreadPool(1);
+        noThreads.setMaxThreads(0);
+        final byte[] expected = learnTree(config, data, noThreads);
+        assertTrue("Tree has no splits", expected.length > 0);
+        for (int i = 0; i < 5; i++) {
+            assertArrayEquals("Tree learned with pool (run " + i + ")", expected, learnTree(config, data, POOL));
+        }
+    }
+
+    private static byte[] learnTree(final TreeEnsembleLearnerConfiguration config, final TreeData data,
+        final ThreadPool pool) throws Exception {
+        final RandomData rd = config.createRandomData();
+        final RowSample rowSample = config.createRowSampler(data).createRowSample(rd);
+        final TreeLearnerRegression learner = new TreeLearnerRegression(config, data,
+            new DefaultDataIndexManager(data), new TreeNodeSignatureFactory(), rd, rowSample);
+        learner.setSplitSearchPool(pool);
+        final TreeModelRegression tree = learner.learnSingleTree(new ExecutionMonitor(), rd);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            tree.save(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Few distinct values per column, hence many ties that are broken by random numbers. */
+    private static TreeData createData(final TreeEnsembleLearnerConfiguration config) {
+        final TestDataGenerator dataGen = new TestDataGenerator(config);
+        final Random random = new Random(SEED);
+        final double[][] values = new double[NR_COLUMNS][NR_ROWS];
+        final StringBuilder target = new StringBuilder();
+        for (int r = 0; r < NR_ROWS; r++) {
+            double y = 0;
+            for (int c = 0; c < NR_COLUMNS; c++) {
+                values[c][r] = random.nextInt(5);
+                y += (c % 2 == 0 ? 1 : -1) * values[c][r];
+            }
+            target.append(r == 0 ? "" : ", ").append(y + random.nextInt(3));
+        }
+        final TreeAttributeColumnData[] columns = new TreeAttributeColumnData[NR_COLUMNS];
+        for (int c = 0; c < NR_COLUMNS; c++) {
+            columns[c] = dataGen.createNumericAttributeColumnData(values[c], "col" + c, c);
+        }
+        final TreeTargetNumericColumnData targetColumn = TestDataGenerator.createNumericTargetColumn(target.toString());
+        return dataGen.createTreeData(targetColumn, columns);
+    }
+}
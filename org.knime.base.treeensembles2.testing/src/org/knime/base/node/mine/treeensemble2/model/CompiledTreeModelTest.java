@@ -0,0 +1,160 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.treeensemble2.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import org.junit.Test;
+import org.knime.base.node.mine.treeensemble2.data.NominalValueRepresentation;
+import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
+import org.knime.base.node.mine.treeensemble2.data.TestDataGenerator;
+import org.knime.base.node.mine.treeensemble2.data.TreeData;
+import org.knime.base.node.mine.treeensemble2.data.TreeNominalColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeNominalColumnMetaData;
+import org.knime.base.node.mine.treeensemble2.data.TreeNumericColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeTargetColumnMetaData;
+import org.knime.base.node.mine.treeensemble2.data.TreeTargetNumericColumnData;
+import org.knime.base.node.mine.treeensemble2.model.TreeNodeNumericCondition.NumericOperator;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration;
+
+import com.google.common.collect.Maps;
+
+/**
+ * This class contains unit tests for the class {@link CompiledTreeModel}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CompiledTreeModelTest {
+
+    /**
+     * Tests that the compiled tree finds the same leaves as
+     * {@link AbstractTreeModel#findMatchingNode(PredictorRecord)}, including missing values and surrogates.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFindMatchingNode() throws Exception {
+        final TreeEnsembleLearnerConfiguration config = new TreeEnsembleLearnerConfiguration(false);
+        final TestDataGenerator dataGen = new TestDataGenerator(config);
+        final TreeNumericColumnData numCol = dataGen.createNumericAttributeColumn("1,2,3,4,5,6", "num", 0);
+        final TreeNominalColumnData nomCol = dataGen.createNominalAttributeColumn("a,b,c,a,b,c", "nom", 1);
+        final TreeTargetNumericColumnData target = TestDataGenerator.createNumericTargetColumn("1,2,3,4,5,6");
+        final TreeData data = dataGen.createTreeData(target, numCol, nomCol);
+        final TreeNominalColumnMetaData nomMeta = nomCol.getMetaData();
+        final int a = assignedInteger(nomMeta, "a");
+        final int b = assignedInteger(nomMeta, "b");
+
+        final TreeNodeSignature root = TreeNodeSignature.ROOT_SIGNATURE;
+        final TreeNodeSignature left = root.createChildSignature((byte)0);
+        final TreeNodeSignature right = root.createChildSignature((byte)1);
+        // left: nominal set split, right: surrogate split on "nom" then "num" with default direction
+        final TreeNodeRegression leftIn = leaf(data, left.createChildSignature((byte)0));
+        leftIn.setTreeNodeCondition(new TreeNodeNominalBinaryCondition(nomMeta,
+            BigInteger.ZERO.setBit(a).setBit(b), true, false));
+        final TreeNodeRegression leftOut = leaf(data, left.createChildSignature((byte)1));
+        leftOut.setTreeNodeCondition(new TreeNodeNominalBinaryCondition(nomMeta,
+            BigInteger.ZERO.setBit(a).setBit(b), false, true));
+        final TreeNodeRegression rightEq = leaf(data, right.createChildSignature((byte)0));
+        rightEq.setTreeNodeCondition(new TreeNodeSurrogateCondition(new TreeNodeColumnCondition[]{
+            new TreeNodeNominalCondition(nomMeta, a, false),
+            new TreeNodeNumericCondition(numCol.getMetaData(), 5, NumericOperator.LessThanOrEqual, false)}, true));
+        final TreeNodeRegression rightOther = leaf(data, right.createChildSignature((byte)1));
+        rightOther.setTreeNodeCondition(new TreeNodeSurrogateCondition(new TreeNodeColumnCondition[]{
+            new TreeNodeNominalCondition(nomMeta, a, true),
+            new TreeNodeNumericCondition(numCol.getMetaData(), 5, NumericOperator.LargerThan, false)}, false));
+
+        final TreeNodeRegression leftNode = node(data, left, leftIn, leftOut);
+        leftNode.setTreeNodeCondition(
+            new TreeNodeNumericCondition(numCol.getMetaData(), 3, NumericOperator.LessThanOrEqual, true));
+        final TreeNodeRegression rightNode = node(data, right, rightEq, rightOther);
+        rightNode.setTreeNodeCondition(
+            new TreeNodeNumericCondition(numCol.getMetaData(), 3, NumericOperator.LargerThan, false));
+        final TreeNodeRegression rootNode = node(data, root, leftNode, rightNode);
+        rootNode.setTreeNodeCondition(TreeNodeTrueCondition.INSTANCE);
+        final TreeModelRegression tree = new TreeModelRegression(rootNode);
+
+        final CompiledTreeModel<TreeNodeRegression> compiled = CompiledTreeModel.compile(tree, data.getMetaData());
+        assertEquals("Wrong number of nodes", 7, compiled.getNrNodes());
+        final double[] nums = {1, 3, 4, 6, Double.NaN};
+        final String[] noms = {"a", "b", "c", null};
+        for (double num : nums) {
+            for (String nom : noms) {
+                final Map<String, Object> map = Maps.newHashMap();
+                map.put("num", Double.isNaN(num) ? PredictorRecord.NULL : num);
+                final int nomIndex = nom == null ? -1 : assignedInteger(nomMeta, nom);
+                map.put("nom", nom == null ? PredictorRecord.NULL : Integer.valueOf(nomIndex));
+                final double[] record = {num, nom == null ? Double.NaN : nomIndex};
+                assertSame("Wrong leaf for num=" + num + ", nom=" + nom,
+                    tree.findMatchingNode(new PredictorRecord(map)), compiled.findMatchingNode(record));
+            }
+        }
+    }
+
+    private static int assignedInteger(final TreeNominalColumnMetaData meta, final String value) {
+        for (NominalValueRepresentation rep : meta.getValues()) {
+            if (rep.getNominalValue().equals(value)) {
+                return rep.getAssignedInteger();
+            }
+        }
+        throw new IllegalArgumentException(value);
+    }
+
+    private static TreeNodeRegression leaf(final TreeData data, final TreeNodeSignature signature) {
+        return node(data, signature);
+    }
+
+    private static TreeNodeRegression node(final TreeData data, final TreeNodeSignature signature,
+        final TreeNodeRegression... children) {
+        final TreeTargetColumnMetaData targetMeta = data.getMetaData().getTargetMetaData();
+        return new TreeNodeRegression(targetMeta, signature, 0, 0, 0, children);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.treeensemble2.data;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of the rows of a tree node over the bins of a {@link TreeBinnedNumericColumnData}. For each bin it holds
+ * the sum of the row weights and per-bin target statistics, which are the weighted class counts for classification
+ * and the weighted sum of the target values for regression. Rows with missing values are collected in an additional
+ * bin.
+ * <p>
+ * As all statistics are sums, the histogram of a node minus the histograms of all but one of its children is the
+ * histogram of the remaining child, see {@link #subtract(NumericHistogram)}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.6
+ */
+public final class NumericHistogram {
+
+    private final int m_nrBins;
+
+    private final int m_nrStats;
+
+    /** Sum of the row weights per bin, the last entry is for the missing values. */
+    private final double[] m_weights;
+
+    /** Target statistics, m_nrStats consecutive entries per bin; the last m_nrStats entries are for missing values. */
+    private final double[] m_stats;
+
+    /**
+     * @param nrBins the number of bins (without the bin for missing values)
+     * @param nrStats the number of target statistics per bin
+     */
+    NumericHistogram(final int nrBins, final int nrStats) {
+        m_nrBins = nrBins;
+        m_nrStats = nrStats;
+        m_weights = new double[nrBins + 1];
+        m_stats = new double[(nrBins + 1) * nrStats];
+    }
+
+    private NumericHistogram(final NumericHistogram toCopy) {
+        m_nrBins = toCopy.m_nrBins;
+        m_nrStats = toCopy.m_nrStats;
+        m_weights = toCopy.m_weights.clone();
+        m_stats = toCopy.m_stats.clone();
+    }
+
+    /**
+     * Adds a row.
+     *
+     * @param bin the bin of the row, {@link #getNrBins()} for a missing value
+     * @param weight the weight of the row
+     * @param stat the index of the target statistic to update
+     * @param value the value to add to the target statistic
+     */
+    void add(final int bin, final double weight, final int stat, final double value) {
+        m_weights[bin] += weight;
+        m_stats[bin * m_nrStats + stat] += value;
+    }
+
+    /** @return the number of bins (without the bin for missing values) */
+    int getNrBins() {
+        return m_nrBins;
+    }
+
+    /** @return the number of target statistics per bin */
+    int getNrStats() {
+        return m_nrStats;
+    }
+
+    /**
+     * @param bin the bin, {@link #getNrBins()} for the missing values
+     * @return the sum of the weights of the rows in the bin
+     */
+    double getWeight(final int bin) {
+        return m_weights[bin];
+    }
+
+    /**
+     * @param bin the bin, {@link #getNrBins()} for the missing values
+     * @param stat the index of the statistic
+     * @return the target statistic of the bin
+     */
+    double getStat(final int bin, final int stat) {
+        return m_stats[bin * m_nrStats + stat];
+    }
+
+    /**
+     * @return the sum of the weights of all rows, including the ones with missing values
+     */
+    public double getTotalWeight() {
+        double total = 0.0;
+        for (final double w : m_weights) {
+            total += w;
+        }
+        return total;
+    }
+
+    /**
+     * Creates the histogram of this histogram's rows without the rows of the argument, i.e. the histogram of a sibling
+     * if this is the histogram of the parent node.
+     *
+     * @param other the histogram of a subset of the rows of this histogram, computed for the same column and target
+     * @return a new histogram, this and the argument are not modified
+     * @throws IllegalArgumentException if the histograms have a different layout
+     */
+    public NumericHistogram subtract(final NumericHistogram other) {
+        if (other.m_nrBins != m_nrBins || other.m_nrStats != m_nrStats) {
+            throw new IllegalArgumentException("Histograms are incompatible: " + other.m_nrBins + " bins with "
+                + other.m_nrStats + " statistics vs. " + m_nrBins + " bins with " + m_nrStats + " statistics");
+        }
+        final NumericHistogram result = new NumericHistogram(this);
+        for (int i = 0; i < m_weights.length; i++) {
+            final double w = result.m_weights[i] - other.m_weights[i];
+            // avoid negative rounding artifacts, weights of a bin are either zero or at least EPSILON
+            result.m_weights[i] = w < TreeColumnData.EPSILON ? 0.0 : w;
+        }
+        for (int i = 0; i < m_stats.length; i++) {
+            result.m_stats[i] -= other.m_stats[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "NumericHistogram " + Arrays.toString(m_weights);
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.treeensemble2.data;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.apache.commons.math.random.RandomData;
+import org.knime.base.node.mine.treeensemble2.data.memberships.ColumnMemberships;
+import org.knime.base.node.mine.treeensemble2.data.memberships.DataMemberships;
+import org.knime.base.node.mine.treeensemble2.learner.IImpurity;
+import org.knime.base.node.mine.treeensemble2.learner.NumericSplitCandidate;
+import org.knime.base.node.mine.treeensemble2.learner.SplitCandidate;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration;
+import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration.MissingValueHandling;
+
+/**
+ * Numeric column whose values are discretized into quantile bins (at most
+ * {@link TreeEnsembleLearnerConfiguration#MAX_NR_HISTOGRAM_BINS}, stored as byte code per sorted value). The split
+ * search first accumulates a {@link NumericHistogram} of the rows in the node and then only evaluates the bin
+ * boundaries, rather than every distinct value. The sorted values are kept, hence the child memberships and
+ * surrogates are computed as for {@link TreeOrdinaryNumericColumnData}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.6
+ */
+public final class TreeBinnedNumericColumnData extends TreeOrdinaryNumericColumnData {
+
+    /** Bin of each non-missing value in the sorted column (unsigned byte). */
+    private final byte[] m_sortedBins;
+
+    /** Smallest value of each bin. */
+    private final float[] m_binLowerBounds;
+
+    /** Largest value of each bin. */
+    private final float[] m_binUpperBounds;
+
+    private TreeBinnedNumericColumnData(final TreeNumericColumnMetaData metaData,
+        final TreeEnsembleLearnerConfiguration configuration, final float[] sortedData,
+        final int[] orginalIndexInColumnList, final boolean containsMissingValues, final int indexFirstMissing,
+        final byte[] sortedBins, final float[] binLowerBounds, final float[] binUpperBounds) {
+        super(metaData, configuration, sortedData, orginalIndexInColumnList, containsMissingValues,
+            indexFirstMissing);
+        m_sortedBins = sortedBins;
+        m_binLowerBounds = binLowerBounds;
+        m_binUpperBounds = binUpperBounds;
+    }
+
+    /**
+     * Creates the column data and discretizes the values into (approximately) equal frequency bins. Equal values are
+     * always put into the same bin, hence a column with few distinct values may end up with less bins.
+     *
+     * @param metaData the meta data
+     * @param configuration the configuration
+     * @param sortedData the sorted values, missing values (NaN) at the end
+     * @param orginalIndexInColumnList the original index of each sorted value
+     * @param containsMissingValues whether there are missing values
+     * @param lengthNonMissing the number of non-missing values
+     * @param nrBins the maximum number of bins
+     * @return the binned column data
+     */
+    static TreeBinnedNumericColumnData create(final TreeNumericColumnMetaData metaData,
+        final TreeEnsembleLearnerConfiguration configuration, final float[] sortedData,
+        final int[] orginalIndexInColumnList, final boolean containsMissingValues, final int lengthNonMissing,
+        final int nrBins) {
+        assert nrBins >= 1 && nrBins <= TreeEnsembleLearnerConfiguration.MAX_NR_HISTOGRAM_BINS;
+        final byte[] sortedBins = new byte[lengthNonMissing];
+        final float[] lowerBounds = new float[nrBins];
+        final float[] upperBounds = new float[nrBins];
+        int bin = 0;
+        for (int i = 0; i < lengthNonMissing; i++) {
+            if (i == 0) {
+                lowerBounds[0] = sortedData[0];
+            } else if (sortedData[i] != sortedData[i - 1] && bin + 1 < nrBins
+                && i >= (long)(bin + 1) * lengthNonMissing / nrBins) {
+                // start a new bin once its quantile is reached, but never in between equal values
+                upperBounds[bin] = sortedData[i - 1];
+                bin++;
+                lowerBounds[bin] = sortedData[i];
+            }
+            sortedBins[i] = (byte)bin;
+        }
+        final int actualNrBins;
+        if (lengthNonMissing > 0) {
+            upperBounds[bin] = sortedData[lengthNonMissing - 1];
+            actualNrBins = bin + 1;
+        } else {
+            actualNrBins = 0;
+        }
+        return new TreeBinnedNumericColumnData(metaData, configuration, sortedData, orginalIndexInColumnList,
+            containsMissingValues, lengthNonMissing, sortedBins, Arrays.copyOf(lowerBounds, actualNrBins),
+            Arrays.copyOf(upperBounds, actualNrBins));
+    }
+
+    /** @return the number of bins (without the bin for missing values) */
+    public int getNrBins() {
+        return m_binUpperBounds.length;
+    }
+
+    /**
+     * @param indexInColumn the index in the sorted column
+     * @return the bin of the value, {@link #getNrBins()} if the value is missing
+     */
+    int getBin(final int indexInColumn) {
+        return indexInColumn < m_sortedBins.length ? m_sortedBins[indexInColumn] & 0xFF : getNrBins();
+    }
+
+    /**
+     * Creates the histogram of the weighted class counts of the rows in the given node.
+     *
+     * @param dataMemberships the rows of the node
+     * @param targetColumn the target column
+     * @return the histogram
+     */
+    public NumericHistogram createHistogram(final DataMemberships dataMemberships,
+        final TreeTargetNominalColumnData targetColumn) {
+        final NumericHistogram histogram =
+            new NumericHistogram(getNrBins(), targetColumn.getMetaData().getValues().length);
+        final ColumnMemberships columnMemberships =
+            dataMemberships.getColumnMemberships(getMetaData().getAttributeIndex());
+        columnMemberships.reset();
+        while (columnMemberships.next()) {
+            final double weight = columnMemberships.getRowWeight();
+            histogram.add(getBin(columnMemberships.getIndexInColumn()), weight,
+                targetColumn.getValueFor(columnMemberships.getOriginalIndex()), weight);
+        }
+        columnMemberships.reset();
+        return histogram;
+    }
+
+    /**
+     * Creates the histogram of the weighted target sums of the rows in the given node.
+     *
+     * @param dataMemberships the rows of the node
+     * @param targetColumn the target column
+     * @return the histogram
+     */
+    public NumericHistogram createHistogram(final DataMemberships dataMemberships,
+        final TreeTargetNumericColumnData targetColumn) {
+        final NumericHistogram histogram = new NumericHistogram(getNrBins(), 1);
+        final ColumnMemberships columnMemberships =
+            dataMemberships.getColumnMemberships(getMetaData().getAttributeIndex());
+        columnMemberships.reset();
+        while (columnMemberships.next()) {
+            final double weight = columnMemberships.getRowWeight();
+            histogram.add(getBin(columnMemberships.getIndexInColumn()), weight, 0,
+                weight * targetColumn.getValueFor(columnMemberships.getOriginalIndex()));
+        }
+        columnMemberships.reset();
+        return histogram;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NumericSplitCandidate calcBestSplitClassification(final DataMemberships dataMemberships,
+        final ClassificationPriors targetPriors, final TreeTargetNominalColumnData targetColumn, final RandomData rd) {
+        return calcBestSplitClassification(createHistogram(dataMemberships, targetColumn), dataMemberships,
+            targetPriors, rd);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SplitCandidate calcBestSplitRegression(final DataMemberships dataMemberships,
+        final RegressionPriors targetPriors, final TreeTargetNumericColumnData targetColumn, final RandomData rd) {
+        return calcBestSplitRegression(createHistogram(dataMemberships, targetColumn), dataMemberships,
+            targetPriors, rd);
+    }
+
+    /**
+     * Finds the best split at the bin boundaries for a classification tree.
+     *
+     * @param histogram the histogram of the rows in the node as created by
+     *            {@link #createHistogram(DataMemberships, TreeTargetNominalColumnData)} (or derived from the
+     *            parent's histogram)
+     * @param dataMemberships the rows of the node
+     * @param targetPriors the target distribution of the node
+     * @param rd for tie breaking
+     * @return the best split or null if there is no valid split
+     */
+    public NumericSplitCandidate calcBestSplitClassification(final NumericHistogram histogram,
+        final DataMemberships dataMemberships, final ClassificationPriors targetPriors, final RandomData rd) {
+        final TreeEnsembleLearnerConfiguration config = getConfiguration();
+        final boolean useAverageSplitPoints = config.isUseAverageSplitPoints();
+        final int minChildNodeSize = config.getMinChildSize();
+        final boolean useXGBoostMissingValueHandling = config.getMissingValueHandling() == MissingValueHandling.XGBoost;
+        final int nrBins = histogram.getNrBins();
+        final int targetCounts = histogram.getNrStats();
+        final double[] targetCountsLeftOfSplit = new double[targetCounts];
+        final double[] targetCountsRightOfSplit = targetPriors.getDistribution().clone();
+        final double[] missingTargetCounts = new double[targetCounts];
+        for (int c = 0; c < targetCounts; c++) {
+            missingTargetCounts[c] = histogram.getStat(nrBins, c);
+            targetCountsRightOfSplit[c] -= missingTargetCounts[c];
+        }
+        final double totalSumWeight = targetPriors.getNrRecords();
+        final IImpurity impurityCriterion = targetPriors.getImpurityCriterion();
+        final double missingWeight = histogram.getWeight(nrBins);
+        final boolean branchContainsMissingValues = missingWeight > 0.0;
+
+        double sumWeightsLeftOfSplit = 0.0;
+        double sumWeightsRightOfSplit = totalSumWeight - missingWeight;
+        if (sumWeightsRightOfSplit < EPSILON) {
+            // all values in branch are missing, it is impossible to determine a split
+            return null;
+        }
+        final double priorImpurity = useXGBoostMissingValueHandling || !branchContainsMissingValues
+            ? targetPriors.getPriorImpurity()
+            : impurityCriterion.getPartitionImpurity(
+                TreeNominalColumnData.subtractMissingClassCounts(targetPriors.getDistribution(), missingTargetCounts),
+                sumWeightsRightOfSplit);
+
+        final double[] leftPlusMissing = new double[targetCounts];
+        final double[] rightPlusMissing = new double[targetCounts];
+        final double[] partitionImpurities = new double[2];
+        final double[] partitionWeights = new double[2];
+        double bestSplit = Double.NEGATIVE_INFINITY;
+        double bestGain = Double.NEGATIVE_INFINITY;
+        double bestGainValueForSplit = Double.NEGATIVE_INFINITY;
+        boolean missingsGoLeft = true;
+        int lastBin = -1;
+        for (int bin = 0; bin < nrBins; bin++) {
+            final double binWeight = histogram.getWeight(bin);
+            if (binWeight < EPSILON) {
+                continue;
+            }
+            if (lastBin >= 0 && sumWeightsLeftOfSplit >= minChildNodeSize
+                && sumWeightsRightOfSplit >= minChildNodeSize) {
+                double postSplitImpurity;
+                boolean tempMissingsGoLeft = false;
+                if (branchContainsMissingValues && useXGBoostMissingValueHandling) {
+                    for (int c = 0; c < targetCounts; c++) {
+                        leftPlusMissing[c] = targetCountsLeftOfSplit[c] + missingTargetCounts[c];
+                        rightPlusMissing[c] = targetCountsRightOfSplit[c] + missingTargetCounts[c];
+                    }
+                    // send all missing values left
+                    partitionImpurities[0] = impurityCriterion.getPartitionImpurity(leftPlusMissing,
+                        sumWeightsLeftOfSplit + missingWeight);
+                    partitionImpurities[1] =
+                        impurityCriterion.getPartitionImpurity(targetCountsRightOfSplit, sumWeightsRightOfSplit);
+                    final double[] weightsMissingLeft =
+                        new double[]{sumWeightsLeftOfSplit + missingWeight, sumWeightsRightOfSplit};
+                    final double impurityMissingLeft =
+                        impurityCriterion.getPostSplitImpurity(partitionImpurities, weightsMissingLeft, totalSumWeight);
+                    // send all missing values right
+                    partitionImpurities[0] =
+                        impurityCriterion.getPartitionImpurity(targetCountsLeftOfSplit, sumWeightsLeftOfSplit);
+                    partitionImpurities[1] = impurityCriterion.getPartitionImpurity(rightPlusMissing,
+                        sumWeightsRightOfSplit + missingWeight);
+                    final double[] weightsMissingRight =
+                        new double[]{sumWeightsLeftOfSplit, sumWeightsRightOfSplit + missingWeight};
+                    final double impurityMissingRight = impurityCriterion.getPostSplitImpurity(partitionImpurities,
+                        weightsMissingRight, totalSumWeight);
+                    tempMissingsGoLeft = impurityMissingLeft < impurityMissingRight;
+                    postSplitImpurity = tempMissingsGoLeft ? impurityMissingLeft : impurityMissingRight;
+                    System.arraycopy(tempMissingsGoLeft ? weightsMissingLeft : weightsMissingRight, 0,
+                        partitionWeights, 0, 2);
+                } else {
+                    partitionImpurities[0] =
+                        impurityCriterion.getPartitionImpurity(targetCountsLeftOfSplit, sumWeightsLeftOfSplit);
+                    partitionImpurities[1] =
+                        impurityCriterion.getPartitionImpurity(targetCountsRightOfSplit, sumWeightsRightOfSplit);
+                    partitionWeights[0] = sumWeightsLeftOfSplit;
+                    partitionWeights[1] = sumWeightsRightOfSplit;
+                    postSplitImpurity =
+                        impurityCriterion.getPostSplitImpurity(partitionImpurities, partitionWeights, totalSumWeight);
+                }
+                if (postSplitImpurity < priorImpurity) {
+                    // absolute gain is used to pick the split point, see TreeNumericColumnData
+                    final double gain = priorImpurity - postSplitImpurity;
+                    final boolean randomTieBreaker = gain == bestGain ? rd.nextInt(0, 1) == 1 : false;
+                    if (gain > bestGain || randomTieBreaker) {
+                        bestGainValueForSplit =
+                            impurityCriterion.getGain(priorImpurity, postSplitImpurity, partitionWeights,
+                                totalSumWeight);
+                        bestGain = gain;
+                        bestSplit = getSplitValue(lastBin, bin, useAverageSplitPoints);
+                        missingsGoLeft = branchContainsMissingValues ? tempMissingsGoLeft
+                            : sumWeightsLeftOfSplit > sumWeightsRightOfSplit;
+                    }
+                }
+            }
+            for (int c = 0; c < targetCounts; c++) {
+                final double count = histogram.getStat(bin, c);
+                targetCountsLeftOfSplit[c] += count;
+                targetCountsRightOfSplit[c] -= count;
+            }
+            sumWeightsLeftOfSplit += binWeight;
+            sumWeightsRightOfSplit -= binWeight;
+            lastBin = bin;
+        }
+        if (bestGainValueForSplit < 0.0) {
+            return null;
+        }
+        return createSplitCandidate(dataMemberships, bestSplit, bestGainValueForSplit, missingsGoLeft,
+            useXGBoostMissingValueHandling);
+    }
+
+    /**
+     * Finds the best split at the bin boundaries for a regression tree.
+     *
+     * @param histogram the histogram of the rows in the node as created by
+     *            {@link #createHistogram(DataMemberships, TreeTargetNumericColumnData)} (or derived from the
+     *            parent's histogram)
+     * @param dataMemberships the rows of the node
+     * @param targetPriors the target priors of the node
+     * @param rd for tie breaking
+     * @return the best split or null if there is no valid split
+     */
+    public NumericSplitCandidate calcBestSplitRegression(final NumericHistogram histogram,
+        final DataMemberships dataMemberships, final RegressionPriors targetPriors, final RandomData rd) {
+        final TreeEnsembleLearnerConfiguration config = getConfiguration();
+        final boolean useAverageSplitPoints = config.isUseAverageSplitPoints();
+        final int minChildNodeSize = config.getMinChildSize();
+        final boolean useXGBoostMissingValueHandling = config.getMissingValueHandling() == MissingValueHandling.XGBoost;
+        final int nrBins = histogram.getNrBins();
+        final double missingWeight = histogram.getWeight(nrBins);
+        final double missingY = histogram.getStat(nrBins, 0);
+        final boolean branchContainsMissingValues = missingWeight > 0.0;
+
+        final double ySumTotal = targetPriors.getYSum() - missingY;
+        final double nrRecordsTotal = targetPriors.getNrRecords() - missingWeight;
+        if (nrRecordsTotal < EPSILON) {
+            // all values in the current branch are missing, it is impossible to determine a split
+            return null;
+        }
+        final double criterionTotal = useXGBoostMissingValueHandling
+            ? (ySumTotal + missingY) * (ySumTotal + missingY) / (nrRecordsTotal + missingWeight)
+            : ySumTotal * ySumTotal / nrRecordsTotal;
+
+        double ySumLeft = 0.0;
+        double nrRecordsLeft = 0.0;
+        double ySumRight = ySumTotal;
+        double nrRecordsRight = nrRecordsTotal;
+        double bestSplit = Double.NEGATIVE_INFINITY;
+        double bestImprovement = 0.0;
+        boolean missingsGoLeft = true;
+        int lastBin = -1;
+        for (int bin = 0; bin < nrBins; bin++) {
+            final double binWeight = histogram.getWeight(bin);
+            if (binWeight < EPSILON) {
+                continue;
+            }
+            if (lastBin >= 0 && nrRecordsLeft >= minChildNodeSize && nrRecordsRight >= minChildNodeSize) {
+                boolean tempMissingsGoLeft = true;
+                double childrenSquaredSum;
+                if (branchContainsMissingValues && useXGBoostMissingValueHandling) {
+                    final double missingLeft = ((ySumLeft + missingY) * (ySumLeft + missingY)
+                        / (nrRecordsLeft + missingWeight)) + (ySumRight * ySumRight / nrRecordsRight);
+                    final double missingRight = (ySumLeft * ySumLeft / nrRecordsLeft)
+                        + ((ySumRight + missingY) * (ySumRight + missingY) / (nrRecordsRight + missingWeight));
+                    tempMissingsGoLeft = missingLeft >= missingRight;
+                    childrenSquaredSum = tempMissingsGoLeft ? missingLeft : missingRight;
+                } else {
+                    childrenSquaredSum =
+                        (ySumLeft * ySumLeft / nrRecordsLeft) + (ySumRight * ySumRight / nrRecordsRight);
+                }
+                final double criterion = childrenSquaredSum - criterionTotal;
+                final boolean randomTieBreaker = criterion == bestImprovement ? rd.nextInt(0, 1) == 1 : false;
+                if (criterion > bestImprovement || randomTieBreaker) {
+                    bestImprovement = criterion;
+                    bestSplit = getSplitValue(lastBin, bin, useAverageSplitPoints);
+                    missingsGoLeft = branchContainsMissingValues ? tempMissingsGoLeft : nrRecordsLeft >= nrRecordsRight;
+                }
+            }
+            final double ySum = histogram.getStat(bin, 0);
+            ySumLeft += ySum;
+            ySumRight -= ySum;
+            nrRecordsLeft += binWeight;
+            nrRecordsRight -= binWeight;
+            lastBin = bin;
+        }
+        if (bestImprovement > 0.0) {
+            return createSplitCandidate(dataMemberships, bestSplit, bestImprovement, missingsGoLeft,
+                useXGBoostMissingValueHandling);
+        }
+        return null;
+    }
+
+    /** The split value between two non-empty bins, all values of the left bin are smaller or equal. */
+    private double getSplitValue(final int leftBin, final int rightBin, final boolean useAverageSplitPoints) {
+        return useAverageSplitPoints ? getCenter(m_binUpperBounds[leftBin], m_binLowerBounds[rightBin])
+            : m_binUpperBounds[leftBin];
+    }
+
+    private NumericSplitCandidate createSplitCandidate(final DataMemberships dataMemberships, final double splitValue,
+        final double gainValue, final boolean missingsGoLeft, final boolean useXGBoostMissingValueHandling) {
+        if (useXGBoostMissingValueHandling) {
+            return new NumericSplitCandidate(this, splitValue, gainValue, new BitSet(),
+                missingsGoLeft ? NumericSplitCandidate.MISSINGS_GO_LEFT : NumericSplitCandidate.MISSINGS_GO_RIGHT);
+        }
+        return new NumericSplitCandidate(this, splitValue, gainValue,
+            getMissedRows(dataMemberships.getColumnMemberships(getMetaData().getAttributeIndex())),
+            NumericSplitCandidate.NO_MISSINGS);
+    }
+}
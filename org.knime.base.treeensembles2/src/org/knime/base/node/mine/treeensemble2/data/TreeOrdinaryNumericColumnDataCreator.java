@@ -119,6 +119,11 @@ public TreeOrdinaryNumericColumnData createColumnData(final int attributeIndex,
         final TreeNumericColumnMetaData metaData = new TreeNumericColumnMetaData(n);
         final boolean containsMissingValues = m_numMissing > 0 ? true : false;
         final int numNonMissing = length - m_numMissing;
+        final int nrHistogramBins = configuration.getNrHistogramBins();
+        if (nrHistogramBins != TreeEnsembleLearnerConfiguration.NR_HISTOGRAM_BINS_EXACT) {
+            return TreeBinnedNumericColumnData.create(metaData, configuration, sortedData, sortIndex,
+                containsMissingValues, numNonMissing, nrHistogramBins);
+        }
         return new TreeOrdinaryNumericColumnData(metaData, configuration, sortedData, sortIndex, containsMissingValues,
             numNonMissing);
     }
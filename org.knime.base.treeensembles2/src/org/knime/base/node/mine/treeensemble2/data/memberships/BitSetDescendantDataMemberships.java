@@ -49,7 +49,8 @@
 package org.knime.base.node.mine.treeensemble2.data.memberships;
 
 import java.util.BitSet;
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *
@@ -59,12 +60,13 @@ public class BitSetDescendantDataMemberships implements DataMemberships {
 
     private final RootDataMemberships m_root;
     private final BitSet m_included;
-    private final HashMap<Integer, ColumnMemberships> m_cachedColumnMemberships;
+    private final Map<Integer, ColumnMemberships> m_cachedColumnMemberships;
 
     public BitSetDescendantDataMemberships(final RootDataMemberships root, final BitSet included) {
         m_root = root;
         m_included = included;
-        m_cachedColumnMemberships = new HashMap<Integer, ColumnMemberships>();
+        // concurrent, the split search may query different columns in parallel
+        m_cachedColumnMemberships = new ConcurrentHashMap<Integer, ColumnMemberships>();
     }
 
     /**
@@ -47,15 +47,25 @@
  */
 package org.knime.base.node.mine.treeensemble2.learner;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
 import org.apache.commons.math.random.RandomData;
+import org.knime.base.node.mine.treeensemble2.data.TreeAttributeColumnData;
 import org.knime.base.node.mine.treeensemble2.data.TreeData;
 import org.knime.base.node.mine.treeensemble2.data.memberships.IDataIndexManager;
 import org.knime.base.node.mine.treeensemble2.model.AbstractTreeModel;
 import org.knime.base.node.mine.treeensemble2.node.learner.TreeEnsembleLearnerConfiguration;
+import org.knime.base.node.mine.treeensemble2.sample.column.ColumnSample;
 import org.knime.base.node.mine.treeensemble2.sample.column.ColumnSampleStrategy;
 import org.knime.base.node.mine.treeensemble2.sample.row.RowSample;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.HelperThreads;
+import org.knime.core.util.ThreadPool;
 
 /**
  *
@@ -63,6 +73,12 @@
  */
 public abstract class AbstractTreeLearner {
 
+    /**
+     * Nodes with fewer rows are always searched by the calling thread, handing the columns to other threads
+     * isn't worth it.
+     */
+    static final int MIN_ROWS_FOR_CONCURRENT_SPLIT_SEARCH = 2000;
+
     private final TreeEnsembleLearnerConfiguration m_config;
 
     private final TreeData m_data;
@@ -77,6 +93,8 @@ public abstract class AbstractTreeLearner {
 
     private final TreeNodeSignatureFactory m_signatureFactory;
 
+    private ThreadPool m_splitSearchPool;
+
     /**
      * @param config
      * @param data
@@ -139,6 +157,72 @@ final TreeNodeSignatureFactory getSignatureFactory() {
         return m_signatureFactory;
     }
 
+    /**
+     * Enables the concurrent split search within the nodes of the tree: the candidate columns of a node are evaluated
+     * by the calling thread and by the idle threads of the given pool. Only threads that are idle are used (see
+     * {@link ThreadPool#trySubmit(Runnable)}), hence this doesn't block if the pool is busy, e.g. with learning other
+     * trees. If enabled, the column search of large nodes uses random numbers derived per column so that the learned
+     * tree doesn't depend on the scheduling.
+     *
+     * @param pool the pool to take idle threads from or <code>null</code> to search all columns sequentially (default)
+     * @since 3.6
+     */
+    public final void setSplitSearchPool(final ThreadPool pool) {
+        m_splitSearchPool = pool;
+    }
+
+    /**
+     * Calculates the best split of each column in the sample that is not forbidden and passes the splits to the
+     * consumer, in sample order. Without concurrency each split is consumed right after it has been calculated, which
+     * keeps the sequence of random numbers (e.g. for tie breaking) as it used to be.
+     *
+     * @param columnSample the columns of the node
+     * @param forbiddenColumnSet the columns that must not be split
+     * @param nrRows the number of rows in the node
+     * @param search calculates the best split of a single column
+     * @param splitConsumer receives the best split of each column that can be split
+     * @throws CanceledExecutionException if interrupted while waiting for other threads
+     */
+    final void searchBestSplits(final ColumnSample columnSample, final BitSet forbiddenColumnSet, final int nrRows,
+        final ColumnSplitSearch search, final Consumer<SplitCandidate> splitConsumer)
+        throws CanceledExecutionException {
+        final List<TreeAttributeColumnData> columns = new ArrayList<TreeAttributeColumnData>(columnSample.getNumCols());
+        for (TreeAttributeColumnData col : columnSample) {
+            if (!forbiddenColumnSet.get(col.getMetaData().getAttributeIndex())) {
+                columns.add(col);
+            }
+        }
+        final int nrColumns = columns.size();
+        final ThreadPool pool = m_splitSearchPool;
+        if (pool == null || nrColumns < 2 || nrRows < MIN_ROWS_FOR_CONCURRENT_SPLIT_SEARCH) {
+            for (TreeAttributeColumnData col : columns) {
+                final SplitCandidate split = search.calcBestSplit(col, m_randomData);
+                if (split != null) {
+                    splitConsumer.accept(split);
+                }
+            }
+            return;
+        }
+        final SplitCandidate[] splits = new SplitCandidate[nrColumns];
+        // one generator per column, seeded in column order, so that the result doesn't depend on the scheduling
+        final RandomData[] columnRandomData = new RandomData[nrColumns];
+        for (int i = 0; i < nrColumns; i++) {
+            columnRandomData[i] =
+                TreeEnsembleLearnerConfiguration.createRandomData(m_randomData.nextLong(Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+        final AtomicInteger nextColumn = new AtomicInteger();
+        HelperThreads.run(pool, nrColumns - 1, () -> {
+            for (int i = nextColumn.getAndIncrement(); i < nrColumns; i = nextColumn.getAndIncrement()) {
+                splits[i] = search.calcBestSplit(columns.get(i), columnRandomData[i]);
+            }
+        });
+        for (SplitCandidate split : splits) {
+            if (split != null) {
+                splitConsumer.accept(split);
+            }
+        }
+    }
+
     /**
      * Learns a single decision tree model
      *
@@ -150,4 +234,16 @@ final TreeNodeSignatureFactory getSignatureFactory() {
     public abstract AbstractTreeModel learnSingleTree(final ExecutionMonitor exec, final RandomData rd)
         throws CanceledExecutionException;
 
+    /** Calculates the best split of a single column within a tree node, see {@link #searchBestSplits}. */
+    @FunctionalInterface
+    interface ColumnSplitSearch {
+
+        /**
+         * @param column the column to split
+         * @param rd the random data to use for tie breaking, etc.
+         * @return the best split of the column or <code>null</code>
+         */
+        SplitCandidate calcBestSplit(TreeAttributeColumnData column, RandomData rd);
+    }
+
 }
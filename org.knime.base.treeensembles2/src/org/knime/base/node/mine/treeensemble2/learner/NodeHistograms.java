@@ -0,0 +1,150 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.treeensemble2.learner;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.math.random.RandomData;
+import org.knime.base.node.mine.treeensemble2.data.ClassificationPriors;
+import org.knime.base.node.mine.treeensemble2.data.NumericHistogram;
+import org.knime.base.node.mine.treeensemble2.data.RegressionPriors;
+import org.knime.base.node.mine.treeensemble2.data.TreeAttributeColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeBinnedNumericColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeTargetNominalColumnData;
+import org.knime.base.node.mine.treeensemble2.data.TreeTargetNumericColumnData;
+import org.knime.base.node.mine.treeensemble2.data.memberships.DataMemberships;
+
+/**
+ * The {@link NumericHistogram histograms} of the binned numeric columns ({@link TreeBinnedNumericColumnData}) used to
+ * find the split of a single tree node. Once all other children of a node are built, the histograms of the last child
+ * are derived by subtracting the siblings' histograms from the parent's histograms, so that the rows of the last child
+ * don't need to be iterated for these columns. For all other columns the split search is delegated to the column.
+ * The split search of different columns may run concurrently.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NodeHistograms {
+
+    /** Histograms by attribute index. */
+    private final Map<Integer, NumericHistogram> m_histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Finds the best split of the column, using the (possibly derived) histogram if the column is binned.
+     *
+     * @see TreeAttributeColumnData#calcBestSplitClassification(DataMemberships, ClassificationPriors,
+     *      TreeTargetNominalColumnData, RandomData)
+     */
+    SplitCandidate calcBestSplitClassification(final TreeAttributeColumnData column,
+        final DataMemberships dataMemberships, final ClassificationPriors targetPriors,
+        final TreeTargetNominalColumnData targetColumn, final RandomData rd) {
+        if (column instanceof TreeBinnedNumericColumnData) {
+            final TreeBinnedNumericColumnData binnedColumn = (TreeBinnedNumericColumnData)column;
+            final int attributeIndex = binnedColumn.getMetaData().getAttributeIndex();
+            NumericHistogram histogram = m_histograms.get(attributeIndex);
+            if (histogram == null) {
+                // not computeIfAbsent, it would block other columns while the histogram is created
+                histogram = binnedColumn.createHistogram(dataMemberships, targetColumn);
+                m_histograms.put(attributeIndex, histogram);
+            }
+            return binnedColumn.calcBestSplitClassification(histogram, dataMemberships, targetPriors, rd);
+        }
+        return column.calcBestSplitClassification(dataMemberships, targetPriors, targetColumn, rd);
+    }
+
+    /**
+     * Finds the best split of the column, using the (possibly derived) histogram if the column is binned.
+     *
+     * @see TreeAttributeColumnData#calcBestSplitRegression(DataMemberships, RegressionPriors,
+     *      TreeTargetNumericColumnData, RandomData)
+     */
+    SplitCandidate calcBestSplitRegression(final TreeAttributeColumnData column,
+        final DataMemberships dataMemberships, final RegressionPriors targetPriors,
+        final TreeTargetNumericColumnData targetColumn, final RandomData rd) {
+        if (column instanceof TreeBinnedNumericColumnData) {
+            final TreeBinnedNumericColumnData binnedColumn = (TreeBinnedNumericColumnData)column;
+            final int attributeIndex = binnedColumn.getMetaData().getAttributeIndex();
+            NumericHistogram histogram = m_histograms.get(attributeIndex);
+            if (histogram == null) {
+                // not computeIfAbsent, it would block other columns while the histogram is created
+                histogram = binnedColumn.createHistogram(dataMemberships, targetColumn);
+                m_histograms.put(attributeIndex, histogram);
+            }
+            return binnedColumn.calcBestSplitRegression(histogram, dataMemberships, targetPriors, rd);
+        }
+        return column.calcBestSplitRegression(dataMemberships, targetPriors, targetColumn, rd);
+    }
+
+    /**
+     * Derives the histograms of the last child of this node. A histogram is only derived if it is available for all
+     * siblings and if the children partition the rows of this node, i.e. no rows (e.g. with missing values) were
+     * dropped by the split; this is verified by comparing the total weights.
+     *
+     * @param siblings the histograms of all other children of this node
+     * @param childTotalWeight the sum of the row weights of the last child
+     * @return the histograms of the last child
+     */
+    NodeHistograms createForLastChild(final NodeHistograms[] siblings, final double childTotalWeight) {
+        final NodeHistograms result = new NodeHistograms();
+        histograms: for (final Map.Entry<Integer, NumericHistogram> e : m_histograms.entrySet()) {
+            NumericHistogram histogram = e.getValue();
+            for (final NodeHistograms sibling : siblings) {
+                final NumericHistogram siblingHistogram = sibling.m_histograms.get(e.getKey());
+                if (siblingHistogram == null) {
+                    continue histograms;
+                }
+                histogram = histogram.subtract(siblingHistogram);
+            }
+            if (Math.abs(histogram.getTotalWeight() - childTotalWeight) < TreeColumnData.EPSILON) {
+                result.m_histograms.put(e.getKey(), histogram);
+            }
+        }
+        return result;
+    }
+}
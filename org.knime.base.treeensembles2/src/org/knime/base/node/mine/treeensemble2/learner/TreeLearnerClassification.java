@@ -48,6 +48,7 @@
 package org.knime.base.node.mine.treeensemble2.learner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Comparator;
 
@@ -112,7 +113,7 @@ private TreeModelClassification learnSingleTreeRecursive(final ExecutionMonitor
         final ColumnSample rootColumnSample = getColSamplingStrategy().getColumnSampleForTreeNode(rootSignature);
         TreeNodeClassification rootNode = null;
         rootNode = buildTreeNode(exec, 0, rootDataMemberships, rootColumnSample, rootSignature, targetPriors,
-            forbiddenColumnSet);
+            new NodeHistograms(), forbiddenColumnSet);
         assert forbiddenColumnSet.cardinality() == 0;
         rootNode.setTreeNodeCondition(TreeNodeTrueCondition.INSTANCE);
         return new TreeModelClassification(rootNode);
@@ -121,7 +122,7 @@ private TreeModelClassification learnSingleTreeRecursive(final ExecutionMonitor
     private TreeNodeClassification buildTreeNode(final ExecutionMonitor exec, final int currentDepth,
         final DataMemberships dataMemberships, final ColumnSample columnSample,
         final TreeNodeSignature treeNodeSignature, final ClassificationPriors targetPriors,
-        final BitSet forbiddenColumnSet) throws CanceledExecutionException {
+        final NodeHistograms histograms, final BitSet forbiddenColumnSet) throws CanceledExecutionException {
         final TreeData data = getData();
         final TreeEnsembleLearnerConfiguration config = getConfig();
         exec.checkCanceled();
@@ -133,7 +134,7 @@ private TreeNodeClassification buildTreeNode(final ExecutionMonitor exec, final
         int attributeIndex = -1;
         if (useSurrogates) {
             SplitCandidate[] candidates = findBestSplitsClassification(currentDepth, dataMemberships, columnSample,
-                treeNodeSignature, targetPriors, forbiddenColumnSet);
+                treeNodeSignature, targetPriors, histograms, forbiddenColumnSet);
             if (candidates == null) {
                 return new TreeNodeClassification(treeNodeSignature, targetPriors, config);
             }
@@ -142,20 +143,22 @@ private TreeNodeClassification buildTreeNode(final ExecutionMonitor exec, final
             childConditions = surrogateSplit.getChildConditions();
             BitSet[] childMarkers = surrogateSplit.getChildMarkers();
             childNodes = new TreeNodeClassification[2];
+            final NodeHistograms[] childHistograms = new NodeHistograms[2];
             for (int i = 0; i < 2; i++) {
                 DataMemberships childMemberships = dataMemberships.createChildMemberships(childMarkers[i]);
                 ClassificationPriors childTargetPriors = targetColumn.getDistribution(childMemberships, config);
                 TreeNodeSignature childSignature =
                     getSignatureFactory().getChildSignatureFor(treeNodeSignature, (byte)i);
                 ColumnSample childColumnSample = getColSamplingStrategy().getColumnSampleForTreeNode(childSignature);
+                childHistograms[i] = createChildHistograms(histograms, childHistograms, i, childTargetPriors);
                 childNodes[i] = buildTreeNode(exec, currentDepth + 1, childMemberships, childColumnSample,
-                    childSignature, childTargetPriors, forbiddenColumnSet);
+                    childSignature, childTargetPriors, childHistograms[i], forbiddenColumnSet);
                 childNodes[i].setTreeNodeCondition(childConditions[i]);
             }
         } else {
             // handle non surrogate case
             SplitCandidate bestSplit = findBestSplitClassification(currentDepth, dataMemberships, columnSample,
-                treeNodeSignature, targetPriors, forbiddenColumnSet);
+                treeNodeSignature, targetPriors, histograms, forbiddenColumnSet);
             if (bestSplit == null) {
                 return new TreeNodeClassification(treeNodeSignature, targetPriors, config);
             }
@@ -172,6 +175,7 @@ private TreeNodeClassification buildTreeNode(final ExecutionMonitor exec, final
                         + " (maximum supported: " + Short.MAX_VALUE + "): " + childConditions.length);
             }
             // Build child nodes
+            final NodeHistograms[] childHistograms = new NodeHistograms[childConditions.length];
             for (int i = 0; i < childConditions.length; i++) {
                 DataMemberships childMemberships = null;
                 TreeNodeCondition cond = childConditions[i];
@@ -180,8 +184,9 @@ private TreeNodeClassification buildTreeNode(final ExecutionMonitor exec, final
                 ClassificationPriors childTargetPriors = targetColumn.getDistribution(childMemberships, config);
                 TreeNodeSignature childSignature = treeNodeSignature.createChildSignature((byte)i);
                 ColumnSample childColumnSample = getColSamplingStrategy().getColumnSampleForTreeNode(childSignature);
+                childHistograms[i] = createChildHistograms(histograms, childHistograms, i, childTargetPriors);
                 childNodes[i] = buildTreeNode(exec, currentDepth + 1, childMemberships, childColumnSample,
-                    childSignature, childTargetPriors, forbiddenColumnSet);
+                    childSignature, childTargetPriors, childHistograms[i], forbiddenColumnSet);
                 childNodes[i].setTreeNodeCondition(cond);
             }
         }
@@ -191,6 +196,19 @@ private TreeNodeClassification buildTreeNode(final ExecutionMonitor exec, final
         return new TreeNodeClassification(treeNodeSignature, targetPriors, childNodes, getConfig());
     }
 
+    /**
+     * Creates the (empty) histograms of a child node or, for the last child, derives them from the parent and the
+     * already built siblings.
+     */
+    private static NodeHistograms createChildHistograms(final NodeHistograms parentHistograms,
+        final NodeHistograms[] childHistograms, final int childIndex, final ClassificationPriors childTargetPriors) {
+        if (childIndex < childHistograms.length - 1) {
+            return new NodeHistograms();
+        }
+        return parentHistograms.createForLastChild(Arrays.copyOf(childHistograms, childIndex),
+            childTargetPriors.getNrRecords());
+    }
+
     /**
      * Returns a list of SplitCandidates sorted (descending) by their gain
      *
@@ -198,13 +216,15 @@ private TreeNodeClassification buildTreeNode(final ExecutionMonitor exec, final
      * @param rowSampleWeights
      * @param treeNodeSignature
      * @param targetPriors
+     * @param histograms
      * @param forbiddenColumnSet
      * @param membershipController
      * @return
      */
     private SplitCandidate[] findBestSplitsClassification(final int currentDepth, final DataMemberships dataMemberships,
         final ColumnSample columnSample, final TreeNodeSignature treeNodeSignature,
-        final ClassificationPriors targetPriors, final BitSet forbiddenColumnSet) {
+        final ClassificationPriors targetPriors, final NodeHistograms histograms, final BitSet forbiddenColumnSet)
+        throws CanceledExecutionException {
         final TreeData data = getData();
         final RandomData rd = getRandomData();
         //        final ColumnSampleStrategy colSamplingStrategy = getColSamplingStrategy();
@@ -242,16 +262,8 @@ public int compare(final SplitCandidate o1, final SplitCandidate o2) {
 
         };
         ArrayList<SplitCandidate> candidates = new ArrayList<SplitCandidate>(columnSample.getNumCols());
-        for (TreeAttributeColumnData col : columnSample) {
-            if (forbiddenColumnSet.get(col.getMetaData().getAttributeIndex())) {
-                continue;
-            }
-            SplitCandidate currentColSplit =
-                col.calcBestSplitClassification(dataMemberships, targetPriors, targetColumn, rd);
-            if (currentColSplit != null) {
-                candidates.add(currentColSplit);
-            }
-        }
+        searchBestSplits(columnSample, forbiddenColumnSet, dataMemberships.getRowCount(), (col, colRd) -> histograms
+            .calcBestSplitClassification(col, dataMemberships, targetPriors, targetColumn, colRd), candidates::add);
         if (candidates.isEmpty()) {
             return null;
         }
@@ -261,7 +273,8 @@ public int compare(final SplitCandidate o1, final SplitCandidate o2) {
 
     private SplitCandidate findBestSplitClassification(final int currentDepth, final DataMemberships dataMemberships,
         final ColumnSample columnSample, final TreeNodeSignature treeNodeSignature,
-        final ClassificationPriors targetPriors, final BitSet forbiddenColumnSet) {
+        final ClassificationPriors targetPriors, final NodeHistograms histograms, final BitSet forbiddenColumnSet)
+        throws CanceledExecutionException {
         final TreeData data = getData();
         final RandomData rd = getRandomData();
         //        final ColumnSampleStrategy colSamplingStrategy = getColSamplingStrategy();
@@ -281,29 +294,24 @@ private SplitCandidate findBestSplitClassification(final int currentDepth, final
             return null;
         }
         final TreeTargetNominalColumnData targetColumn = (TreeTargetNominalColumnData)data.getTargetColumn();
-        SplitCandidate splitCandidate = null;
         if (currentDepth == 0 && config.getHardCodedRootColumn() != null) {
             final TreeAttributeColumnData rootColumn = data.getColumn(config.getHardCodedRootColumn());
             // TODO discuss whether this option makes sense with surrogates
             return rootColumn.calcBestSplitClassification(dataMemberships, targetPriors, targetColumn, rd);
         }
-        double bestGainValue = 0.0;
-        for (TreeAttributeColumnData col : columnSample) {
-            if (forbiddenColumnSet.get(col.getMetaData().getAttributeIndex())) {
-                continue;
-            }
-            final SplitCandidate currentColSplit =
-                col.calcBestSplitClassification(dataMemberships, targetPriors, targetColumn, rd);
-            if (currentColSplit != null) {
+        // best split and its gain, updated by the consumer below
+        final SplitCandidate[] bestSplit = new SplitCandidate[1];
+        final double[] bestGainValue = new double[]{0.0};
+        searchBestSplits(columnSample, forbiddenColumnSet, dataMemberships.getRowCount(), (col, colRd) -> histograms
+            .calcBestSplitClassification(col, dataMemberships, targetPriors, targetColumn, colRd), currentColSplit -> {
                 final double currentGain = currentColSplit.getGainValue();
-                final boolean tiebreaker = currentGain == bestGainValue ? (rd.nextInt(0, 1) == 0) : false;
-                if (currentColSplit.getGainValue() > bestGainValue || tiebreaker) {
-                    splitCandidate = currentColSplit;
-                    bestGainValue = currentGain;
+                final boolean tiebreaker = currentGain == bestGainValue[0] ? (rd.nextInt(0, 1) == 0) : false;
+                if (currentColSplit.getGainValue() > bestGainValue[0] || tiebreaker) {
+                    bestSplit[0] = currentColSplit;
+                    bestGainValue[0] = currentGain;
                 }
-            }
-        }
-        return splitCandidate;
+            });
+        return bestSplit[0];
     }
 
 }
@@ -48,6 +48,7 @@
 package org.knime.base.node.mine.treeensemble2.learner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Comparator;
 import java.util.List;
@@ -123,7 +124,7 @@ public TreeModelRegression learnSingleTree(final ExecutionMonitor exec, final Ra
         final TreeNodeSignature rootSignature = TreeNodeSignature.ROOT_SIGNATURE;
         final ColumnSample rootColumnSample = getColSamplingStrategy().getColumnSampleForTreeNode(rootSignature);
         TreeNodeRegression rootNode = buildTreeNode(exec, 0, rootDataMemberships, rootColumnSample, getSignatureFactory().getRootSignature(),
-            targetPriors, forbiddenColumnSet);
+            targetPriors, new NodeHistograms(), forbiddenColumnSet);
         assert forbiddenColumnSet.cardinality() == 0;
         rootNode.setTreeNodeCondition(TreeNodeTrueCondition.INSTANCE);
         if (isGradientBoosting) {
@@ -133,8 +134,8 @@ public TreeModelRegression learnSingleTree(final ExecutionMonitor exec, final Ra
     }
 
     private SplitCandidate findBestSplitRegression(final int currentDepth, final DataMemberships dataMemberships, final ColumnSample columnSample,
-        final RegressionPriors targetPriors,
-        final BitSet forbiddenColumnSet) {
+        final RegressionPriors targetPriors, final NodeHistograms histograms,
+        final BitSet forbiddenColumnSet) throws CanceledExecutionException {
         final TreeData data = getData();
         final RandomData rd = getRandomData();
         final TreeEnsembleLearnerConfiguration config = getConfig();
@@ -158,19 +159,15 @@ private SplitCandidate findBestSplitRegression(final int currentDepth, final Dat
             final TreeAttributeColumnData rootColumn = data.getColumn(config.getHardCodedRootColumn());
             return rootColumn.calcBestSplitRegression(dataMemberships, targetPriors, targetColumn, rd);
         } else {
+            final ArrayList<SplitCandidate> columnSplits = new ArrayList<SplitCandidate>(columnSample.getNumCols());
+            searchBestSplits(columnSample, forbiddenColumnSet, dataMemberships.getRowCount(), (col, colRd) -> histograms
+                .calcBestSplitRegression(col, dataMemberships, targetPriors, targetColumn, colRd), columnSplits::add);
             double bestGainValue = 0.0;
-            for (TreeAttributeColumnData col : columnSample) {
-                if (forbiddenColumnSet.get(col.getMetaData().getAttributeIndex())) {
-                    continue;
-                }
-                SplitCandidate currentColSplit =
-                    col.calcBestSplitRegression(dataMemberships, targetPriors, targetColumn, rd);
-                if (currentColSplit != null) {
-                    double gainValue = currentColSplit.getGainValue();
-                    if (gainValue > bestGainValue) {
-                        bestGainValue = gainValue;
-                        splitCandidate = currentColSplit;
-                    }
+            for (SplitCandidate currentColSplit : columnSplits) {
+                double gainValue = currentColSplit.getGainValue();
+                if (gainValue > bestGainValue) {
+                    bestGainValue = gainValue;
+                    splitCandidate = currentColSplit;
                 }
             }
             return splitCandidate;
@@ -178,8 +175,8 @@ private SplitCandidate findBestSplitRegression(final int currentDepth, final Dat
     }
 
     private SplitCandidate[] findBestSplitsRegression(final int currentDepth, final DataMemberships dataMemberships, final ColumnSample columnSample,
-        final RegressionPriors targetPriors,
-        final BitSet forbiddenColumnSet) {
+        final RegressionPriors targetPriors, final NodeHistograms histograms,
+        final BitSet forbiddenColumnSet) throws CanceledExecutionException {
         final TreeData data = getData();
         final RandomData rd = getRandomData();
         final TreeEnsembleLearnerConfiguration config = getConfig();
@@ -205,16 +202,8 @@ private SplitCandidate[] findBestSplitsRegression(final int currentDepth, final
                 rootColumn.calcBestSplitRegression(dataMemberships, targetPriors, targetColumn, rd)};
         } else {
             splitCandidates = new ArrayList<SplitCandidate>(columnSample.getNumCols());
-            for (TreeAttributeColumnData col : columnSample) {
-                if (forbiddenColumnSet.get(col.getMetaData().getAttributeIndex())) {
-                    continue;
-                }
-                SplitCandidate currentColSplit =
-                    col.calcBestSplitRegression(dataMemberships, targetPriors, targetColumn, rd);
-                if (currentColSplit != null) {
-                    splitCandidates.add(currentColSplit);
-                }
-            }
+            searchBestSplits(columnSample, forbiddenColumnSet, dataMemberships.getRowCount(), (col, colRd) -> histograms
+                .calcBestSplitRegression(col, dataMemberships, targetPriors, targetColumn, colRd), splitCandidates::add);
         }
         Comparator<SplitCandidate> comp = new Comparator<SplitCandidate>() {
             @Override
@@ -232,13 +221,15 @@ public int compare(final SplitCandidate arg0, final SplitCandidate arg1) {
 
     private TreeNodeRegression buildTreeNode(final ExecutionMonitor exec, final int currentDepth,
         final DataMemberships dataMemberships, final ColumnSample columnSample, final TreeNodeSignature treeNodeSignature,
-        final RegressionPriors targetPriors, final BitSet forbiddenColumnSet) throws CanceledExecutionException {
+        final RegressionPriors targetPriors, final NodeHistograms histograms, final BitSet forbiddenColumnSet)
+        throws CanceledExecutionException {
         final TreeData data = getData();
         final RandomData rd = getRandomData();
         final TreeEnsembleLearnerConfiguration config = getConfig();
         exec.checkCanceled();
         final SplitCandidate candidate =
-            findBestSplitRegression(currentDepth, dataMemberships, columnSample, targetPriors, forbiddenColumnSet);
+            findBestSplitRegression(currentDepth, dataMemberships, columnSample, targetPriors, histograms,
+                forbiddenColumnSet);
         if (candidate == null) {
             if (config instanceof GradientBoostingLearnerConfiguration) {
                 TreeNodeRegression leaf =
@@ -258,13 +249,15 @@ private TreeNodeRegression buildTreeNode(final ExecutionMonitor exec, final int
             BitSet[] childMarkers = surrogateSplit.getChildMarkers();
             assert childMarkers[0].cardinality() + childMarkers[1].cardinality() == dataMemberships.getRowCount(): "Sum of rows in children does not add up to number of rows in parent.";
             childNodes = new TreeNodeRegression[2];
+            final NodeHistograms[] childHistograms = new NodeHistograms[2];
             for (int i = 0; i < 2; i++) {
                 DataMemberships childMemberships = dataMemberships.createChildMemberships(childMarkers[i]);
                 TreeNodeSignature childSignature = getSignatureFactory().getChildSignatureFor(treeNodeSignature, (byte)i);
                 ColumnSample childColumnSample = getColSamplingStrategy().getColumnSampleForTreeNode(childSignature);
                 RegressionPriors childTargetPriors = targetColumn.getPriors(childMemberships, config);
+                childHistograms[i] = createChildHistograms(histograms, childHistograms, i, childTargetPriors);
                 childNodes[i] = buildTreeNode(exec, currentDepth + 1, childMemberships, childColumnSample, childSignature,
-                    childTargetPriors, forbiddenColumnSet);
+                    childTargetPriors, childHistograms[i], forbiddenColumnSet);
                 childNodes[i].setTreeNodeCondition(childConditions[i]);
             }
         } else {
@@ -280,6 +273,7 @@ private TreeNodeRegression buildTreeNode(final ExecutionMonitor exec, final int
                         + " (maximum supported: " + Short.MAX_VALUE + "): " + childConditions.length);
             }
             childNodes = new TreeNodeRegression[childConditions.length];
+            final NodeHistograms[] childHistograms = new NodeHistograms[childConditions.length];
             for (int i = 0; i < childConditions.length; i++) {
                 TreeNodeCondition cond = childConditions[i];
                 DataMemberships childMemberships =
@@ -287,8 +281,9 @@ private TreeNodeRegression buildTreeNode(final ExecutionMonitor exec, final int
                 RegressionPriors childTargetPriors = targetColumn.getPriors(childMemberships, config);
                 TreeNodeSignature childSignature = treeNodeSignature.createChildSignature((byte)i);
                 ColumnSample childColumnSample = getColSamplingStrategy().getColumnSampleForTreeNode(childSignature);
+                childHistograms[i] = createChildHistograms(histograms, childHistograms, i, childTargetPriors);
                 childNodes[i] = buildTreeNode(exec, currentDepth + 1, childMemberships, childColumnSample, childSignature,
-                    childTargetPriors, forbiddenColumnSet);
+                    childTargetPriors, childHistograms[i], forbiddenColumnSet);
                 childNodes[i].setTreeNodeCondition(cond);
             }
             if (markAttributeAsForbidden) {
@@ -298,6 +293,19 @@ private TreeNodeRegression buildTreeNode(final ExecutionMonitor exec, final int
         return new TreeNodeRegression(treeNodeSignature, targetPriors, childNodes);
     }
 
+    /**
+     * Creates the (empty) histograms of a child node or, for the last child, derives them from the parent and the
+     * already built siblings.
+     */
+    private static NodeHistograms createChildHistograms(final NodeHistograms parentHistograms,
+        final NodeHistograms[] childHistograms, final int childIndex, final RegressionPriors childTargetPriors) {
+        if (childIndex < childHistograms.length - 1) {
+            return new NodeHistograms();
+        }
+        return parentHistograms.createForLastChild(Arrays.copyOf(childHistograms, childIndex),
+            childTargetPriors.getNrRecords());
+    }
+
     private synchronized void addToLeafList(final TreeNodeRegression leaf) {
         m_leafs.add(leaf);
     }
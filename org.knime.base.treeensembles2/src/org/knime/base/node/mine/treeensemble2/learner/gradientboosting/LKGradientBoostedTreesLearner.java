@@ -252,6 +252,10 @@ public Pair<TreeModelRegression, Map<TreeNodeSignature, Double>> call() throws E
                 final RowSample rowSample = getRowSampler().createRowSample(m_rd);
                 final TreeLearnerRegression treeLearner =
                     new TreeLearnerRegression(getConfig(), pseudoResiduals, getIndexManager(), m_signatureFactory, m_rd, rowSample);
+                // only one tree per class is learned concurrently, use the remaining idle threads for the split search
+                if (getConfig().isConcurrentSplitSearch()) {
+                    treeLearner.setSplitSearchPool(KNIMEConstants.GLOBAL_THREAD_POOL);
+                }
                 final TreeModelRegression tree = treeLearner.learnSingleTree(m_subExec, m_rd);
                 final Map<TreeNodeSignature, Double> coefficientMap =
                     calculateCoefficientMap(tree, pseudoResiduals, m_numClasses);
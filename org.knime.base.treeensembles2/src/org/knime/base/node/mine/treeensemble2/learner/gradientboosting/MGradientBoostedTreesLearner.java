@@ -70,6 +70,7 @@
 import org.knime.base.node.mine.treeensemble2.sample.row.RowSample;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
 
 import com.google.common.math.IntMath;
 import com.google.common.primitives.Doubles;
@@ -134,6 +135,10 @@ public AbstractGradientBoostingModel learn(final ExecutionMonitor exec) throws C
             final RowSample rowSample = getRowSampler().createRowSample(rdSingle);
             final TreeLearnerRegression treeLearner =
                 new TreeLearnerRegression(getConfig(), residualData, getIndexManager(), signatureFactory, rdSingle, rowSample);
+            // trees are learned one after the other, the columns of a node can be searched concurrently
+            if (getConfig().isConcurrentSplitSearch()) {
+                treeLearner.setSplitSearchPool(KNIMEConstants.GLOBAL_THREAD_POOL);
+            }
             final TreeModelRegression tree = treeLearner.learnSingleTree(exec, rdSingle);
             final Map<TreeNodeSignature, Double> coefficientMap = calcCoefficientMap(residuals, quantile, tree);
             adaptPreviousPrediction(previousPrediction, tree, coefficientMap);
@@ -106,6 +106,14 @@ public TreeNodeColumnCondition getFirstCondition() {
         return getColumnCondition(0);
     }
 
+    /**
+     * @return the response if the values of all column conditions are missing (the default direction)
+     * @since 3.6
+     */
+    public boolean getDefaultResponse() {
+        return m_defaultResponse;
+    }
+
     /**
      * This function only returns the column conditions, meaning the first condition and its surrogates, but not
      * the default surrogate with the default direction.
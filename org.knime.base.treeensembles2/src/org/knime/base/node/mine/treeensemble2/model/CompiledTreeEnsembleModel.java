@@ -0,0 +1,251 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.treeensemble2.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.knime.base.node.mine.treeensemble2.data.NominalValueRepresentation;
+import org.knime.base.node.mine.treeensemble2.data.TreeAttributeColumnMetaData;
+import org.knime.base.node.mine.treeensemble2.data.TreeMetaData;
+import org.knime.base.node.mine.treeensemble2.data.TreeNominalColumnMetaData;
+import org.knime.base.node.mine.treeensemble2.model.AbstractTreeEnsembleModel.TreeType;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.NominalValue;
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.data.vector.bytevector.ByteVectorValue;
+import org.knime.core.data.vector.doublevector.DoubleVectorValue;
+
+/**
+ * Compiled form of a {@link TreeEnsembleModel} (including the gradient boosted models) for batch prediction. Holds a
+ * {@link CompiledTreeModel} per tree and creates the column-indexed records these trees are evaluated on, which avoids
+ * the per-row maps of {@link org.knime.base.node.mine.treeensemble2.data.PredictorRecord}. Instances are immutable
+ * and can be used by multiple threads concurrently.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.6
+ */
+public final class CompiledTreeEnsembleModel {
+
+    private final TreeMetaData m_metaData;
+
+    private final TreeType m_type;
+
+    private final CompiledTreeModel<?>[] m_trees;
+
+    /** Assigned integers of the nominal attributes, null for all other attributes. */
+    private final Map<String, Integer>[] m_nominalValueMaps;
+
+    @SuppressWarnings("unchecked")
+    private CompiledTreeEnsembleModel(final TreeEnsembleModel model) {
+        m_metaData = model.getMetaData();
+        m_type = model.getType();
+        final int nrModels = model.getNrModels();
+        m_trees = new CompiledTreeModel<?>[nrModels];
+        for (int i = 0; i < nrModels; i++) {
+            m_trees[i] = CompiledTreeModel.compile(model.getTreeModel(i), m_metaData);
+        }
+        final int nrAttributes = m_metaData.getNrAttributes();
+        m_nominalValueMaps = new Map[nrAttributes];
+        for (int i = 0; i < nrAttributes; i++) {
+            final TreeAttributeColumnMetaData attributeMetaData = m_metaData.getAttributeMetaData(i);
+            if (attributeMetaData instanceof TreeNominalColumnMetaData) {
+                final NominalValueRepresentation[] values = ((TreeNominalColumnMetaData)attributeMetaData).getValues();
+                final Map<String, Integer> valueMap = new HashMap<String, Integer>((int)(values.length / 0.75 + 1.0));
+                for (NominalValueRepresentation value : values) {
+                    // first occurrence wins, same as the linear scan in AbstractTreeEnsembleModel
+                    valueMap.putIfAbsent(value.getNominalValue(), value.getAssignedInteger());
+                }
+                m_nominalValueMaps[i] = valueMap;
+            }
+        }
+    }
+
+    /**
+     * Compiles all trees of the given model.
+     *
+     * @param model the model to compile
+     * @return the compiled model
+     */
+    public static CompiledTreeEnsembleModel compile(final TreeEnsembleModel model) {
+        return new CompiledTreeEnsembleModel(model);
+    }
+
+    /** @return the number of trees */
+    public int getNrModels() {
+        return m_trees.length;
+    }
+
+    /**
+     * @param index
+     * @return the compiled tree with <b>index</b>
+     */
+    @SuppressWarnings("unchecked")
+    public CompiledTreeModel<TreeNodeClassification> getTreeModelClassification(final int index) {
+        return (CompiledTreeModel<TreeNodeClassification>)m_trees[index];
+    }
+
+    /**
+     * @param index
+     * @return the compiled tree with <b>index</b>
+     */
+    @SuppressWarnings("unchecked")
+    public CompiledTreeModel<TreeNodeRegression> getTreeModelRegression(final int index) {
+        return (CompiledTreeModel<TreeNodeRegression>)m_trees[index];
+    }
+
+    /**
+     * Creates the column-indexed counterpart of
+     * {@link AbstractTreeEnsembleModel#createPredictorRecord(DataRow, DataTableSpec)}. Missing values (including
+     * unknown nominal values and NaN) are represented by NaN, nominal values by their assigned integer and bits by 0
+     * or 1.
+     *
+     * @param filterRow the row containing the learn columns only
+     * @param learnSpec the spec of the learn columns
+     * @return the record or null if the (vector) cell is missing
+     */
+    public double[] createRecord(final DataRow filterRow, final DataTableSpec learnSpec) {
+        switch (m_type) {
+            case Ordinary:
+                return createNominalNumericRecord(filterRow, learnSpec);
+            case BitVector:
+                return createBitVectorRecord(filterRow);
+            case ByteVector:
+                return createByteVectorRecord(filterRow);
+            case DoubleVector:
+                return createDoubleVectorRecord(filterRow);
+            default:
+                throw new IllegalStateException("Unknown tree type " + "(not implemented): " + m_type);
+        }
+    }
+
+    private double[] createDoubleVectorRecord(final DataRow filterRow) {
+        assert filterRow.getNumCells() == 1 : "Expected one cell as double vector data";
+        final DataCell c = filterRow.getCell(0);
+        if (c.isMissing()) {
+            return null;
+        }
+        final DoubleVectorValue dv = (DoubleVectorValue)c;
+        final int length = dv.getLength();
+        checkLength(filterRow, length, "double");
+        final double[] record = new double[length];
+        for (int i = 0; i < length; i++) {
+            // NaNs are treated as missing values which is what they represent in the record
+            record[i] = dv.getValue(i);
+        }
+        return record;
+    }
+
+    private double[] createByteVectorRecord(final DataRow filterRow) {
+        assert filterRow.getNumCells() == 1 : "Expected one cell as byte vector data";
+        final DataCell c = filterRow.getCell(0);
+        if (c.isMissing()) {
+            return null;
+        }
+        final ByteVectorValue bv = (ByteVectorValue)c;
+        final long length = bv.length();
+        checkLength(filterRow, length, "byte");
+        final double[] record = new double[(int)length];
+        for (int i = 0; i < length; i++) {
+            record[i] = bv.get(i);
+        }
+        return record;
+    }
+
+    private double[] createBitVectorRecord(final DataRow filterRow) {
+        assert filterRow.getNumCells() == 1 : "Expected one cell as bit vector data";
+        final DataCell c = filterRow.getCell(0);
+        if (c.isMissing()) {
+            return null;
+        }
+        final BitVectorValue bv = (BitVectorValue)c;
+        final long length = bv.length();
+        checkLength(filterRow, length, "bit");
+        final double[] record = new double[(int)length];
+        for (int i = 0; i < length; i++) {
+            record[i] = bv.get(i) ? 1.0 : 0.0;
+        }
+        return record;
+    }
+
+    private void checkLength(final DataRow filterRow, final long length, final String vectorType) {
+        if (length != m_metaData.getNrAttributes()) {
+            throw new IllegalArgumentException("The " + vectorType + "-vector in " + filterRow.getKey().getString()
+                + " has the wrong length. (" + length + " instead of " + m_metaData.getNrAttributes() + ")");
+        }
+    }
+
+    private double[] createNominalNumericRecord(final DataRow filterRow, final DataTableSpec learnSpec) {
+        final int nrCols = learnSpec.getNumColumns();
+        final double[] record = new double[nrCols];
+        for (int i = 0; i < nrCols; i++) {
+            final DataColumnSpec col = learnSpec.getColumnSpec(i);
+            final DataType colType = col.getType();
+            final DataCell cell = filterRow.getCell(i);
+            if (cell.isMissing()) {
+                record[i] = Double.NaN;
+            } else if (colType.isCompatible(NominalValue.class)) {
+                final Integer assignedInteger = m_nominalValueMaps[i].get(cell.toString());
+                // values unknown to the model are treated as missing values
+                record[i] = assignedInteger == null ? Double.NaN : assignedInteger.doubleValue();
+            } else if (colType.isCompatible(DoubleValue.class)) {
+                record[i] = ((DoubleValue)cell).getDoubleValue();
+            } else {
+                throw new IllegalStateException("Expected nominal or numeric column type for column \"" + col.getName()
+                    + "\" but got \"" + colType + "\"");
+            }
+        }
+        return record;
+    }
+
+}
@@ -0,0 +1,364 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.treeensemble2.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.base.node.mine.treeensemble2.data.NominalValueRepresentation;
+import org.knime.base.node.mine.treeensemble2.data.TreeAttributeColumnMetaData;
+import org.knime.base.node.mine.treeensemble2.data.TreeMetaData;
+import org.knime.base.node.mine.treeensemble2.data.TreeNominalColumnMetaData;
+import org.knime.base.node.mine.treeensemble2.model.TreeNodeNumericCondition.NumericOperator;
+
+/**
+ * Flat representation of an {@link AbstractTreeModel} that is used for fast batch prediction. The nodes are stored in
+ * breadth-first order so that the children of a node are contiguous, and the split conditions are decomposed into
+ * column tests held in primitive arrays. Records are passed as column-indexed <code>double[]</code> (see
+ * {@link CompiledTreeEnsembleModel#createRecord(org.knime.core.data.DataRow, org.knime.core.data.DataTableSpec)})
+ * where <code>NaN</code> represents a missing value, nominal values are represented by their assigned integer and bits
+ * by 0 or 1.
+ *
+ * <p>
+ * The original node objects are kept so that the prediction code can continue to work on the leaf nodes.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @param <N> Implementation of AbstractTreeNode (Regression or Classification)
+ * @since 3.6
+ */
+public final class CompiledTreeModel<N extends AbstractTreeNode> {
+
+    private static final byte NUMERIC_LESS_OR_EQUAL = 0;
+
+    private static final byte NUMERIC_LARGER = 1;
+
+    private static final byte NOMINAL_EQUAL = 2;
+
+    private static final byte NOMINAL_SET = 3;
+
+    private static final byte BIT = 4;
+
+    private final AbstractTreeNode[] m_nodes;
+
+    private final int[] m_childStart;
+
+    private final int[] m_childCount;
+
+    private final int[] m_testStart;
+
+    private final int[] m_testCount;
+
+    /** Response of a node's condition if all its test columns are missing. */
+    private final boolean[] m_missingResponse;
+
+    private final int[] m_testAttribute;
+
+    private final byte[] m_testType;
+
+    private final double[] m_testValue;
+
+    /** Per value index evaluation of nominal set tests, null for all other test types. */
+    private final boolean[][] m_testSet;
+
+    private CompiledTreeModel(final List<AbstractTreeNode> nodes, final int[] childStart, final int[] testStart,
+        final boolean[] missingResponse, final List<Test> tests) {
+        final int nrNodes = nodes.size();
+        m_nodes = nodes.toArray(new AbstractTreeNode[nrNodes]);
+        m_childStart = childStart;
+        m_childCount = new int[nrNodes];
+        for (int i = 0; i < nrNodes; i++) {
+            m_childCount[i] = m_nodes[i].getNrChildren();
+        }
+        m_testStart = testStart;
+        m_testCount = new int[nrNodes];
+        for (int i = 0; i < nrNodes; i++) {
+            m_testCount[i] = (i + 1 < nrNodes ? testStart[i + 1] : tests.size()) - testStart[i];
+        }
+        m_missingResponse = missingResponse;
+        final int nrTests = tests.size();
+        m_testAttribute = new int[nrTests];
+        m_testType = new byte[nrTests];
+        m_testValue = new double[nrTests];
+        m_testSet = new boolean[nrTests][];
+        for (int i = 0; i < nrTests; i++) {
+            Test t = tests.get(i);
+            m_testAttribute[i] = t.m_attribute;
+            m_testType[i] = t.m_type;
+            m_testValue[i] = t.m_value;
+            m_testSet[i] = t.m_set;
+        }
+    }
+
+    /**
+     * Compiles the given tree.
+     *
+     * @param treeModel the tree to compile
+     * @param metaData the meta data of the ensemble the tree belongs to, used to map attribute names to record indices
+     * @return the compiled tree
+     */
+    public static <N extends AbstractTreeNode> CompiledTreeModel<N> compile(final AbstractTreeModel<N> treeModel,
+        final TreeMetaData metaData) {
+        final Map<String, Integer> attributeIndexMap = createAttributeIndexMap(metaData);
+        final List<AbstractTreeNode> nodes = new ArrayList<AbstractTreeNode>();
+        final List<Integer> childStart = new ArrayList<Integer>();
+        final List<Integer> testStart = new ArrayList<Integer>();
+        final List<Boolean> missingResponse = new ArrayList<Boolean>();
+        final List<Test> tests = new ArrayList<Test>();
+        nodes.add(treeModel.getRootNode());
+        // breadth-first traversal, the children of a node are appended en bloc and are hence contiguous
+        for (int i = 0; i < nodes.size(); i++) {
+            final AbstractTreeNode node = nodes.get(i);
+            testStart.add(tests.size());
+            missingResponse.add(addTests(node.getCondition(), attributeIndexMap, metaData, tests));
+            childStart.add(nodes.size());
+            for (int c = 0; c < node.getNrChildren(); c++) {
+                nodes.add(node.getChild(c));
+            }
+        }
+        final int nrNodes = nodes.size();
+        final int[] childStartArray = new int[nrNodes];
+        final int[] testStartArray = new int[nrNodes];
+        final boolean[] missingResponseArray = new boolean[nrNodes];
+        for (int i = 0; i < nrNodes; i++) {
+            childStartArray[i] = childStart.get(i);
+            testStartArray[i] = testStart.get(i);
+            missingResponseArray[i] = missingResponse.get(i);
+        }
+        return new CompiledTreeModel<N>(nodes, childStartArray, testStartArray, missingResponseArray, tests);
+    }
+
+    static Map<String, Integer> createAttributeIndexMap(final TreeMetaData metaData) {
+        final int nrAttributes = metaData.getNrAttributes();
+        final Map<String, Integer> map = new HashMap<String, Integer>((int)(nrAttributes / 0.75 + 1.0));
+        for (int i = 0; i < nrAttributes; i++) {
+            map.put(metaData.getAttributeMetaData(i).getAttributeName(), i);
+        }
+        return map;
+    }
+
+    /** Adds the column tests of the condition and returns the response if all tested columns are missing. */
+    private static boolean addTests(final TreeNodeCondition condition, final Map<String, Integer> attributeIndexMap,
+        final TreeMetaData metaData, final List<Test> tests) {
+        if (condition instanceof TreeNodeTrueCondition) {
+            return true;
+        } else if (condition instanceof TreeNodeColumnCondition) {
+            final TreeNodeColumnCondition columnCondition = (TreeNodeColumnCondition)condition;
+            tests.add(createTest(columnCondition, attributeIndexMap, metaData));
+            return columnCondition.acceptsMissings();
+        } else if (condition instanceof AbstractTreeNodeSurrogateCondition) {
+            final AbstractTreeNodeSurrogateCondition surrogateCondition = (AbstractTreeNodeSurrogateCondition)condition;
+            for (int i = 0; i < surrogateCondition.getNumSurrogates() + 1; i++) {
+                tests.add(createTest(surrogateCondition.getColumnCondition(i), attributeIndexMap, metaData));
+            }
+            return surrogateCondition.getDefaultResponse();
+        }
+        throw new IllegalStateException("Unsupported condition type: " + condition.getClass().getSimpleName());
+    }
+
+    private static Test createTest(final TreeNodeColumnCondition condition,
+        final Map<String, Integer> attributeIndexMap, final TreeMetaData metaData) {
+        final String attributeName = condition.getAttributeName();
+        final Integer attribute = attributeIndexMap.get(attributeName);
+        if (attribute == null) {
+            throw new IllegalStateException("Unknown attribute \"" + attributeName + "\" in condition " + condition);
+        }
+        final Test test = new Test(attribute);
+        if (condition instanceof TreeNodeNumericCondition) {
+            final TreeNodeNumericCondition numericCondition = (TreeNodeNumericCondition)condition;
+            final NumericOperator operator = numericCondition.getNumericOperator();
+            switch (operator) {
+                case LessThanOrEqual:
+                case LessThanOrEqualOrMissing:
+                    test.m_type = NUMERIC_LESS_OR_EQUAL;
+                    break;
+                case LargerThan:
+                case LargerThanOrMissing:
+                    test.m_type = NUMERIC_LARGER;
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported operator: " + operator);
+            }
+            test.m_value = numericCondition.getSplitValue();
+        } else if (condition instanceof TreeNodeNominalCondition) {
+            test.m_type = NOMINAL_EQUAL;
+            test.m_value = ((TreeNodeNominalCondition)condition).getValueIndex();
+        } else if (condition instanceof TreeNodeNominalBinaryCondition) {
+            final TreeNodeNominalBinaryCondition binaryCondition = (TreeNodeNominalBinaryCondition)condition;
+            final TreeAttributeColumnMetaData columnMetaData = metaData.getAttributeMetaData(attribute);
+            int nrValues = 0;
+            for (NominalValueRepresentation value : ((TreeNominalColumnMetaData)columnMetaData).getValues()) {
+                nrValues = Math.max(nrValues, value.getAssignedInteger() + 1);
+            }
+            test.m_type = NOMINAL_SET;
+            test.m_set = new boolean[nrValues];
+            for (int i = 0; i < nrValues; i++) {
+                test.m_set[i] = binaryCondition.testCondition(i);
+            }
+        } else if (condition instanceof TreeNodeBitCondition) {
+            test.m_type = BIT;
+            test.m_value = ((TreeNodeBitCondition)condition).getValue() ? 1.0 : 0.0;
+        } else {
+            throw new IllegalStateException("Unsupported condition type: " + condition.getClass().getSimpleName());
+        }
+        return test;
+    }
+
+    /**
+     * Finds the index of the node <b>record</b> ends up in, see {@link AbstractTreeModel#findMatchingNode}.
+     *
+     * @param record the column-indexed record, NaN representing missing values
+     * @return index of the matching node
+     */
+    public int findMatchingNodeIndex(final double[] record) {
+        int node = 0;
+        while (true) {
+            final int childStart = m_childStart[node];
+            final int childEnd = childStart + m_childCount[node];
+            int next = -1;
+            for (int c = childStart; c < childEnd; c++) {
+                if (testNode(c, record)) {
+                    next = c;
+                    break;
+                }
+            }
+            if (next < 0) {
+                return node;
+            }
+            node = next;
+        }
+    }
+
+    /**
+     * Finds the matching node for <b>record</b>.
+     *
+     * @param record the column-indexed record, NaN representing missing values
+     * @return TreeNode that matches the values of <b>record</b>
+     */
+    @SuppressWarnings("unchecked")
+    public N findMatchingNode(final double[] record) {
+        return (N)m_nodes[findMatchingNodeIndex(record)];
+    }
+
+    /** @return the number of nodes in the tree */
+    public int getNrNodes() {
+        return m_nodes.length;
+    }
+
+    /**
+     * @param index the node index as returned by {@link #findMatchingNodeIndex(double[])}
+     * @return the node with the given index
+     */
+    @SuppressWarnings("unchecked")
+    public N getNode(final int index) {
+        return (N)m_nodes[index];
+    }
+
+    /**
+     * Creates a node-indexed array of the values that the map assigns to the leaf signatures, e.g. the coefficients of
+     * a gradient boosted tree. Inner nodes and leaves without value are assigned NaN.
+     *
+     * @param leafValueMap maps the leaf signatures to their values
+     * @return the values indexed by node index
+     */
+    public double[] createLeafValues(final Map<TreeNodeSignature, Double> leafValueMap) {
+        final double[] values = new double[m_nodes.length];
+        for (int i = 0; i < m_nodes.length; i++) {
+            final Double value = m_childCount[i] == 0 ? leafValueMap.get(m_nodes[i].getSignature()) : null;
+            values[i] = value == null ? Double.NaN : value.doubleValue();
+        }
+        return values;
+    }
+
+    private boolean testNode(final int node, final double[] record) {
+        final int testEnd = m_testStart[node] + m_testCount[node];
+        for (int t = m_testStart[node]; t < testEnd; t++) {
+            final double value = record[m_testAttribute[t]];
+            if (!Double.isNaN(value)) {
+                return test(t, value);
+            }
+        }
+        return m_missingResponse[node];
+    }
+
+    private boolean test(final int t, final double value) {
+        switch (m_testType[t]) {
+            case NUMERIC_LESS_OR_EQUAL:
+                return value <= m_testValue[t];
+            case NUMERIC_LARGER:
+                return value > m_testValue[t];
+            case NOMINAL_EQUAL:
+            case BIT:
+                return value == m_testValue[t];
+            case NOMINAL_SET:
+                final boolean[] set = m_testSet[t];
+                final int valueIndex = (int)value;
+                return valueIndex < set.length ? set[valueIndex] : false;
+            default:
+                throw new IllegalStateException("Unknown test type: " + m_testType[t]);
+        }
+    }
+
+    /** Temporary holder of a column test during compilation. */
+    private static final class Test {
+
+        private final int m_attribute;
+
+        private byte m_type;
+
+        private double m_value;
+
+        private boolean[] m_set;
+
+        Test(final int attribute) {
+            m_attribute = attribute;
+        }
+    }
+
+}
@@ -66,6 +66,8 @@ public class GradientBoostingLearnerConfiguration extends TreeEnsembleLearnerCon
 
     private static final String KEY_ALPHA_FRACTION = "alphaFraction";
 
+    private static final String KEY_CONCURRENT_SPLIT_SEARCH = "concurrentSplitSearch";
+
     /**
      * Default learning rate (0.1)
      */
@@ -80,6 +82,9 @@ public class GradientBoostingLearnerConfiguration extends TreeEnsembleLearnerCon
 
     private double m_alphaFraction = DEF_ALPHA_FRACTION;
 
+    /** true for new nodes, false for nodes created prior KNIME 3.6 (different random numbers, i.e. other models). */
+    private boolean m_concurrentSplitSearch = true;
+
     /**
      * @param isRegression
      */
@@ -127,6 +132,25 @@ public void setAlpha(final double alphaFraction) {
         m_alphaFraction = alphaFraction;
     }
 
+    /**
+     * @return whether the columns of large tree nodes are searched concurrently, which uses the random numbers in
+     *         a different order than the sequential search, hence the model differs for the same seed
+     * @since 3.6
+     */
+    public boolean isConcurrentSplitSearch() {
+        return m_concurrentSplitSearch;
+    }
+
+    /**
+     * Sets whether the columns of large tree nodes are searched concurrently.
+     *
+     * @param concurrentSplitSearch
+     * @since 3.6
+     */
+    public void setConcurrentSplitSearch(final boolean concurrentSplitSearch) {
+        m_concurrentSplitSearch = concurrentSplitSearch;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -135,6 +159,7 @@ public void save(final NodeSettingsWO settings) {
         super.save(settings);
         settings.addDouble(KEY_LEARNINGRATE, m_learningRate);
         settings.addDouble(KEY_ALPHA_FRACTION, m_alphaFraction);
+        settings.addBoolean(KEY_CONCURRENT_SPLIT_SEARCH, m_concurrentSplitSearch);
     }
 
     /**
@@ -166,6 +191,9 @@ public void loadInDialog(final NodeSettingsRO settings, final DataTableSpec inSp
         m_learningRate = settings.getDouble(KEY_LEARNINGRATE, DEF_LEARNINGRATE);
 
         m_alphaFraction = settings.getDouble(KEY_ALPHA_FRACTION, DEF_ALPHA_FRACTION);
+
+        // added in 3.6, older nodes keep the sequential search to learn the same model
+        m_concurrentSplitSearch = settings.getBoolean(KEY_CONCURRENT_SPLIT_SEARCH, false);
     }
 
     /**
@@ -176,6 +204,8 @@ public void loadInModel(final NodeSettingsRO settings) throws InvalidSettingsExc
         super.loadInModel(settings);
         m_learningRate = settings.getDouble(KEY_LEARNINGRATE);
         m_alphaFraction = settings.getDouble(KEY_ALPHA_FRACTION);
+        // added in 3.6, older nodes keep the sequential search to learn the same model
+        m_concurrentSplitSearch = settings.getBoolean(KEY_CONCURRENT_SPLIT_SEARCH, false);
     }
 
 }
@@ -69,6 +69,8 @@ public class GradientBoostingClassificationLearnerNodeDialogPane extends NodeDia
 
     private final OptionsPanel m_optionsPanel;
     private final AdvancedOptionsPanel m_advancedOptionsPanel;
+    /** Not shown, kept as loaded so that nodes created prior 3.6 learn the same models. */
+    private boolean m_concurrentSplitSearch;
 
     /**
      *  */
@@ -86,6 +88,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         GradientBoostingLearnerConfiguration cfg = new GradientBoostingLearnerConfiguration(false);
         m_optionsPanel.saveSettings(cfg);
         m_advancedOptionsPanel.saveSettings(cfg);
+        cfg.setConcurrentSplitSearch(m_concurrentSplitSearch);
         cfg.save(settings);
     }
 
@@ -96,6 +99,7 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final DataTableSp
         final DataTableSpec inSpec = specs[0];
         GradientBoostingLearnerConfiguration cfg = new GradientBoostingLearnerConfiguration(false);
         cfg.loadInDialog(settings, inSpec);
+        m_concurrentSplitSearch = cfg.isConcurrentSplitSearch();
         m_optionsPanel.loadSettingsFrom(inSpec, cfg);
         m_advancedOptionsPanel.loadSettings(cfg);
     }
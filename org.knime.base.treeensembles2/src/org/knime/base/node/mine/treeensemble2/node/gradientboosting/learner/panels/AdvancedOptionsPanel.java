@@ -117,6 +117,10 @@ public class AdvancedOptionsPanel extends JPanel {
 
     private final JCheckBox m_useBinaryNominalSplitsChecker;
 
+    private final JCheckBox m_histogramBinsChecker;
+
+    private final JSpinner m_histogramBinsSpinner;
+
     private final JSpinner m_alphaFractionSpinner;
 
     private final JComboBox<MissingValueHandling> m_missingValueHandlingComboBox;
@@ -220,6 +224,19 @@ public void actionPerformed(final ActionEvent e) {
         m_useAverageSplitPointsChecker = new JCheckBox("Use mid point splits (only for numeric attributes)");
         m_useBinaryNominalSplitsChecker = new JCheckBox("Use binary splits for nominal columns");
         m_missingValueHandlingComboBox = new JComboBox<MissingValueHandling>(MissingValueHandling.values());
+        m_histogramBinsSpinner = new JSpinner(new SpinnerNumberModel(
+            TreeEnsembleLearnerConfiguration.MAX_NR_HISTOGRAM_BINS, 2,
+            TreeEnsembleLearnerConfiguration.MAX_NR_HISTOGRAM_BINS, 1));
+        m_histogramBinsChecker = new JCheckBox("Bin numeric attributes (number of bins)");
+        m_histogramBinsChecker.setToolTipText("Speeds up learning on large data by searching splits only between "
+            + "equal-frequency bins of numeric attributes");
+        m_histogramBinsChecker.addItemListener(new ItemListener() {
+            @Override
+            public void itemStateChanged(final ItemEvent e) {
+                m_histogramBinsSpinner.setEnabled(m_histogramBinsChecker.isSelected());
+            }
+        });
+        m_histogramBinsSpinner.setEnabled(false);
 
         initPanel();
     }
@@ -265,6 +282,15 @@ private void initPanel() {
         gbc.gridx = 1;
         add(m_missingValueHandlingComboBox, gbc);
 
+        gbc.gridy += 1;
+        gbc.gridx = 0;
+        gbc.gridwidth = 1;
+        gbc.weightx = 0.0;
+        add(m_histogramBinsChecker, gbc);
+        gbc.gridx = 1;
+        gbc.weightx = 1.0;
+        add(m_histogramBinsSpinner, gbc);
+
 
         gbc.insets = defaultInsets;
         gbc.gridy += 1;
@@ -396,6 +422,13 @@ public void loadSettings(final GradientBoostingLearnerConfiguration cfg) {
         m_useAverageSplitPointsChecker.setSelected(cfg.isUseAverageSplitPoints());
         m_useBinaryNominalSplitsChecker.setSelected(cfg.isUseBinaryNominalSplits());
         m_missingValueHandlingComboBox.setSelectedItem(cfg.getMissingValueHandling());
+        int nrHistogramBins = cfg.getNrHistogramBins();
+        if ((nrHistogramBins != TreeEnsembleLearnerConfiguration.NR_HISTOGRAM_BINS_EXACT) != m_histogramBinsChecker
+            .isSelected()) {
+            m_histogramBinsChecker.doClick();
+        }
+        m_histogramBinsSpinner.setValue(nrHistogramBins == TreeEnsembleLearnerConfiguration.NR_HISTOGRAM_BINS_EXACT
+            ? TreeEnsembleLearnerConfiguration.MAX_NR_HISTOGRAM_BINS : nrHistogramBins);
 
         double dataFrac = cfg.getDataFractionPerTree();
         boolean isDataWithReplacement = cfg.isDataSelectionWithReplacement();
@@ -456,6 +489,8 @@ public void saveSettings(final GradientBoostingLearnerConfiguration cfg) throws
             throw new InvalidSettingsException("Surrogate missing value handling can only be used if binary nominal splits are enabled.");
         }
         cfg.setMissingValueHandling((MissingValueHandling)m_missingValueHandlingComboBox.getSelectedItem());
+        cfg.setNrHistogramBins(m_histogramBinsChecker.isSelected() ? (Integer)m_histogramBinsSpinner.getValue()
+            : TreeEnsembleLearnerConfiguration.NR_HISTOGRAM_BINS_EXACT);
 
         double dataFrac;
         boolean isSamplingWithReplacement;
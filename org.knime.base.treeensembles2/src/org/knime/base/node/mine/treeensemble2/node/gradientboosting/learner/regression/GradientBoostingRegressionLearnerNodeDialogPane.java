@@ -68,6 +68,8 @@ public class GradientBoostingRegressionLearnerNodeDialogPane extends NodeDialogP
 
     private final OptionsPanel m_optionsPanel;
     private final AdvancedOptionsPanel m_advancedOptionsPanel;
+    /** Not shown, kept as loaded so that nodes created prior 3.6 learn the same models. */
+    private boolean m_concurrentSplitSearch;
 
     /**
      *  */
@@ -85,6 +87,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         GradientBoostingLearnerConfiguration cfg = new GradientBoostingLearnerConfiguration(true);
         m_optionsPanel.saveSettings(cfg);
         m_advancedOptionsPanel.saveSettings(cfg);
+        cfg.setConcurrentSplitSearch(m_concurrentSplitSearch);
         cfg.save(settings);
     }
 
@@ -95,6 +98,7 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final DataTableSp
         final DataTableSpec inSpec = specs[0];
         GradientBoostingLearnerConfiguration cfg = new GradientBoostingLearnerConfiguration(true);
         cfg.loadInDialog(settings, inSpec);
+        m_concurrentSplitSearch = cfg.isConcurrentSplitSearch();
         m_optionsPanel.loadSettingsFrom(inSpec, cfg);
         m_advancedOptionsPanel.loadSettings(cfg);
     }
@@ -54,16 +54,16 @@
 import java.util.Map;
 
 import org.knime.base.data.filter.column.FilterColumnRow;
-import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
+import org.knime.base.node.mine.treeensemble2.model.CompiledTreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.MultiClassGradientBoostedTreesModel;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModelPortObjectSpec;
-import org.knime.base.node.mine.treeensemble2.model.TreeNodeRegression;
 import org.knime.base.node.mine.treeensemble2.node.gradientboosting.predictor.GradientBoostingPredictor;
 import org.knime.base.node.mine.treeensemble2.node.predictor.TreeEnsemblePredictorConfiguration;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
 import org.knime.core.data.container.AbstractCellFactory;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.StringCell;
@@ -86,6 +86,12 @@ public class LKGradientBoostingPredictorCellFactory extends AbstractCellFactory
 
     private final Map<String, DataCell> m_targetValueMap;
 
+    /** Compiled form of the model, null if the model is not available (during configure). */
+    private final CompiledTreeEnsembleModel m_compiledModel;
+
+    /** The coefficients of the trees indexed by level, class and node index of the compiled trees. */
+    private final double[][][] m_leafCoefficients;
+
     /**
      * @param newColSpec
      */
@@ -99,6 +105,20 @@ private LKGradientBoostingPredictorCellFactory(final DataColumnSpec[] newColSpec
         m_config = config;
         m_targetValueMap = targetValueMap;
         setParallelProcessing(true);
+        if (model == null) {
+            m_compiledModel = null;
+            m_leafCoefficients = null;
+        } else {
+            m_compiledModel = CompiledTreeEnsembleModel.compile(model);
+            final int nrClasses = model.getNrClasses();
+            m_leafCoefficients = new double[model.getNrLevels()][nrClasses][];
+            for (int i = 0; i < m_leafCoefficients.length; i++) {
+                for (int j = 0; j < nrClasses; j++) {
+                    m_leafCoefficients[i][j] = m_compiledModel.getTreeModelRegression(i * nrClasses + j)
+                        .createLeafValues(model.getCoefficientMap(i, j));
+                }
+            }
+        }
     }
 
     public static LKGradientBoostingPredictorCellFactory createFactory(final GradientBoostingPredictor<MultiClassGradientBoostedTreesModel> predictor) throws InvalidSettingsException {
@@ -133,14 +153,19 @@ public DataCell[] getCells(final DataRow row) {
         final DataRow filterRow = new FilterColumnRow(row, m_learnColumnInRealDataIndices);
         final int nrClasses = m_model.getNrClasses();
         final int nrLevels = m_model.getNrLevels();
-        final PredictorRecord record = m_model.createPredictorRecord(filterRow, m_learnSpec);
+        final double[] record = m_compiledModel.createRecord(filterRow, m_learnSpec);
+        if (record == null) { // missing value
+            final DataCell[] missingCells = new DataCell[getColumnSpecs().length];
+            Arrays.fill(missingCells, DataType.getMissingCell());
+            return missingCells;
+        }
         final double[] classFunctionPredictions = new double[nrClasses];
         Arrays.fill(classFunctionPredictions, m_model.getInitialValue());
         for (int i = 0; i < nrLevels; i++) {
             for (int j = 0; j < nrClasses; j++) {
-                final TreeNodeRegression matchingNode = m_model.getModel(i, j).findMatchingNode(record);
-                classFunctionPredictions[j] +=
-                    m_model.getCoefficientMap(i, j).get(matchingNode.getSignature());
+                final int matchingNode =
+                    m_compiledModel.getTreeModelRegression(i * nrClasses + j).findMatchingNodeIndex(record);
+                classFunctionPredictions[j] += m_leafCoefficients[i][j][matchingNode];
             }
         }
         final double[] classProbabilities = new double[nrClasses];
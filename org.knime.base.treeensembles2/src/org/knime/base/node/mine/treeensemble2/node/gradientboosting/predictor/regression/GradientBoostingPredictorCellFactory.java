@@ -48,14 +48,19 @@
  */
 package org.knime.base.node.mine.treeensemble2.node.gradientboosting.predictor.regression;
 
+import java.util.Map;
+
 import org.knime.base.data.filter.column.FilterColumnRow;
+import org.knime.base.node.mine.treeensemble2.model.CompiledTreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.GradientBoostedTreesModel;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModelPortObjectSpec;
+import org.knime.base.node.mine.treeensemble2.model.TreeNodeSignature;
 import org.knime.base.node.mine.treeensemble2.node.gradientboosting.predictor.GradientBoostingPredictor;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
 import org.knime.core.data.container.SingleCellFactory;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.node.InvalidSettingsException;
@@ -73,6 +78,12 @@ public class GradientBoostingPredictorCellFactory extends SingleCellFactory {
 
     private final int[] m_learnColumnInRealDataIndices;
 
+    /** Compiled form of the model, null if the model is not available (during configure). */
+    private final CompiledTreeEnsembleModel m_compiledModel;
+
+    /** The coefficients of the trees indexed by tree and node index of the compiled trees. */
+    private final double[][] m_leafCoefficients;
+
     /**
      * @param newColSpec
      */
@@ -83,6 +94,19 @@ public GradientBoostingPredictorCellFactory(final DataColumnSpec newColSpec,
         m_model = model;
         m_learnSpec = learnSpec;
         m_learnColumnInRealDataIndices = learnColumnInRealDataIndices;
+        setParallelProcessing(true);
+        if (model == null) {
+            m_compiledModel = null;
+            m_leafCoefficients = null;
+        } else {
+            m_compiledModel = CompiledTreeEnsembleModel.compile(model);
+            m_leafCoefficients = new double[m_compiledModel.getNrModels()][];
+            int i = 0;
+            for (Map<TreeNodeSignature, Double> coefficientMap : model.getCoeffientMaps()) {
+                m_leafCoefficients[i] = m_compiledModel.getTreeModelRegression(i).createLeafValues(coefficientMap);
+                i++;
+            }
+        }
     }
 
     public static GradientBoostingPredictorCellFactory createFactory(final GradientBoostingPredictor<GradientBoostedTreesModel> predictor)
@@ -102,7 +126,14 @@ public static GradientBoostingPredictorCellFactory createFactory(final GradientB
     @Override
     public DataCell getCell(final DataRow row) {
         DataRow filterRow = new FilterColumnRow(row, m_learnColumnInRealDataIndices);
-        double prediction = m_model.predict(m_model.createPredictorRecord(filterRow, m_learnSpec));
+        final double[] record = m_compiledModel.createRecord(filterRow, m_learnSpec);
+        if (record == null) { // missing value
+            return DataType.getMissingCell();
+        }
+        double prediction = m_model.getInitialValue();
+        for (int i = 0; i < m_leafCoefficients.length; i++) {
+            prediction += m_leafCoefficients[i][m_compiledModel.getTreeModelRegression(i).findMatchingNodeIndex(record)];
+        }
         return new DoubleCell(prediction);
     }
 
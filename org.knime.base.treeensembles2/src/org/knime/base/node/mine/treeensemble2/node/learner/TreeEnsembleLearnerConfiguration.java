@@ -147,6 +147,8 @@ public class TreeEnsembleLearnerConfiguration {
 
     private static final String KEY_ROW_SAMPLING_MODE = "rowSamplingMode";
 
+    private static final String KEY_NR_HISTOGRAM_BINS = "nrHistogramBins";
+
     public enum MissingValueHandling {
             /**
              * Use surrogates to handle missing values
@@ -287,6 +289,27 @@ public enum ColumnSamplingMode {
 
     private static final MissingValueHandling DEF_MISSING_VALUE_HANDLING = MissingValueHandling.XGBoost;
 
+    /**
+     * Indicates that numeric attributes are not binned, i.e. all distinct values are considered as split points.
+     *
+     * @since 3.6
+     */
+    public static final int NR_HISTOGRAM_BINS_EXACT = 0;
+
+    /**
+     * Maximum number of histogram bins for numeric attributes (the bin of a value is stored in a byte).
+     *
+     * @since 3.6
+     */
+    public static final int MAX_NR_HISTOGRAM_BINS = 256;
+
+    /**
+     * Default number of histogram bins for numeric attributes, binning is disabled by default.
+     *
+     * @since 3.6
+     */
+    public static final int DEF_NR_HISTOGRAM_BINS = NR_HISTOGRAM_BINS_EXACT;
+
     private String m_targetColumn;
 
     private Long m_seed = System.currentTimeMillis();
@@ -336,6 +359,8 @@ public enum ColumnSamplingMode {
 
     private RowSamplingMode m_rowSamplingMode = DEF_ROW_SAMPLING_MODE;
 
+    private int m_nrHistogramBins = DEF_NR_HISTOGRAM_BINS;
+
     /**
      * @param isRegression
      */
@@ -791,6 +816,33 @@ public void setRowSamplingMode(final RowSamplingMode mode) {
         m_rowSamplingMode = mode;
     }
 
+    /**
+     * The number of quantile bins numeric attributes are discretized into. If binning is used, only the bin
+     * boundaries are considered as split points and the split search works on per node histograms of the bins,
+     * which is much faster for large data sets.
+     *
+     * @return the number of bins or {@link #NR_HISTOGRAM_BINS_EXACT} if all distinct values are considered
+     * @since 3.6
+     */
+    public int getNrHistogramBins() {
+        return m_nrHistogramBins;
+    }
+
+    /**
+     * @param nrHistogramBins the number of bins, see {@link #getNrHistogramBins()}
+     * @throws InvalidSettingsException if the number is not {@link #NR_HISTOGRAM_BINS_EXACT} and not within [2,
+     *             {@link #MAX_NR_HISTOGRAM_BINS}]
+     * @since 3.6
+     */
+    public void setNrHistogramBins(final int nrHistogramBins) throws InvalidSettingsException {
+        if (nrHistogramBins != NR_HISTOGRAM_BINS_EXACT
+            && (nrHistogramBins < 2 || nrHistogramBins > MAX_NR_HISTOGRAM_BINS)) {
+            throw new InvalidSettingsException("Invalid number of histogram bins: " + nrHistogramBins
+                + " (must be between 2 and " + MAX_NR_HISTOGRAM_BINS + ")");
+        }
+        m_nrHistogramBins = nrHistogramBins;
+    }
+
     /**
      * Saves the settings.
      *
@@ -823,6 +875,7 @@ public void save(final NodeSettingsWO settings) {
         settings.addInt(KEY_NR_HILITE_PATTERNS, m_nrHilitePatterns);
         settings.addBoolean(KEY_SAVE_TARGET_DISTRIBUTION_IN_NODES, m_saveTargetDistributionInNodes);
         settings.addString(KEY_ROW_SAMPLING_MODE, m_rowSamplingMode.name());
+        settings.addInt(KEY_NR_HISTOGRAM_BINS, m_nrHistogramBins);
     }
 
     /**
@@ -911,6 +964,8 @@ public void loadInModel(final NodeSettingsRO settings) throws InvalidSettingsExc
 
         setRowSamplingMode(
             RowSamplingMode.valueOf(settings.getString(KEY_ROW_SAMPLING_MODE, DEF_ROW_SAMPLING_MODE.name())));
+        // added in 3.6
+        setNrHistogramBins(settings.getInt(KEY_NR_HISTOGRAM_BINS, DEF_NR_HISTOGRAM_BINS));
     }
 
     /**
@@ -1109,6 +1164,12 @@ public void loadInDialog(final NodeSettingsRO settings, final DataTableSpec inSp
 
         setRowSamplingMode(
             RowSamplingMode.valueOf(settings.getString(KEY_ROW_SAMPLING_MODE, DEF_ROW_SAMPLING_MODE.name())));
+        int nrHistogramBins = settings.getInt(KEY_NR_HISTOGRAM_BINS, DEF_NR_HISTOGRAM_BINS);
+        try {
+            setNrHistogramBins(nrHistogramBins);
+        } catch (InvalidSettingsException e) {
+            m_nrHistogramBins = DEF_NR_HISTOGRAM_BINS;
+        }
     }
 
     /**
@@ -101,6 +101,10 @@ public final class TreeOptionsPanel extends JPanel {
 
     private final JSpinner m_minChildNodeSizeSpinner;
 
+    private final JCheckBox m_histogramBinsChecker;
+
+    private final JSpinner m_histogramBinsSpinner;
+
     private final JCheckBox m_hardCodedRootColumnChecker;
 
     private final ColumnSelectionComboxBox m_hardCodedRootColumnBox;
@@ -153,6 +157,19 @@ public void itemStateChanged(final ItemEvent e) {
             }
         });
         m_minChildNodeSizeChecker.doClick();
+        m_histogramBinsSpinner = new JSpinner(new SpinnerNumberModel(
+            TreeEnsembleLearnerConfiguration.MAX_NR_HISTOGRAM_BINS, 2,
+            TreeEnsembleLearnerConfiguration.MAX_NR_HISTOGRAM_BINS, 1));
+        m_histogramBinsChecker = new JCheckBox("Bin numeric attributes (number of bins)");
+        m_histogramBinsChecker.setToolTipText("Speeds up learning on large data by searching splits only between "
+            + "equal-frequency bins of numeric attributes");
+        m_histogramBinsChecker.addItemListener(new ItemListener() {
+            @Override
+            public void itemStateChanged(final ItemEvent e) {
+                m_histogramBinsSpinner.setEnabled(m_histogramBinsChecker.isSelected());
+            }
+        });
+        m_histogramBinsSpinner.setEnabled(false);
         m_hardCodedRootColumnBox = new ColumnSelectionComboxBox((Border)null, NominalValue.class, DoubleValue.class);
         m_hardCodedRootColumnChecker = new JCheckBox("Use fixed root attribute");
         m_hardCodedRootColumnChecker.addItemListener(new ItemListener() {
@@ -223,6 +240,14 @@ private void initPanel() {
         gbc.weightx = 1.0;
         add(m_minChildNodeSizeSpinner, gbc);
 
+        gbc.gridy += 1;
+        gbc.gridx = 0;
+        gbc.weightx = 0.0;
+        add(m_histogramBinsChecker, gbc);
+        gbc.gridx += 1;
+        gbc.weightx = 1.0;
+        add(m_histogramBinsSpinner, gbc);
+
         gbc.gridy += 1;
         gbc.gridx = 0;
         gbc.weightx = 0.0;
@@ -291,6 +316,16 @@ public void loadSettingsFrom(final DataTableSpec inSpec, final TreeEnsembleLearn
         } else {
             m_minChildNodeSizeSpinner.setValue(minChildNodeSize);
         }
+        int nrHistogramBins = cfg.getNrHistogramBins();
+        if ((nrHistogramBins != TreeEnsembleLearnerConfiguration.NR_HISTOGRAM_BINS_EXACT) != m_histogramBinsChecker
+            .isSelected()) {
+            m_histogramBinsChecker.doClick();
+        }
+        if (nrHistogramBins == TreeEnsembleLearnerConfiguration.NR_HISTOGRAM_BINS_EXACT) {
+            m_histogramBinsSpinner.setValue(TreeEnsembleLearnerConfiguration.MAX_NR_HISTOGRAM_BINS);
+        } else {
+            m_histogramBinsSpinner.setValue(nrHistogramBins);
+        }
         String rootCol = cfg.getHardCodedRootColumn();
         if (hasOrdinaryColumnsInInput) {
             DataTableSpec attSpec = m_attributePanel.getCurrentAttributeSpec();
@@ -350,6 +385,11 @@ public void saveSettings(final TreeEnsembleLearnerConfiguration cfg) throws Inva
                 : TreeEnsembleLearnerConfiguration.MIN_CHILD_SIZE_UNDEFINED;
         cfg.setMinSizes(minNodeSize, minChildNodeSize);
 
+        int nrHistogramBins =
+            m_histogramBinsChecker.isSelected() ? (Integer)m_histogramBinsSpinner.getValue()
+                : TreeEnsembleLearnerConfiguration.NR_HISTOGRAM_BINS_EXACT;
+        cfg.setNrHistogramBins(nrHistogramBins);
+
         String hardCodedRootCol =
             m_hardCodedRootColumnChecker.isSelected() ? m_hardCodedRootColumnBox.getSelectedColumn() : null;
         cfg.setHardCodedRootColumn(hardCodedRootCol);
@@ -56,12 +56,12 @@
 
 import org.knime.base.data.filter.column.FilterColumnRow;
 import org.knime.base.node.mine.treeensemble2.data.NominalValueRepresentation;
-import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
 import org.knime.base.node.mine.treeensemble2.data.TreeTargetNominalColumnMetaData;
+import org.knime.base.node.mine.treeensemble2.model.CompiledTreeEnsembleModel;
+import org.knime.base.node.mine.treeensemble2.model.CompiledTreeModel;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModel;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModelPortObject;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModelPortObjectSpec;
-import org.knime.base.node.mine.treeensemble2.model.TreeModelClassification;
 import org.knime.base.node.mine.treeensemble2.model.TreeNodeClassification;
 import org.knime.base.node.mine.treeensemble2.node.predictor.TreeEnsemblePredictor;
 import org.knime.base.node.mine.treeensemble2.node.predictor.TreeEnsemblePredictorConfiguration;
@@ -92,6 +92,9 @@ public final class TreeEnsembleClassificationPredictorCellFactory extends Abstra
 
     private final VotingFactory m_votingFactory;
 
+    /** Compiled form of the ensemble, null if the model is not available (during configure). */
+    private final CompiledTreeEnsembleModel m_compiledModel;
+
     private TreeEnsembleClassificationPredictorCellFactory(final TreeEnsemblePredictor predictor,
         final Map<String, DataCell> targetValueMap, final DataColumnSpec[] appendSpecs,
         final int[] learnColumnInRealDataIndices, final VotingFactory votingFactory) {
@@ -102,6 +105,9 @@ private TreeEnsembleClassificationPredictorCellFactory(final TreeEnsemblePredict
         m_learnSpec = predictor.getModelSpec().getLearnTableSpec();
         m_learnColumnInRealDataIndices = learnColumnInRealDataIndices;
         m_votingFactory = votingFactory;
+        final TreeEnsembleModelPortObject modelObject = predictor.getModelObject();
+        m_compiledModel =
+            modelObject == null ? null : CompiledTreeEnsembleModel.compile(modelObject.getEnsembleModel());
     }
 
     /**
@@ -184,19 +190,19 @@ public DataCell[] getCells(final DataRow row) {
         final boolean hasOutOfBagFilter = m_predictor.hasOutOfBagFilter();
         DataCell[] result = new DataCell[size];
         DataRow filterRow = new FilterColumnRow(row, m_learnColumnInRealDataIndices);
-        PredictorRecord record = ensembleModel.createPredictorRecord(filterRow, m_learnSpec);
+        double[] record = m_compiledModel.createRecord(filterRow, m_learnSpec);
         if (record == null) { // missing value
             Arrays.fill(result, DataType.getMissingCell());
             return result;
         }
         final Voting voting = m_votingFactory.createVoting();
-        final int nrModels = ensembleModel.getNrModels();
+        final int nrModels = m_compiledModel.getNrModels();
         int nrValidModels = 0;
         for (int i = 0; i < nrModels; i++) {
             if (hasOutOfBagFilter && m_predictor.isRowPartOfTrainingData(row.getKey(), i)) {
                 // ignore, row was used to train the model
             } else {
-                TreeModelClassification m = ensembleModel.getTreeModelClassification(i);
+                CompiledTreeModel<TreeNodeClassification> m = m_compiledModel.getTreeModelClassification(i);
                 TreeNodeClassification match = m.findMatchingNode(record);
                 voting.addVote(match);
                 nrValidModels += 1;
@@ -54,11 +54,10 @@
 import org.apache.commons.math.stat.descriptive.moment.Mean;
 import org.apache.commons.math.stat.descriptive.moment.Variance;
 import org.knime.base.data.filter.column.FilterColumnRow;
-import org.knime.base.node.mine.treeensemble2.data.PredictorRecord;
-import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModel;
+import org.knime.base.node.mine.treeensemble2.model.CompiledTreeEnsembleModel;
+import org.knime.base.node.mine.treeensemble2.model.CompiledTreeModel;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModelPortObject;
 import org.knime.base.node.mine.treeensemble2.model.TreeEnsembleModelPortObjectSpec;
-import org.knime.base.node.mine.treeensemble2.model.TreeModelRegression;
 import org.knime.base.node.mine.treeensemble2.model.TreeNodeRegression;
 import org.knime.base.node.mine.treeensemble2.node.predictor.TreeEnsemblePredictor;
 import org.knime.base.node.mine.treeensemble2.node.predictor.TreeEnsemblePredictorConfiguration;
@@ -85,6 +84,9 @@ public final class TreeEnsembleRegressionPredictorCellFactory extends AbstractCe
 
     private final int[] m_learnColumnInRealDataIndices;
 
+    /** Compiled form of the ensemble, null if the model is not available (during configure). */
+    private final CompiledTreeEnsembleModel m_compiledModel;
+
     private TreeEnsembleRegressionPredictorCellFactory(final TreeEnsemblePredictor predictor,
         final DataColumnSpec[] appendSpecs, final int[] learnColumnInRealDataIndices) {
         super(appendSpecs);
@@ -92,6 +94,9 @@ private TreeEnsembleRegressionPredictorCellFactory(final TreeEnsemblePredictor p
         m_predictor = predictor;
         m_learnSpec = predictor.getModelSpec().getLearnTableSpec();
         m_learnColumnInRealDataIndices = learnColumnInRealDataIndices;
+        final TreeEnsembleModelPortObject modelObject = predictor.getModelObject();
+        m_compiledModel =
+            modelObject == null ? null : CompiledTreeEnsembleModel.compile(modelObject.getEnsembleModel());
     }
 
     /**
@@ -127,9 +132,7 @@ public static TreeEnsembleRegressionPredictorCellFactory createFactory(final Tre
     /** {@inheritDoc} */
     @Override
     public DataCell[] getCells(final DataRow row) {
-        TreeEnsembleModelPortObject modelObject = m_predictor.getModelObject();
         TreeEnsemblePredictorConfiguration cfg = m_predictor.getConfiguration();
-        final TreeEnsembleModel ensembleModel = modelObject.getEnsembleModel();
         int size = 1;
         final boolean appendConfidence = cfg.isAppendPredictionConfidence();
         final boolean appendModelCount = cfg.isAppendModelCount();
@@ -142,19 +145,19 @@ public DataCell[] getCells(final DataRow row) {
         final boolean hasOutOfBagFilter = m_predictor.hasOutOfBagFilter();
         DataCell[] result = new DataCell[size];
         DataRow filterRow = new FilterColumnRow(row, m_learnColumnInRealDataIndices);
-        PredictorRecord record = ensembleModel.createPredictorRecord(filterRow, m_learnSpec);
+        double[] record = m_compiledModel.createRecord(filterRow, m_learnSpec);
         if (record == null) { // missing value
             Arrays.fill(result, DataType.getMissingCell());
             return result;
         }
         Mean mean = new Mean();
         Variance variance = new Variance();
-        final int nrModels = ensembleModel.getNrModels();
+        final int nrModels = m_compiledModel.getNrModels();
         for (int i = 0; i < nrModels; i++) {
             if (hasOutOfBagFilter && m_predictor.isRowPartOfTrainingData(row.getKey(), i)) {
                 // ignore, row was used to train the model
             } else {
-                TreeModelRegression m = ensembleModel.getTreeModelRegression(i);
+                CompiledTreeModel<TreeNodeRegression> m = m_compiledModel.getTreeModelRegression(i);
                 TreeNodeRegression match = m.findMatchingNode(record);
                 double nodeMean = match.getMean();
                 mean.increment(nodeMean);
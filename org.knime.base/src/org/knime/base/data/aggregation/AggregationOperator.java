@@ -379,6 +379,70 @@ protected boolean computeInternal(final DataRow row, final DataCell cell) {
      */
     protected abstract boolean computeInternal(final DataCell cell);
 
+    /**
+     * Whether this operator is able to combine partial results that were computed on disjoint subsets of the rows of
+     * a group, see {@link #merge(AggregationOperator)}. Engines that aggregate chunks of a table concurrently only
+     * do so if all operators support merging. Operators whose result depends on the order of the rows (such as first,
+     * last or concatenate) must not support merging.
+     * <p>
+     * The default implementation returns <code>false</code>. Implementations that return <code>true</code> should
+     * make sure that subclasses with additional state don't inherit the flag, e.g. by comparing the runtime class.
+     *
+     * @return <code>true</code> if {@link #merge(AggregationOperator)} is supported
+     * @since 3.6
+     */
+    public boolean supportsMerge() {
+        return false;
+    }
+
+    /**
+     * Combines the state of the argument operator into this operator, as if all rows passed to the argument had been
+     * passed to this operator. Both operators must be of the same class and belong to the same column and group. The
+     * argument must not be used afterwards.
+     *
+     * @param other the operator holding the partial result of other rows of the same group
+     * @throws UnsupportedOperationException if {@link #supportsMerge()} returns <code>false</code>
+     * @throws IllegalArgumentException if the argument is of a different class
+     * @since 3.6
+     */
+    public final void merge(final AggregationOperator other) {
+        if (!supportsMerge()) {
+            throw new UnsupportedOperationException(
+                "Operator '" + getLabel() + "' does not support merging of partial results");
+        }
+        if (other == null) {
+            throw new NullPointerException("operator must not be null");
+        }
+        if (other.getClass() != getClass()) {
+            throw new IllegalArgumentException("Can't merge operator of class " + other.getClass().getName()
+                + " into operator of class " + getClass().getName());
+        }
+        m_missingValuesCount += other.m_missingValuesCount;
+        if (m_skipped) {
+            return;
+        }
+        if (other.m_skipped) {
+            m_skipped = true;
+            m_skipMsg = other.m_skipMsg;
+            return;
+        }
+        m_skipped = mergeInternal(other);
+    }
+
+    /**
+     * Combines the state of the argument into this operator, called by {@link #merge(AggregationOperator)} if neither
+     * operator is skipped. Operators that support merging must override this method, the default implementation
+     * throws an {@link UnsupportedOperationException}.
+     *
+     * @param other the operator to merge, of the same class as this operator
+     * @return <code>true</code> if this column should be skipped in further calculations
+     * @since 3.6
+     */
+    protected boolean mergeInternal(final AggregationOperator other) {
+        throw new UnsupportedOperationException(
+            "Operator '" + getLabel() + "' does not implement merging of partial results");
+    }
+
     /**
      * {@inheritDoc}
      */
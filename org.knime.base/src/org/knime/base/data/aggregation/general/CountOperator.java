@@ -114,6 +114,25 @@ protected boolean computeInternal(final DataCell cell) {
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    public boolean supportsMerge() {
+        return getClass() == CountOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        m_counter += ((CountOperator)other).m_counter;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -128,6 +128,28 @@ protected boolean computeInternal(final DataCell cell) {
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    public boolean supportsMerge() {
+        return getClass() == MaxOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final DataCell otherVal = ((MaxOperator)other).m_maxVal;
+        if (otherVal != null && (m_maxVal == null || m_comparator.compare(otherVal, m_maxVal) > 0)) {
+            m_maxVal = otherVal;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -127,6 +127,28 @@ protected boolean computeInternal(final DataCell cell) {
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    public boolean supportsMerge() {
+        return getClass() == MinOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final DataCell otherVal = ((MinOperator)other).m_minVal;
+        if (otherVal != null && (m_minVal == null || m_comparator.compare(otherVal, m_minVal) < 0)) {
+            m_minVal = otherVal;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
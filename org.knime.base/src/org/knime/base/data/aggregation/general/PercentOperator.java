@@ -107,6 +107,15 @@ protected DataType getDataType(final DataType origType) {
         return m_type;
     }
 
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    public boolean supportsMerge() {
+        return getClass() == PercentOperator.class;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -125,6 +125,21 @@ protected boolean computeInternal(final DataCell cell) {
         return false;
     }
 
+    /**
+     * {@inheritDoc} Merging is not enabled for this class since the order of the set elements depends on the order
+     * of the rows, but subclasses that only use the set size (such as {@link UniqueCountOperator}) can.
+     * @since 3.6
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        for (final DataCell cell : ((SetCellOperator)other).m_cells) {
+            if (computeInternal(cell)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
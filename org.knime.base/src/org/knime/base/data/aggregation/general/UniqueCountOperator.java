@@ -102,6 +102,15 @@ protected DataType getDataType(final DataType origType) {
         return m_type;
     }
 
+    /**
+     * {@inheritDoc} The partial sets are merged as in {@link SetCellOperator}.
+     * @since 3.6
+     */
+    @Override
+    public boolean supportsMerge() {
+        return getClass() == UniqueCountOperator.class;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -116,6 +116,30 @@ protected boolean computeInternal(final DataCell cell) {
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    public boolean supportsMerge() {
+        return getClass() == MeanOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final MeanOperator o = (MeanOperator)other;
+        if (o.m_count > 0) {
+            final int count = m_count + o.m_count;
+            m_mean = m_mean * ((double)m_count / count) + o.m_mean * ((double)o.m_count / count);
+            m_count = count;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
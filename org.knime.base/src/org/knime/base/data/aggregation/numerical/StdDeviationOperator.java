@@ -93,6 +93,15 @@ public AggregationOperator createInstance(
         return new StdDeviationOperator(getOperatorData(), globalSettings, opColSettings);
     }
 
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    public boolean supportsMerge() {
+        return getClass() == StdDeviationOperator.class;
+    }
+
     /**
      * {@inheritDoc}
      */
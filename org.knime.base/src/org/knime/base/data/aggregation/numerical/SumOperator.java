@@ -137,6 +137,29 @@ protected boolean computeInternal(final DataCell cell) {
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    public boolean supportsMerge() {
+        return getClass() == SumOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final SumOperator o = (SumOperator)other;
+        if (o.m_valid) {
+            m_valid = true;
+            m_sum += o.m_sum;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
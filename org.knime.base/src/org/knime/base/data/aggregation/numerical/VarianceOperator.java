@@ -118,6 +118,28 @@ protected boolean computeInternal(final DataCell cell) {
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    public boolean supportsMerge() {
+        return getClass() == VarianceOperator.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final VarianceOperator o = (VarianceOperator)other;
+        m_validCount += o.m_validCount;
+        m_sum += o.m_sum;
+        m_sumSquare += o.m_sumSquare;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
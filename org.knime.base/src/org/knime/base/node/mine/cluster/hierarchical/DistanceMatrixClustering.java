@@ -0,0 +1,292 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.cluster.hierarchical;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.base.node.mine.cluster.hierarchical.HierarchicalClusterNodeModel.Linkage;
+import org.knime.base.node.mine.cluster.hierarchical.distfunctions.DistanceFunction;
+import org.knime.base.util.HalfFloatMatrix;
+import org.knime.core.data.DataRow;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.HelperThreads;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Agglomerative clustering on a precomputed distance matrix. The matrix is computed once (concurrently) and then
+ * updated with the Lance-Williams formula whenever two clusters are merged. The closest pair is found with the help of
+ * the nearest neighbor of each cluster, which only needs to be recomputed for the clusters whose nearest neighbor was
+ * merged. This typically takes O(n<sup>2</sup>) time in total instead of a full scan of all cluster pairs, and their
+ * rows, in each of the n-1 fusion steps. Ties are broken like in the loop without cache, hence both lead to the same
+ * dendrogram.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class DistanceMatrixClustering {
+
+    /**
+     * A single fusion step. Both clusters are identified by the index of one of their rows.
+     */
+    static final class Merge {
+        private final int m_firstRow;
+
+        private final int m_secondRow;
+
+        private final float m_dist;
+
+        private Merge(final int firstRow, final int secondRow, final float dist) {
+            m_firstRow = firstRow;
+            m_secondRow = secondRow;
+            m_dist = dist;
+        }
+
+        /**
+         * @return the index of a row of the first cluster
+         */
+        int getFirstRow() {
+            return m_firstRow;
+        }
+
+        /**
+         * @return the index of a row of the second cluster
+         */
+        int getSecondRow() {
+            return m_secondRow;
+        }
+
+        /**
+         * @return the distance between the two clusters
+         */
+        float getDist() {
+            return m_dist;
+        }
+    }
+
+    private DistanceMatrixClustering() {
+    }
+
+    /**
+     * Computes the distances between all pairs of rows. The rows of the matrix are computed by the calling thread and
+     * the idle threads of the given pool.
+     *
+     * @param rows the rows
+     * @param distFunction the distance function
+     * @param selectedColIndices the columns to use for the distance calculation
+     * @param pool the pool to take idle threads from
+     * @param exec for progress and cancellation
+     * @return the distance matrix
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    static HalfFloatMatrix computeDistances(final DataRow[] rows, final DistanceFunction distFunction,
+        final int[] selectedColIndices, final ThreadPool pool, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int nrRows = rows.length;
+        final HalfFloatMatrix matrix = new HalfFloatMatrix(nrRows, false);
+        final double nrPairs = nrRows * (nrRows - 1.0) / 2;
+        final AtomicLong computedPairs = new AtomicLong();
+        // start with the longest rows of the matrix to balance the work
+        final AtomicInteger nextRow = new AtomicInteger(nrRows - 1);
+        HelperThreads.run(pool, Math.min(nrRows, pool.getMaxThreads()) - 1, () -> {
+            for (int i = nextRow.getAndDecrement(); i > 0; i = nextRow.getAndDecrement()) {
+                exec.checkCanceled();
+                final DataRow row = rows[i];
+                for (int j = 0; j < i; j++) {
+                    matrix.set(i, j, (float)distFunction.calcDistance(row, rows[j], selectedColIndices));
+                }
+                final long done = computedPairs.addAndGet(i);
+                exec.setProgress(done / nrPairs, () -> "Computed " + done + " distances");
+            }
+        });
+        return matrix;
+    }
+
+    /**
+     * Clusters the rows of the distance matrix. The matrix is modified in the process.
+     *
+     * @param matrix the distance matrix between all rows
+     * @param linkage the linkage type
+     * @param exec for progress and cancellation
+     * @return the n-1 fusion steps in the order in which they are performed
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    static Merge[] cluster(final HalfFloatMatrix matrix, final Linkage linkage, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int nrRows = matrix.getRowCount();
+        if (nrRows < 2) {
+            return new Merge[0];
+        }
+        // the cluster of row i is stored at index i as long as it is active, merged clusters are stored at the index
+        // of their second cluster
+        final int[] size = new int[nrRows];
+        Arrays.fill(size, 1);
+        // the active clusters as doubly linked list, ordered like the cluster list of the loop without cache: merged
+        // clusters are appended at the end
+        final int[] next = new int[nrRows];
+        final int[] prev = new int[nrRows];
+        for (int i = 0; i < nrRows; i++) {
+            next[i] = i + 1;
+            prev[i] = i - 1;
+        }
+        next[nrRows - 1] = -1;
+        int head = 0;
+        int tail = nrRows - 1;
+        // the nearest of the clusters that come later in the list, -1 for the last cluster
+        final int[] nn = new int[nrRows];
+        final float[] nnDist = new float[nrRows];
+        for (int i = head; i >= 0; i = next[i]) {
+            exec.checkCanceled();
+            findNearestNeighbor(i, matrix, linkage, size, next, nn, nnDist);
+        }
+
+        final Merge[] merges = new Merge[nrRows - 1];
+        for (int m = 0; m < merges.length; m++) {
+            exec.checkCanceled();
+            // the closest pair, on ties the pair that comes first in the list (as in the loop without cache)
+            int a = -1;
+            for (int i = head; i >= 0; i = next[i]) {
+                if (nn[i] >= 0 && (a < 0 || nnDist[i] < nnDist[a])) {
+                    a = i;
+                }
+            }
+            final int b = nn[a];
+            merges[m] = new Merge(a, b, nnDist[a]);
+
+            // merge a into b and update the distances of b to all other active clusters
+            for (int k = head; k >= 0; k = next[k]) {
+                if (k != a && k != b) {
+                    matrix.set(b, k, linkageDistance(linkage, matrix.get(a, k), matrix.get(b, k)));
+                }
+            }
+            size[b] += size[a];
+            for (int c : new int[]{a, b}) {
+                if (prev[c] >= 0) {
+                    next[prev[c]] = next[c];
+                } else {
+                    head = next[c];
+                }
+                if (next[c] >= 0) {
+                    prev[next[c]] = prev[c];
+                } else {
+                    tail = prev[c];
+                }
+            }
+            if (tail >= 0) {
+                next[tail] = b;
+            } else {
+                head = b;
+            }
+            prev[b] = tail;
+            next[b] = -1;
+            tail = b;
+
+            // the merged cluster is the last one, all others need to consider it as nearest neighbor
+            nn[b] = -1;
+            for (int k = head; k != b; k = next[k]) {
+                if (nn[k] == a || nn[k] == b) {
+                    findNearestNeighbor(k, matrix, linkage, size, next, nn, nnDist);
+                } else {
+                    final float d = distance(k, b, matrix, linkage, size);
+                    // on ties the earlier cluster is kept
+                    if (nn[k] < 0 || d < nnDist[k]) {
+                        nn[k] = b;
+                        nnDist[k] = d;
+                    }
+                }
+            }
+            final int clustersLeft = nrRows - m - 1;
+            exec.setProgress(m / (double)merges.length, () -> clustersLeft + " clusters left to merge.");
+        }
+        return merges;
+    }
+
+    /**
+     * Finds the nearest of the clusters following cluster <b>i</b> in the list, the first one on ties.
+     */
+    private static void findNearestNeighbor(final int i, final HalfFloatMatrix matrix, final Linkage linkage,
+        final int[] size, final int[] next, final int[] nn, final float[] nnDist) {
+        nn[i] = -1;
+        for (int k = next[i]; k >= 0; k = next[k]) {
+            final float d = distance(i, k, matrix, linkage, size);
+            if (nn[i] < 0 || d < nnDist[i]) {
+                nn[i] = k;
+                nnDist[i] = d;
+            }
+        }
+    }
+
+    /**
+     * The linkage distance between the clusters <b>i</b> and <b>k</b>. For average linkage the matrix holds the sum
+     * of the distances between the rows of both clusters, which is divided by the number of row pairs in the same
+     * way as the loop without cache does.
+     */
+    private static float distance(final int i, final int k, final HalfFloatMatrix matrix, final Linkage linkage,
+        final int[] size) {
+        final float d = matrix.get(i, k);
+        return linkage == Linkage.AVERAGE ? d / (size[i] * size[k]) : d;
+    }
+
+    /**
+     * Lance-Williams update of the distance between cluster k and the union of the clusters a and b. For average
+     * linkage the distances are sums, see {@link #distance(int, int, HalfFloatMatrix, Linkage, int[])}.
+     */
+    private static float linkageDistance(final Linkage linkage, final float distAK, final float distBK) {
+        switch (linkage) {
+            case SINGLE:
+                return Math.min(distAK, distBK);
+            case COMPLETE:
+                return Math.max(distAK, distBK);
+            case AVERAGE:
+                return distAK + distBK;
+            default:
+                throw new IllegalArgumentException("Unsupported linkage: " + linkage);
+        }
+    }
+}
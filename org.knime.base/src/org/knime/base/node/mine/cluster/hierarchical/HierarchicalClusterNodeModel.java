@@ -50,8 +50,11 @@
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.knime.base.node.mine.cluster.hierarchical.DistanceMatrixClustering.Merge;
 import org.knime.base.node.mine.cluster.hierarchical.distfunctions.DistanceFunction;
 import org.knime.base.node.mine.cluster.hierarchical.distfunctions.EuclideanDist;
 import org.knime.base.node.mine.cluster.hierarchical.distfunctions.ManhattanDist;
@@ -77,6 +80,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettings;
 import org.knime.core.node.NodeSettingsRO;
@@ -236,12 +240,57 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] data,
         DataContainer fusionCont = exec.createDataContainer(createFusionSpec());
         int iterationStep = 0;
 
-        final HalfFloatMatrix cache;
         if (m_cacheDistances.getBooleanValue()) {
-            cache = new HalfFloatMatrix((int) inputData.size(), false);
-            cache.fill(Float.NaN);
-        } else {
-            cache = null;
+            // compute all distances once and merge the clusters based on the
+            // (updated) distance matrix
+            DataRow[] rows = new DataRow[clusters.size()];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = clusters.get(i).getLeafDataPoint();
+            }
+            exec.setMessage("Computing distances");
+            HalfFloatMatrix distances = DistanceMatrixClustering.computeDistances(rows, m_distFunction,
+                selectedColIndices, KNIMEConstants.GLOBAL_THREAD_POOL, exec.createSubProgress(0.5));
+            exec.setMessage("Merging clusters");
+            Merge[] merges = DistanceMatrixClustering.cluster(distances,
+                Linkage.valueOf(m_linkageType.getStringValue()), exec.createSubProgress(0.4));
+            distances = null;
+
+            // replay the merges, the clusters are identified by the
+            // (union-find) root of their rows
+            int[] parent = new int[rows.length];
+            ClusterNode[] rootCluster = new ClusterNode[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                parent[i] = i;
+                rootCluster[i] = clusters.get(i);
+            }
+            // insertion ordered like the list the clusters are removed from
+            // and appended to in the loop below
+            Set<ClusterNode> remaining = new LinkedHashSet<ClusterNode>(clusters);
+            for (Merge merge : merges) {
+                if (m_numClustersForOutput.getIntValue() == remaining.size()) {
+                    outputData = createResultTable(inputData,
+                            new ArrayList<ClusterNode>(remaining), exec);
+                }
+                exec.checkCanceled();
+                iterationStep++;
+                int root1 = findRoot(parent, merge.getFirstRow());
+                int root2 = findRoot(parent, merge.getSecondRow());
+                ClusterNode newNode = new ClusterNode(rootCluster[root1],
+                        rootCluster[root2], merge.getDist());
+                remaining.remove(rootCluster[root1]);
+                remaining.remove(rootCluster[root2]);
+                remaining.add(newNode);
+                parent[root1] = root2;
+                rootCluster[root1] = null;
+                rootCluster[root2] = newNode;
+
+                // store the distance per each fusion step
+                fusionCont.addRowToTable(new DefaultRow(
+                        Integer.toString(remaining.size()),
+                        new IntCell(remaining.size()),
+                        new DoubleCell(newNode.getDist())));
+            }
+            clusters = new ArrayList<ClusterNode>(remaining);
         }
 
         double max = inputData.size();
@@ -249,6 +298,8 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] data,
         // of data rows (each row is a cluster)
         int numberDataRows = clusters.size();
 
+        // without cached distances the linkage of all cluster pairs is
+        // recomputed in each fusion step
         while (clusters.size() > 1) {
             // checks if number clusters to generate output table is reached
             if (m_numClustersForOutput.getIntValue() == clusters.size()) {
@@ -281,13 +332,13 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] data,
                     // between two clusters. At the moment is single linkage
                     // and average linkage supported.
                     if (m_linkageType.getStringValue().equals(Linkage.SINGLE.name())) {
-                        dist = calculateSingleLinkageDist(node1, node2, cache,
+                        dist = calculateSingleLinkageDist(node1, node2,
                                 selectedColIndices);
                     } else if (m_linkageType.getStringValue().equals(Linkage.AVERAGE.name())) {
-                        dist = calculateAverageLinkageDist(node1, node2, cache,
+                        dist = calculateAverageLinkageDist(node1, node2,
                                 selectedColIndices);
                     } else {
-                        dist = calculateCompleteLinkageDist(node1, node2, cache,
+                        dist = calculateCompleteLinkageDist(node1, node2,
                                 selectedColIndices);
                     }
 
@@ -342,6 +393,21 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] data,
                 exec)};
     }
 
+    /** Returns the representative row of the cluster containing the given row and compresses the path to it. */
+    private static int findRoot(final int[] parent, final int row) {
+        int root = row;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        int i = row;
+        while (parent[i] != root) {
+            int next = parent[i];
+            parent[i] = root;
+            i = next;
+        }
+        return root;
+    }
+
     private DataTableSpec createFusionSpec() {
         DataColumnSpecCreator creatorX =
                 new DataColumnSpecCreator("Nr. of Clusters", IntCell.TYPE);
@@ -368,31 +434,16 @@ public final void reset() {
      *
      */
     private float calculateSingleLinkageDist(final ClusterNode node1,
-            final ClusterNode node2, final HalfFloatMatrix cache,
-            final int[] selectedColIndices) {
+            final ClusterNode node2, final int[] selectedColIndices) {
         float minDist = Float.MAX_VALUE;
 
         for (ClusterNode node1Leaf : node1.leafs()) {
             final DataRow row1 = node1Leaf.getLeafDataPoint();
-            final int row1Index = node1Leaf.getRowIndex();
             for (ClusterNode node2Leaf : node2.leafs()) {
                 final DataRow row2 = node2Leaf.getLeafDataPoint();
-                final int row2Index = node2Leaf.getRowIndex();
-
-                float f = Float.NaN;
-                if (cache != null) {
-                    f = cache.get(row1Index, row2Index);
-                    if (Float.isNaN(f)) {
-                        f =
-                                (float)m_distFunction.calcDistance(row1, row2,
-                                        selectedColIndices);
-                        cache.set(row1Index, row2Index, f);
-                    }
-                } else {
-                    f =
-                            (float)m_distFunction.calcDistance(row1, row2,
-                                    selectedColIndices);
-                }
+                final float f =
+                        (float)m_distFunction.calcDistance(row1, row2,
+                                selectedColIndices);
                 minDist = Math.min(minDist, f);
             }
         }
@@ -406,31 +457,16 @@ private float calculateSingleLinkageDist(final ClusterNode node1,
      *
      */
     private float calculateCompleteLinkageDist(final ClusterNode node1,
-            final ClusterNode node2, final HalfFloatMatrix cache,
-            final int[] selectedColIndices) {
+            final ClusterNode node2, final int[] selectedColIndices) {
         float maxDist = 0;
 
         for (ClusterNode node1Leaf : node1.leafs()) {
             final DataRow row1 = node1Leaf.getLeafDataPoint();
-            final int row1Index = node1Leaf.getRowIndex();
             for (ClusterNode node2Leaf : node2.leafs()) {
                 final DataRow row2 = node2Leaf.getLeafDataPoint();
-                final int row2Index = node2Leaf.getRowIndex();
-
-                float f = Float.NaN;
-                if (cache != null) {
-                    f = cache.get(row1Index, row2Index);
-                    if (Float.isNaN(f)) {
-                        f =
-                                (float)m_distFunction.calcDistance(row1, row2,
-                                        selectedColIndices);
-                        cache.set(row1Index, row2Index, f);
-                    }
-                } else {
-                    f =
-                            (float)m_distFunction.calcDistance(row1, row2,
-                                    selectedColIndices);
-                }
+                final float f =
+                        (float)m_distFunction.calcDistance(row1, row2,
+                                selectedColIndices);
                 maxDist = Math.max(maxDist, f);
             }
         }
@@ -444,29 +480,15 @@ private float calculateCompleteLinkageDist(final ClusterNode node1,
      * data rows.
      */
     private float calculateAverageLinkageDist(final ClusterNode node1,
-            final ClusterNode node2, final HalfFloatMatrix cache,
-            final int[] selectedColIndices) {
+            final ClusterNode node2, final int[] selectedColIndices) {
         float sumDist = 0;
 
         for (ClusterNode node1Leaf : node1.leafs()) {
             final DataRow row1 = node1Leaf.getLeafDataPoint();
-            final int row1Index = node1Leaf.getRowIndex();
             for (ClusterNode node2Leaf : node2.leafs()) {
                 final DataRow row2 = node2Leaf.getLeafDataPoint();
-                final int row2Index = node2Leaf.getRowIndex();
-
-                float f = Float.NaN;
-                if (cache != null) {
-                    f = cache.get(row1Index, row2Index);
-                    if (Float.isNaN(f)) {
-                        f = (float)m_distFunction.calcDistance(row1, row2,
-                                        selectedColIndices);
-                        cache.set(row1Index, row2Index, f);
-                    }
-                } else {
-                    f = (float)m_distFunction.calcDistance(row1, row2,
-                                    selectedColIndices);
-                }
+                final float f = (float)m_distFunction.calcDistance(row1, row2,
+                        selectedColIndices);
                 sumDist += f;
             }
         }
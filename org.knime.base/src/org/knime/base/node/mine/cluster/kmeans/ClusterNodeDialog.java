@@ -49,8 +49,10 @@
 import org.knime.core.node.defaultnodesettings.DialogComponentBoolean;
 import org.knime.core.node.defaultnodesettings.DialogComponentColumnFilter;
 import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
+import org.knime.core.node.defaultnodesettings.DialogComponentNumberEdit;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
 import org.knime.core.node.defaultnodesettings.SettingsModelFilterString;
+import org.knime.core.node.defaultnodesettings.SettingsModelInteger;
 import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 
 
@@ -93,6 +95,34 @@ public class ClusterNodeDialog extends DefaultNodeSettingsPane {
         addDialogComponent(maxNrOfIterations);
         addDialogComponent(columnFilter);
         addDialogComponent(enableHilite);
+
+        final SettingsModelBoolean useRandomSeed =
+            new SettingsModelBoolean(ClusterNodeModel.CFG_USE_RANDOM_SEED, false);
+        final SettingsModelInteger randomSeed = new SettingsModelInteger(ClusterNodeModel.CFG_RANDOM_SEED, 0);
+        randomSeed.setEnabled(false);
+        useRandomSeed.addChangeListener(e -> randomSeed.setEnabled(useRandomSeed.getBooleanValue()));
+        createNewGroup("Initialization");
+        addDialogComponent(new DialogComponentBoolean(
+            new SettingsModelBoolean(ClusterNodeModel.CFG_INIT_KMEANS_PLUS_PLUS, false),
+            "Use k-means++ initialization (otherwise the first rows)"));
+        setHorizontalPlacement(true);
+        addDialogComponent(new DialogComponentBoolean(useRandomSeed, "Use static random seed"));
+        addDialogComponent(new DialogComponentNumberEdit(randomSeed, "", 10));
+        setHorizontalPlacement(false);
+        closeCurrentGroup();
+
+        final SettingsModelBoolean useMiniBatches =
+            new SettingsModelBoolean(ClusterNodeModel.CFG_USE_MINI_BATCHES, false);
+        final SettingsModelIntegerBounded miniBatchSize = new SettingsModelIntegerBounded(
+            ClusterNodeModel.CFG_MINI_BATCH_SIZE, ClusterNodeModel.INITIAL_MINI_BATCH_SIZE, 1, Integer.MAX_VALUE);
+        miniBatchSize.setEnabled(false);
+        useMiniBatches.addChangeListener(e -> miniBatchSize.setEnabled(useMiniBatches.getBooleanValue()));
+        createNewGroup("Mini-batch k-Means");
+        setHorizontalPlacement(true);
+        addDialogComponent(new DialogComponentBoolean(useMiniBatches, "Use mini-batches"));
+        addDialogComponent(new DialogComponentNumber(miniBatchSize, "Mini-batch size: ", 100));
+        setHorizontalPlacement(false);
+        closeCurrentGroup();
         setDefaultTabTitle("K-Means Properties");
     }
 }
@@ -55,6 +55,7 @@
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import org.knime.base.node.mine.cluster.PMMLClusterTranslator;
@@ -68,7 +69,6 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataTableSpecCreator;
 import org.knime.core.data.DoubleValue;
-import org.knime.core.data.RowIterator;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.append.AppendedColumnRow;
 import org.knime.core.data.container.DataContainer;
@@ -81,12 +81,14 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettings;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
 import org.knime.core.node.defaultnodesettings.SettingsModelFilterString;
+import org.knime.core.node.defaultnodesettings.SettingsModelInteger;
 import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectSpec;
@@ -125,6 +127,30 @@ public class ClusterNodeModel extends NodeModel {
      * @since 3.3 */
     public static final String CFG_ENABLE_HILITE = "enableHilite";
 
+    /** Config key for the k-means++ initialization.
+     * @since 3.6 */
+    public static final String CFG_INIT_KMEANS_PLUS_PLUS = "initKMeansPlusPlus";
+
+    /** Config key for the use of a fixed random seed.
+     * @since 3.6 */
+    public static final String CFG_USE_RANDOM_SEED = "useRandomSeed";
+
+    /** Config key for the random seed.
+     * @since 3.6 */
+    public static final String CFG_RANDOM_SEED = "randomSeed";
+
+    /** Config key for the mini-batch mode.
+     * @since 3.6 */
+    public static final String CFG_USE_MINI_BATCHES = "useMiniBatches";
+
+    /** Config key for the mini-batch size.
+     * @since 3.6 */
+    public static final String CFG_MINI_BATCH_SIZE = "miniBatchSize";
+
+    /** Constant for the initial mini-batch size used in the dialog.
+     * @since 3.6 */
+    public static final int INITIAL_MINI_BATCH_SIZE = 1000;
+
     /** Config key for the used columns. */
     public static final String CFG_COLUMNS = "cfgColmns";
 
@@ -168,6 +194,17 @@ public class ClusterNodeModel extends NodeModel {
 
     private final SettingsModelBoolean m_enableHilite = new SettingsModelBoolean(CFG_ENABLE_HILITE, false);
 
+    private final SettingsModelBoolean m_initKMeansPlusPlus = new SettingsModelBoolean(CFG_INIT_KMEANS_PLUS_PLUS, false);
+
+    private final SettingsModelBoolean m_useRandomSeed = new SettingsModelBoolean(CFG_USE_RANDOM_SEED, false);
+
+    private final SettingsModelInteger m_randomSeed = new SettingsModelInteger(CFG_RANDOM_SEED, 0);
+
+    private final SettingsModelBoolean m_useMiniBatches = new SettingsModelBoolean(CFG_USE_MINI_BATCHES, false);
+
+    private final SettingsModelIntegerBounded m_miniBatchSize
+        = new SettingsModelIntegerBounded(CFG_MINI_BATCH_SIZE, INITIAL_MINI_BATCH_SIZE, 1, Integer.MAX_VALUE);
+
     private ClusterViewData m_viewData;
 
     private boolean m_pmmlInEnabled;
@@ -243,6 +280,11 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_nrMaxIterations.saveSettingsTo(settings);
         m_usedColumns.saveSettingsTo(settings);
         m_enableHilite.saveSettingsTo(settings);
+        m_initKMeansPlusPlus.saveSettingsTo(settings);
+        m_useRandomSeed.saveSettingsTo(settings);
+        m_randomSeed.saveSettingsTo(settings);
+        m_useMiniBatches.saveSettingsTo(settings);
+        m_miniBatchSize.saveSettingsTo(settings);
     }
 
     /**
@@ -259,6 +301,10 @@ protected void validateSettings(final NodeSettingsRO settings) throws InvalidSet
         assert (settings != null);
         m_nrOfClusters.validateSettings(settings);
         m_nrMaxIterations.validateSettings(settings);
+        // added in 3.6
+        if (settings.containsKey(CFG_MINI_BATCH_SIZE)) {
+            m_miniBatchSize.validateSettings(settings);
+        }
         // if exception is thrown -> catch it, and remember it
         // in configure set all numeric columns into includeList
         try {
@@ -290,6 +336,18 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
         } else {
             m_enableHilite.setBooleanValue(false);
         }
+        // added in 3.6
+        if (settings.containsKey(CFG_INIT_KMEANS_PLUS_PLUS)) {
+            m_initKMeansPlusPlus.loadSettingsFrom(settings);
+            m_useRandomSeed.loadSettingsFrom(settings);
+            m_randomSeed.loadSettingsFrom(settings);
+            m_useMiniBatches.loadSettingsFrom(settings);
+            m_miniBatchSize.loadSettingsFrom(settings);
+        } else {
+            m_initKMeansPlusPlus.setBooleanValue(false);
+            m_useRandomSeed.setBooleanValue(false);
+            m_useMiniBatches.setBooleanValue(false);
+        }
         try {
             m_usedColumns.loadSettingsFrom(settings);
         } catch (InvalidSettingsException ise) {
@@ -313,69 +371,50 @@ protected PortObject[] execute(final PortObject[] data, final ExecutionContext e
         m_dimension = inData.getDataTableSpec().getNumColumns();
         HashMap<RowKey, Set<RowKey>> mapping = new HashMap<RowKey, Set<RowKey>>();
         addExcludeColumnsToIgnoreList(spec);
-        double[][] clusters = initializeClusters(inData);
+        final int nrClusters = m_nrOfClusters.getIntValue();
 
         // also keep counts of how many patterns fall in a specific cluster
-        int[] clusterCoverage = new int[m_nrOfClusters.getIntValue()];
+        int[] clusterCoverage = new int[nrClusters];
 
         // --------- create clusters --------------
-        // reserve space for cluster center updates (do batch update!)
-        double[][] delta = new double[m_nrOfClusters.getIntValue()][];
-        for (int c = 0; c < m_nrOfClusters.getIntValue(); c++) {
-            delta[c] = new double[m_dimension - m_nrIgnoredColumns];
-        }
-
-        // main loop - until clusters stop changing or maxNrIterations reached
-        int currentIteration = 0;
-        boolean finished = false;
-        while ((!finished) && (currentIteration < m_nrMaxIterations.getIntValue())) {
-            exec.checkCanceled();
-            exec.setProgress((double)currentIteration / (double)m_nrMaxIterations.getIntValue(),
-                                 "Iteration " + currentIteration);
-            // initialize counts and cluster-deltas
-            for (int c = 0; c < m_nrOfClusters.getIntValue(); c++) {
-                clusterCoverage[c] = 0;
-                delta[c] = new double[m_dimension - m_nrIgnoredColumns];
-                int deltaPos = 0;
-                for (int i = 0; i < m_dimension; i++) {
-                    if (!m_ignoreColumn[i]) {
-                        delta[c][deltaPos++] = 0.0;
-                    }
-                }
+        // read the used columns once, the iterations work on the snapshot
+        final double[][] clusters;
+        try (KMeansData points =
+            KMeansData.create(inData, m_ignoreColumn, m_dimension - m_nrIgnoredColumns, exec.createSubProgress(0.1))) {
+            KMeans kMeans = new KMeans(points, KNIMEConstants.GLOBAL_THREAD_POOL);
+            Random random = m_useRandomSeed.getBooleanValue() ? new Random(m_randomSeed.getIntValue()) : new Random();
+            if (m_initKMeansPlusPlus.getBooleanValue()) {
+                clusters = kMeans.initWithKMeansPlusPlus(nrClusters, random, exec.createSubProgress(0.1));
+            } else {
+                clusters = kMeans.initWithFirstRows(nrClusters);
             }
-            // assume that we are done (i.e. clusters have stopped changing)
-            finished = true;
-            RowIterator rowIt = inData.iterator(); // first training example
-            while (rowIt.hasNext()) {
-                DataRow currentRow = rowIt.next();
-                int winner = findClosestPrototypeFor(currentRow, clusters);
-                if (winner >= 0) {
-                    // update winning cluster centers delta
-                    int deltaPos = 0;
-                    for (int i = 0; i < m_dimension; i++) {
-                        DataCell currentCell = currentRow.getCell(i);
-                        if (!m_ignoreColumn[i]) {
-                            if (!currentCell.isMissing()) {
-                                delta[winner][deltaPos] += ((DoubleValue)(currentCell)).getDoubleValue();
-                            } else {
-                                throw new Exception("Missing Values not (yet) allowed in k-Means.");
-                            }
-                            deltaPos++;
-                        }
-                    }
-                    clusterCoverage[winner]++;
-                } else {
-                    // we didn't find any winner - very odd
-                    assert (winner >= 0); // let's report this during
-                    // debugging!
-                    // otherwise just don't reproduce result
-                    throw new IllegalStateException("No winner found: " + winner);
+            ExecutionMonitor iterationExec = exec.createSubProgress(0.7);
+            if (m_useMiniBatches.getBooleanValue()) {
+                // the centers are moved by each mini-batch, there is no convergence criterion
+                long[] counts = new long[nrClusters];
+                for (int i = 0; i < m_nrMaxIterations.getIntValue(); i++) {
+                    iterationExec.checkCanceled();
+                    iterationExec.setProgress((double)i / (double)m_nrMaxIterations.getIntValue(), "Mini-batch " + i);
+                    kMeans.miniBatchStep(clusters, counts, m_miniBatchSize.getIntValue(), random);
                 }
+                kMeans.assign(clusters, null, clusterCoverage, iterationExec);
+            } else {
+                // reserve space for cluster center updates (do batch update!)
+                double[][] delta = new double[nrClusters][];
+                // main loop - until clusters stop changing or maxNrIterations reached
+                int currentIteration = 0;
+                boolean finished = false;
+                while ((!finished) && (currentIteration < m_nrMaxIterations.getIntValue())) {
+                    iterationExec.checkCanceled();
+                    iterationExec.setProgress((double)currentIteration / (double)m_nrMaxIterations.getIntValue(),
+                        "Iteration " + currentIteration);
+                    kMeans.assign(clusters, delta, clusterCoverage, iterationExec);
+                    // update cluster centers
+                    finished = updateClusterCenters(clusterCoverage, clusters, delta);
+                    currentIteration++;
+                } // while(!finished & nrIt<maxNrIt)
             }
-            // update cluster centers
-            finished = updateClusterCenters(clusterCoverage, clusters, delta);
-            currentIteration++;
-        } // while(!finished & nrIt<maxNrIt)
+        }
         // create list of feature names
         int k = 0;  // index of not-ignored columns
         int j = 0;  // index of column
@@ -471,36 +510,6 @@ private boolean updateClusterCenters(final int[] clusterCoverage,
         return finished;
     }
 
-    private double[][] initializeClusters(final DataTable input) {
-        // initialize matrix of double (nr clusters * input dimension)
-        double[][] clusters = new double[m_nrOfClusters.getIntValue()][];
-        for (int c = 0; c < m_nrOfClusters.getIntValue(); c++) {
-            clusters[c] = new double[m_dimension - m_nrIgnoredColumns];
-        }
-        // initialize cluster centers with values of first rows in table
-        RowIterator rowIt = input.iterator();
-        int c = 0;
-        while (rowIt.hasNext() && c < m_nrOfClusters.getIntValue()) {
-            DataRow currentRow = rowIt.next();
-            int pos = 0;
-            for (int i = 0; i < currentRow.getNumCells(); i++) {
-                if (!m_ignoreColumn[i]) {
-                    if (currentRow.getCell(i).isMissing()) {
-                        clusters[c][pos] = 0;
-                        // missing value: replace with zero
-                    } else {
-                        assert currentRow.getCell(i).getType().isCompatible(DoubleValue.class);
-                        DoubleValue currentValue = (DoubleValue)currentRow.getCell(i);
-                        clusters[c][pos] = currentValue.getDoubleValue();
-                    }
-                    pos++;
-                }
-            }
-            c++;
-        }
-        return clusters;
-    }
-
     private int findClosestPrototypeFor(final DataRow row, final double[][] clusters) {
         // find closest cluster center
         int winner = -1; // closest cluster so far
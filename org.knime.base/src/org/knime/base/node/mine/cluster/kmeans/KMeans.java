@@ -0,0 +1,317 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.cluster.kmeans;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.HelperThreads;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * The steps of the k-Means algorithm on a {@link KMeansData} snapshot. The passes over all rows are split into a fixed
+ * number of chunks of consecutive blocks, which are processed by the calling thread and the idle threads of a pool.
+ * Each chunk has its own partial sums, which are added up in chunk order, so the result doesn't depend on the number
+ * of threads.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class KMeans {
+
+    /** Maximum number of chunks a pass over all rows is split into. */
+    private static final int MAX_CHUNKS = 64;
+
+    private final KMeansData m_data;
+
+    private final ThreadPool m_pool;
+
+    private final int m_nrChunks;
+
+    /**
+     * @param data the rows to cluster
+     * @param pool the pool to take idle threads from
+     */
+    KMeans(final KMeansData data, final ThreadPool pool) {
+        m_data = data;
+        m_pool = pool;
+        m_nrChunks = Math.min(MAX_CHUNKS, data.getNrBlocks());
+    }
+
+    /**
+     * Uses the first rows as cluster centers. If there are fewer rows than clusters, the remaining centers are at the
+     * origin.
+     *
+     * @param nrClusters the number of clusters
+     * @return the cluster centers
+     */
+    double[][] initWithFirstRows(final int nrClusters) {
+        final double[][] clusters = new double[nrClusters][m_data.getDimension()];
+        for (int c = 0; c < nrClusters && c < m_data.getNrRows(); c++) {
+            m_data.getRow(c, clusters[c]);
+        }
+        return clusters;
+    }
+
+    /**
+     * Chooses the cluster centers with the k-means++ seeding: the first center is a random row, each further center is
+     * a row chosen with a probability proportional to its squared distance to the closest center chosen so far.
+     *
+     * @param nrClusters the number of clusters
+     * @param random the random number generator
+     * @param exec for progress and cancellation
+     * @return the cluster centers
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    double[][] initWithKMeansPlusPlus(final int nrClusters, final Random random, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final long nrRows = m_data.getNrRows();
+        if (nrRows <= nrClusters) {
+            return initWithFirstRows(nrClusters);
+        }
+        final double[][] clusters = new double[nrClusters][m_data.getDimension()];
+        // squared distance of each row to its closest center, per block
+        final double[][] minDist = new double[m_data.getNrBlocks()][];
+        for (int b = 0; b < minDist.length; b++) {
+            minDist[b] = new double[m_data.getNrRows(b)];
+            Arrays.fill(minDist[b], Double.POSITIVE_INFINITY);
+        }
+        final double[] blockSums = new double[minDist.length];
+        m_data.getRow((long)(random.nextDouble() * nrRows), clusters[0]);
+        for (int c = 1; c < nrClusters; c++) {
+            exec.setProgress(c / (double)nrClusters, "Choosing initial cluster center " + (c + 1));
+            final double[] center = clusters[c - 1];
+            forEachChunk(chunk -> {
+                for (int b = firstBlock(chunk); b < firstBlock(chunk + 1); b++) {
+                    final DoubleBuffer block = m_data.getBlock(b);
+                    final double[] dist = minDist[b];
+                    double sum = 0;
+                    for (int r = 0; r < dist.length; r++) {
+                        dist[r] = Math.min(dist[r], squaredDistance(block, r, center));
+                        sum += dist[r];
+                    }
+                    blockSums[b] = sum;
+                }
+            }, exec);
+            double total = 0;
+            for (double blockSum : blockSums) {
+                total += blockSum;
+            }
+            long chosen;
+            if (total > 0) {
+                chosen = sample(minDist, blockSums, random.nextDouble() * total);
+            } else {
+                // all rows coincide with a center
+                chosen = (long)(random.nextDouble() * nrRows);
+            }
+            m_data.getRow(chosen, clusters[c]);
+        }
+        return clusters;
+    }
+
+    private long sample(final double[][] minDist, final double[] blockSums, final double target) {
+        double remaining = target;
+        int b = 0;
+        while (b < blockSums.length - 1 && remaining >= blockSums[b]) {
+            remaining -= blockSums[b];
+            b++;
+        }
+        final double[] dist = minDist[b];
+        int r = 0;
+        while (r < dist.length - 1 && remaining >= dist[r]) {
+            remaining -= dist[r];
+            r++;
+        }
+        // rounding might end on a row with distance 0, i.e. an existing center; take a close candidate instead
+        int candidate = r;
+        while (candidate > 0 && dist[candidate] == 0) {
+            candidate--;
+        }
+        if (dist[candidate] == 0) {
+            candidate = r;
+            while (candidate < dist.length - 1 && dist[candidate] == 0) {
+                candidate++;
+            }
+        }
+        return m_data.getFirstRow(b) + candidate;
+    }
+
+    /**
+     * Assigns all rows to their closest cluster center and sums up the rows per cluster.
+     *
+     * @param clusters the cluster centers
+     * @param delta the sums of the rows per cluster, filled by this method; may be <code>null</code> if only the
+     *            coverage is needed
+     * @param clusterCoverage the number of rows per cluster, filled by this method
+     * @param exec for cancellation
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    void assign(final double[][] clusters, final double[][] delta, final int[] clusterCoverage,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        final int nrClusters = clusters.length;
+        final int dimension = m_data.getDimension();
+        final double[][][] chunkDelta = delta == null ? null : new double[m_nrChunks][nrClusters][dimension];
+        final int[][] chunkCoverage = new int[m_nrChunks][nrClusters];
+        forEachChunk(chunk -> {
+            final int[] coverage = chunkCoverage[chunk];
+            final double[][] sums = chunkDelta == null ? null : chunkDelta[chunk];
+            for (int b = firstBlock(chunk); b < firstBlock(chunk + 1); b++) {
+                final DoubleBuffer block = m_data.getBlock(b);
+                final int nrRows = m_data.getNrRows(b);
+                for (int r = 0; r < nrRows; r++) {
+                    final int winner = findClosestCluster(block, r, clusters);
+                    coverage[winner]++;
+                    if (sums != null) {
+                        final double[] sum = sums[winner];
+                        final int offset = r * dimension;
+                        for (int i = 0; i < dimension; i++) {
+                            sum[i] += block.get(offset + i);
+                        }
+                    }
+                }
+            }
+        }, exec);
+        for (int c = 0; c < nrClusters; c++) {
+            clusterCoverage[c] = 0;
+            if (delta != null) {
+                delta[c] = new double[dimension];
+            }
+            for (int chunk = 0; chunk < m_nrChunks; chunk++) {
+                clusterCoverage[c] += chunkCoverage[chunk][c];
+                if (delta != null) {
+                    for (int i = 0; i < dimension; i++) {
+                        delta[c][i] += chunkDelta[chunk][c][i];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Performs one step of the mini-batch k-Means (Sculley, 2010): a random sample of rows is assigned to the closest
+     * cluster centers and each center is moved towards its assigned rows with a learning rate decreasing with the
+     * total number of rows it has been assigned so far.
+     *
+     * @param clusters the cluster centers, updated by this method
+     * @param counts the number of rows assigned to each cluster in all previous steps, updated by this method
+     * @param batchSize the number of rows in the mini-batch
+     * @param random the random number generator to draw the mini-batch
+     */
+    void miniBatchStep(final double[][] clusters, final long[] counts, final int batchSize, final Random random) {
+        final long nrRows = m_data.getNrRows();
+        if (nrRows == 0) {
+            return;
+        }
+        final int dimension = m_data.getDimension();
+        // assign the complete batch before the centers are moved
+        final long[] batch = new long[batchSize];
+        final int[] winners = new int[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            batch[i] = (long)(random.nextDouble() * nrRows);
+            final int b = m_data.getBlockOf(batch[i]);
+            winners[i] = findClosestCluster(m_data.getBlock(b), (int)(batch[i] - m_data.getFirstRow(b)), clusters);
+        }
+        final double[] row = new double[dimension];
+        for (int i = 0; i < batchSize; i++) {
+            final double[] center = clusters[winners[i]];
+            final double learningRate = 1.0 / ++counts[winners[i]];
+            m_data.getRow(batch[i], row);
+            for (int d = 0; d < dimension; d++) {
+                center[d] += learningRate * (row[d] - center[d]);
+            }
+        }
+    }
+
+    private int firstBlock(final int chunk) {
+        return (int)((long)chunk * m_data.getNrBlocks() / m_nrChunks);
+    }
+
+    private static int findClosestCluster(final DoubleBuffer block, final int row, final double[][] clusters) {
+        int winner = 0;
+        double winnerDistance = Double.MAX_VALUE;
+        for (int c = 0; c < clusters.length; c++) {
+            final double distance = squaredDistance(block, row, clusters[c]);
+            if (distance < winnerDistance) {
+                winner = c;
+                winnerDistance = distance;
+            }
+        }
+        return winner;
+    }
+
+    private static double squaredDistance(final DoubleBuffer block, final int row, final double[] center) {
+        final int offset = row * center.length;
+        double distance = 0.0;
+        for (int i = 0; i < center.length; i++) {
+            final double d = center[i] - block.get(offset + i);
+            // same as ClusterNodeModel#findClosestPrototypeFor, which ignores NaN
+            if (!Double.isNaN(d)) {
+                distance += d * d;
+            }
+        }
+        return distance;
+    }
+
+    /** Processes a chunk of blocks. */
+    private interface ChunkTask {
+        void process(int chunk) throws CanceledExecutionException;
+    }
+
+    private void forEachChunk(final ChunkTask task, final ExecutionMonitor exec) throws CanceledExecutionException {
+        final AtomicInteger nextChunk = new AtomicInteger();
+        HelperThreads.run(m_pool, Math.min(m_nrChunks, m_pool.getMaxThreads()) - 1, () -> {
+            for (int chunk = nextChunk.getAndIncrement(); chunk < m_nrChunks; chunk = nextChunk.getAndIncrement()) {
+                exec.checkCanceled();
+                task.process(chunk);
+            }
+        });
+    }
+}
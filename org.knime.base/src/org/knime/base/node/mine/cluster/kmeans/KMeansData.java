@@ -0,0 +1,242 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.mine.cluster.kmeans;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Snapshot of the used columns of the k-Means input table as primitive doubles, so that the iterations don't need to
+ * read and deserialize the table again. The rows are stored in blocks of consecutive rows; each block is either a
+ * heap buffer or, if the snapshot would take too much of the heap, a memory-mapped region of a temporary file.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class KMeansData implements AutoCloseable {
+
+    /** Maximum number of rows per block, also the unit of work of the parallel iterations. */
+    private static final int MAX_BLOCK_ROWS = 8192;
+
+    /**
+     * Fraction of the maximum heap size a snapshot may take before it is written to a memory-mapped file. Changed by
+     * test cases only.
+     */
+    static double maxHeapFraction = 0.25;
+
+    private final DoubleBuffer[] m_blocks;
+
+    private final int m_blockRows;
+
+    private final long m_nrRows;
+
+    private final int m_dimension;
+
+    private final File m_file;
+
+    private KMeansData(final DoubleBuffer[] blocks, final int blockRows, final long nrRows, final int dimension,
+        final File file) {
+        m_blocks = blocks;
+        m_blockRows = blockRows;
+        m_nrRows = nrRows;
+        m_dimension = dimension;
+        m_file = file;
+    }
+
+    /**
+     * Reads the used columns of the table.
+     *
+     * @param table the input table
+     * @param ignoreColumn which columns of the table are not used
+     * @param dimension the number of used columns
+     * @param exec for progress and cancellation
+     * @return the snapshot, to be closed after use
+     * @throws IllegalArgumentException if a used column contains a missing value
+     * @throws IOException if the temporary file can't be written
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    static KMeansData create(final BufferedDataTable table, final boolean[] ignoreColumn, final int dimension,
+        final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
+        final long nrRows = table.size();
+        // a block must not exceed the maximum size of a buffer
+        final int blockRows = (int)Math.max(1, Math.min(MAX_BLOCK_ROWS, Integer.MAX_VALUE / 8 / Math.max(1, dimension)));
+        final int nrBlocks = (int)((nrRows + blockRows - 1) / blockRows);
+        final DoubleBuffer[] blocks = new DoubleBuffer[nrBlocks];
+        final boolean inMemory = 8.0 * nrRows * dimension <= maxHeapFraction * Runtime.getRuntime().maxMemory();
+        final File file = inMemory ? null : FileUtil.createTempFile("kmeans-data", ".bin");
+        try (FileChannel channel = inMemory ? null : FileChannel.open(file.toPath(), StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+            long row = 0;
+            for (DataRow dataRow : table) {
+                final int block = (int)(row / blockRows);
+                if (row % blockRows == 0) {
+                    exec.checkCanceled();
+                    exec.setProgress(row / (double)nrRows, "Reading row " + row + " of " + nrRows);
+                    final int rows = (int)Math.min(blockRows, nrRows - row);
+                    if (inMemory) {
+                        blocks[block] = DoubleBuffer.allocate(rows * dimension);
+                    } else {
+                        // the mapping stays valid after the channel is closed
+                        blocks[block] = channel.map(FileChannel.MapMode.READ_WRITE, row * dimension * 8,
+                            rows * dimension * 8L).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+                    }
+                }
+                final DoubleBuffer buffer = blocks[block];
+                for (int i = 0; i < ignoreColumn.length; i++) {
+                    if (!ignoreColumn[i]) {
+                        final DataCell cell = dataRow.getCell(i);
+                        if (cell.isMissing()) {
+                            throw new IllegalArgumentException("Missing Values not (yet) allowed in k-Means.");
+                        }
+                        buffer.put(((DoubleValue)cell).getDoubleValue());
+                    }
+                }
+                row++;
+            }
+        } catch (IOException | CanceledExecutionException | RuntimeException e) {
+            if (file != null) {
+                file.delete();
+            }
+            throw e;
+        }
+        return new KMeansData(blocks, blockRows, nrRows, dimension, file);
+    }
+
+    /**
+     * @return the number of rows
+     */
+    long getNrRows() {
+        return m_nrRows;
+    }
+
+    /**
+     * @return the number of values per row
+     */
+    int getDimension() {
+        return m_dimension;
+    }
+
+    /**
+     * @return the number of blocks
+     */
+    int getNrBlocks() {
+        return m_blocks.length;
+    }
+
+    /**
+     * @param block the index of a block
+     * @return the number of rows in that block
+     */
+    int getNrRows(final int block) {
+        return (int)Math.min(m_blockRows, m_nrRows - (long)block * m_blockRows);
+    }
+
+    /**
+     * @param block the index of a block
+     * @return the index of the first row of that block
+     */
+    long getFirstRow(final int block) {
+        return (long)block * m_blockRows;
+    }
+
+    /**
+     * Returns the values of the rows of a block, row after row. Only the absolute get methods must be used on the
+     * buffer, then it can be read by several threads at once.
+     *
+     * @param block the index of a block
+     * @return the values of that block
+     */
+    DoubleBuffer getBlock(final int block) {
+        return m_blocks[block];
+    }
+
+    /**
+     * @param row the index of a row
+     * @return the index of the block containing that row
+     */
+    int getBlockOf(final long row) {
+        return (int)(row / m_blockRows);
+    }
+
+    /**
+     * Copies the values of a row.
+     *
+     * @param row the index of the row
+     * @param values the array to copy the values into
+     */
+    void getRow(final long row, final double[] values) {
+        final DoubleBuffer block = m_blocks[getBlockOf(row)];
+        final int offset = (int)(row % m_blockRows) * m_dimension;
+        for (int i = 0; i < m_dimension; i++) {
+            values[i] = block.get(offset + i);
+        }
+    }
+
+    /**
+     * Deletes the temporary file, if any. The memory of the mapping is released once the buffers are garbage
+     * collected.
+     */
+    @Override
+    public void close() {
+        if (m_file != null && !m_file.delete()) {
+            // the mapping might still prevent the deletion (on Windows)
+            m_file.deleteOnExit();
+        }
+    }
+}
@@ -286,7 +286,7 @@ private ColumnRearranger createRearranger(final BufferedDataTable trainData, fin
         int count = 0;
         for (DataRow currentRow : trainData) {
             exec.checkCanceled();
-            exec.setProgress(0.1 * count * trainData.size(), "Reading row " + currentRow.getKey());
+            exec.setProgress(0.1 * count++ / trainData.size(), "Reading row " + currentRow.getKey());
 
             double[] features = createFeatureVector(currentRow, featureColumns);
             if (features == null) {
@@ -423,7 +423,7 @@ public int compare(final DataCell o1, final DataCell o2) {
 
         final DataColumnSpec[] colSpecArray =
                 colSpecs.toArray(new DataColumnSpec[colSpecs.size()]);
-        c.append(new AbstractCellFactory(colSpecArray) {
+        final AbstractCellFactory cellFactory = new AbstractCellFactory(colSpecArray) {
 
             /** {@inheritDoc} */
             @Override
@@ -444,7 +444,11 @@ public DataCell[] getCells(final DataRow row) {
                 return output.toArray(new DataCell[output.size()]);
             }
 
-        });
+        };
+        // the tree and the class distribution are only read while classifying, hence the rows can be processed
+        // concurrently
+        cellFactory.setParallelProcessing(true);
+        c.append(cellFactory);
         return c;
     }
 
@@ -53,6 +53,7 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.IntFunction;
 
 import org.apache.commons.lang.mutable.MutableLong;
 import org.knime.base.data.aggregation.AggregationOperator;
@@ -64,8 +65,11 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataValueComparator;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.container.DataContainer;
 import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -92,6 +96,19 @@ public class BigGroupByTable extends GroupByTable {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(BigGroupByTable.class);
 
+    /** Number of hash bits used to select the partition of a row if memory gets low. */
+    private static final int PARTITION_BITS = 4;
+
+    /** Number of partitions the rows are split into if memory gets low. */
+    private static final int NUM_PARTITIONS = 1 << PARTITION_BITS;
+
+    /** Maximum number of nested partitionings before partitions are sorted instead. */
+    private static final int MAX_PARTITION_LEVELS = 32 / PARTITION_BITS;
+
+    /** Creates the indicator that decides when to partition, given the partition level. Changed by test cases only. */
+    static IntFunction<MemoryActionIndicator> memoryIndicatorFactory =
+        level -> MemoryAlertSystem.getInstance().newIndicator();
+
     private Map<String, MutableLong> m_missingValuesMap;
 
     /**Constructor for class BigGroupByTable.
@@ -175,8 +192,57 @@ public Map<String, Long> getMissingValuesMap() {
         return resMap;
     }
 
+    /**
+     * Creates a table that groups the rows by hashing the group values instead of sorting the table by them, see
+     * {@link #createGroupByTable(ExecutionContext, BufferedDataTable, DataTableSpec, int[])}. The groups are not
+     * sorted by their group values in the result table (unless the original row order is retained).
+     *
+     * @param exec the <code>ExecutionContext</code>
+     * @param inDataTable the table to aggregate
+     * @param groupByCols the name of all columns to group by
+     * @param colAggregators the aggregation columns with the aggregation method
+     * to use in the order the columns should be appear in the result table
+     * @param globalSettings the global settings
+     * @param enableHilite <code>true</code> if a row key map should be
+     * maintained to enable hiliting
+     * @param colNamePolicy the {@link ColumnNamePolicy} for the
+     * aggregation columns
+     * @param retainOrder returns the row of the table in the same order as the
+     * input table if set to <code>true</code>
+     * @return the grouped table
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    static BigGroupByTable createHashed(final ExecutionContext exec, final BufferedDataTable inDataTable,
+        final List<String> groupByCols, final ColumnAggregator[] colAggregators, final GlobalSettings globalSettings,
+        final boolean enableHilite, final ColumnNamePolicy colNamePolicy, final boolean retainOrder)
+        throws CanceledExecutionException {
+        return new BigGroupByTable(exec, inDataTable, groupByCols, colAggregators, globalSettings, enableHilite,
+            colNamePolicy, retainOrder) {
+            @Override
+            boolean isGroupByHashing() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Called from the constructor, hence must not depend on any instance field.
+     *
+     * @return <code>true</code> if the groups are created by hashing, <code>false</code> if the table is sorted by
+     *         the group columns (the default, which was the only option prior KNIME 3.6)
+     */
+    boolean isGroupByHashing() {
+        return false;
+    }
+
     /**
      * {@inheritDoc}
+     * The input table is sorted by the group columns, unless the table is created by
+     * {@link #createHashed(ExecutionContext, BufferedDataTable, List, ColumnAggregator[], GlobalSettings, boolean,
+     * ColumnNamePolicy, boolean)}: the groups are then created by hashing the group values in a single pass over the
+     * table. If memory gets low the rows of groups that are not yet in memory are written to hash partitions which
+     * are aggregated afterwards. The input table is still sorted by the group columns if the original row order
+     * should be retained.
      */
     @Override
     protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
@@ -184,6 +250,178 @@ protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
             final int[] groupColIdx) throws CanceledExecutionException {
         LOGGER.debug("Entering createGroupByTable(exec, table) "
                 + "of class BigGroupByTable.");
+        final BufferedDataContainer dc = exec.createDataContainer(resultSpec);
+        final MutableInteger groupCounter = new MutableInteger(0);
+        initMissingValuesMap();  // cannot put init to the constructor, as the super() constructor directly calls the current function
+        if (groupColIdx.length < 1 || isRetainOrder() || !isGroupByHashing()) {
+            createGroupsSorted(exec, table, groupColIdx, dc, groupCounter);
+        } else {
+            createGroupsHashed(exec, table, groupColIdx, dc, groupCounter, 0);
+        }
+        dc.close();
+        return dc.getTable();
+    }
+
+    /**
+     * Creates the groups in a single pass using a hash map. If memory gets low, the groups in the map are kept and
+     * the rows of all other groups are written to {@link #NUM_PARTITIONS} partitions based on the hash code of their
+     * group values. If memory gets low again (e.g. as the aggregated values of the resident groups grow), the resident
+     * groups are dropped and their rows are written to the partitions as well. Each partition is aggregated
+     * independently afterwards.
+     *
+     * @param exec the {@link ExecutionContext}
+     * @param table the table to aggregate
+     * @param groupColIdx the indices of the group columns
+     * @param dc the container to add the result rows to
+     * @param groupCounter the number of groups that have been created so far
+     * @param level the number of times the rows have been partitioned, selects the hash bits of the partition
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    private void createGroupsHashed(final ExecutionContext exec, final BufferedDataTable table,
+        final int[] groupColIdx, final BufferedDataContainer dc, final MutableInteger groupCounter, final int level)
+        throws CanceledExecutionException {
+        final DataTableSpec origSpec = table.getDataTableSpec();
+        final ColumnAggregator[] origAggregators = getColAggregators();
+        final int[] aggrColIdx = new int[origAggregators.length];
+        for (int i = 0, length = origAggregators.length; i < length; i++) {
+            aggrColIdx[i] = origSpec.findColumnIndex(origAggregators[i].getOriginalColName());
+        }
+        final MemoryActionIndicator memIndicator = memoryIndicatorFactory.apply(level);
+        final ExecutionContext groupExec = exec.createSubExecutionContext(0.5);
+        exec.setMessage("Creating groups");
+        final Map<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>> groups = new LinkedHashMap<>();
+        BufferedDataContainer[] partitions = null;
+        //index of the first row that was not aggregated in memory, i.e. all previous rows were
+        long partitionStart = -1;
+        final DataCell[] currentGroup = new DataCell[groupColIdx.length];
+        final GroupKey currentKey = new GroupKey(currentGroup);
+        final double numOfRows = table.size();
+        long rowCounter = 0;
+        for (final DataRow row : table) {
+            groupExec.checkCanceled();
+            groupExec.setProgress(++rowCounter / numOfRows);
+            //check for every row as the resident groups may grow, too (e.g. lists or sets of values)
+            if (!groups.isEmpty() && memIndicator.lowMemoryActionRequired()) {
+                if (partitions == null) {
+                    LOGGER.debugWithFormat("Memory is low, keeping %d groups in memory and writing rows of other "
+                        + "groups to %d partitions (level %d)", groups.size(), NUM_PARTITIONS, level);
+                    partitions = new BufferedDataContainer[NUM_PARTITIONS];
+                    for (int i = 0; i < NUM_PARTITIONS; i++) {
+                        partitions[i] = exec.createDataContainer(origSpec, false, 0);
+                    }
+                    partitionStart = rowCounter - 1;
+                } else {
+                    LOGGER.debugWithFormat("Memory is still low, writing rows of %d resident groups to partitions "
+                        + "(level %d)", groups.size(), level);
+                    final Set<GroupKey> residentGroups = new HashSet<>(groups.keySet());
+                    groups.clear();
+                    partitionResidentRows(exec, table, rowCounter - 1, partitionStart, residentGroups,
+                        groupColIdx, partitions, level);
+                }
+            }
+            //fetch the current group column values
+            for (int i = 0, length = groupColIdx.length; i < length; i++) {
+                currentGroup[i] = row.getCell(groupColIdx[i]);
+            }
+            Pair<ColumnAggregator[], Set<RowKey>> member = groups.get(currentKey);
+            if (member == null) {
+                if (partitions != null) {
+                    partitions[getPartition(currentKey, level)].addRowToTable(row);
+                    continue;
+                }
+                Set<RowKey> rowKeys;
+                if (isEnableHilite()) {
+                    rowKeys = new HashSet<>();
+                } else {
+                    rowKeys = Collections.emptySet();
+                }
+                member = new Pair<>(cloneColumnAggregators(), rowKeys);
+                groups.put(new GroupKey(currentGroup.clone()), member);
+            }
+            //compute the current row values
+            final ColumnAggregator[] aggregators = member.getFirst();
+            for (int i = 0, length = aggregators.length; i < length; i++) {
+                aggregators[i].getOperator(getGlobalSettings()).compute(row, aggrColIdx[i]);
+            }
+            if (isEnableHilite()) {
+                member.getSecond().add(row.getKey());
+            }
+        }
+        createTableRows(dc, groups, groupCounter);
+        groups.clear();
+        if (partitions == null) {
+            exec.setProgress(1.0);
+            return;
+        }
+        final ExecutionContext partitionsExec = exec.createSubExecutionContext(0.5);
+        for (int i = 0; i < NUM_PARTITIONS; i++) {
+            partitions[i].close();
+            final BufferedDataTable partition = partitions[i].getTable();
+            partitions[i] = null;
+            final ExecutionContext partitionExec = partitionsExec.createSubExecutionContext(1.0 / NUM_PARTITIONS);
+            if (partition.size() > 0) {
+                if (level + 1 < MAX_PARTITION_LEVELS) {
+                    createGroupsHashed(partitionExec, partition, groupColIdx, dc, groupCounter, level + 1);
+                } else {
+                    //the hash bits are exhausted, fall back to sorting the partition
+                    createGroupsSorted(partitionExec, partition, groupColIdx, dc, groupCounter);
+                }
+            }
+            exec.clearTable(partition);
+            partitionExec.setProgress(1.0);
+        }
+    }
+
+    private static int getPartition(final GroupKey groupKey, final int level) {
+        return (groupKey.mixedHashCode() >>> (level * PARTITION_BITS)) & (NUM_PARTITIONS - 1);
+    }
+
+    /**
+     * Writes the rows of groups that were aggregated in memory so far to the partitions.
+     *
+     * @param exec for cancelation
+     * @param table the table that is aggregated
+     * @param rowCount the number of rows processed so far
+     * @param partitionStart the index of the first row that was not aggregated in memory
+     * @param residentGroups the groups that were aggregated in memory
+     * @param groupColIdx the indices of the group columns
+     * @param partitions the partitions to write to
+     * @param level the partition level
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    private static void partitionResidentRows(final ExecutionContext exec, final BufferedDataTable table,
+        final long rowCount, final long partitionStart, final Set<GroupKey> residentGroups, final int[] groupColIdx,
+        final BufferedDataContainer[] partitions, final int level) throws CanceledExecutionException {
+        try (final CloseableRowIterator rowIt = table.iterator()) {
+            for (long i = 0; i < rowCount; i++) {
+                exec.checkCanceled();
+                final DataRow row = rowIt.next();
+                final DataCell[] groupVals = new DataCell[groupColIdx.length];
+                for (int c = 0; c < groupColIdx.length; c++) {
+                    groupVals[c] = row.getCell(groupColIdx[c]);
+                }
+                final GroupKey groupKey = new GroupKey(groupVals);
+                //rows before the partition start belong to resident groups, later ones were written already if not
+                if (i < partitionStart || residentGroups.contains(groupKey)) {
+                    partitions[getPartition(groupKey, level)].addRowToTable(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the groups by sorting the table by the group columns and processing it chunk wise.
+     *
+     * @param exec the {@link ExecutionContext}
+     * @param table the table to aggregate
+     * @param groupColIdx the indices of the group columns
+     * @param dc the container to add the result rows to
+     * @param groupCounter the number of groups that have been created so far
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    private void createGroupsSorted(final ExecutionContext exec, final BufferedDataTable table,
+        final int[] groupColIdx, final BufferedDataContainer dc, final MutableInteger groupCounter)
+        throws CanceledExecutionException {
         final DataTableSpec origSpec = table.getDataTableSpec();
         //sort the data table in order to process the input table chunk wise
         final BufferedDataTable sortedTable;
@@ -208,11 +446,9 @@ protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
                 comparators[i] = colSpec.getType().getComparator();
             }
         }
-        final BufferedDataContainer dc = exec.createDataContainer(resultSpec);
         exec.setMessage("Creating groups");
         final DataCell[] previousGroup = new DataCell[groupColIdx.length];
         final DataCell[] currentGroup = new DataCell[groupColIdx.length];
-        final MutableInteger groupCounter = new MutableInteger(0);
         boolean firstRow = true;
         final double numOfRows = sortedTable.size();
         long rowCounter = 0;
@@ -230,7 +466,6 @@ protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
         final Map<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>> chunkMembers = new LinkedHashMap<>(3);
         boolean logUnusualCells = true;
         String groupLabel = "";
-        initMissingValuesMap();  // cannot put init to the constructor, as the super() constructor directly calls the current function
         for (final DataRow row : sortedTable) {
             //fetch the current group column values
             for (int i = 0, length = groupColIdx.length; i < length; i++) {
@@ -304,8 +539,6 @@ protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
         //create the final row for the last chunk after processing the last
         //table row
         createTableRows(dc, chunkMembers, groupCounter);
-        dc.close();
-        return dc.getTable();
     }
 
     /** Get a string describing the current group. Used in progress message.
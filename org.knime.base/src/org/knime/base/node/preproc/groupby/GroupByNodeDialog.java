@@ -140,6 +140,9 @@ public class GroupByNodeDialog extends NodeDialogPane {
 
     //used to now the implementation version of the node
     private final SettingsModelInteger m_version = GroupByNodeModel.createVersionModel();
+
+    //not shown in the dialog, kept to preserve the behavior of nodes created prior KNIME 3.6
+    private final SettingsModelBoolean m_hashGroups = GroupByNodeModel.createHashGroupsModel();
     /**Constructor for class GroupByNodeDialog. */
     public GroupByNodeDialog() {
         this(false, false);
@@ -398,6 +401,12 @@ protected void loadSettingsFrom(final NodeSettingsRO settings,
         } catch (final InvalidSettingsException e) {
             throw new NotConfigurableException(e.getMessage());
         }
+        try {
+            // this option was introduced in KNIME 3.6
+            m_hashGroups.loadSettingsFrom(settings);
+        } catch (final InvalidSettingsException e) {
+            m_hashGroups.setBooleanValue(false);
+        }
     }
 
     /**
@@ -421,6 +430,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings)
         m_inMemory.saveSettingsTo(settings);
 
         m_version.saveSettingsTo(settings);
+        m_hashGroups.saveSettingsTo(settings);
     }
 
     private void validateSettings(final NodeSettingsWO settings) throws InvalidSettingsException {
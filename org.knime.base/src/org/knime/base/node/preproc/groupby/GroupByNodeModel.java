@@ -74,6 +74,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettings;
@@ -170,6 +171,9 @@ public class GroupByNodeModel extends NodeModel {
     /**Configuration key for the pattern based aggregation methods.*/
     static final String CFG_PATTERN_AGGREGATORS = "patternAggregators";
 
+    /**Configuration key for the group by hashing option.*/
+    static final String CFG_HASH_GROUPS = "hashGroups";
+
     private final SettingsModelFilterString m_groupByCols =
         new SettingsModelFilterString(CFG_GROUP_BY_COLUMNS);
 
@@ -197,6 +201,16 @@ public class GroupByNodeModel extends NodeModel {
     //used to now the implementation version of the node
     private final SettingsModelInteger m_version = createVersionModel();
 
+    //groups are created by hashing if not processed in memory, false for nodes created prior KNIME 3.6
+    private final SettingsModelBoolean m_hashGroups = createHashGroupsModel();
+
+    /**
+     * @return group by hashing model
+     */
+    static SettingsModelBoolean createHashGroupsModel() {
+        return new SettingsModelBoolean(CFG_HASH_GROUPS, true);
+    }
+
     /**
      * @return version model
      */
@@ -302,6 +316,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_inMemory.saveSettingsTo(settings);
         m_valueDelimiter.saveSettingsTo(settings);
         m_version.saveSettingsTo(settings);
+        m_hashGroups.saveSettingsTo(settings);
     }
 
     /**
@@ -448,6 +463,12 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
             //this flag was introduced in 2.10 to mark the implementation version
             m_version.setIntValue(0);
         }
+        try {
+            // this option was introduced in KNIME 3.6, older nodes sort the groups by their values
+            m_hashGroups.loadSettingsFrom(settings);
+        } catch (InvalidSettingsException e) {
+            m_hashGroups.setBooleanValue(false);
+        }
     }
 
     /**
@@ -677,11 +698,23 @@ protected final GroupByTable createGroupByTable(final ExecutionContext exec, fin
             colAggr.reset();
         }
         final GroupByTable resultTable;
+        final ColumnAggregator[] colAggregators = aggregators.toArray(new ColumnAggregator[0]);
         if (inMemory || groupByCols.isEmpty()) {
-            resultTable = new MemoryGroupByTable(exec, table, groupByCols, aggregators.toArray(new ColumnAggregator[0]),
-                globalSettings, enableHilite, colNamePolicy, retainOrder);
+            if (!groupByCols.isEmpty() && KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads() > 1
+                && ParallelGroupByTable.supportsParallelAggregation(colAggregators, globalSettings)) {
+                //all operators can merge partial results, aggregate the rows concurrently
+                resultTable = new ParallelGroupByTable(exec, table, groupByCols, colAggregators, globalSettings,
+                    enableHilite, colNamePolicy);
+            } else {
+                resultTable = new MemoryGroupByTable(exec, table, groupByCols, colAggregators, globalSettings,
+                    enableHilite, colNamePolicy, retainOrder);
+            }
+        } else if (m_hashGroups.getBooleanValue()) {
+            //groups are in order of first occurrence (or spilled partitions), not sorted by their values
+            resultTable = BigGroupByTable.createHashed(exec, table, groupByCols, colAggregators, globalSettings,
+                enableHilite, colNamePolicy, retainOrder);
         } else {
-            resultTable = new BigGroupByTable(exec, table, groupByCols, aggregators.toArray(new ColumnAggregator[0]),
+            resultTable = new BigGroupByTable(exec, table, groupByCols, colAggregators,
                     globalSettings, enableHilite, colNamePolicy, retainOrder);
         }
         if (m_enableHilite.getBooleanValue()) {
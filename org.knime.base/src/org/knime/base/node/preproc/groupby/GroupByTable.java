@@ -315,6 +315,34 @@ public ColumnAggregator[] getColAggregators() {
         return m_colAggregators;
     }
 
+    /**
+     * Determines the columns that are read while grouping, that is the group columns, the aggregation columns and
+     * any additional column required by an aggregation method. Used to create a
+     * {@link BufferedDataTable#filteredIterator(int...) filtered iterator} on the input table.
+     *
+     * @param spec the spec of the table to group
+     * @param groupColIdx the indices of the group columns
+     * @return the sorted indices of all columns that are accessed during grouping
+     * @since 3.6
+     */
+    protected int[] getRequiredColumnIndices(final DataTableSpec spec, final int[] groupColIdx) {
+        final Set<Integer> colIdxs = new LinkedHashSet<>();
+        for (final int idx : groupColIdx) {
+            colIdxs.add(idx);
+        }
+        for (final ColumnAggregator aggregator : m_colAggregators) {
+            colIdxs.add(spec.findColumnIndex(aggregator.getOriginalColName()));
+            final Collection<String> additionalColumns =
+                aggregator.getOperator(getGlobalSettings()).getAdditionalColumnNames();
+            if (additionalColumns != null) {
+                for (final String colName : additionalColumns) {
+                    colIdxs.add(spec.findColumnIndex(colName));
+                }
+            }
+        }
+        return colIdxs.stream().filter(i -> i >= 0).mapToInt(Integer::intValue).sorted().toArray();
+    }
+
     /**
      * @param exec the {@link ExecutionContext}
      * @param dataTable the {@link BufferedDataTable} to add the order column to
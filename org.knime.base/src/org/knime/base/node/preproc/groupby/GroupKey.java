@@ -89,6 +89,20 @@ public int hashCode() {
         return result;
     }
 
+    /**
+     * @return the hash code with its bits mixed, so that any subset of the bits can be used to distribute the group
+     * keys to buckets or partitions
+     */
+    int mixedHashCode() {
+        int h = hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
     /**
      * {@inheritDoc}
      */
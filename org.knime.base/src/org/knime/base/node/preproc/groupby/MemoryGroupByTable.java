@@ -60,6 +60,7 @@
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
@@ -155,18 +156,22 @@ protected BufferedDataTable createGroupByTable(final ExecutionContext exec,
         final DataTableSpec spec = dataTable.getDataTableSpec();
         final long rowCount = dataTable.size();
         long rowCounter = 0;
-        for (final DataRow row : dataTable) {
-            groupExec.checkCanceled();
-            groupExec.setProgress(rowCounter++ / (double) rowCount,
-                    "Analyzing row " + rowCounter + " of " + rowCount);
-            final DataCell[] currentGroup = new DataCell[groupColIdx.length];
-            //fetch the current group column values
-            for (int i = 0, length = groupColIdx.length; i < length; i++) {
-                currentGroup[i] = row.getCell(groupColIdx[i]);
+        try (final CloseableRowIterator rowIt =
+                dataTable.filteredIterator(getRequiredColumnIndices(spec, groupColIdx))) {
+            while (rowIt.hasNext()) {
+                final DataRow row = rowIt.next();
+                groupExec.checkCanceled();
+                groupExec.setProgress(rowCounter++ / (double) rowCount,
+                        "Analyzing row " + rowCounter + " of " + rowCount);
+                final DataCell[] currentGroup = new DataCell[groupColIdx.length];
+                //fetch the current group column values
+                for (int i = 0, length = groupColIdx.length; i < length; i++) {
+                    currentGroup[i] = row.getCell(groupColIdx[i]);
+                }
+                final GroupKey groupKey = new GroupKey(currentGroup);
+                addRowKey(groupKey, row.getKey());
+                addRow(spec, groupKey, row);
             }
-            final GroupKey groupKey = new GroupKey(currentGroup);
-            addRowKey(groupKey, row.getKey());
-            addRow(spec, groupKey, row);
         }
         return createResultTable(exec.createSubExecutionContext(0.3), resultSpec);
     }
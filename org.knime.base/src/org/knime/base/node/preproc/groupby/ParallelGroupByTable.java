@@ -0,0 +1,664 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.append.AppendedColumnRow;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.ThreadPool;
+import org.knime.core.util.ThreadUtils;
+
+/**
+ * Hash based {@link GroupByTable} that aggregates chunks of the input table concurrently. Each thread aggregates into
+ * its own hash table; the partial results are combined using {@link AggregationOperator#merge(AggregationOperator)},
+ * hence all operators must support merging, see {@link #supportsParallelAggregation(ColumnAggregator[],
+ * GlobalSettings)}.
+ * <p>
+ * The groups are returned in the order of their first occurrence in the input table (as in
+ * {@link MemoryGroupByTable}). If memory gets low while aggregating, the groups seen so far stay in memory and the
+ * rows of all other groups are written to hash partitions on disc, together with their index in the input table.
+ * The partitions are aggregated afterwards and their groups are merged into the result table by the index of their
+ * first row, hence the order is the same as without spilling.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.6
+ */
+public class ParallelGroupByTable extends GroupByTable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ParallelGroupByTable.class);
+
+    /** Number of rows that are aggregated by a single task. */
+    static final int CHUNK_SIZE = 4096;
+
+    /** Number of hash bits used to split the rows into partitions when memory gets low. */
+    private static final int SPILL_BITS = 4;
+
+    /** Number of times a partition may be split again, the partition bits must not overlap the bucket bits. */
+    private static final int MAX_SPILL_LEVEL = 3;
+
+    /** Creates the indicator that decides when to start spilling, one per aggregation. Changed by test cases only. */
+    static Supplier<MemoryActionIndicator> memoryIndicatorFactory =
+        () -> MemoryAlertSystem.getInstance().newIndicator();
+
+    /** Spec of the result table with an additional column holding the index of the first row of each group. Used for
+     * the sorted results of spilled partitions. Not initialized in the declaration as it's assigned while the super
+     * constructor runs. */
+    private DataTableSpec m_indexedResultSpec;
+
+    /** Keys of the rows of groups in spilled partitions by the index of the first row, null if hiliting is disabled. */
+    private Map<Long, Set<RowKey>> m_rowKeysByFirstRow;
+
+    /**Constructor for class ParallelGroupByTable.
+     * @param exec the <code>ExecutionContext</code>
+     * @param inDataTable the table to aggregate
+     * @param groupByCols the name of all columns to group by
+     * @param colAggregators the aggregation columns with the aggregation method
+     * to use in the order the columns should be appear in the result table, all operators must support merging
+     * @param globalSettings the global settings
+     * @param enableHilite <code>true</code> if a row key map should be
+     * maintained to enable hiliting
+     * @param colNamePolicy the {@link ColumnNamePolicy} for the
+     * aggregation columns
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    public ParallelGroupByTable(final ExecutionContext exec, final BufferedDataTable inDataTable,
+        final List<String> groupByCols, final ColumnAggregator[] colAggregators, final GlobalSettings globalSettings,
+        final boolean enableHilite, final ColumnNamePolicy colNamePolicy) throws CanceledExecutionException {
+        //the order of first occurrence is maintained by this class
+        super(exec, inDataTable, groupByCols, colAggregators, globalSettings, enableHilite, colNamePolicy, false);
+    }
+
+    /**
+     * @param colAggregators the aggregators to check
+     * @param globalSettings the global settings used to create the operators
+     * @return <code>true</code> if all operators support merging of partial results, i.e. the aggregation can be
+     *         done by this class
+     */
+    public static boolean supportsParallelAggregation(final ColumnAggregator[] colAggregators,
+        final GlobalSettings globalSettings) {
+        for (final ColumnAggregator aggr : colAggregators) {
+            if (!aggr.getOperator(globalSettings).supportsMerge()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BufferedDataTable createGroupByTable(final ExecutionContext exec, final BufferedDataTable dataTable,
+        final DataTableSpec resultSpec, final int[] groupColIdx) throws CanceledExecutionException {
+        final DataTableSpec spec = dataTable.getDataTableSpec();
+        final ColumnAggregator[] colAggregators = getColAggregators();
+        final int[] aggrColIdx = new int[colAggregators.length];
+        for (int i = 0; i < colAggregators.length; i++) {
+            aggrColIdx[i] = spec.findColumnIndex(colAggregators[i].getOriginalColName());
+        }
+        final int numThreads = Math.max(1, KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads());
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(numThreads);
+        m_indexedResultSpec = new DataTableSpec(resultSpec, new DataTableSpec(new DataColumnSpecCreator(
+            DataTableSpec.getUniqueColumnName(resultSpec, "First row index"), LongCell.TYPE).createSpec()));
+        m_rowKeysByFirstRow = isEnableHilite() ? new HashMap<>() : null;
+        final BufferedDataContainer dc = exec.createDataContainer(resultSpec);
+        try (final CloseableRowIterator rowIt =
+                dataTable.filteredIterator(getRequiredColumnIndices(spec, groupColIdx))) {
+            new Aggregation(pool, numThreads, spec, groupColIdx, aggrColIdx, -1, 0).aggregate(exec, rowIt,
+                dataTable.size(), dc, false);
+        }
+        dc.close();
+        return dc.getTable();
+    }
+
+    /** Partial aggregation result of a group. */
+    private static final class Group {
+
+        /** Index of the first row of the group, determines the order in the result table. */
+        private long m_firstRowIndex;
+
+        private final ColumnAggregator[] m_aggregators;
+
+        /** Keys of the rows of the group for hiliting, null if hiliting is disabled. */
+        private final Set<RowKey> m_rowKeys;
+
+        Group(final long firstRowIndex, final ColumnAggregator[] origAggregators, final boolean enableHilite) {
+            m_firstRowIndex = firstRowIndex;
+            m_aggregators = new ColumnAggregator[origAggregators.length];
+            for (int i = 0, length = origAggregators.length; i < length; i++) {
+                m_aggregators[i] = origAggregators[i].clone();
+            }
+            m_rowKeys = enableHilite ? new HashSet<RowKey>() : null;
+        }
+
+        void merge(final Group other, final GlobalSettings globalSettings) {
+            m_firstRowIndex = Math.min(m_firstRowIndex, other.m_firstRowIndex);
+            if (m_rowKeys != null) {
+                m_rowKeys.addAll(other.m_rowKeys);
+            }
+            for (int i = 0; i < m_aggregators.length; i++) {
+                m_aggregators[i].getOperator(globalSettings).merge(other.m_aggregators[i].getOperator(globalSettings));
+            }
+        }
+    }
+
+    /** Aggregation of one input, i.e. the input table or a partition that was spilled to disc. */
+    private final class Aggregation {
+
+        private final ThreadPool m_pool;
+
+        private final int m_numThreads;
+
+        private final DataTableSpec m_spec;
+
+        private final int[] m_groupColIdx;
+
+        private final int[] m_aggrColIdx;
+
+        /** Index of the column holding the index of the row in the input table, -1 for the input table itself. */
+        private final int m_rowIndexColIdx;
+
+        private final int m_level;
+
+        /** The hash tables of the aggregation tasks, each split into {@link #m_numThreads} buckets (by the upper hash
+         * bits) so that they can be merged in parallel. A task takes a table from the queue and returns it when done;
+         * as there are at most {@link #m_numThreads} tasks running, a table is always available. */
+        private final BlockingQueue<List<Map<GroupKey, Group>>> m_taskTables;
+
+        private final Queue<Future<Void>> m_futures = new LinkedList<>();
+
+        /** The merged groups, split into buckets as the task tables. */
+        private final List<Map<GroupKey, Group>> m_groups;
+
+        /** Partitions for the rows of groups not in {@link #m_groups}, null unless memory got low. */
+        private BufferedDataContainer[] m_partitions;
+
+        Aggregation(final ThreadPool pool, final int numThreads, final DataTableSpec spec, final int[] groupColIdx,
+            final int[] aggrColIdx, final int rowIndexColIdx, final int level) {
+            m_pool = pool;
+            m_numThreads = numThreads;
+            m_spec = spec;
+            m_groupColIdx = groupColIdx;
+            m_aggrColIdx = aggrColIdx;
+            m_rowIndexColIdx = rowIndexColIdx;
+            m_level = level;
+            m_taskTables = new ArrayBlockingQueue<>(numThreads);
+            for (int i = 0; i < numThreads; i++) {
+                m_taskTables.add(createBuckets());
+            }
+            m_groups = createBuckets();
+        }
+
+        private List<Map<GroupKey, Group>> createBuckets() {
+            final List<Map<GroupKey, Group>> buckets = new ArrayList<>(m_numThreads);
+            for (int i = 0; i < m_numThreads; i++) {
+                buckets.add(new HashMap<GroupKey, Group>());
+            }
+            return buckets;
+        }
+
+        private int getBucket(final int hash) {
+            return ((hash >>> 16) & 0x7FFF) % m_numThreads;
+        }
+
+        private int getPartition(final int hash) {
+            return (hash >>> (m_level * SPILL_BITS)) & ((1 << SPILL_BITS) - 1);
+        }
+
+        private GroupKey createGroupKey(final DataRow row) {
+            final DataCell[] currentGroup = new DataCell[m_groupColIdx.length];
+            for (int i = 0, length = m_groupColIdx.length; i < length; i++) {
+                currentGroup[i] = row.getCell(m_groupColIdx[i]);
+            }
+            return new GroupKey(currentGroup);
+        }
+
+        /**
+         * Aggregates all rows and writes the result rows of all groups.
+         *
+         * @param exec for progress and cancelation
+         * @param rowIt the rows to aggregate
+         * @param rowCount the number of rows
+         * @param out the container to write the groups to
+         * @param isIndexedOut whether <code>out</code> has the {@link ParallelGroupByTable#m_indexedResultSpec}
+         */
+        void aggregate(final ExecutionContext exec, final Iterator<DataRow> rowIt, final long rowCount,
+            final BufferedDataContainer out, final boolean isIndexedOut) throws CanceledExecutionException {
+            final MemoryActionIndicator memIndicator = memoryIndicatorFactory.get();
+            final ExecutionContext groupExec = exec.createSubExecutionContext(0.7);
+            try {
+                long rowIndex = 0;
+                List<DataRow> chunk = new ArrayList<>(CHUNK_SIZE);
+                while (rowIt.hasNext()) {
+                    groupExec.checkCanceled();
+                    chunk.add(rowIt.next());
+                    rowIndex++;
+                    if (chunk.size() == CHUNK_SIZE) {
+                        groupExec.setProgress(rowIndex / (double)rowCount,
+                            "Analyzing row " + rowIndex + " of " + rowCount);
+                        if (m_partitions == null && m_level < MAX_SPILL_LEVEL
+                            && memIndicator.lowMemoryActionRequired()) {
+                            startSpilling(exec);
+                        }
+                        submit(chunk, rowIndex - chunk.size());
+                        chunk = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+                submit(chunk, rowIndex - chunk.size());
+                waitForTasks(0, groupExec);
+                mergeTaskTables(groupExec);
+            } finally {
+                if (!m_futures.isEmpty()) {
+                    m_pool.interruptAll();
+                }
+            }
+            if (m_partitions == null) {
+                writeGroups(exec.createSubExecutionContext(0.3), out, isIndexedOut);
+            } else {
+                // all resident groups start before the first spilled row
+                writeGroups(exec.createSubExecutionContext(0.1), out, isIndexedOut);
+                aggregatePartitions(exec.createSubExecutionContext(0.2), out, isIndexedOut);
+            }
+        }
+
+        /** Merges the groups aggregated so far, all further rows of other groups are written to partitions. */
+        private void startSpilling(final ExecutionContext exec) throws CanceledExecutionException {
+            waitForTasks(0, exec);
+            mergeTaskTables(exec);
+            long groupCount = 0;
+            for (final Map<GroupKey, Group> bucket : m_groups) {
+                groupCount += bucket.size();
+            }
+            LOGGER.debugWithFormat("Memory is low, keeping %d groups in memory and writing rows of other groups to %d "
+                + "partitions (level %d)", groupCount, 1 << SPILL_BITS, m_level);
+            // the rows of the input table get their index appended, partitions are split again as they are
+            final DataTableSpec partitionSpec = m_rowIndexColIdx < 0 ? new DataTableSpec(m_spec, new DataTableSpec(
+                new DataColumnSpecCreator(DataTableSpec.getUniqueColumnName(m_spec, "Row index"), LongCell.TYPE)
+                    .createSpec())) : m_spec;
+            m_partitions = new BufferedDataContainer[1 << SPILL_BITS];
+            for (int i = 0; i < m_partitions.length; i++) {
+                m_partitions[i] = exec.createDataContainer(partitionSpec, true, 0);
+            }
+        }
+
+        /** Hands the rows to an aggregation task, or to the partitions if the group is not kept in memory. */
+        private void submit(final List<DataRow> chunk, final long firstRowIndex) throws CanceledExecutionException {
+            final List<DataRow> rows;
+            if (m_partitions == null) {
+                rows = chunk;
+            } else {
+                // the groups of the remaining rows have been seen before, hence the row index has no effect
+                rows = new ArrayList<>(chunk.size());
+                long rowIndex = firstRowIndex;
+                for (final DataRow row : chunk) {
+                    final GroupKey groupKey = createGroupKey(row);
+                    final int hash = groupKey.mixedHashCode();
+                    if (m_groups.get(getBucket(hash)).containsKey(groupKey)) {
+                        rows.add(row);
+                    } else {
+                        m_partitions[getPartition(hash)].addRowToTable(
+                            m_rowIndexColIdx < 0 ? new AppendedColumnRow(row, new LongCell(rowIndex)) : row);
+                    }
+                    rowIndex++;
+                }
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+            // limit the number of chunks in memory
+            waitForTasks(2 * m_numThreads, null);
+            final Callable<Void> task = () -> {
+                final List<Map<GroupKey, Group>> table = m_taskTables.take();
+                try {
+                    long rowIndex = firstRowIndex;
+                    for (final DataRow row : rows) {
+                        aggregateRow(table, row, m_rowIndexColIdx < 0 ? rowIndex
+                            : ((LongValue)row.getCell(m_rowIndexColIdx)).getLongValue());
+                        rowIndex++;
+                    }
+                } finally {
+                    m_taskTables.add(table);
+                }
+                return null;
+            };
+            m_futures.add(m_pool.enqueue(ThreadUtils.callableWithContext(task)));
+        }
+
+        private void aggregateRow(final List<Map<GroupKey, Group>> table, final DataRow row, final long rowIndex) {
+            final GroupKey groupKey = createGroupKey(row);
+            final Map<GroupKey, Group> bucket = table.get(getBucket(groupKey.mixedHashCode()));
+            Group group = bucket.get(groupKey);
+            if (group == null) {
+                group = new Group(rowIndex, getColAggregators(), isEnableHilite());
+                bucket.put(groupKey, group);
+            }
+            if (group.m_rowKeys != null) {
+                group.m_rowKeys.add(row.getKey());
+            }
+            final GlobalSettings globalSettings = getGlobalSettings();
+            for (int i = 0; i < m_aggrColIdx.length; i++) {
+                group.m_aggregators[i].getOperator(globalSettings).compute(row, m_aggrColIdx[i]);
+            }
+        }
+
+        /**
+         * Waits until at most the given number of tasks are pending.
+         *
+         * @param maxPending the number of tasks that may still be pending
+         * @param exec to check for cancelation or null
+         */
+        private void waitForTasks(final int maxPending, final ExecutionContext exec)
+            throws CanceledExecutionException {
+            try {
+                while (m_futures.size() > maxPending) {
+                    if (exec != null) {
+                        exec.checkCanceled();
+                    }
+                    m_futures.peek().get();
+                    m_futures.poll();
+                }
+            } catch (InterruptedException e) {
+                throw new CanceledExecutionException("Aggregation canceled");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof CanceledExecutionException) {
+                    throw (CanceledExecutionException)e.getCause();
+                } else if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException)e.getCause();
+                }
+                throw new RuntimeException(e.getCause());
+            }
+        }
+
+        /** Merges the task tables into {@link #m_groups}, one task per bucket. Must only be called if no aggregation
+         * task is pending. */
+        private void mergeTaskTables(final ExecutionContext exec) throws CanceledExecutionException {
+            final List<List<Map<GroupKey, Group>>> taskTables = new ArrayList<>(m_taskTables);
+            final GlobalSettings globalSettings = getGlobalSettings();
+            for (int b = 0; b < m_numThreads; b++) {
+                final Map<GroupKey, Group> groups = m_groups.get(b);
+                final int bucketIndex = b;
+                final Callable<Void> task = () -> {
+                    for (final List<Map<GroupKey, Group>> table : taskTables) {
+                        final Map<GroupKey, Group> bucket = table.get(bucketIndex);
+                        for (final Map.Entry<GroupKey, Group> e : bucket.entrySet()) {
+                            final Group group = groups.get(e.getKey());
+                            if (group == null) {
+                                groups.put(e.getKey(), e.getValue());
+                            } else {
+                                group.merge(e.getValue(), globalSettings);
+                            }
+                        }
+                        bucket.clear();
+                    }
+                    return null;
+                };
+                m_futures.add(m_pool.enqueue(ThreadUtils.callableWithContext(task)));
+            }
+            waitForTasks(0, exec);
+        }
+
+        /** Writes the result rows of {@link #m_groups} in the order of the first row of each group. Rows of an indexed
+         * container get the index of the first row as additional cell and as row key. */
+        private void writeGroups(final ExecutionContext exec, final BufferedDataContainer dc,
+            final boolean isIndexed) throws CanceledExecutionException {
+            final List<Map.Entry<GroupKey, Group>> groups = new ArrayList<>();
+            for (final Map<GroupKey, Group> bucket : m_groups) {
+                groups.addAll(bucket.entrySet());
+            }
+            groups.sort(Comparator.comparingLong(e -> e.getValue().m_firstRowIndex));
+            final GlobalSettings globalSettings = getGlobalSettings();
+            final int size = groups.size();
+            for (int groupCounter = 0; groupCounter < size; groupCounter++) {
+                exec.checkCanceled();
+                exec.setProgress(groupCounter / (double)size, "Writing group " + groupCounter + " of " + size);
+                final GroupKey groupVals = groups.get(groupCounter).getKey();
+                final Group group = groups.get(groupCounter).getValue();
+                groups.set(groupCounter, null);
+                final RowKey rowKey = RowKey.createRowKey(isIndexed ? group.m_firstRowIndex : dc.size());
+                final DataCell[] rowVals =
+                    new DataCell[groupVals.size() + group.m_aggregators.length + (isIndexed ? 1 : 0)];
+                //add the group values first
+                int valIdx = 0;
+                for (final DataCell groupCell : groupVals.getGroupVals()) {
+                    rowVals[valIdx++] = groupCell;
+                }
+                //add the aggregation values
+                for (final ColumnAggregator colAggr : group.m_aggregators) {
+                    final AggregationOperator operator = colAggr.getOperator(globalSettings);
+                    rowVals[valIdx++] = operator.getResult();
+                    if (operator.isSkipped()) {
+                        //add skipped groups and the column that causes the skipping
+                        //into the skipped groups map
+                        addSkippedGroup(colAggr.getOriginalColName(), operator.getSkipMessage(),
+                            groupVals.getGroupVals());
+                    }
+                }
+                if (isIndexed) {
+                    rowVals[valIdx] = new LongCell(group.m_firstRowIndex);
+                }
+                dc.addRowToTable(new DefaultRow(rowKey, rowVals));
+                //add hilite mappings if enabled
+                if (isIndexed && isEnableHilite()) {
+                    m_rowKeysByFirstRow.put(group.m_firstRowIndex, group.m_rowKeys);
+                } else if (isEnableHilite()) {
+                    addHiliteMapping(rowKey, group.m_rowKeys);
+                }
+            }
+            for (final Map<GroupKey, Group> bucket : m_groups) {
+                bucket.clear();
+            }
+        }
+
+        /** Aggregates the spilled partitions one after another and merges their groups by the first row index. */
+        private void aggregatePartitions(final ExecutionContext exec, final BufferedDataContainer out,
+            final boolean isIndexedOut) throws CanceledExecutionException {
+            final BufferedDataTable[] partitions = new BufferedDataTable[m_partitions.length];
+            for (int i = 0; i < m_partitions.length; i++) {
+                m_partitions[i].close();
+                partitions[i] = m_partitions[i].getTable();
+            }
+            m_partitions = null;
+            final ExecutionContext aggrExec = exec.createSubExecutionContext(0.75);
+            final List<BufferedDataTable> sortedGroups = new ArrayList<>(partitions.length);
+            for (int i = 0; i < partitions.length; i++) {
+                final ExecutionContext partitionExec = aggrExec.createSubExecutionContext(1.0 / partitions.length);
+                if (partitions[i].size() > 0) {
+                    exec.setMessage("Aggregating partition " + (i + 1) + " of " + partitions.length);
+                    final BufferedDataContainer groups = exec.createDataContainer(m_indexedResultSpec, true, 0);
+                    final DataTableSpec partitionSpec = partitions[i].getDataTableSpec();
+                    try (final CloseableRowIterator rowIt = partitions[i].iterator()) {
+                        new Aggregation(m_pool, m_numThreads, partitionSpec, m_groupColIdx, m_aggrColIdx,
+                            partitionSpec.getNumColumns() - 1, m_level + 1)
+                            .aggregate(partitionExec, rowIt, partitions[i].size(), groups, true);
+                    }
+                    groups.close();
+                    sortedGroups.add(groups.getTable());
+                }
+                exec.clearTable(partitions[i]);
+                partitionExec.setProgress(1.0);
+            }
+            mergeGroups(exec.createSubExecutionContext(0.25), sortedGroups, out, isIndexedOut);
+            for (final BufferedDataTable groups : sortedGroups) {
+                exec.clearTable(groups);
+            }
+        }
+
+        /**
+         * Merges the groups of the partitions, each sorted by the first row index, into the output.
+         *
+         * @param exec for progress and cancelation
+         * @param sortedGroups the groups of the partitions (with {@link ParallelGroupByTable#m_indexedResultSpec})
+         * @param out the container to write to
+         * @param isIndexedOut whether <code>out</code> keeps the first row index
+         */
+        private void mergeGroups(final ExecutionContext exec, final List<BufferedDataTable> sortedGroups,
+            final BufferedDataContainer out, final boolean isIndexedOut) throws CanceledExecutionException {
+            final int indexColIdx = m_indexedResultSpec.getNumColumns() - 1;
+            long size = 0;
+            final PriorityQueue<SortedGroups> queue = new PriorityQueue<>(Math.max(1, sortedGroups.size()),
+                Comparator.comparingLong(SortedGroups::getFirstRowIndex));
+            try {
+                for (final BufferedDataTable table : sortedGroups) {
+                    size += table.size();
+                    final SortedGroups groups = new SortedGroups(table.iterator(), indexColIdx);
+                    if (groups.next()) {
+                        queue.add(groups);
+                    } else {
+                        groups.close();
+                    }
+                }
+                long groupCounter = 0;
+                while (!queue.isEmpty()) {
+                    exec.checkCanceled();
+                    exec.setProgress(groupCounter / (double)size, "Merging group " + groupCounter + " of " + size);
+                    groupCounter++;
+                    final SortedGroups groups = queue.poll();
+                    final DataRow row = groups.getRow();
+                    if (isIndexedOut) {
+                        out.addRowToTable(row);
+                    } else {
+                        final RowKey rowKey = RowKey.createRowKey(out.size());
+                        final DataCell[] rowVals = new DataCell[indexColIdx];
+                        for (int i = 0; i < indexColIdx; i++) {
+                            rowVals[i] = row.getCell(i);
+                        }
+                        out.addRowToTable(new DefaultRow(rowKey, rowVals));
+                        if (isEnableHilite()) {
+                            addHiliteMapping(rowKey, m_rowKeysByFirstRow.remove(groups.getFirstRowIndex()));
+                        }
+                    }
+                    if (groups.next()) {
+                        queue.add(groups);
+                    } else {
+                        groups.close();
+                    }
+                }
+            } finally {
+                for (final SortedGroups groups : queue) {
+                    groups.close();
+                }
+            }
+        }
+    }
+
+    /** The groups of a partition in the order of their first row, see {@link Aggregation#mergeGroups}. */
+    private static final class SortedGroups {
+
+        private final CloseableRowIterator m_iterator;
+
+        private final int m_indexColIdx;
+
+        private DataRow m_row;
+
+        private long m_firstRowIndex;
+
+        SortedGroups(final CloseableRowIterator iterator, final int indexColIdx) {
+            m_iterator = iterator;
+            m_indexColIdx = indexColIdx;
+        }
+
+        /** @return whether there is another group, which is then the current one */
+        boolean next() {
+            if (!m_iterator.hasNext()) {
+                m_row = null;
+                return false;
+            }
+            m_row = m_iterator.next();
+            m_firstRowIndex = ((LongValue)m_row.getCell(m_indexColIdx)).getLongValue();
+            return true;
+        }
+
+        DataRow getRow() {
+            return m_row;
+        }
+
+        long getFirstRowIndex() {
+            return m_firstRowIndex;
+        }
+
+        void close() {
+            m_iterator.close();
+        }
+    }
+}
@@ -0,0 +1,711 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.base.node.preproc.joiner;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.base.node.preproc.joiner.InputRow.Settings.InDataPort;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.ThreadPool;
+import org.knime.core.util.ThreadUtils;
+
+/**
+ * Grace hash join used by the {@link Joiner}. Both input tables are split into hash partitions on disk in a single
+ * pass, afterwards the pairs of partitions are joined independently (and in parallel). Each partition of the left
+ * table is loaded into an in-memory hash table and probed with the rows of the corresponding partition of the right
+ * table. A partition that does not fit into main memory is split into further partitions, using the next bits of
+ * the join tuple's hash.
+ *
+ * <p>
+ * The partitions only contain the columns needed for joining (and the survivors of the right table) as well as the
+ * index of the row in the input table, so that the results are the very same rows as created by the default
+ * algorithm of the {@link Joiner}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class GraceHashJoin {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(GraceHashJoin.class);
+
+    /** The targeted number of rows of the left table per partition. */
+    private static final long ROWS_PER_PARTITION = 250000;
+
+    /** The number of hash bits that are used when a partition needs to be split further. */
+    private static final int SPLIT_BITS = 2;
+
+    private final InputRow.Settings m_inputDataRowSettings;
+
+    private final OutputRow.Settings m_outputDataRowSettings;
+
+    private final boolean m_retainLeft;
+
+    private final boolean m_retainRight;
+
+    private final boolean m_matchAny;
+
+    private final int m_maxOpenFiles;
+
+    /** Columns of the left table that are stored in the partitions (followed by the row index). */
+    private final int[] m_leftColumns;
+
+    /** Columns of the right table that are stored in the partitions (followed by the row index). */
+    private final int[] m_rightColumns;
+
+    private final DataTableSpec m_leftPartitionSpec;
+
+    private final DataTableSpec m_rightPartitionSpec;
+
+    /** Input settings with the joining indices referring to the columns of the partitions. */
+    private final InputRow.Settings m_partitionInputSettings;
+
+    /** Output settings with the survivors referring to the columns of the right partitions. */
+    private final OutputRow.Settings m_partitionOutputSettings;
+
+    /** Guards the execution context (creating and clearing of tables) and the output container. */
+    private final Object m_execLock = new Object();
+
+    /** Indices of the left rows that were matched at least once, used for left outer joins. */
+    private final BitSet m_matchedLeft = new BitSet();
+
+    /** Indices of the right rows that were matched at least once, used for right outer joins with match any. */
+    private final BitSet m_matchedRight = new BitSet();
+
+    private int m_numBitsInitial = 6;
+
+    private int m_numBitsMaximal = Integer.SIZE;
+
+    private int m_rowsAddedBeforeForcedOOM;
+
+    private boolean m_isLowMemoryWarningLogged;
+
+    /**
+     * @param leftSpec The spec of the left table.
+     * @param rightSpec The spec of the right table.
+     * @param inputDataRowSettings The settings of the input rows.
+     * @param outputDataRowSettings The settings of the output rows.
+     * @param retainLeft True for left outer and full outer joins.
+     * @param retainRight True for right outer and full outer joins.
+     * @param matchAny True when a row may match via any of its join columns.
+     * @param maxOpenFiles The maximal number of files that are opened simultaneously.
+     */
+    GraceHashJoin(final DataTableSpec leftSpec, final DataTableSpec rightSpec,
+        final InputRow.Settings inputDataRowSettings, final OutputRow.Settings outputDataRowSettings,
+        final boolean retainLeft, final boolean retainRight, final boolean matchAny, final int maxOpenFiles) {
+        m_inputDataRowSettings = inputDataRowSettings;
+        m_outputDataRowSettings = outputDataRowSettings;
+        m_retainLeft = retainLeft;
+        m_retainRight = retainRight;
+        m_matchAny = matchAny;
+        m_maxOpenFiles = maxOpenFiles;
+
+        List<Integer> leftJoinIndices = inputDataRowSettings.getJoiningIndices(InDataPort.Left);
+        List<Integer> rightJoinIndices = inputDataRowSettings.getJoiningIndices(InDataPort.Right);
+        int[] survivors = outputDataRowSettings.getSurvivors();
+
+        List<Integer> leftColumns = new ArrayList<Integer>();
+        List<Integer> leftPartitionJoinIndices = new ArrayList<Integer>();
+        for (int index : leftJoinIndices) {
+            // row keys are kept in the partitions
+            leftPartitionJoinIndices.add(index >= 0 ? leftColumns.size() : -1);
+            if (index >= 0) {
+                leftColumns.add(index);
+            }
+        }
+        List<Integer> rightColumns = new ArrayList<Integer>();
+        for (int survivor : survivors) {
+            rightColumns.add(survivor);
+        }
+        List<Integer> rightPartitionJoinIndices = new ArrayList<Integer>();
+        for (int index : rightJoinIndices) {
+            rightPartitionJoinIndices.add(index >= 0 ? rightColumns.size() : -1);
+            if (index >= 0) {
+                rightColumns.add(index);
+            }
+        }
+        m_leftColumns = toArray(leftColumns);
+        m_rightColumns = toArray(rightColumns);
+        m_leftPartitionSpec = createPartitionSpec(leftSpec, m_leftColumns);
+        m_rightPartitionSpec = createPartitionSpec(rightSpec, m_rightColumns);
+
+        Map<InDataPort, List<Integer>> joiningIndicesMap = new HashMap<InDataPort, List<Integer>>();
+        joiningIndicesMap.put(InDataPort.Left, leftPartitionJoinIndices);
+        joiningIndicesMap.put(InDataPort.Right, rightPartitionJoinIndices);
+        m_partitionInputSettings = new InputRow.Settings(joiningIndicesMap, matchAny);
+        int[] partitionSurvivors = new int[survivors.length];
+        for (int i = 0; i < survivors.length; i++) {
+            partitionSurvivors[i] = i;
+        }
+        m_partitionOutputSettings = new OutputRow.Settings(m_rightPartitionSpec, partitionSurvivors);
+    }
+
+    /**
+     * Joins the given tables and adds the matches and outer joins to the given container.
+     *
+     * @param leftTable The left input table.
+     * @param rightTable The right input table.
+     * @param outputContainer The container used for storing matches.
+     * @param exec The execution context.
+     * @param progressDiff The difference in the progress monitor.
+     * @throws CanceledExecutionException when execution is canceled
+     */
+    void join(final BufferedDataTable leftTable, final BufferedDataTable rightTable,
+        final JoinContainer outputContainer, final ExecutionContext exec, final double progressDiff)
+        throws CanceledExecutionException {
+        final double progress = exec.getProgressMonitor().getProgress();
+        final double partitionProgress = (progressDiff - progress) / 3;
+        int numBits = getNumBits(leftTable.size());
+        int numPartitions = 1 << numBits;
+
+        exec.setMessage("Partition top table into " + numPartitions + " parts");
+        BufferedDataTable[] leftParts = partitionInput(leftTable, InDataPort.Left, m_leftColumns, numBits, null,
+            outputContainer, exec, progress, partitionProgress);
+        exec.setMessage("Partition bottom table into " + numPartitions + " parts");
+        BufferedDataTable[] rightParts = partitionInput(rightTable, InDataPort.Right, m_rightColumns, numBits,
+            leftParts, outputContainer, exec, progress + partitionProgress, partitionProgress);
+
+        List<Integer> pairs = new ArrayList<Integer>();
+        for (int i = 0; i < numPartitions; i++) {
+            if (leftParts[i] != null && rightParts[i] != null) {
+                pairs.add(i);
+            } else {
+                // one of the partitions is empty, nothing can match
+                clearTable(leftParts[i], exec);
+                clearTable(rightParts[i], exec);
+            }
+        }
+
+        final int numThreads = Math.max(1, Math.min(Math.min(pairs.size(),
+            KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads()), (m_maxOpenFiles - 3) / 2));
+        exec.setMessage("Join " + pairs.size() + " pairs of partitions using " + numThreads + " threads");
+        final double joinStart = progress + 2 * partitionProgress;
+        final AtomicInteger joinedPairs = new AtomicInteger();
+        ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(numThreads);
+        Queue<Future<Void>> futures = new LinkedList<Future<Void>>();
+        for (final int i : pairs) {
+            final BufferedDataTable left = leftParts[i];
+            final BufferedDataTable right = rightParts[i];
+            Callable<Void> task = () -> {
+                joinPartitions(left, right, i, numBits, outputContainer, exec);
+                exec.setProgress(joinStart + partitionProgress * joinedPairs.incrementAndGet() / pairs.size());
+                return null;
+            };
+            futures.add(pool.enqueue(ThreadUtils.callableWithContext(task)));
+        }
+        try {
+            while (!futures.isEmpty()) {
+                exec.checkCanceled();
+                futures.poll().get();
+            }
+        } catch (InterruptedException e) {
+            throw new CanceledExecutionException("Join canceled");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            if (!futures.isEmpty()) {
+                pool.interruptAll();
+            }
+        }
+
+        if (m_retainLeft) {
+            exec.setMessage("Add unmatched rows of top table");
+            long numLeftRows = leftTable.size();
+            for (int index = m_matchedLeft.nextClearBit(0); index < numLeftRows;
+                    index = m_matchedLeft.nextClearBit(index + 1)) {
+                exec.checkCanceled();
+                DataRow outRow = OutputRow.createDataRow(outputContainer.getRowCount(), index, -1,
+                    m_outputDataRowSettings);
+                outputContainer.addLeftOuter(outRow, exec);
+            }
+        }
+        if (m_retainRight && m_matchAny) {
+            // a right row may be in several partitions, add it once it is known that none of them matched
+            exec.setMessage("Add unmatched rows of bottom table");
+            int index = 0;
+            for (DataRow row : rightTable) {
+                exec.checkCanceled();
+                if (!m_matchedRight.get(index)) {
+                    DataRow outRow = OutputRow.createDataRow(outputContainer.getRowCount(), -1, index, row,
+                        m_outputDataRowSettings);
+                    outputContainer.addRightOuter(outRow, exec);
+                }
+                index++;
+            }
+        }
+        exec.setProgress(progressDiff);
+    }
+
+    /**
+     * Chooses the number of hash bits used for the initial partitioning, based on the size of the left table. The
+     * number of partitions is limited by the maximal number of open files since all partitions of a table are
+     * written at the same time.
+     */
+    private int getNumBits(final long numLeftRows) {
+        int numBits = Math.max(0, m_numBitsInitial);
+        while (numBits < Math.min(m_numBitsMaximal, Integer.SIZE - 2)
+                && numLeftRows > (ROWS_PER_PARTITION << numBits)) {
+            numBits++;
+        }
+        while (numBits > 0 && (1 << numBits) > m_maxOpenFiles - 3) {
+            numBits--;
+        }
+        return numBits;
+    }
+
+    /**
+     * Splits the input table into partitions. Right rows that belong to partitions for which the left table has no
+     * rows are not written as they can't match.
+     */
+    private BufferedDataTable[] partitionInput(final BufferedDataTable table, final InDataPort port,
+        final int[] columns, final int numBits, final BufferedDataTable[] leftParts,
+        final JoinContainer outputContainer, final ExecutionContext exec, final double progress,
+        final double progressDiff) throws CanceledExecutionException {
+        DataTableSpec spec = port == InDataPort.Left ? m_leftPartitionSpec : m_rightPartitionSpec;
+        PartitionWriter writer = new PartitionWriter(spec, 1 << numBits);
+        long numRows = Math.max(1, table.size());
+        int[] parts = new int[m_matchAny ? m_inputDataRowSettings.getJoiningIndices(port).size() : 1];
+        int index = 0;
+        try {
+            for (DataRow row : table) {
+                exec.checkCanceled();
+                InputRow inputRow = new InputRow(row, index, port, m_inputDataRowSettings);
+                int numParts = getPartitions(inputRow.getJoinTuples(), 0, 0, numBits, parts);
+                DataRow partitionRow = null;
+                boolean isWritten = false;
+                for (int i = 0; i < numParts; i++) {
+                    if (leftParts != null && leftParts[parts[i]] == null) {
+                        continue;
+                    }
+                    if (partitionRow == null) {
+                        partitionRow = createPartitionRow(row, columns, index);
+                    }
+                    writer.addRow(parts[i], partitionRow, exec);
+                    isWritten = true;
+                }
+                if (!isWritten && leftParts != null && m_retainRight && !m_matchAny) {
+                    // no left row can match
+                    DataRow outRow = OutputRow.createDataRow(outputContainer.getRowCount(), -1, index, row,
+                        m_outputDataRowSettings);
+                    outputContainer.addRightOuter(outRow, exec);
+                }
+                index++;
+                exec.setProgress(progress + progressDiff * index / numRows);
+            }
+        } finally {
+            writer.close();
+        }
+        return writer.getTables();
+    }
+
+    /**
+     * Joins a pair of partitions, the partitions are cleared afterwards. If the left partition does not fit into
+     * memory, both partitions are split further and the resulting pairs are joined one after the other.
+     *
+     * @param prefix The lower hash bits that all join tuples of this partition have in common.
+     * @param prefixBits The number of bits in the prefix.
+     */
+    private void joinPartitions(final BufferedDataTable left, final BufferedDataTable right, final int prefix,
+        final int prefixBits, final JoinContainer outputContainer, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final boolean canSplit = prefixBits < Math.min(m_numBitsMaximal, Integer.SIZE);
+        Map<JoinTuple, List<Integer>> leftTableHashed = buildHashTable(left, prefix, prefixBits, canSplit, exec);
+        if (leftTableHashed == null) {
+            int splitBits = Math.min(SPLIT_BITS, Integer.SIZE - prefixBits);
+            LOGGER.debug("Partition " + prefix + " (" + prefixBits + " bits) does not fit into memory, "
+                + "splitting it into " + (1 << splitBits) + " parts.");
+            BufferedDataTable[] leftParts = splitPartition(left, InDataPort.Left, prefix, prefixBits, splitBits, exec);
+            BufferedDataTable[] rightParts =
+                splitPartition(right, InDataPort.Right, prefix, prefixBits, splitBits, exec);
+            clearTable(left, exec);
+            clearTable(right, exec);
+            for (int i = 0; i < leftParts.length; i++) {
+                if (leftParts[i] != null && rightParts[i] != null) {
+                    joinPartitions(leftParts[i], rightParts[i], prefix | (i << prefixBits),
+                        prefixBits + splitBits, outputContainer, exec);
+                } else {
+                    if (rightParts[i] != null && m_retainRight && !m_matchAny) {
+                        addRightOuterJoins(rightParts[i], outputContainer, exec);
+                    }
+                    clearTable(leftParts[i], exec);
+                    clearTable(rightParts[i], exec);
+                }
+            }
+            return;
+        }
+        probe(leftTableHashed, right, prefix, prefixBits, outputContainer, exec);
+        clearTable(left, exec);
+        clearTable(right, exec);
+    }
+
+    /**
+     * Reads the left partition into a hash table.
+     *
+     * @return the hash table or <code>null</code> when memory got low and the partition can be split
+     */
+    private Map<JoinTuple, List<Integer>> buildHashTable(final BufferedDataTable left, final int prefix,
+        final int prefixBits, final boolean canSplit, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        MemoryActionIndicator memIndicator = MemoryAlertSystem.getInstance().newIndicator();
+        Map<JoinTuple, List<Integer>> leftTableHashed = new HashMap<JoinTuple, List<Integer>>();
+        long rowsAdded = 0;
+        try (CloseableRowIterator it = left.iterator()) {
+            while (it.hasNext()) {
+                exec.checkCanceled();
+                boolean forcedOOM = m_rowsAddedBeforeForcedOOM > 0 && rowsAdded >= m_rowsAddedBeforeForcedOOM;
+                if (forcedOOM || memIndicator.lowMemoryActionRequired()) {
+                    if (canSplit) {
+                        return null;
+                    } else if (!m_isLowMemoryWarningLogged) {
+                        m_isLowMemoryWarningLogged = true;
+                        LOGGER.warn("Memory is low. Partition can't be split any further, "
+                            + "joining it in memory anyway.");
+                    }
+                }
+                DataRow row = it.next();
+                int index = getIndex(row);
+                InputRow inputRow = new InputRow(row, index, InDataPort.Left, m_partitionInputSettings);
+                for (JoinTuple tuple : inputRow.getJoinTuples()) {
+                    if (!isInPartition(hash(tuple), prefix, prefixBits)) {
+                        continue;
+                    }
+                    List<Integer> indices = leftTableHashed.get(tuple);
+                    if (indices == null) {
+                        indices = new ArrayList<Integer>(1);
+                        leftTableHashed.put(tuple, indices);
+                    }
+                    indices.add(index);
+                    rowsAdded++;
+                }
+            }
+        }
+        return leftTableHashed;
+    }
+
+    /** Probes the hash table of the left partition with the rows of the right partition. */
+    private void probe(final Map<JoinTuple, List<Integer>> leftTableHashed, final BufferedDataTable right,
+        final int prefix, final int prefixBits, final JoinContainer outputContainer, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        try (CloseableRowIterator it = right.iterator()) {
+            while (it.hasNext()) {
+                exec.checkCanceled();
+                DataRow row = it.next();
+                int index = getIndex(row);
+                InputRow rightRow = new InputRow(row, index, InDataPort.Right, m_partitionInputSettings);
+                boolean matchFoundForRightRow = false;
+                for (JoinTuple tuple : rightRow.getJoinTuples()) {
+                    if (!isInPartition(hash(tuple), prefix, prefixBits)) {
+                        continue;
+                    }
+                    List<Integer> leftRows = leftTableHashed.get(tuple);
+                    if (leftRows == null) {
+                        continue;
+                    }
+                    matchFoundForRightRow = true;
+                    synchronized (m_execLock) {
+                        for (Integer leftRowIndex : leftRows) {
+                            DataRow outRow = OutputRow.createDataRow(outputContainer.getRowCount(), leftRowIndex,
+                                index, row, m_partitionOutputSettings);
+                            outputContainer.addMatch(outRow, exec);
+                        }
+                    }
+                    if (m_retainLeft) {
+                        synchronized (m_matchedLeft) {
+                            for (Integer leftRowIndex : leftRows) {
+                                m_matchedLeft.set(leftRowIndex);
+                            }
+                        }
+                    }
+                }
+                if (m_retainRight) {
+                    if (m_matchAny) {
+                        if (matchFoundForRightRow) {
+                            synchronized (m_matchedRight) {
+                                m_matchedRight.set(index);
+                            }
+                        }
+                    } else if (!matchFoundForRightRow) {
+                        synchronized (m_execLock) {
+                            DataRow outRow = OutputRow.createDataRow(outputContainer.getRowCount(), -1, index, row,
+                                m_partitionOutputSettings);
+                            outputContainer.addRightOuter(outRow, exec);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Adds all rows of the right partition as right outer joins, used when the left partition is empty. */
+    private void addRightOuterJoins(final BufferedDataTable right, final JoinContainer outputContainer,
+        final ExecutionContext exec) throws CanceledExecutionException {
+        try (CloseableRowIterator it = right.iterator()) {
+            while (it.hasNext()) {
+                exec.checkCanceled();
+                DataRow row = it.next();
+                synchronized (m_execLock) {
+                    DataRow outRow = OutputRow.createDataRow(outputContainer.getRowCount(), -1, getIndex(row), row,
+                        m_partitionOutputSettings);
+                    outputContainer.addRightOuter(outRow, exec);
+                }
+            }
+        }
+    }
+
+    /** Splits a partition into <code>2^splitBits</code> partitions using the hash bits following the prefix. */
+    private BufferedDataTable[] splitPartition(final BufferedDataTable partition, final InDataPort port,
+        final int prefix, final int prefixBits, final int splitBits, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        DataTableSpec spec = port == InDataPort.Left ? m_leftPartitionSpec : m_rightPartitionSpec;
+        PartitionWriter writer = new PartitionWriter(spec, 1 << splitBits);
+        int[] parts = new int[m_matchAny ? m_partitionInputSettings.getJoiningIndices(port).size() : 1];
+        try (CloseableRowIterator it = partition.iterator()) {
+            while (it.hasNext()) {
+                exec.checkCanceled();
+                DataRow row = it.next();
+                InputRow inputRow = new InputRow(row, getIndex(row), port, m_partitionInputSettings);
+                int numParts = getPartitions(inputRow.getJoinTuples(), prefix, prefixBits, splitBits, parts);
+                for (int i = 0; i < numParts; i++) {
+                    writer.addRow(parts[i], row, exec);
+                }
+            }
+        } finally {
+            writer.close();
+        }
+        return writer.getTables();
+    }
+
+    /**
+     * Determines the (distinct) sub-partitions of the tuples that belong to the partition given by prefix.
+     *
+     * @param tuples The join tuples of a row.
+     * @param prefix The lower hash bits of the current partition.
+     * @param prefixBits The number of bits of the prefix.
+     * @param splitBits The number of bits used to determine the sub-partition.
+     * @param parts Filled with the sub-partitions.
+     * @return the number of sub-partitions written to parts
+     */
+    private static int getPartitions(final JoinTuple[] tuples, final int prefix, final int prefixBits,
+        final int splitBits, final int[] parts) {
+        final int mask = splitBits >= Integer.SIZE ? -1 : (1 << splitBits) - 1;
+        int numParts = 0;
+        tuples:
+        for (JoinTuple tuple : tuples) {
+            int hash = hash(tuple);
+            if (!isInPartition(hash, prefix, prefixBits)) {
+                continue;
+            }
+            int part = prefixBits >= Integer.SIZE ? 0 : (hash >>> prefixBits) & mask;
+            for (int i = 0; i < numParts; i++) {
+                if (parts[i] == part) {
+                    continue tuples;
+                }
+            }
+            parts[numParts++] = part;
+        }
+        return numParts;
+    }
+
+    /** Whether the lower <code>prefixBits</code> bits of the hash equal the prefix. */
+    private static boolean isInPartition(final int hash, final int prefix, final int prefixBits) {
+        if (prefixBits == 0) {
+            return true;
+        } else if (prefixBits >= Integer.SIZE) {
+            return hash == prefix;
+        }
+        return (hash & ((1 << prefixBits) - 1)) == prefix;
+    }
+
+    /**
+     * The hash code of the tuple with its bits mixed, so that also the upper bits can be used for partitioning (the
+     * hash code of small integers only uses the lower bits).
+     */
+    private static int hash(final JoinTuple tuple) {
+        int h = tuple.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static DataRow createPartitionRow(final DataRow row, final int[] columns, final long index) {
+        DataCell[] cells = new DataCell[columns.length + 1];
+        for (int i = 0; i < columns.length; i++) {
+            cells[i] = row.getCell(columns[i]);
+        }
+        cells[columns.length] = new LongCell(index);
+        return new DefaultRow(row.getKey(), cells);
+    }
+
+    /** The index of the row in the input table, stored in the last column of the partitions. */
+    private static int getIndex(final DataRow partitionRow) {
+        return (int)((LongValue)partitionRow.getCell(partitionRow.getNumCells() - 1)).getLongValue();
+    }
+
+    private static DataTableSpec createPartitionSpec(final DataTableSpec spec, final int[] columns) {
+        DataColumnSpec[] cspec = new DataColumnSpec[columns.length + 1];
+        for (int i = 0; i < columns.length; i++) {
+            cspec[i] = new DataColumnSpecCreator(Integer.toString(i),
+                spec.getColumnSpec(columns[i]).getType()).createSpec();
+        }
+        cspec[columns.length] =
+            new DataColumnSpecCreator(Integer.toString(columns.length), LongCell.TYPE).createSpec();
+        return new DataTableSpec(cspec);
+    }
+
+    private static int[] toArray(final List<Integer> list) {
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = list.get(i);
+        }
+        return result;
+    }
+
+    private void clearTable(final BufferedDataTable table, final ExecutionContext exec) {
+        if (table != null) {
+            synchronized (m_execLock) {
+                exec.clearTable(table);
+            }
+        }
+    }
+
+    /**
+     * Used for testing, only. Simulates an out-of-memory event after that many rows have been added to memory.
+     *
+     * @param maxRows the maximum number of rows before an event
+     */
+    void setRowsAddedBeforeOOM(final int maxRows) {
+        m_rowsAddedBeforeForcedOOM = maxRows;
+    }
+
+    /**
+     * @param bits the minimal number of partitions will be 2^bits (bounded by the number of open files)
+     */
+    void setNumBitsInitial(final int bits) {
+        m_numBitsInitial = bits;
+    }
+
+    /**
+     * @param bits the maximal number of partitions will be 2^bits
+     */
+    void setNumBitsMaximal(final int bits) {
+        m_numBitsMaximal = bits;
+    }
+
+    /** Writes rows into a set of partitions, the containers are created on demand and write to disk directly. */
+    private final class PartitionWriter {
+
+        private final DataTableSpec m_spec;
+
+        private final BufferedDataContainer[] m_containers;
+
+        private BufferedDataTable[] m_tables;
+
+        PartitionWriter(final DataTableSpec spec, final int numPartitions) {
+            m_spec = spec;
+            m_containers = new BufferedDataContainer[numPartitions];
+        }
+
+        void addRow(final int partition, final DataRow row, final ExecutionContext exec) {
+            if (m_containers[partition] == null) {
+                synchronized (m_execLock) {
+                    m_containers[partition] = exec.createDataContainer(m_spec, false, 0);
+                }
+            }
+            m_containers[partition].addRowToTable(row);
+        }
+
+        void close() {
+            m_tables = new BufferedDataTable[m_containers.length];
+            for (int i = 0; i < m_containers.length; i++) {
+                if (m_containers[i] != null) {
+                    // closing registers the table in the context's (non thread-safe) local table repository
+                    synchronized (m_execLock) {
+                        m_containers[i].close();
+                        m_tables[i] = m_containers[i].getTable();
+                    }
+                }
+            }
+        }
+
+        BufferedDataTable[] getTables() {
+            return m_tables;
+        }
+    }
+}
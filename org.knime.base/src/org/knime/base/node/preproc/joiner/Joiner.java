@@ -505,7 +505,8 @@ public BufferedDataTable computeJoinTable(
             .equals(CompositionMode.MatchAny)
             && m_settings.getLeftJoinColumns().length > 1;
 
-        if (m_retainLeft && m_matchAny) {
+        final boolean useGraceHashJoin = m_settings.getUseGraceHashJoin();
+        if (m_retainLeft && m_matchAny && !useGraceHashJoin) {
             m_globalLeftOuterJoins = new HashSet<Integer>();
             for (int i = 0; i < leftTable.getRowCount(); i++) {
                 m_globalLeftOuterJoins.add(i);
@@ -520,51 +521,28 @@ public BufferedDataTable computeJoinTable(
                 rightTable.getDataTableSpec(),
                 rightSurvivors);
 
-        /* numBits -> numPartitions
-         * 0 -> 1
-         * 1 -> 2
-         * 2 -> 4
-         * 3 -> 8
-         * 4 -> 16
-         * 5 -> 32
-         * 6 -> 64
-         * 7 -> 128
-         */
-        m_numBits = m_numBitsInitial;
-        int numPartitions = 0x0001 << m_numBits;
-        m_bitMask = 0;
-        for (int i = 0; i < m_numBits; i++) {
-            m_bitMask += 0x0001 << i;
-        }
-
-        Set<Integer> pendingParts = new TreeSet<Integer>();
-        for (int i = 0; i < numPartitions; i++) {
-            pendingParts.add(i);
-        }
-
-
         JoinContainer joinCont = new JoinContainer(
                 m_outputDataRowSettings);
 
         double[] progressIntervals = new double[] {0.6, 0.2, 0.2};
         exec.setProgress(0.0);
-        while (pendingParts.size() > 0) {
-            Collection<Integer> processedParts = performJoin(
-                    innerTable, outerTable,
-                    joinCont, pendingParts, exec, progressIntervals[0]);
-            pendingParts.removeAll(processedParts);
-        }
-
-
-        if (m_retainLeft && m_matchAny) {
-            // Add left outer joins
-            int c = 0;
-            for (Integer index : m_globalLeftOuterJoins) {
-                DataRow outRow = OutputRow.createDataRow(c, index, -1,
-                        m_outputDataRowSettings);
-                joinCont.addLeftOuter(outRow, exec);
-                c++;
-            }
+        if (useGraceHashJoin) {
+            // partition both tables to disk in a single pass and join
+            // the pairs of partitions
+            GraceHashJoin graceHashJoin = new GraceHashJoin(
+                    leftTable.getDataTableSpec(),
+                    rightTable.getDataTableSpec(),
+                    m_inputDataRowSettings, m_outputDataRowSettings,
+                    m_retainLeft, m_retainRight, m_matchAny,
+                    m_settings.getMaxOpenFiles());
+            graceHashJoin.setNumBitsInitial(m_numBitsInitial);
+            graceHashJoin.setNumBitsMaximal(m_numBitsMaximal);
+            graceHashJoin.setRowsAddedBeforeOOM(m_rowsAddedBeforeForcedOOM);
+            graceHashJoin.join(innerTable, outerTable, joinCont, exec,
+                    progressIntervals[0]);
+        } else {
+            performJoin(innerTable, outerTable, joinCont, exec,
+                    progressIntervals[0]);
         }
         joinCont.close();
 
@@ -618,6 +596,63 @@ public BufferedDataTable computeJoinTable(
         return oc.getTable();
     }
 
+    /**
+     * Joins the tables by reading the left table in partitions that fit into
+     * main memory. The right table is read once per set of partitions.
+     *
+     * @param innerTable The inner input table.
+     * @param outerTable The outer input table.
+     * @param joinCont The container used for storing matches.
+     * @param exec The execution context.
+     * @param progressDiff The difference in the progress monitor.
+     * @throws CanceledExecutionException when execution is canceled
+     */
+    private void performJoin(final BufferedDataTable innerTable,
+            final BufferedDataTable outerTable,
+            final JoinContainer joinCont,
+            final ExecutionContext exec,
+            final double progressDiff) throws CanceledExecutionException {
+        /* numBits -> numPartitions
+         * 0 -> 1
+         * 1 -> 2
+         * 2 -> 4
+         * 3 -> 8
+         * 4 -> 16
+         * 5 -> 32
+         * 6 -> 64
+         * 7 -> 128
+         */
+        m_numBits = m_numBitsInitial;
+        int numPartitions = 0x0001 << m_numBits;
+        m_bitMask = 0;
+        for (int i = 0; i < m_numBits; i++) {
+            m_bitMask += 0x0001 << i;
+        }
+
+        Set<Integer> pendingParts = new TreeSet<Integer>();
+        for (int i = 0; i < numPartitions; i++) {
+            pendingParts.add(i);
+        }
+
+        while (pendingParts.size() > 0) {
+            Collection<Integer> processedParts = performJoin(
+                    innerTable, outerTable,
+                    joinCont, pendingParts, exec, progressDiff);
+            pendingParts.removeAll(processedParts);
+        }
+
+        if (m_retainLeft && m_matchAny) {
+            // Add left outer joins
+            int c = 0;
+            for (Integer index : m_globalLeftOuterJoins) {
+                DataRow outRow = OutputRow.createDataRow(c, index, -1,
+                        m_outputDataRowSettings);
+                joinCont.addLeftOuter(outRow, exec);
+                c++;
+            }
+        }
+    }
+
     /** This method start with reading the partitions of the left table defined
      * in currParts. If memory is low, partitions will be skipped or the
      * number of partitions will be raised which leads to smaller partitions.
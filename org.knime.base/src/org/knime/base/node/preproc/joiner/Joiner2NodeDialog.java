@@ -126,6 +126,8 @@ public class Joiner2NodeDialog extends NodeDialogPane {
 
     private final JCheckBox m_enableHiLite =
         new JCheckBox("Enable hiliting");
+    private final JCheckBox m_useGraceHashJoin =
+        new JCheckBox("Partition both tables to disk (grace hash join)");
     /**
      * Creates a new dialog for the joiner node.
      */
@@ -307,6 +309,9 @@ private JPanel createPerformanceUIControls() {
         c.gridwidth = 2;
         p.add(m_enableHiLite, c);
 
+        c.gridy++;
+        p.add(m_useGraceHashJoin, c);
+
         p.setBorder(BorderFactory.createTitledBorder("Performance Tuning"));
         return p;
     }
@@ -473,6 +478,7 @@ protected void loadSettingsFrom(final NodeSettingsRO settings,
         m_maxOpenFiles.setText(Integer.toString(m_settings.getMaxOpenFiles()));
         m_rowKeySeparator.setText(m_settings.getRowKeySeparator());
         m_enableHiLite.setSelected(m_settings.getEnableHiLite());
+        m_useGraceHashJoin.setSelected(m_settings.getUseGraceHashJoin());
     }
 
     /**
@@ -553,6 +559,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings)
         m_settings.setMaxOpenFiles(Integer.parseInt(m_maxOpenFiles.getText()));
         m_settings.setRowKeySeparator(m_rowKeySeparator.getText());
         m_settings.setEnableHiLite(m_enableHiLite.isSelected());
+        m_settings.setUseGraceHashJoin(m_useGraceHashJoin.isSelected());
 
         m_settings.saveSettings(settings);
     }
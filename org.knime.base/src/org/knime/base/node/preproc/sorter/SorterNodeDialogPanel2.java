@@ -122,6 +122,9 @@ public class SorterNodeDialogPanel2 extends JPanel {
      * chosen sort order. */
     private final JCheckBox m_sortMissingToEndChecker;
 
+    /** Checkbox to sort using multiple threads. */
+    private final JCheckBox m_sortInParallelChecker;
+
     /**
      * Constructs a new empty JPanel used for displaying the three first
      * selected columns in the according order and the sorting order for each.
@@ -137,6 +140,10 @@ public class SorterNodeDialogPanel2 extends JPanel {
         m_sortMissingToEndChecker.setToolTipText("Missing values will be "
                 + "moved to the end independent of the sort order ("
                 + "otherwise they are considered to be the smallest elements)");
+        m_sortInParallelChecker = new JCheckBox("Sort in parallel");
+        m_sortInParallelChecker.setToolTipText("Sorts and merges temporary "
+                + "tables using multiple threads (faster for large tables "
+                + "but uses more memory and open files)");
     }
 
     /**
@@ -293,6 +300,10 @@ public void actionPerformed(final ActionEvent ae) {
             m_sortMissingToEndChecker.setSelected(missingToEnd);
             missingToEndBox.add(m_sortMissingToEndChecker);
             super.add(missingToEndBox);
+
+            Box parallelBox = Box.createHorizontalBox();
+            parallelBox.add(m_sortInParallelChecker);
+            super.add(parallelBox);
             revalidate();
         }
     }
@@ -354,6 +365,16 @@ boolean isSortMissingToEnd() {
         return m_sortMissingToEndChecker.isSelected();
     }
 
+    /** @return the sortInParallel checkbox property */
+    boolean isSortInParallel() {
+        return m_sortInParallelChecker.isSelected();
+    }
+
+    /** @param sortInParallel the sortInParallel checkbox property */
+    void setSortInParallel(final boolean sortInParallel) {
+        m_sortInParallelChecker.setSelected(sortInParallel);
+    }
+
     /**
      * @return whether to perform the sorting in memory or not.
      */
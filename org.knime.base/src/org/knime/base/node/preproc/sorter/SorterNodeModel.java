@@ -59,6 +59,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
@@ -110,6 +111,12 @@ public class SorterNodeModel extends NodeModel {
      */
     static final String MISSING_TO_END_KEY = "missingToEnd";
 
+    /**
+     * Settings key: Sort using multiple threads.
+     * @since 3.6
+     */
+    static final String SORT_IN_PARALLEL_KEY = "sortInParallel";
+
     /*
      * List contains the data cells to include.
      */
@@ -132,6 +139,11 @@ public class SorterNodeModel extends NodeModel {
      */
     private boolean m_missingToEnd = false;
 
+    /** Sort chunks and merge temporary tables concurrently using the threads of the global thread pool.
+     * @since 3.6
+     */
+    private boolean m_sortInParallel = false;
+
     /**
      * Inits a new <code>SorterNodeModel</code> with one in- and one output.
      *
@@ -173,6 +185,9 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         BufferedDataTableSorter sorter = new BufferedDataTableSorter(
                 inData[INPORT], m_inclList, m_sortOrder, m_missingToEnd);
         sorter.setSortInMemory(m_sortInMemory);
+        if (m_sortInParallel) {
+            sorter.setParallelism(Math.max(1, KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads()));
+        }
         BufferedDataTable sortedTable = sorter.sort(exec);
 
         return new BufferedDataTable[]{sortedTable};
@@ -238,6 +253,8 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         settings.addBoolean(SORTINMEMORY_KEY, m_sortInMemory);
         // added in 2.6
         settings.addBoolean(MISSING_TO_END_KEY, m_missingToEnd);
+        // added in 3.6
+        settings.addBoolean(SORT_IN_PARALLEL_KEY, m_sortInParallel);
     }
 
     /**
@@ -293,6 +310,8 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
         }
         // added in 2.6, catch missing setting
         m_missingToEnd = settings.getBoolean(MISSING_TO_END_KEY, false);
+        // added in 3.6, catch missing setting
+        m_sortInParallel = settings.getBoolean(SORT_IN_PARALLEL_KEY, false);
     }
 
     /**
@@ -114,15 +114,15 @@ public void set(final int row, final int col, final float value) {
         }
         if (row > col) {
             if (m_withDiagonal) {
-                m_matrix[row * (row + 1) / 2 + col] = value;
+                m_matrix[(int)(row * (long)(row + 1) / 2) + col] = value;
             } else {
-                m_matrix[row * (row - 1) / 2 + col] = value;
+                m_matrix[(int)(row * (long)(row - 1) / 2) + col] = value;
             }
         } else {
             if (m_withDiagonal) {
-                m_matrix[col * (col + 1) / 2 + row] = value;
+                m_matrix[(int)(col * (long)(col + 1) / 2) + row] = value;
             } else {
-                m_matrix[col * (col - 1) / 2 + row] = value;
+                m_matrix[(int)(col * (long)(col - 1) / 2) + row] = value;
             }
         }
     }
@@ -142,15 +142,15 @@ public float get(final int row, final int col) {
         }
         if (row > col) {
             if (m_withDiagonal) {
-                return m_matrix[row * (row + 1) / 2 + col];
+                return m_matrix[(int)(row * (long)(row + 1) / 2) + col];
             } else {
-                return m_matrix[row * (row - 1) / 2 + col];
+                return m_matrix[(int)(row * (long)(row - 1) / 2) + col];
             }
         } else {
             if (m_withDiagonal) {
-                return m_matrix[col * (col + 1) / 2 + row];
+                return m_matrix[(int)(col * (long)(col + 1) / 2) + row];
             } else {
-                return m_matrix[col * (col - 1) / 2 + row];
+                return m_matrix[(int)(col * (long)(col - 1) / 2) + row];
             }
         }
     }
@@ -193,9 +193,9 @@ public boolean storesDiagonal() {
      */
     public int getRowCount() {
         if (m_withDiagonal) {
-            return (-1 + (int)Math.sqrt(1 + 8 * m_matrix.length)) / 2;
+            return (-1 + (int)Math.sqrt(1 + 8L * m_matrix.length)) / 2;
         } else {
-            return (1 + (int)Math.sqrt(1 + 8 * m_matrix.length)) / 2;
+            return (1 + (int)Math.sqrt(1 + 8L * m_matrix.length)) / 2;
         }
     }
 
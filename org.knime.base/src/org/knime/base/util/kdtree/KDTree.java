@@ -49,13 +49,16 @@
 import java.util.ListIterator;
 import java.util.PriorityQueue;
 
+import org.knime.core.util.MutableInteger;
+
 /**
  * This class is an implementation of a k-d tree as described in <div> Friedman,
  * Jerome H; Bentley, Jon Louis; Finkel, Raphael Ari: <i>An Algorithm for
  * Finding Best Matches in Logarithmic Expected Time</i>; ACM Transactions on
  * Mathematical Software; 1997, 3(3), pages 209-226 </div>
  *
- * For creating a k-d tree use the {@link KDTreeBuilder}.
+ * For creating a k-d tree use the {@link KDTreeBuilder}. Once built, the tree
+ * is immutable and can be queried by several threads concurrently.
  *
  * @param <T> the type of the data that is to be stored in the tree
  *
@@ -66,7 +69,7 @@
 
     private final Node m_root;
 
-    private int m_testedPatterns;
+    private volatile int m_testedPatterns;
 
     /**
      * Creates a new optimized k-d tree. This constructor is called by the
@@ -130,8 +133,10 @@ public List<NearestNeighbour<T>> getKNearestNeighbours(
             upperBounds[i] = Double.MAX_VALUE;
         }
 
-        m_testedPatterns = 0;
-        search(m_root, query, pq, lowerBounds, upperBounds, false);
+        final MutableInteger testedPatterns = new MutableInteger(0);
+        search(m_root, query, pq, lowerBounds, upperBounds, false,
+                testedPatterns);
+        m_testedPatterns = testedPatterns.intValue();
         LinkedList<NearestNeighbour<T>> results =
                 new LinkedList<NearestNeighbour<T>>();
 
@@ -199,8 +204,10 @@ public List<NearestNeighbour<T>> getMaxDistanceNeighbours(
             upperBounds[i] = Double.MAX_VALUE;
         }
 
-        m_testedPatterns = 0;
-        search(m_root, query, pq, lowerBounds, upperBounds, true);
+        final MutableInteger testedPatterns = new MutableInteger(0);
+        search(m_root, query, pq, lowerBounds, upperBounds, true,
+                testedPatterns);
+        m_testedPatterns = testedPatterns.intValue();
         LinkedList<NearestNeighbour<T>> results =
                 new LinkedList<NearestNeighbour<T>>();
 
@@ -233,14 +240,16 @@ public List<NearestNeighbour<T>> getMaxDistanceNeighbours(
      * @param maxDistanceMode <code>true</code> if all nodes up to a maximal
      *            distance should be added, <code>false</code> if the k nearest
      *            neighbours should be found
+     * @param testedPatterns counts the patterns tested during the query
      *
      * @return <code>true</code> if a new nearest neighbour has been found,
      *         <code>false</code> otherwise
      */
     private boolean addNewNearestNeighbour(final TerminalNode<T> tn,
             final PriorityQueue<NearestNeighbour<T>> pq, final double[] query,
-            final boolean maxDistanceMode) {
-        m_testedPatterns++;
+            final boolean maxDistanceMode,
+            final MutableInteger testedPatterns) {
+        testedPatterns.inc();
         double distance = tn.getDistance(query);
 
         double d = pq.peek().getDistance();
@@ -278,6 +287,7 @@ private boolean addNewNearestNeighbour(final TerminalNode<T> tn,
      * @param maxDistanceMode <code>true</code> if all nodes up to a maximal
      *            distance should be added, <code>false</code> if the k nearest
      *            neighbours should be found
+     * @param testedPatterns counts the patterns tested during the query
      *
      * @return <code>true</code> if the search can be aborted,
      *         <code>false</code> if it should be continued
@@ -285,7 +295,8 @@ private boolean addNewNearestNeighbour(final TerminalNode<T> tn,
     private boolean search(final Node node, final double[] query,
             final PriorityQueue<NearestNeighbour<T>> pq,
             final double[] lowerBounds, final double[] upperBounds,
-            final boolean maxDistanceMode) {
+            final boolean maxDistanceMode,
+            final MutableInteger testedPatterns) {
         if (node == null) {
             return false;
         }
@@ -293,7 +304,8 @@ private boolean search(final Node node, final double[] query,
             boolean newFound = false;
             for (TerminalNode<T> tn : ((TerminalBucket<T>)node)) {
                 newFound |=
-                        addNewNearestNeighbour(tn, pq, query, maxDistanceMode);
+                        addNewNearestNeighbour(tn, pq, query, maxDistanceMode,
+                                testedPatterns);
             }
             if (newFound
                     && ballWithinBounds(query, pq.peek().getDistance(),
@@ -314,7 +326,7 @@ && ballWithinBounds(query, pq.peek().getDistance(),
             upperBounds[keyIndex] = keyValue;
             boolean finished =
                     search(n.getLeft(), query, pq, lowerBounds, upperBounds,
-                            maxDistanceMode);
+                            maxDistanceMode, testedPatterns);
             upperBounds[keyIndex] = temp;
             if (finished) {
                 return true;
@@ -324,7 +336,7 @@ && ballWithinBounds(query, pq.peek().getDistance(),
             lowerBounds[keyIndex] = keyValue;
             boolean finished =
                     search(n.getRight(), query, pq, lowerBounds, upperBounds,
-                            maxDistanceMode);
+                            maxDistanceMode, testedPatterns);
             lowerBounds[keyIndex] = temp;
             if (finished) {
                 return true;
@@ -339,7 +351,7 @@ && ballWithinBounds(query, pq.peek().getDistance(),
             if (boundsOverlapBall(query, pq.peek().getDistance(), lowerBounds,
                     upperBounds)) {
                 search(n.getRight(), query, pq, lowerBounds, upperBounds,
-                        maxDistanceMode);
+                        maxDistanceMode, testedPatterns);
             }
             lowerBounds[keyIndex] = temp;
         } else {
@@ -349,7 +361,7 @@ && ballWithinBounds(query, pq.peek().getDistance(),
             if (boundsOverlapBall(query, pq.peek().getDistance(), lowerBounds,
                     upperBounds)) {
                 search(n.getLeft(), query, pq, lowerBounds, upperBounds,
-                        maxDistanceMode);
+                        maxDistanceMode, testedPatterns);
             }
 
             upperBounds[keyIndex] = temp;
@@ -441,7 +453,8 @@ private boolean ballWithinBounds(final double[] query,
     /**
      * Returns the number of tested patterns during the last call to
      * {@link #getKNearestNeighbours(double[], int)}. The lower the number the
-     * better the k-d tree could prune the search.
+     * better the k-d tree could prune the search. If the tree is queried
+     * concurrently, the number refers to the query that finished last.
      *
      * @return the number of tested patterns
      */
@@ -46,7 +46,6 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 import org.knime.core.node.CanceledExecutionException;
@@ -175,10 +174,32 @@ private Node buildTree(final List<TerminalNode<T>> nodes, final int bSize) {
      */
     private Node buildTree(final List<TerminalNode<T>> nodes, final int bSize,
             final ExecutionMonitor progMon) throws CanceledExecutionException {
-        if (nodes.size() <= bSize) {
-            m_processedPatterns += nodes.size();
-            return new TerminalBucket<T>(nodes);
-        } else if (nodes.size() == 0) {
+        return buildTree(nodes, 0, nodes.size(), bSize, progMon);
+    }
+
+    /**
+     * Recursive method to build the tree for the nodes in the range
+     * <code>[from, to)</code> of the passed list. The list is reordered in
+     * place.
+     * 
+     * @param nodes the list of nodes
+     * @param from the first node (inclusive) for which a (sub)tree should be
+     *            built
+     * @param to the last node (exclusive)
+     * @param bSize the number of patterns inside the terminal nodes
+     * @param progMon an optional progress monitor, can be <code>null</code>
+     * 
+     * @return a k-d tree for the passed nodes
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    private Node buildTree(final List<TerminalNode<T>> nodes, final int from,
+            final int to, final int bSize, final ExecutionMonitor progMon)
+            throws CanceledExecutionException {
+        final int size = to - from;
+        if (size <= bSize) {
+            m_processedPatterns += size;
+            return new TerminalBucket<T>(nodes.subList(from, to));
+        } else if (size == 0) {
             return null;
         }
 
@@ -186,31 +207,24 @@ private Node buildTree(final List<TerminalNode<T>> nodes, final int bSize,
 
         int maxSpreadKey = -1;
         for (int i = 0; i < m_k; i++) {
-            double curSpread = computeSpread(nodes, i);
+            double curSpread = computeSpread(nodes, from, to, i);
             if (curSpread > maxSpread) {
                 maxSpread = curSpread;
                 maxSpreadKey = i;
             }
         }
 
-        final int temp = maxSpreadKey;
-        // find the median and split the nodes
-        Collections.sort(nodes, new Comparator<TerminalNode<T>>() {
-            public int compare(final TerminalNode<T> o1,
-                    final TerminalNode<T> o2) {
-                return (int)Math.signum(o1.getPattern()[temp]
-                        - o2.getPattern()[temp]);
-            }
-        });
-
-        int mid = nodes.size() / 2;
-        final double median = nodes.get(mid - 1).getPattern()[maxSpreadKey];
-
-        List<TerminalNode<T>> left = nodes.subList(0, mid);
-        List<TerminalNode<T>> right = nodes.subList(mid, nodes.size());
+        // find the median and split the nodes; a selection is sufficient
+        // because the order inside both halves doesn't matter
+        final int mid = from + size / 2;
+        select(nodes, from, to, mid, maxSpreadKey);
+        double median = nodes.get(from).getPattern()[maxSpreadKey];
+        for (int i = from + 1; i < mid; i++) {
+            median = Math.max(median, nodes.get(i).getPattern()[maxSpreadKey]);
+        }
 
-        Node leftNode = buildTree(left, bSize, progMon);
-        Node rightNode = buildTree(right, bSize, progMon);
+        Node leftNode = buildTree(nodes, from, mid, bSize, progMon);
+        Node rightNode = buildTree(nodes, mid, to, bSize, progMon);
 
         if (progMon != null) {
             progMon.checkCanceled();
@@ -223,27 +237,81 @@ public int compare(final TerminalNode<T> o1,
         return newNode;
     }
 
+    /**
+     * Reorders the nodes in the range <code>[from, to)</code> so that the
+     * node at position <code>n</code> is the one that would be there if the
+     * range was sorted by the attribute <code>key</code>, all nodes before
+     * have a smaller or equal and all nodes after a larger or equal value.
+     * 
+     * @param nodes the list of nodes
+     * @param from the first node (inclusive)
+     * @param to the last node (exclusive)
+     * @param n the position of the node to select
+     * @param key the attribute index
+     */
+    private static <T> void select(final List<TerminalNode<T>> nodes,
+            final int from, final int to, final int n, final int key) {
+        int lo = from;
+        int hi = to - 1;
+        while (lo < hi) {
+            // median of three as pivot
+            final int m = (lo + hi) >>> 1;
+            final double pivot = median(nodes.get(lo).getPattern()[key],
+                    nodes.get(m).getPattern()[key],
+                    nodes.get(hi).getPattern()[key]);
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (nodes.get(i).getPattern()[key] < pivot) {
+                    i++;
+                }
+                while (nodes.get(j).getPattern()[key] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    Collections.swap(nodes, i++, j--);
+                }
+            }
+            if (n <= j) {
+                hi = j;
+            } else if (n >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static double median(final double a, final double b,
+            final double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
     /**
      * Computes the spread of the attribute inside the passed list of patterns.
      * 
      * @param nodes the patterns for which the attribute spread should be
      *            computed
+     * @param from the first pattern (inclusive)
+     * @param to the last pattern (exclusive)
      * @param key the current attribute index
      * @return the spread
      */
     private double computeSpread(final List<TerminalNode<T>> nodes,
-            final int key) {
+            final int from, final int to, final int key) {
         double sum = 0;
         double squareSum = 0;
 
-        for (TerminalNode<T> node : nodes) {
-            sum += node.getPattern()[key];
-            squareSum += node.getPattern()[key] * node.getPattern()[key];
+        for (int i = from; i < to; i++) {
+            final double v = nodes.get(i).getPattern()[key];
+            sum += v;
+            squareSum += v * v;
         }
 
-        sum /= nodes.size();
+        final int size = to - from;
+        sum /= size;
 
-        final double variance = squareSum / nodes.size() - sum * sum;
+        final double variance = squareSum / size - sum * sum;
         return variance;
     }
 }
@@ -0,0 +1,208 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.MissingCell;
+import org.knime.core.data.collection.CollectionCellFactory;
+import org.knime.core.data.collection.ListCell;
+import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.data.container.storage.AbstractTableStoreReader.TableStoreCloseableRowIterator;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Tests writing and reading tables in {@link ColumnarTableStoreFormat}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ColumnarTableStoreFormatTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new String[]{"double", "int", "long", "string", "boolean", "list"},
+        new DataType[]{DoubleCell.TYPE, IntCell.TYPE, LongCell.TYPE, StringCell.TYPE, BooleanCell.TYPE,
+            DataType.getType(ListCell.class, IntCell.TYPE)});
+
+    private File m_file;
+
+    /** Creates temp file. */
+    @Before
+    public void setUp() throws Exception {
+        m_file = FileUtil.createTempFile("columnar", ".kcol");
+    }
+
+    /** Deletes temp file. */
+    @After
+    public void tearDown() {
+        m_file.delete();
+    }
+
+    /**
+     * Writes more rows than fit in one chunk, including missing values (with and without error), and reads them back.
+     * @throws Exception ...
+     */
+    @Test
+    public void testWriteAndRead() throws Exception {
+        final ColumnarTableStoreFormat format = new ColumnarTableStoreFormat();
+        assertTrue("Format should accept standard types", format.accepts(SPEC));
+        final int rowCount = ColumnarTableStoreFormat.CHUNK_SIZE * 2 + 17;
+        List<DataRow> rows = createRows(rowCount);
+        AbstractTableStoreWriter writer = format.createWriter(m_file, SPEC, true);
+        for (DataRow r : rows) {
+            writer.writeRow(r);
+        }
+        writer.close();
+        // meta info (the cell class dictionary) is complete only after close
+        NodeSettings settings = new NodeSettings("format");
+        writer.writeMetaInfoAfterWrite(settings);
+        AbstractTableStoreReader reader = format.createReader(m_file, SPEC, settings, null, 10, true);
+        TableStoreCloseableRowIterator it = reader.iterator();
+        for (int i = 0; i < rowCount; i++) {
+            assertTrue("Iterator ends prematurely at row " + i, it.hasNext());
+            DataRow expected = rows.get(i);
+            DataRow actual = it.next();
+            assertEquals(expected.getKey(), actual.getKey());
+            for (int c = 0; c < expected.getNumCells(); c++) {
+                assertEquals("Row " + i + ", column " + c, expected.getCell(c), actual.getCell(c));
+            }
+        }
+        it.performClose();
+        assertFalse("Closed iterator must not have more rows", it.hasNext());
+    }
+
+    /**
+     * Reads only a subset of the columns; all others are skipped and returned as missing.
+     * @throws Exception ...
+     */
+    @Test
+    public void testFilteredRead() throws Exception {
+        final ColumnarTableStoreFormat format = new ColumnarTableStoreFormat();
+        final int rowCount = ColumnarTableStoreFormat.CHUNK_SIZE + 5;
+        List<DataRow> rows = createRows(rowCount);
+        AbstractTableStoreWriter writer = format.createWriter(m_file, SPEC, true);
+        for (DataRow r : rows) {
+            writer.writeRow(r);
+        }
+        writer.close();
+        NodeSettings settings = new NodeSettings("format");
+        writer.writeMetaInfoAfterWrite(settings);
+        AbstractTableStoreReader reader = format.createReader(m_file, SPEC, settings, null, 10, true);
+        final int[] materialized = new int[]{1, 3};
+        TableStoreCloseableRowIterator it = reader.iterator(materialized);
+        for (int i = 0; i < rowCount; i++) {
+            assertTrue("Iterator ends prematurely at row " + i, it.hasNext());
+            DataRow expected = rows.get(i);
+            DataRow actual = it.next();
+            assertEquals(expected.getKey(), actual.getKey());
+            for (int c = 0; c < expected.getNumCells(); c++) {
+                if (Arrays.binarySearch(materialized, c) >= 0) {
+                    assertEquals("Row " + i + ", column " + c, expected.getCell(c), actual.getCell(c));
+                } else {
+                    assertTrue("Row " + i + ", column " + c + " should be skipped",
+                        actual.getCell(c).isMissing());
+                }
+            }
+        }
+        assertFalse(it.hasNext());
+        it.performClose();
+    }
+
+    /** Columns without a defined cell class (e.g. mixed types) can't be written. */
+    @Test
+    public void testAccepts() {
+        final ColumnarTableStoreFormat format = new ColumnarTableStoreFormat();
+        DataType mixedType = DataType.getCommonSuperType(DoubleCell.TYPE, StringCell.TYPE);
+        assertFalse(format.accepts(new DataTableSpec(new String[]{"mixed"}, new DataType[]{mixedType})));
+    }
+
+    private static List<DataRow> createRows(final int count) {
+        Random r = new Random(0);
+        List<DataRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DataCell[] cells = new DataCell[SPEC.getNumColumns()];
+            cells[0] = new DoubleCell(r.nextDouble());
+            cells[1] = new IntCell(r.nextInt());
+            cells[2] = new LongCell(r.nextLong());
+            cells[3] = new StringCell("Row " + i);
+            cells[4] = BooleanCell.get(r.nextBoolean());
+            cells[5] = CollectionCellFactory.createListCell(
+                Arrays.asList(new IntCell(i), DataType.getMissingCell()));
+            if (i % 7 == 0) {
+                cells[i % cells.length] = DataType.getMissingCell();
+            }
+            if (i % 11 == 0) {
+                cells[(i + 3) % cells.length] = new MissingCell("error in row " + i);
+            }
+            rows.add(new DefaultRow("Row" + i, cells));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.internal.ReferencedFile;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Tests that {@link ContainerTable#saveToFile(File, org.knime.core.node.NodeSettingsWO, ExecutionMonitor, boolean)}
+ * hands on the file a table was read from or saved to before
+ * and that tables can be saved over the file they are memory-mapped from.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ContainerTableSaveTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(new String[]{"String", "Int"},
+        new DataType[]{StringCell.TYPE, IntCell.TYPE});
+
+    private File m_tempDir;
+
+    /** Creates temp directory. */
+    @Before
+    public void setUp() throws IOException {
+        m_tempDir = FileUtil.createTempDir(getClass().getSimpleName());
+    }
+
+    /** Deletes temp directory. */
+    @After
+    public void tearDown() {
+        FileUtil.deleteRecursively(m_tempDir);
+    }
+
+    /** A second save reuses the file of the first one. */
+    @Test
+    public void testSaveReusesSavedFile() throws Exception {
+        ContainerTable table = createTable(100);
+        File first = new File(m_tempDir, "first.zip");
+        File second = new File(m_tempDir, "second.zip");
+        table.saveToFile(first, new NodeSettings("table"), new ExecutionMonitor());
+        table.saveToFile(second, new NodeSettings("table"), new ExecutionMonitor());
+        assertArrayEquals("Content of reused file", Files.readAllBytes(first.toPath()),
+            Files.readAllBytes(second.toPath()));
+        assertThat("Rows in reused file", countRows(DataContainer.readFromZip(second)), is(100));
+    }
+
+    /** A table read from file is saved without being extracted. */
+    @Test
+    public void testSaveOfUnreadTableReusesSourceFile() throws Exception {
+        File source = new File(m_tempDir, "source.zip");
+        createTable(50).saveToFile(source, new NodeSettings("table"), new ExecutionMonitor());
+        ContainerTable table =
+            DataContainer.readFromZipDelayed(new ReferencedFile(source), SPEC, -1, new HashMap<>(), null);
+        File target = new File(m_tempDir, "target.zip");
+        table.saveToFile(target, new NodeSettings("table"), new ExecutionMonitor());
+        assertThat("Table extracted on save", table.isOpen(), is(false));
+        assertArrayEquals("Content of reused file", Files.readAllBytes(source.toPath()),
+            Files.readAllBytes(target.toPath()));
+        assertThat("Rows in reused file", countRows(DataContainer.readFromZip(target)), is(50));
+    }
+
+    /** A file that changed since it was saved is not reused, the table is written anew. */
+    @Test
+    public void testChangedFileNotReused() throws Exception {
+        ContainerTable table = createTable(20);
+        File first = new File(m_tempDir, "first.zip");
+        table.saveToFile(first, new NodeSettings("table"), new ExecutionMonitor());
+        try (FileOutputStream out = new FileOutputStream(first, true)) {
+            out.write(new byte[]{1, 2, 3});
+        }
+        File second = new File(m_tempDir, "second.zip");
+        table.saveToFile(second, new NodeSettings("table"), new ExecutionMonitor());
+        assertThat("Changed file reused", Files.isSameFile(first.toPath(), second.toPath()), is(false));
+        assertThat("Rows in written file", countRows(DataContainer.readFromZip(second)), is(20));
+    }
+
+    /** Saving into the location of a hard link does not change the other location. */
+    @Test
+    public void testOverwriteKeepsLinkedFile() throws Exception {
+        File first = new File(m_tempDir, "first.zip");
+        File second = new File(m_tempDir, "second.zip");
+        ContainerTable table = createTable(30);
+        table.saveToFile(first, new NodeSettings("table"), new ExecutionMonitor());
+        table.saveToFile(second, new NodeSettings("table"), new ExecutionMonitor());
+        byte[] firstContent = Files.readAllBytes(first.toPath());
+        createTable(10).saveToFile(second, new NodeSettings("table"), new ExecutionMonitor());
+        assertArrayEquals("Content of first file", firstContent, Files.readAllBytes(first.toPath()));
+        assertThat("Rows in overwritten file", countRows(DataContainer.readFromZip(second)), is(10));
+    }
+
+    /** A table that is memory-mapped from a file can be saved over that file. */
+    @Test
+    public void testSaveOverMappedTable() throws Exception {
+        boolean mapTempCopy = CopyOnAccessTask.mapTempCopy;
+        CopyOnAccessTask.mapTempCopy = false;
+        try {
+            checkSaveOverMappedTable(false);
+        } finally {
+            CopyOnAccessTask.mapTempCopy = mapTempCopy;
+        }
+    }
+
+    /** A table that is read from a mapped temp copy (as done on Windows) doesn't block the file it was read from. */
+    @Test
+    public void testSaveOverMappedTempCopy() throws Exception {
+        boolean mapTempCopy = CopyOnAccessTask.mapTempCopy;
+        CopyOnAccessTask.mapTempCopy = true;
+        try {
+            checkSaveOverMappedTable(true);
+        } finally {
+            CopyOnAccessTask.mapTempCopy = mapTempCopy;
+        }
+    }
+
+    /** Another table saved to the file a table is mapped from (e.g. into a node directory that is written anew). */
+    @Test
+    public void testSaveOverFileMappedByOtherTable() throws Exception {
+        File source = new File(m_tempDir, "data.zip");
+        createTable(40).saveToFile(source, new NodeSettings("table"), new ExecutionMonitor(), true);
+        ContainerTable table =
+            DataContainer.readFromZipDelayed(new ReferencedFile(source), SPEC, -1, new HashMap<>(), null);
+        try {
+            assertThat("Rows in mapped table", countRows(table), is(40));
+            createTable(15).saveToFile(source, new NodeSettings("table"), new ExecutionMonitor(), true);
+            assertThat("Rows in mapped table after save", countRows(table), is(40));
+            assertThat("Rows in saved file", countRows(DataContainer.readFromZip(source)), is(15));
+        } finally {
+            table.clear();
+        }
+    }
+
+    private void checkSaveOverMappedTable(final boolean isTempCopy) throws Exception {
+        File source = new File(m_tempDir, "data.zip");
+        createTable(40).saveToFile(source, new NodeSettings("table"), new ExecutionMonitor(), true);
+        ContainerTable table =
+            DataContainer.readFromZipDelayed(new ReferencedFile(source), SPEC, -1, new HashMap<>(), null);
+        try {
+            assertThat("Rows in mapped table", countRows(table), is(40));
+            File binFile = table.getBuffer().getBinFile();
+            assertThat("Mapped file", MemoryMappedTableFile.get(binFile) != null, is(true));
+            assertThat("Workflow file mapped", binFile.equals(source), is(!isTempCopy));
+            if (isTempCopy) {
+                // node directory is cleared when a dirty node is saved
+                Files.delete(source.toPath());
+            }
+            // different format, the file is written anew
+            table.saveToFile(source, new NodeSettings("table"), new ExecutionMonitor(), false);
+            assertThat("Rows after save", countRows(table), is(40));
+            assertThat("Rows in saved file", countRows(DataContainer.readFromZip(source)), is(40));
+            File other = new File(m_tempDir, "other.zip");
+            table.saveToFile(other, new NodeSettings("table"), new ExecutionMonitor(), true);
+            assertThat("Rows in other file", countRows(DataContainer.readFromZip(other)), is(40));
+        } finally {
+            File binFile = table.getBuffer().getBinFile();
+            table.clear();
+            assertThat("Mapping released", MemoryMappedTableFile.get(binFile) == null, is(true));
+        }
+    }
+
+    private static ContainerTable createTable(final int rowCount) {
+        DataContainer container = new DataContainer(SPEC);
+        for (int i = 0; i < rowCount; i++) {
+            container.addRowToTable(
+                new DefaultRow(RowKey.createRowKey(i), new StringCell("Row " + i), new IntCell(i)));
+        }
+        container.close();
+        return (ContainerTable)container.getTable();
+    }
+
+    private static int countRows(final ContainerTable table) {
+        int count = 0;
+        for (@SuppressWarnings("unused") DataRow row : table) {
+            count++;
+        }
+        return count;
+    }
+}
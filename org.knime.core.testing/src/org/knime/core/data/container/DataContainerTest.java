@@ -54,7 +54,6 @@
 import java.util.Vector;
 
 import org.apache.commons.lang3.RandomStringUtils;
-import org.eclipse.core.runtime.Platform;
 import org.junit.Assume;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
@@ -678,27 +677,50 @@ public void testTableDomain() {
 
     public void testAsyncWriteLimits() throws Exception {
         Assume.assumeTrue(!DataContainer.SYNCHRONOUS_IO);
-        final int limit = Platform.ARCH_X86.equals(Platform.getOSArch()) ? 10 : 50;
-        Assert.assertEquals(limit, DataContainer.MAX_ASYNC_WRITE_THREADS);
         RowIterator infinitIterator = generateRows(Integer.MAX_VALUE);
         List<DataContainer> containerList = new ArrayList<DataContainer>();
+        // more containers than write threads - all of them write asynchronously, the pool size is fixed
+        final int containerCount = 3 * DataContainer.MAX_ASYNC_WRITE_THREADS;
         try {
-            boolean isAsync;
-            do {
-                int activeCount = DataContainer.ASYNC_EXECUTORS.getActiveCount();
+            for (int i = 0; i < containerCount; i++) {
                 DataContainer c = new DataContainer(SPEC_STR_INT_DBL, true, 0);
-                c.addRowToTable(infinitIterator.next());
-                // no activeCount is incremented by one - so order of two lines is important.
                 containerList.add(c);
-                isAsync = activeCount <= limit;
-                assertEquals("unexpected async write behavior, active thread count is " + activeCount,
-                    isAsync, !c.isSynchronousWrite());
-            } while (isAsync);
+                for (int r = 0; r < 3 * DataContainer.ASYNC_CACHE_SIZE; r++) {
+                    c.addRowToTable(infinitIterator.next());
+                }
+                assertFalse("unexpected synchronous write", c.isSynchronousWrite());
+                assertTrue("too many write threads: " + DataContainer.ASYNC_EXECUTORS.getPoolSize(),
+                    DataContainer.ASYNC_EXECUTORS.getPoolSize() <= DataContainer.MAX_ASYNC_WRITE_THREADS);
+            }
         } finally {
             for (DataContainer c : containerList) {
                 c.close();
             }
         }
+        for (DataContainer c : containerList) {
+            assertEquals(3L * DataContainer.ASYNC_CACHE_SIZE, c.size());
+        }
+        assertTrue(DataContainer.getMaxAsyncWriteQueueDepth() > 0);
+    }
+
+    /** Rows are written in order when a single container hands off many batches (blocks on back-pressure). */
+    public void testAsyncWriteBackPressure() throws Exception {
+        Assume.assumeTrue(!DataContainer.SYNCHRONOUS_IO);
+        final int rowCount = 50 * DataContainer.ASYNC_QUEUE_SIZE * DataContainer.ASYNC_CACHE_SIZE + 17;
+        DataContainer c = new DataContainer(SPEC_STR_INT_DBL, true, 0);
+        RowIterator it = generateRows(rowCount);
+        while (it.hasNext()) {
+            c.addRowToTable(it.next());
+        }
+        c.close();
+        DataTable table = c.getTable();
+        RowIterator expected = generateRows(rowCount);
+        for (DataRow row : table) {
+            DataRow expectedRow = expected.next();
+            assertEquals(expectedRow.getKey(), row.getKey());
+            assertEquals(expectedRow.getCell(1), row.getCell(1));
+        }
+        assertFalse(expected.hasNext());
     }
 
     private static DataRow createRandomRow(final int index, final int colCount, final Random rand1,
@@ -0,0 +1,137 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+
+/**
+ * Tests {@link Lz4BlockOutputStream} and {@link Lz4BlockInputStream}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class Lz4BlockStreamTest {
+
+    /** Repetitive data compresses and is restored. */
+    @Test
+    public void testCompressibleData() throws IOException {
+        byte[] data = new byte[300000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)("Row" + (i / 40) + ",some value").charAt(i % 10);
+        }
+        byte[] compressed = compress(data, Lz4BlockOutputStream.DEFAULT_BLOCK_SIZE);
+        assertTrue("Data should be compressed, got " + compressed.length + " bytes",
+            compressed.length < data.length / 4);
+        assertArrayEquals(data, decompress(compressed, data.length));
+    }
+
+    /** Random data is stored as is and restored; odd block sizes and single-byte writes work. */
+    @Test
+    public void testIncompressibleData() throws IOException {
+        Random r = new Random(0);
+        for (int blockSize : new int[]{1, 13, 4096, Lz4BlockOutputStream.DEFAULT_BLOCK_SIZE}) {
+            byte[] data = new byte[r.nextInt(100000)];
+            r.nextBytes(data);
+            assertArrayEquals(data, decompress(compress(data, blockSize), data.length));
+        }
+        assertArrayEquals(new byte[0], decompress(compress(new byte[0], 16), 0));
+    }
+
+    /** All formats round-trip via the codec abstraction. */
+    @Test
+    public void testCompressionFormats() throws IOException {
+        byte[] data = new byte[10000];
+        new Random(1).nextBytes(data);
+        for (CompressionFormat f : CompressionFormat.values()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (OutputStream out = f.wrapOutputStream(bytes)) {
+                out.write(data);
+            }
+            try (InputStream in = f.wrapInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                byte[] result = new byte[data.length];
+                new DataInputStream(in).readFully(result);
+                assertArrayEquals(f.name(), data, result);
+                assertEquals(f.name(), -1, in.read());
+            }
+            assertEquals(f, CompressionFormat.fromString(f.name().toLowerCase()));
+        }
+    }
+
+    private static byte[] compress(final byte[] data, final int blockSize) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new Lz4BlockOutputStream(bytes, blockSize)) {
+            int half = data.length / 2;
+            out.write(data, 0, half);
+            for (int i = half; i < data.length; i++) {
+                out.write(data[i]);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] decompress(final byte[] compressed, final int length) throws IOException {
+        try (InputStream in = new Lz4BlockInputStream(new ByteArrayInputStream(compressed))) {
+            byte[] result = new byte[length];
+            new DataInputStream(in).readFully(result);
+            assertEquals(-1, in.read());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Tests {@link MemoryMappedTableFile}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class MemoryMappedTableFileTest {
+
+    private File m_tempDir;
+
+    /** Creates temp directory. */
+    @Before
+    public void setUp() throws IOException {
+        m_tempDir = FileUtil.createTempDir(getClass().getSimpleName());
+    }
+
+    /** Deletes temp directory. */
+    @After
+    public void tearDown() {
+        FileUtil.deleteRecursively(m_tempDir);
+    }
+
+    /** A stored entry surrounded by other entries is mapped and read correctly by independent streams. */
+    @Test
+    public void testMapStoredEntry() throws IOException {
+        byte[] data = createData(100000, 1);
+        File zipFile = new File(m_tempDir, "data.zip");
+        try (ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            zipOut.setComment("some comment");
+            addEntry(zipOut, "blobs/blob1", createData(5000, 2), false);
+            addEntry(zipOut, Buffer.ZIP_ENTRY_DATA, data, true);
+            addEntry(zipOut, Buffer.ZIP_ENTRY_META, createData(300, 3), false);
+        }
+        MemoryMappedTableFile mappedFile = MemoryMappedTableFile.map(zipFile, Buffer.ZIP_ENTRY_DATA);
+        assertNotNull("Stored entry should be mapped", mappedFile);
+        assertEquals(data.length, mappedFile.getLength());
+        try (InputStream in1 = mappedFile.openInputStream(); InputStream in2 = mappedFile.openInputStream()) {
+            assertEquals(1000, in1.skip(1000));
+            assertEquals(data[1000] & 0xFF, in1.read());
+            assertArrayEquals(data, readFully(in2));
+        }
+        assertNull("No such entry", MemoryMappedTableFile.map(zipFile, "data.bi"));
+    }
+
+    /** Compressed entries are not mapped. */
+    @Test
+    public void testDeflatedEntryNotMapped() throws IOException {
+        File zipFile = new File(m_tempDir, "data.zip");
+        try (ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            addEntry(zipOut, Buffer.ZIP_ENTRY_DATA, createData(1000, 1), false);
+        }
+        assertNull(MemoryMappedTableFile.map(zipFile, Buffer.ZIP_ENTRY_DATA));
+    }
+
+    /** Registered files are served by {@link OffHeapRowCache#openInputStream(File)}. */
+    @Test
+    public void testRegister() throws IOException {
+        byte[] data = createData(2000, 4);
+        File zipFile = new File(m_tempDir, "data.zip");
+        try (ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            addEntry(zipOut, Buffer.ZIP_ENTRY_DATA, data, true);
+        }
+        MemoryMappedTableFile mappedFile = MemoryMappedTableFile.map(zipFile, Buffer.ZIP_ENTRY_DATA);
+        MemoryMappedTableFile.register(mappedFile);
+        try {
+            try (InputStream in = new OffHeapRowCache(0).openInputStream(zipFile)) {
+                assertArrayEquals(data, readFully(in));
+            }
+        } finally {
+            MemoryMappedTableFile.unregister(zipFile);
+        }
+        try (InputStream in = new OffHeapRowCache(0).openInputStream(zipFile)) {
+            assertTrue("Expected raw zip file content", readFully(in).length > data.length);
+        }
+    }
+
+    /** Mappings of files in a directory that is cleared are detached and keep reading the original data. */
+    @Test
+    public void testCopyMappingsIn() throws IOException {
+        byte[] data = createData(3000, 5);
+        File nodeDir = new File(m_tempDir, "node");
+        File zipFile = new File(nodeDir, "port_1/data.zip");
+        zipFile.getParentFile().mkdirs();
+        try (ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            addEntry(zipOut, Buffer.ZIP_ENTRY_DATA, data, true);
+        }
+        MemoryMappedTableFile mappedFile = MemoryMappedTableFile.map(zipFile, Buffer.ZIP_ENTRY_DATA);
+        MemoryMappedTableFile.register(mappedFile);
+        try {
+            MemoryMappedTableFile.copyMappingsIn(new File(m_tempDir, "other"));
+            assertSame("Mapping outside the directory not to be touched", mappedFile,
+                MemoryMappedTableFile.get(zipFile));
+            MemoryMappedTableFile.copyMappingsIn(nodeDir);
+            assertNotSame("Mapping expected to be detached", mappedFile, MemoryMappedTableFile.get(zipFile));
+
+            // the node directory is cleared and written anew
+            FileUtil.deleteRecursively(nodeDir);
+            zipFile.getParentFile().mkdirs();
+            try (ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(zipFile))) {
+                addEntry(zipOut, Buffer.ZIP_ENTRY_DATA, createData(3000, 6), true);
+            }
+            try (InputStream in = new OffHeapRowCache(0).openInputStream(zipFile)) {
+                assertArrayEquals(data, readFully(in));
+            }
+        } finally {
+            MemoryMappedTableFile.unregister(zipFile);
+        }
+        assertNull(MemoryMappedTableFile.get(zipFile));
+    }
+
+    private static void addEntry(final ZipOutputStream zipOut, final String name, final byte[] data,
+        final boolean stored) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        if (stored) {
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(data.length);
+            entry.setCompressedSize(data.length);
+            entry.setCrc(crc.getValue());
+        }
+        zipOut.putNextEntry(entry);
+        zipOut.write(data);
+        zipOut.closeEntry();
+    }
+
+    private static byte[] createData(final int length, final long seed) {
+        byte[] data = new byte[length];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] b = new byte[8192];
+        int read;
+        while ((read = in.read(b)) >= 0) {
+            out.write(b, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
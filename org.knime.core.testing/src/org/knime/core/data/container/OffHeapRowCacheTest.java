@@ -0,0 +1,274 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.OffHeapRowCache.ByteBuffersInputStream;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Tests {@link OffHeapRowCache}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class OffHeapRowCacheTest {
+
+    private File m_tempDir;
+
+    /** Creates temp directory. */
+    @Before
+    public void setUp() throws IOException {
+        m_tempDir = FileUtil.createTempDir(getClass().getSimpleName());
+    }
+
+    /** Deletes temp directory. */
+    @After
+    public void tearDown() {
+        FileUtil.deleteRecursively(m_tempDir);
+    }
+
+    /** Cached content is identical to the file content, also across chunk boundaries. */
+    @Test
+    public void testReadFromCache() throws IOException {
+        OffHeapRowCache cache = new OffHeapRowCache(4L * OffHeapRowCache.CHUNK_SIZE);
+        byte[] data = createData(OffHeapRowCache.CHUNK_SIZE + 12345, 1);
+        File file = writeFile("data.bin", data);
+        assertTrue("File should be cached", cache.put(file));
+        assertEquals(data.length, cache.getUsedBytes());
+        // modify file to make sure the cache is read
+        Files.write(file.toPath(), new byte[data.length]);
+        try (InputStream in = cache.openInputStream(file)) {
+            assertTrue(in instanceof ByteBuffersInputStream);
+            assertArrayEquals(data, readFully(in));
+        }
+        // two independent streams
+        try (InputStream in1 = cache.openInputStream(file); InputStream in2 = cache.openInputStream(file)) {
+            assertEquals(OffHeapRowCache.CHUNK_SIZE - 10, in1.skip(OffHeapRowCache.CHUNK_SIZE - 10));
+            assertEquals(data[OffHeapRowCache.CHUNK_SIZE - 10] & 0xFF, in1.read());
+            assertEquals(data[0] & 0xFF, in2.read());
+            byte[] b = new byte[20];
+            int read = 0;
+            while (read < b.length) {
+                read += in1.read(b, read, b.length - read);
+            }
+            for (int i = 0; i < b.length; i++) {
+                assertEquals(data[OffHeapRowCache.CHUNK_SIZE - 9 + i], b[i]);
+            }
+        }
+        cache.remove(file);
+        assertFalse(cache.contains(file));
+        assertEquals(0, cache.getUsedBytes());
+        try (InputStream in = cache.openInputStream(file)) {
+            assertArrayEquals(new byte[data.length], readFully(in));
+        }
+    }
+
+    /** Least recently used entries are evicted when the budget is exceeded. */
+    @Test
+    public void testBudget() throws IOException {
+        OffHeapRowCache cache = new OffHeapRowCache(25000);
+        File file1 = writeFile("1.bin", createData(10000, 1));
+        File file2 = writeFile("2.bin", createData(10000, 2));
+        File file3 = writeFile("3.bin", createData(10000, 3));
+        File tooLarge = writeFile("4.bin", createData(30000, 4));
+        assertTrue(cache.put(file1));
+        assertTrue(cache.put(file2));
+        // access file1, file2 is now the eldest
+        cache.openInputStream(file1).close();
+        assertTrue(cache.put(file3));
+        assertTrue(cache.contains(file1));
+        assertFalse(cache.contains(file2));
+        assertTrue(cache.contains(file3));
+        assertEquals(20000, cache.getUsedBytes());
+        assertFalse("File larger than budget must not be cached", cache.put(tooLarge));
+        assertEquals(20000, cache.getUsedBytes());
+    }
+
+    /** A budget of 0 disables the cache. */
+    @Test
+    public void testDisabled() throws IOException {
+        OffHeapRowCache cache = new OffHeapRowCache(0);
+        File file = writeFile("data.bin", createData(100, 1));
+        assertFalse(cache.put(file));
+        try (InputStream in = cache.openInputStream(file)) {
+            assertFalse(in instanceof ByteBuffersInputStream);
+        }
+    }
+
+    /** A memory alert evicts all entries. */
+    @Test
+    public void testEvictAll() throws IOException {
+        OffHeapRowCache cache = new OffHeapRowCache(25000);
+        File file1 = writeFile("1.bin", createData(10000, 1));
+        File file2 = writeFile("2.bin", createData(5000, 2));
+        assertTrue(cache.put(file1));
+        assertTrue(cache.put(file2));
+        assertEquals(15000, cache.evictAll());
+        assertFalse(cache.contains(file1));
+        assertFalse(cache.contains(file2));
+        assertEquals(0, cache.getUsedBytes());
+        try (InputStream in = cache.openInputStream(file1)) {
+            assertFalse(in instanceof ByteBuffersInputStream);
+        }
+    }
+
+    /** A file that is removed while it is copied into the cache is not published and its memory is released. */
+    @Test
+    public void testRemoveWhileCopying() throws IOException {
+        OffHeapRowCache cache = new OffHeapRowCache(25000);
+        File file = writeFile("1.bin", createData(10000, 1));
+        OffHeapRowCache.beforeCopyHook = f -> {
+            assertEquals(10000, cache.getUsedBytes());
+            assertFalse("Concurrent put must not copy the file again", cache.put(f));
+            cache.remove(f);
+        };
+        try {
+            assertFalse("Removed file must not be cached", cache.put(file));
+        } finally {
+            OffHeapRowCache.beforeCopyHook = f -> {
+            };
+        }
+        assertFalse(cache.contains(file));
+        assertEquals(0, cache.getUsedBytes());
+        // a later put caches the file again
+        assertTrue(cache.put(file));
+        assertEquals(10000, cache.getUsedBytes());
+    }
+
+    /** A memory alert while a file is copied discards the copy. */
+    @Test
+    public void testEvictAllWhileCopying() throws IOException {
+        OffHeapRowCache cache = new OffHeapRowCache(25000);
+        File file = writeFile("1.bin", createData(10000, 1));
+        OffHeapRowCache.beforeCopyHook = f -> assertEquals(10000, cache.evictAll());
+        try {
+            assertFalse("Evicted file must not be cached", cache.put(file));
+        } finally {
+            OffHeapRowCache.beforeCopyHook = f -> {
+            };
+        }
+        assertFalse(cache.contains(file));
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    /** A table that was meant to be kept in memory is only cached when iterated a second time. */
+    @Test
+    public void testTableCachedOnSecondIteration() {
+        Assume.assumeTrue("Off-heap cache disabled", OffHeapRowCache.getInstance().getBudget() > 0);
+        Assume.assumeFalse("Memory is low", MemoryAlertSystem.getInstance().isMemoryLow());
+        DataTableSpec spec = new DataTableSpec(new String[]{"Int"}, new DataType[]{IntCell.TYPE});
+        DataContainer container = new DataContainer(spec, true, 10, true);
+        for (int i = 0; i < 1000; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey(i), new IntCell(i)));
+        }
+        container.close();
+        ContainerTable table = (ContainerTable)container.getTable();
+        File binFile = table.getBuffer().getBinFile();
+        try {
+            assertFalse("Cached on close", OffHeapRowCache.getInstance().contains(binFile));
+            iterate(table);
+            assertFalse("Cached on first iteration", OffHeapRowCache.getInstance().contains(binFile));
+            iterate(table);
+            assertTrue("Not cached on second iteration", OffHeapRowCache.getInstance().contains(binFile));
+        } finally {
+            table.clear();
+        }
+        assertFalse("Cached after clear", OffHeapRowCache.getInstance().contains(binFile));
+    }
+
+    private static void iterate(final ContainerTable table) {
+        try (CloseableRowIterator it = table.iterator()) {
+            while (it.hasNext()) {
+                it.next();
+            }
+        }
+    }
+
+    private File writeFile(final String name, final byte[] data) throws IOException {
+        File file = new File(m_tempDir, name);
+        Files.write(file.toPath(), data);
+        return file;
+    }
+
+    private static byte[] createData(final int length, final long seed) {
+        byte[] data = new byte[length];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] b = new byte[8192];
+        int read;
+        while ((read = in.read(b)) >= 0) {
+            out.write(b, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests the partitioned computation of new columns in {@link RearrangeColumnsTable}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RearrangeColumnsTablePartitionTest {
+
+    private static final int ROW_COUNT = 10000;
+
+    private ExecutionContext m_exec;
+
+    private BufferedDataTable m_table;
+
+    /**
+     * Creates a table with one int column.
+     * @throws Exception ...
+     */
+    @SuppressWarnings("rawtypes")
+    @Before
+    public void setUp() throws Exception {
+        @SuppressWarnings("unchecked")
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+        BufferedDataContainer container = m_exec.createDataContainer(
+            new DataTableSpec(new DataColumnSpecCreator("value", IntCell.TYPE).createSpec()));
+        for (int i = 0; i < ROW_COUNT; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        container.close();
+        m_table = container.getTable();
+    }
+
+    /**
+     * Partitions process disjoint rows with their own factory, the output has the input order.
+     * @throws Exception ...
+     */
+    @Test
+    public void testPartitionedOutputKeepsInputOrder() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ColumnRearranger[] rearrangers = new ColumnRearranger[4];
+        for (int p = 0; p < rearrangers.length; p++) {
+            rearrangers[p] = createRearranger(calls);
+        }
+        BufferedDataTable out = m_exec.createColumnRearrangeTable(m_table, rearrangers, m_exec);
+        assertThat("Number of rows", out.size(), is((long)ROW_COUNT));
+        assertThat("Number of factory calls", calls.get(), is(ROW_COUNT));
+        int i = 0;
+        for (DataRow row : out) {
+            assertThat("Row key at " + i, row.getKey(), is(RowKey.createRowKey((long)i)));
+            assertThat("New cell at " + i, ((IntValue)row.getCell(1)).getIntValue(), is(2 * i));
+            i++;
+        }
+        assertThat("Number of iterated rows", i, is(ROW_COUNT));
+    }
+
+    /**
+     * Partitions must not share a cell factory.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSharedFactoryIsRejected() throws Exception {
+        ColumnRearranger shared = createRearranger(new AtomicInteger());
+        m_exec.createColumnRearrangeTable(m_table, new ColumnRearranger[]{shared, shared}, m_exec);
+    }
+
+    /** Appends twice the value; fails if the factory is called from two threads at the same time. */
+    private ColumnRearranger createRearranger(final AtomicInteger calls) {
+        ColumnRearranger rearranger = new ColumnRearranger(m_table.getDataTableSpec());
+        rearranger.append(new SingleCellFactory(new DataColumnSpecCreator("twice", IntCell.TYPE).createSpec()) {
+            private final AtomicInteger m_active = new AtomicInteger();
+
+            @Override
+            public DataCell getCell(final DataRow row) {
+                assertThat("Concurrent calls of one factory", m_active.incrementAndGet(), is(1));
+                calls.incrementAndGet();
+                DataCell result = new IntCell(2 * ((IntValue)row.getCell(0)).getIntValue());
+                m_active.decrementAndGet();
+                return result;
+            }
+        });
+        return rearranger;
+    }
+}
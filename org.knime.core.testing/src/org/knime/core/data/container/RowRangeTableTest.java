@@ -0,0 +1,220 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests {@link RowRangeTable}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RowRangeTableTest {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new DataColumnSpecCreator("value", IntCell.TYPE).createSpec());
+
+    private ExecutionContext m_exec;
+
+    private BufferedDataTable m_table;
+
+    private List<DataRow> m_rows;
+
+    /**
+     * Creates a table with 100 rows, held in memory.
+     * @throws Exception ...
+     */
+    @SuppressWarnings("rawtypes")
+    @Before
+    public void setUp() throws Exception {
+        @SuppressWarnings("unchecked")
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, new HashMap<Integer, ContainerTable>());
+        m_table = createTable(m_exec.createDataContainer(SPEC));
+        m_rows = new ArrayList<DataRow>();
+        for (DataRow row : m_table) {
+            m_rows.add(row);
+        }
+    }
+
+    /** Chunks of a table in memory are views that return the rows of the table, chunks of chunks refer to the
+     * original table.
+     * @throws Exception ...
+     */
+    @Test
+    public void testRanges() throws Exception {
+        BufferedDataTable[] ranges = split(m_table, 0, 10, 25, 99, 100);
+        assertRange(ranges[0], 0, 10, m_rows);
+        assertRange(ranges[1], 10, 25, m_rows);
+        assertRange(ranges[2], 25, 99, m_rows);
+        assertRange(ranges[3], 99, 100, m_rows);
+        assertRange(ranges[4], 100, 100, m_rows);
+        BufferedDataTable range = split(m_table, 0, 20, 80)[1];
+        ranges = split(range, 5, 15);
+        assertRange(ranges[0], 25, 35, m_rows);
+        assertRange(ranges[1], 35, 80, m_rows);
+    }
+
+    /** Chunks of a table on disk are copies.
+     * @throws Exception ...
+     */
+    @Test
+    public void testCopiedRanges() throws Exception {
+        BufferedDataTable diskTable = createTable(m_exec.createDataContainer(SPEC, true, 0));
+        BufferedDataTable[] ranges = split(diskTable, 10, 25, 99);
+        assertRange(ranges[0], 10, 25, null);
+        assertRange(ranges[1], 25, 99, null);
+        assertRange(ranges[2], 99, 100, null);
+    }
+
+    /** Container tables start an iteration at any row, without reading the preceding rows if held in memory. */
+    @Test
+    public void testIterationFromRow() {
+        DataContainer inMemory = new DataContainer(SPEC, true, Integer.MAX_VALUE);
+        DataContainer onDisk = new DataContainer(SPEC, true, 0);
+        for (int i = 0; i < 100; i++) {
+            DataRow row = new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i));
+            inMemory.addRowToTable(row);
+            onDisk.addRowToTable(row);
+        }
+        inMemory.close();
+        onDisk.close();
+        ContainerTable inMemoryTable = (ContainerTable)inMemory.getTable();
+        ContainerTable onDiskTable = (ContainerTable)onDisk.getTable();
+        try {
+            assertThat("Rows in memory", inMemoryTable.isInMemory(), is(true));
+            assertThat("Rows in memory", onDiskTable.isInMemory(), is(false));
+            for (ContainerTable table : new ContainerTable[]{inMemoryTable, onDiskTable}) {
+                try (CloseableRowIterator it = table.iterator(null, 40)) {
+                    for (int i = 40; i < 100; i++) {
+                        assertThat("Row key", it.next().getKey(), is(RowKey.createRowKey((long)i)));
+                    }
+                    assertThat("More rows", it.hasNext(), is(false));
+                }
+                try (CloseableRowIterator it = table.iterator(null, 100)) {
+                    assertThat("More rows", it.hasNext(), is(false));
+                }
+            }
+        } finally {
+            inMemoryTable.clear();
+            onDiskTable.clear();
+        }
+    }
+
+    /** Ranges outside of the table are rejected.
+     * @throws Exception ...
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRange() throws Exception {
+        split(m_table, 50, 101);
+    }
+
+    /** Ranges in descending order are rejected.
+     * @throws Exception ...
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDescendingRanges() throws Exception {
+        split(m_table, 50, 40);
+    }
+
+    private BufferedDataTable[] split(final BufferedDataTable table, final long... fromRows) throws Exception {
+        return m_exec.createRowRangeTables(table, fromRows, new ExecutionMonitor());
+    }
+
+    private static BufferedDataTable createTable(final BufferedDataContainer container) {
+        for (int i = 0; i < 100; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    /** @param rows the rows of the referenced table if the range is a view, <code>null</code> for a copy */
+    private static void assertRange(final BufferedDataTable range, final int fromRow, final int toRow,
+        final List<DataRow> rows) {
+        assertThat("Row count", range.size(), is((long)(toRow - fromRow)));
+        int expected = fromRow;
+        for (DataRow row : range) {
+            assertThat("Row key", row.getKey(), is(RowKey.createRowKey((long)expected)));
+            assertThat("Value", ((IntCell)row.getCell(0)).getIntValue(), is(expected));
+            if (rows != null) {
+                assertThat("Row not taken from the referenced table", row, is(sameInstance(rows.get(expected))));
+            }
+            expected++;
+        }
+        assertThat("Number of iterated rows", expected, is(toRow));
+    }
+}
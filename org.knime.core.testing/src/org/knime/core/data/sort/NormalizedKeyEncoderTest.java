@@ -0,0 +1,192 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.collection.ListCell;
+
+/**
+ * Tests {@link NormalizedKeyEncoder}: different keys must order rows as the column comparators do.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class NormalizedKeyEncoderTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new String[]{"int", "long", "double", "boolean", "string"},
+        new DataType[]{IntCell.TYPE, LongCell.TYPE, DoubleCell.TYPE, BooleanCell.TYPE, StringCell.TYPE});
+
+    private static final double[] DOUBLES =
+        {Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0, 2.0, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN};
+
+    /** Keys agree with the comparators for all sort orders and missing value handlings. */
+    @Test
+    public void testConsistentWithComparators() {
+        List<DataRow> rows = createRows(300);
+        int[][] sortColumns = {{0, 1}, {2, 4}, {3, 0, 2}, {4}, {-1, 0}, {1, 2, 3, 0}};
+        Random r = new Random(0);
+        for (int[] indices : sortColumns) {
+            for (int run = 0; run < 4; run++) {
+                boolean[] ascending = new boolean[indices.length];
+                for (int i = 0; i < ascending.length; i++) {
+                    ascending[i] = r.nextBoolean();
+                }
+                boolean missingsToEnd = run % 2 == 0;
+                for (int keyLength : new int[]{3, 8, NormalizedKeyEncoder.DEFAULT_KEY_LENGTH}) {
+                    NormalizedKeyEncoder encoder =
+                        NormalizedKeyEncoder.create(SPEC, indices, ascending, missingsToEnd, keyLength);
+                    assertNotNull(encoder);
+                    Comparator<DataRow> reference = createReferenceComparator(indices, ascending, missingsToEnd);
+                    long[][] keys = new long[rows.size()][];
+                    for (int i = 0; i < keys.length; i++) {
+                        keys[i] = encoder.encode(rows.get(i));
+                    }
+                    for (int i = 0; i < keys.length; i++) {
+                        for (int j = 0; j < keys.length; j++) {
+                            int keyCmp = NormalizedKeyEncoder.compare(keys[i], keys[j]);
+                            if (keyCmp != 0) {
+                                int rowCmp = reference.compare(rows.get(i), rows.get(j));
+                                assertEquals(rows.get(i) + " vs. " + rows.get(j), Integer.signum(rowCmp),
+                                    Integer.signum(keyCmp));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Unsupported first sort column yields no encoder. */
+    @Test
+    public void testUnsupportedColumn() {
+        DataTableSpec spec = new DataTableSpec(new String[]{"list"},
+            new DataType[]{DataType.getType(ListCell.class, IntCell.TYPE)});
+        assertNull(NormalizedKeyEncoder.create(spec, new int[]{0}, new boolean[]{true}, false,
+            NormalizedKeyEncoder.DEFAULT_KEY_LENGTH));
+        NormalizedKeyEncoder encoder = NormalizedKeyEncoder.create(SPEC, new int[]{0}, new boolean[]{true}, false,
+            NormalizedKeyEncoder.DEFAULT_KEY_LENGTH);
+        assertTrue(NormalizedKeyEncoder.compare(encoder.encode(row("a", 1)), encoder.encode(row("b", 2))) < 0);
+    }
+
+    private static DataRow row(final String key, final int value) {
+        return new DefaultRow(key, new IntCell(value), new LongCell(value), new DoubleCell(value),
+            BooleanCell.get(value > 0), new StringCell(key));
+    }
+
+    private static List<DataRow> createRows(final int count) {
+        Random r = new Random(1);
+        String[] strings = {"", "a", "ab", "abc", "abcdefghijklmnopq", "abcdefghijklmnopr", "b", "\u00e4", "\uffff"};
+        List<DataRow> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            DataCell[] cells = new DataCell[]{
+                new IntCell(r.nextInt(5) - 2 + (r.nextInt(10) == 0 ? Integer.MIN_VALUE : 0)),
+                new LongCell(r.nextInt(5) - 2L + (r.nextInt(10) == 0 ? Long.MAX_VALUE : 0)),
+                new DoubleCell(DOUBLES[r.nextInt(DOUBLES.length)]),
+                BooleanCell.get(r.nextBoolean()),
+                new StringCell(strings[r.nextInt(strings.length)])};
+            if (r.nextInt(5) == 0) {
+                cells[r.nextInt(cells.length)] = DataType.getMissingCell();
+            }
+            rows.add(new DefaultRow(strings[r.nextInt(strings.length)] + i, cells));
+        }
+        return rows;
+    }
+
+    /** Same semantics as the row comparator used in the {@link AbstractTableSorter}. */
+    private static Comparator<DataRow> createReferenceComparator(final int[] indices, final boolean[] ascending,
+        final boolean missingsToEnd) {
+        return (r1, r2) -> {
+            for (int i = 0; i < indices.length; i++) {
+                int cmp;
+                if (indices[i] < 0) {
+                    cmp = r1.getKey().getString().compareTo(r2.getKey().getString());
+                } else {
+                    DataCell c1 = r1.getCell(indices[i]);
+                    DataCell c2 = r2.getCell(indices[i]);
+                    if (missingsToEnd && (c1.isMissing() || c2.isMissing())) {
+                        if (c1.isMissing() && c2.isMissing()) {
+                            cmp = 0;
+                        } else if (c1.isMissing()) {
+                            cmp = ascending[i] ? 1 : -1;
+                        } else {
+                            cmp = ascending[i] ? -1 : 1;
+                        }
+                    } else {
+                        DataValueComparator comp = SPEC.getColumnSpec(indices[i]).getType().getComparator();
+                        cmp = comp.compare(c1, c2);
+                    }
+                }
+                if (cmp != 0) {
+                    return ascending[i] ? cmp : -cmp;
+                }
+            }
+            return 0;
+        };
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.exec.streaming;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.exec.streaming.RowChannel.Batch;
+import org.knime.core.node.streamable.RowOutput.OutputClosedException;
+
+/**
+ * Tests the channels and outputs used by the streaming job manager.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RowSequencerTest {
+
+    /**
+     * Several partitions read batches from one channel and filter the rows; the output must contain the remaining
+     * rows in the order of the input.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test(timeout = 60000)
+    public void testPartitionedOutputKeepsInputOrder() throws Exception {
+        final int nrRows = 10000;
+        final int nrPartitions = 4;
+        final StreamedRowOutput producer = createOutput(7);
+        final RowChannel input = producer.addChannel(3, nrPartitions, null);
+        final StreamedRowOutput merged = createOutput(5);
+        final RowChannel result = merged.addChannel(2, 1, null);
+        final RowSequencer sequencer = new RowSequencer(merged);
+
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final Future<?> producerFuture = executor.submit(() -> {
+                for (int i = 0; i < nrRows; i++) {
+                    producer.push(new DefaultRow("Row" + i, new IntCell(i)));
+                }
+                producer.close();
+                return null;
+            });
+            final List<Future<?>> partitions = new ArrayList<Future<?>>();
+            for (int p = 0; p < nrPartitions; p++) {
+                final int partition = p;
+                partitions.add(executor.submit(() -> {
+                    final ChannelRowInput in = new ChannelRowInput(null, input);
+                    final SequencedRowOutput out = new SequencedRowOutput(sequencer);
+                    in.addSequencedOutput(out);
+                    DataRow row;
+                    while ((row = in.poll()) != null) {
+                        if (getIndex(row) % 3 != 0) {
+                            out.push(row);
+                        }
+                        if ((getIndex(row) + partition) % 97 == 0) {
+                            Thread.sleep(1);
+                        }
+                    }
+                    in.close();
+                    out.close();
+                    return null;
+                }));
+            }
+            final Future<List<DataRow>> consumer = executor.submit(() -> readAll(result));
+            producerFuture.get();
+            for (Future<?> partition : partitions) {
+                partition.get();
+            }
+            sequencer.close();
+
+            final List<DataRow> rows = consumer.get();
+            int expected = 0;
+            for (DataRow row : rows) {
+                while (expected % 3 == 0) {
+                    expected++;
+                }
+                assertThat("Unexpected row", getIndex(row), is(expected));
+                expected++;
+            }
+            assertThat("Unexpected number of rows", rows.size(), is(nrRows - (nrRows + 2) / 3));
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * A producer gets an {@link OutputClosedException} once its only consumer has closed the input.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test(timeout = 60000)
+    public void testClosedConsumerStopsProducer() throws Exception {
+        final StreamedRowOutput producer = createOutput(10);
+        final RowChannel channel = producer.addChannel(2, 1, null);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Integer> producerFuture = executor.submit(() -> {
+                int i = 0;
+                try {
+                    while (i < Integer.MAX_VALUE) {
+                        producer.push(new DefaultRow("Row" + i, new IntCell(i)));
+                        i++;
+                    }
+                    fail("Producer wasn't stopped");
+                } catch (OutputClosedException e) {
+                    // expected
+                }
+                return i;
+            });
+            final ChannelRowInput in = new ChannelRowInput(null, channel);
+            for (int i = 0; i < 25; i++) {
+                assertThat("Unexpected row", getIndex(in.poll()), is(i));
+            }
+            in.close();
+            assertThat("Producer didn't stop", producerFuture.get() < 1000, is(true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * An output without any consumer accepts all rows.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testUnconnectedOutputAcceptsRows() throws Exception {
+        final StreamedRowOutput output = createOutput(10);
+        for (int i = 0; i < 1000; i++) {
+            output.push(new DefaultRow("Row" + i, new IntCell(i)));
+        }
+        output.close();
+        assertThat("Output not closed", output.isClosed(), is(true));
+    }
+
+    /**
+     * A channel with a spill spec doesn't block the producer if it is full; the rows written to disk are read in the
+     * order they were pushed, also if reading and writing alternate.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test(timeout = 60000)
+    public void testSpillingChannelKeepsOrder() throws Exception {
+        final DataTableSpec spec = new DataTableSpec(new String[]{"Int"}, new DataType[]{IntCell.TYPE});
+        final StreamedRowOutput producer = createOutput(7);
+        final RowChannel channel = producer.addChannel(2, 1, spec);
+        final ChannelRowInput in = new ChannelRowInput(spec, channel);
+        int next = 0;
+        for (int i = 0; i < 500; i++) {
+            producer.push(new DefaultRow("Row" + i, new IntCell(i)));
+        }
+        for (; next < 100; next++) {
+            assertRow(in.poll(), next);
+        }
+        for (int i = 500; i < 2000; i++) {
+            producer.push(new DefaultRow("Row" + i, new IntCell(i)));
+        }
+        producer.close();
+        for (; next < 2000; next++) {
+            assertRow(in.poll(), next);
+        }
+        assertThat("Unexpected end of the input", in.poll(), is(nullValue()));
+        in.close();
+    }
+
+    private static StreamedRowOutput createOutput(final int batchSize) {
+        final StreamedRowOutput output = new StreamedRowOutput(batchSize);
+        output.setSiblings(Collections.singletonList(output));
+        return output;
+    }
+
+    private static List<DataRow> readAll(final RowChannel channel) throws InterruptedException {
+        final List<DataRow> rows = new ArrayList<DataRow>();
+        Batch batch;
+        while ((batch = channel.take()).getRows() != null) {
+            Collections.addAll(rows, batch.getRows());
+        }
+        return rows;
+    }
+
+    private static void assertRow(final DataRow row, final int index) {
+        assertThat("Unexpected row", getIndex(row), is(index));
+        assertThat("Unexpected cell", ((IntCell)row.getCell(0)).getIntValue(), is(index));
+    }
+
+    private static int getIndex(final DataRow row) {
+        return Integer.parseInt(row.getKey().getString().substring(3));
+    }
+}
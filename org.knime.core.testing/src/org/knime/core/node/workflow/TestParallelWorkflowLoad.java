@@ -0,0 +1,200 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.knime.core.node.workflow.InternalNodeContainerState.EXECUTED;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.workflow.WorkflowPersistor.LoadResultEntry.LoadResultEntryType;
+import org.knime.core.node.workflow.WorkflowPersistor.WorkflowLoadResult;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Loads a workflow with independent branches once node after node and once concurrently
+ * ({@link KNIMEConstants#PROPERTY_DISABLE_PARALLEL_WORKFLOW_LOAD}), both must give the same nodes, also if a node
+ * fails to load. Uses the workflow of {@link TestParallelWorkflowSave}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TestParallelWorkflowLoad extends WorkflowTestCase {
+
+    private File m_workflowDir;
+
+    private String m_disableParallelLoadProperty;
+
+    @Before
+    public void setUp() throws Exception {
+        m_disableParallelLoadProperty = System.getProperty(KNIMEConstants.PROPERTY_DISABLE_PARALLEL_WORKFLOW_LOAD);
+        m_workflowDir = FileUtil.createTempDir(getClass().getSimpleName() + "-tempTestInstance");
+        FileUtil.copyDir(getWorkflowDirectory("testParallelWorkflowSave"), m_workflowDir);
+    }
+
+    /** Executes and saves the workflow, then loads the executed nodes sequentially and concurrently.
+     * @throws Exception ... */
+    @Test
+    public void testLoadExecutedSequentialAndParallel() throws Exception {
+        loadAndSetWorkflow(m_workflowDir);
+        executeAllAndWait();
+        checkState(getManager(), EXECUTED);
+        getManager().save(m_workflowDir, new ExecutionMonitor(), true);
+        closeWorkflow();
+
+        LoadedWorkflow sequential = load(true);
+        checkState(getManager(), EXECUTED);
+        closeWorkflow();
+        LoadedWorkflow parallel = load(false);
+        checkState(getManager(), EXECUTED);
+        closeWorkflow();
+
+        assertEquals("Load result type", LoadResultEntryType.Ok, sequential.m_loadResultType);
+        sequential.assertSame(parallel);
+    }
+
+    /** A node that can't be loaded must be reset (and its successors) in the concurrent load, too.
+     * @throws Exception ... */
+    @Test
+    public void testLoadFailingNodeSequentialAndParallel() throws Exception {
+        // the workflow is stored in the old format (pre 2.8), which reads the node settings in the load step that
+        // is run concurrently
+        Files.write(new File(m_workflowDir, "Column Filter (#5)/node.xml").toPath(),
+            "no xml".getBytes(StandardCharsets.UTF_8));
+
+        LoadedWorkflow sequential = load(true);
+        closeWorkflow();
+        LoadedWorkflow parallel = load(false);
+        closeWorkflow();
+
+        assertTrue("Load result type " + parallel.m_loadResultType,
+            parallel.m_loadResultType != LoadResultEntryType.Ok);
+        assertTrue("Load result " + parallel.m_loadResult,
+            parallel.m_loadResult.contains("Errors loading, skipping it"));
+        sequential.assertSame(parallel);
+    }
+
+    private LoadedWorkflow load(final boolean isDisableParallelLoad) throws Exception {
+        System.setProperty(KNIMEConstants.PROPERTY_DISABLE_PARALLEL_WORKFLOW_LOAD,
+            Boolean.toString(isDisableParallelLoad));
+        WorkflowLoadResult loadResult = loadWorkflow(m_workflowDir, new ExecutionMonitor());
+        WorkflowManager manager = loadResult.getWorkflowManager();
+        setManager(manager);
+        return new LoadedWorkflow(manager, loadResult);
+    }
+
+    /** What is compared of a loaded workflow. */
+    private static final class LoadedWorkflow {
+
+        private final Map<String, String> m_nodeStates = new TreeMap<>();
+
+        private final Map<String, Boolean> m_nodeDirtyFlags = new TreeMap<>();
+
+        private final Map<String, List<String>> m_outputs = new TreeMap<>();
+
+        private final LoadResultEntryType m_loadResultType;
+
+        private final String m_loadResult;
+
+        LoadedWorkflow(final WorkflowManager manager, final WorkflowLoadResult loadResult) {
+            for (NodeContainer nc : manager.getNodeContainers()) {
+                m_nodeStates.put(nc.getNameWithID(), nc.getInternalState().toString());
+                m_nodeDirtyFlags.put(nc.getNameWithID(), nc.isDirty());
+                for (int p = 0; p < nc.getNrOutPorts(); p++) {
+                    Object portObject = nc.getOutPort(p).getPortObject();
+                    if (portObject instanceof BufferedDataTable) {
+                        List<String> rows = new ArrayList<>();
+                        Iterator<DataRow> it = ((BufferedDataTable)portObject).iterator();
+                        while (it.hasNext()) {
+                            rows.add(it.next().toString());
+                        }
+                        m_outputs.put(nc.getNameWithID() + " - port " + p, rows);
+                    }
+                }
+            }
+            m_loadResultType = loadResult.getType();
+            m_loadResult = loadResult.getFilteredError("", LoadResultEntryType.Ok);
+        }
+
+        void assertSame(final LoadedWorkflow parallel) {
+            assertEquals("Node states", m_nodeStates, parallel.m_nodeStates);
+            assertEquals("Node dirty flags", m_nodeDirtyFlags, parallel.m_nodeDirtyFlags);
+            assertEquals("Output tables", m_outputs, parallel.m_outputs);
+            assertEquals("Load result type", m_loadResultType, parallel.m_loadResultType);
+            assertEquals("Load result", m_loadResult, parallel.m_loadResult);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        if (m_disableParallelLoadProperty == null) {
+            System.clearProperty(KNIMEConstants.PROPERTY_DISABLE_PARALLEL_WORKFLOW_LOAD);
+        } else {
+            System.setProperty(KNIMEConstants.PROPERTY_DISABLE_PARALLEL_WORKFLOW_LOAD, m_disableParallelLoadProperty);
+        }
+        FileUtil.deleteRecursively(m_workflowDir);
+    }
+
+}
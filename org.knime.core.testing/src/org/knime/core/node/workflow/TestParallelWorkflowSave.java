@@ -0,0 +1,203 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.knime.core.node.workflow.InternalNodeContainerState.EXECUTED;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Saves an executed workflow with independent branches once node after node and once concurrently
+ * ({@link KNIMEConstants#PROPERTY_DISABLE_PARALLEL_WORKFLOW_SAVE}), both must write the same and load again.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TestParallelWorkflowSave extends WorkflowTestCase {
+
+    private File m_workflowDir;
+
+    private File m_sequentialSaveDir;
+
+    private String m_disableParallelSaveProperty;
+
+    @Before
+    public void setUp() throws Exception {
+        m_disableParallelSaveProperty = System.getProperty(KNIMEConstants.PROPERTY_DISABLE_PARALLEL_WORKFLOW_SAVE);
+        m_workflowDir = FileUtil.createTempDir(getClass().getSimpleName() + "-tempTestInstance");
+        m_sequentialSaveDir = FileUtil.createTempDir(getClass().getSimpleName() + "-sequentialSave");
+        FileUtil.copyDir(getDefaultWorkflowDirectory(), m_workflowDir);
+    }
+
+    /** Saves the same executed nodes sequentially and concurrently and compares what was written.
+     * @throws Exception ... */
+    @Test
+    public void testSaveSequentialAndParallel() throws Exception {
+        loadAndSetWorkflow(m_workflowDir);
+        WorkflowManager manager = getManager();
+        executeAllAndWait();
+        checkState(manager, EXECUTED);
+        Map<String, List<String>> outputs = collectOutputs(manager);
+
+        System.setProperty(KNIMEConstants.PROPERTY_DISABLE_PARALLEL_WORKFLOW_SAVE, Boolean.TRUE.toString());
+        manager.save(m_workflowDir, new ExecutionMonitor(), true);
+        checkNotDirty(manager);
+        FileUtil.copyDir(m_workflowDir, m_sequentialSaveDir);
+
+        // the very same nodes (same tables, same file store IDs) once more, now written by several threads
+        for (NodeContainer nc : manager.getNodeContainers()) {
+            nc.setDirty();
+        }
+        System.setProperty(KNIMEConstants.PROPERTY_DISABLE_PARALLEL_WORKFLOW_SAVE, Boolean.FALSE.toString());
+        manager.save(m_workflowDir, new ExecutionMonitor(), true);
+        checkNotDirty(manager);
+
+        for (NodeContainer nc : manager.getNodeContainers()) {
+            String nodeDirName = nc.getNodeContainerDirectory().getFile().getName();
+            File sequentialNodeDir = new File(m_sequentialSaveDir, nodeDirName);
+            File parallelNodeDir = new File(m_workflowDir, nodeDirName);
+            assertEquals("Files of " + nc.getNameWithID(), listFiles(sequentialNodeDir), listFiles(parallelNodeDir));
+            assertEquals("Settings of " + nc.getNameWithID(), readSettings(sequentialNodeDir),
+                readSettings(parallelNodeDir));
+        }
+        closeWorkflow();
+
+        for (File dir : new File[]{m_sequentialSaveDir, m_workflowDir}) {
+            manager = loadWorkflow(dir, new ExecutionMonitor()).getWorkflowManager();
+            setManager(manager);
+            checkState(manager, EXECUTED);
+            checkNotDirty(manager);
+            assertEquals("Output tables loaded from " + dir.getName(), outputs, collectOutputs(manager));
+            closeWorkflow();
+        }
+    }
+
+    private static void checkNotDirty(final WorkflowManager manager) {
+        assertFalse("Workflow dirty after save", manager.isDirty());
+        for (NodeContainer nc : manager.getNodeContainers()) {
+            assertFalse(nc.getNameWithID() + " dirty after save", nc.isDirty());
+        }
+    }
+
+    /** @return the relative paths of all files in the argument directory, sorted */
+    private static TreeSet<String> listFiles(final File dir) {
+        assertTrue("No directory " + dir.getAbsolutePath(), dir.isDirectory());
+        TreeSet<String> result = new TreeSet<>();
+        List<File> pending = new ArrayList<>();
+        pending.add(dir);
+        while (!pending.isEmpty()) {
+            File f = pending.remove(pending.size() - 1);
+            if (f.isDirectory()) {
+                for (File child : f.listFiles()) {
+                    pending.add(child);
+                }
+            } else {
+                result.add(dir.toPath().relativize(f.toPath()).toString());
+            }
+        }
+        return result;
+    }
+
+    private static String readSettings(final File nodeDir) throws Exception {
+        return new String(Files.readAllBytes(new File(nodeDir, "settings.xml").toPath()), StandardCharsets.UTF_8);
+    }
+
+    /** @return the rows of all data outputs of all nodes, as strings, keyed by node name and port */
+    private static Map<String, List<String>> collectOutputs(final WorkflowManager manager) {
+        Map<String, List<String>> result = new TreeMap<>();
+        for (NodeContainer nc : manager.getNodeContainers()) {
+            for (int p = 0; p < nc.getNrOutPorts(); p++) {
+                Object portObject = nc.getOutPort(p).getPortObject();
+                if (!(portObject instanceof BufferedDataTable)) {
+                    continue;
+                }
+                List<String> rows = new ArrayList<>();
+                Iterator<DataRow> it = ((BufferedDataTable)portObject).iterator();
+                while (it.hasNext()) {
+                    rows.add(it.next().toString());
+                }
+                result.put(nc.getNameWithID() + " - port " + p, rows);
+            }
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        if (m_disableParallelSaveProperty == null) {
+            System.clearProperty(KNIMEConstants.PROPERTY_DISABLE_PARALLEL_WORKFLOW_SAVE);
+        } else {
+            System.setProperty(KNIMEConstants.PROPERTY_DISABLE_PARALLEL_WORKFLOW_SAVE, m_disableParallelSaveProperty);
+        }
+        FileUtil.deleteRecursively(m_workflowDir);
+        FileUtil.deleteRecursively(m_sequentialSaveDir);
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.knime.core.node.workflow.InternalNodeContainerState.EXECUTED;
+import static org.knime.core.node.workflow.InternalNodeContainerState.IDLE;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.exec.streaming.StreamingNodeExecutionJobManagerFactory;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Executes a component with the streaming job manager and compares its output to the output of the same nodes in a
+ * metanode, executed by the default job manager. Then saves, loads, checks again.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TestSubnode_StreamingJobManager extends WorkflowTestCase {
+
+    private NodeID m_streamedSubnode_8;
+    private NodeID m_nonStreamedMetanode_10;
+    private NodeID m_tableDiffChecker_5;
+    private NodeID m_modelDiffChecker_6;
+    private NodeID m_modelDiffChecker_7;
+    private File m_tmpWorkflowDir;
+
+    @Before
+    public void setUp() throws Exception {
+        m_tmpWorkflowDir = FileUtil.createTempDir(getClass().getSimpleName() + "-tempTestInstance");
+        FileUtil.copyDir(getDefaultWorkflowDirectory(), m_tmpWorkflowDir);
+        loadFlow();
+    }
+
+    private WorkflowManager loadFlow() throws Exception {
+        NodeID baseID = loadAndSetWorkflow(m_tmpWorkflowDir);
+        m_streamedSubnode_8 = baseID.createChild(8);
+        m_nonStreamedMetanode_10 = baseID.createChild(10);
+        m_tableDiffChecker_5 = baseID.createChild(5);
+        m_modelDiffChecker_6 = baseID.createChild(6);
+        m_modelDiffChecker_7 = baseID.createChild(7);
+        return getManager();
+    }
+
+    /** Run and compare, the difference checkers fail if the outputs differ.
+     * @throws Exception ...*/
+    @Test
+    public void testExecuteAndCompare() throws Exception {
+        WorkflowManager manager = getManager();
+        assertEquals("Unexpected job manager", StreamingNodeExecutionJobManagerFactory.INSTANCE.getID(),
+            findNodeContainer(m_streamedSubnode_8).getJobManager().getID());
+        checkState(manager, IDLE);
+        checkState(m_streamedSubnode_8, IDLE);
+
+        executeAllAndWait();
+        checkState(m_streamedSubnode_8, EXECUTED);
+        checkState(m_nonStreamedMetanode_10, EXECUTED);
+        checkCheckersExecuted();
+        checkState(manager, EXECUTED);
+    }
+
+    /** Run, save all, close, load, reset meta node, re-execute all,
+     * make sure the component output is loaded correctly. Then execute the component again. */
+    @Test
+    public void testExecSaveLoadCheck() throws Exception {
+        WorkflowManager manager = getManager();
+        executeAllAndWait();
+        checkState(manager, EXECUTED);
+        manager.save(m_tmpWorkflowDir, new ExecutionMonitor(), true);
+
+        closeWorkflow();
+        assertNull(getManager());
+        manager = loadFlow();
+        assertEquals("Job manager not restored", StreamingNodeExecutionJobManagerFactory.INSTANCE.getID(),
+            findNodeContainer(m_streamedSubnode_8).getJobManager().getID());
+        checkState(m_streamedSubnode_8, EXECUTED);
+        checkCheckersExecuted();
+
+        // compares the loaded output of the component to the new output of the metanode
+        manager.resetAndConfigureNode(m_nonStreamedMetanode_10);
+        manager.executeAllAndWaitUntilDone();
+        checkCheckersExecuted();
+        checkState(manager, EXECUTED);
+
+        // streams the loaded component again
+        manager.resetAndConfigureNode(m_streamedSubnode_8);
+        checkState(m_streamedSubnode_8, IDLE);
+        manager.executeAllAndWaitUntilDone();
+        checkState(m_streamedSubnode_8, EXECUTED);
+        checkCheckersExecuted();
+        checkState(manager, EXECUTED);
+    }
+
+    private void checkCheckersExecuted() throws Exception {
+        checkState(m_tableDiffChecker_5, EXECUTED);
+        checkState(m_modelDiffChecker_6, EXECUTED);
+        checkState(m_modelDiffChecker_7, EXECUTED);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        if (!FileUtil.deleteRecursively(m_tmpWorkflowDir)) {
+            getLogger().errorWithFormat("Could not fully delete the temporary workflow dir \"%s\" " +
+                "- directory does %sstill exists", m_tmpWorkflowDir.getAbsolutePath(),
+                m_tmpWorkflowDir.exists() ? " " : "not ");
+        }
+    }
+
+}
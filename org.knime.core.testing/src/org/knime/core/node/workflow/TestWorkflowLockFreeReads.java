@@ -0,0 +1,220 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.knime.core.node.workflow.InternalNodeContainerState.CONFIGURED;
+import static org.knime.core.node.workflow.InternalNodeContainerState.EXECUTED;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Reads of the workflow state and of the workflow graph that don't acquire the workflow lock: the state must not be
+ * stale while a change is pending and copied connections and nodes must be consistent while connections are added
+ * and removed concurrently. Uses the workflow of {@link Simplechainofnodes}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TestWorkflowLockFreeReads extends WorkflowTestCase {
+
+    private static final int READER_COUNT = 4;
+
+    private NodeID m_dataGen;
+    private NodeID m_rowFilter;
+    private NodeID m_tblView;
+    private ExecutorService m_executor;
+
+    @Before
+    public void setUp() throws Exception {
+        NodeID baseID = loadAndSetWorkflow(getWorkflowDirectory("simplechainofnodes"));
+        m_dataGen = new NodeID(baseID, 1);
+        m_rowFilter = new NodeID(baseID, 3);
+        m_tblView = new NodeID(baseID, 4);
+        m_executor = Executors.newFixedThreadPool(READER_COUNT);
+    }
+
+    /** The lock-free state read answers only if no state check is pending, others wait for the lock.
+     * @throws Exception ... */
+    @Test
+    public void testStateNotStaleWhileChangePending() throws Exception {
+        final WorkflowManager manager = getManager();
+        executeAllAndWait();
+        checkState(manager, EXECUTED);
+        final WorkflowLock workflowLock;
+        try (WorkflowLock lock = manager.lock()) {
+            workflowLock = lock;
+        }
+        assertSame("State without pending change", EXECUTED, workflowLock.getWFMInternalStateIfUpToDate());
+
+        Future<InternalNodeContainerState> stateFromOtherThread;
+        try (WorkflowLock lock = manager.lock()) {
+            manager.resetAndConfigureNode(m_dataGen);
+            // the workflow is not executed anymore but the new state is only computed when the lock is released
+            assertNull("State while change pending",
+                m_executor.submit(workflowLock::getWFMInternalStateIfUpToDate).get());
+            stateFromOtherThread = m_executor.submit(manager::getInternalState);
+            try {
+                stateFromOtherThread.get(200, TimeUnit.MILLISECONDS);
+                fail("State read by other thread without waiting for the lock");
+            } catch (TimeoutException e) {
+                // expected, the other thread waits for the lock
+            }
+        }
+        assertSame("State read after lock release", CONFIGURED, stateFromOtherThread.get(10, TimeUnit.SECONDS));
+        assertSame("State without pending change", CONFIGURED, workflowLock.getWFMInternalStateIfUpToDate());
+    }
+
+    /** Readers spinning on the state while the workflow is executed and reset must end up with the final state.
+     * @throws Exception ... */
+    @Test
+    public void testStateReadDuringExecuteAndReset() throws Exception {
+        final WorkflowManager manager = getManager();
+        final AtomicBoolean isDone = new AtomicBoolean();
+        List<Future<Void>> readers = startReaders(isDone, () -> {
+            assertNotNull(manager.getInternalState());
+            assertNotNull(manager.getNodeContainer(m_tblView).getInternalState());
+        });
+        try {
+            for (int i = 0; i < 10; i++) {
+                executeAllAndWait();
+                assertSame(EXECUTED, m_executor.submit(manager::getInternalState).get());
+                manager.resetAndConfigureAll();
+                assertSame(CONFIGURED, m_executor.submit(manager::getInternalState).get());
+            }
+        } finally {
+            isDone.set(true);
+        }
+        for (Future<Void> reader : readers) {
+            reader.get();
+        }
+    }
+
+    /** Connection and node queries (which copy under the graph's read lock) while connections are removed and added.
+     * @throws Exception ... */
+    @Test
+    public void testConnectionQueriesDuringAddAndRemove() throws Exception {
+        final WorkflowManager manager = getManager();
+        final ConnectionContainer cc = findInConnection(m_tblView, 1);
+        assertNotNull(cc);
+        final AtomicBoolean isDone = new AtomicBoolean();
+        List<Future<Void>> readers = startReaders(isDone, () -> {
+            Set<ConnectionContainer> incoming = manager.getIncomingConnectionsFor(m_tblView);
+            assertTrue("Incoming connections " + incoming, incoming.size() <= 1);
+            for (ConnectionContainer c : incoming) {
+                assertEquals(m_rowFilter, c.getSource());
+            }
+            ConnectionContainer inPort = manager.getIncomingConnectionFor(m_tblView, 1);
+            assertTrue(inPort == null || inPort.getSource().equals(m_rowFilter));
+            Set<ConnectionContainer> outgoing = manager.getOutgoingConnectionsFor(m_rowFilter, 1);
+            assertTrue("Outgoing connections " + outgoing, outgoing.size() <= 1);
+            Collection<ConnectionContainer> all = manager.getConnectionContainers();
+            assertTrue("All connections " + all, all.size() == 2 || all.size() == 3);
+            // copies, iterating them must not fail while the workflow changes
+            int nodeCount = 0;
+            for (@SuppressWarnings("unused") NodeContainer nc : manager.getNodeContainers()) {
+                nodeCount++;
+            }
+            assertEquals(4, nodeCount);
+        });
+        try {
+            for (int i = 0; i < 200; i++) {
+                manager.removeConnection(findInConnection(m_tblView, 1));
+                manager.addConnection(cc.getSource(), cc.getSourcePort(), cc.getDest(), cc.getDestPort());
+            }
+        } finally {
+            isDone.set(true);
+        }
+        for (Future<Void> reader : readers) {
+            reader.get();
+        }
+        assertFalse(manager.getIncomingConnectionsFor(m_tblView).isEmpty());
+    }
+
+    /** Starts {@link #READER_COUNT} threads, each running the argument check until the flag is set. */
+    private List<Future<Void>> startReaders(final AtomicBoolean isDone, final Runnable check) {
+        List<Future<Void>> readers = new ArrayList<>();
+        for (int i = 0; i < READER_COUNT; i++) {
+            readers.add(m_executor.submit((Callable<Void>)() -> {
+                while (!isDone.get()) {
+                    check.run();
+                }
+                return null;
+            }));
+        }
+        return readers;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        m_executor.shutdownNow();
+        super.tearDown();
+    }
+
+}
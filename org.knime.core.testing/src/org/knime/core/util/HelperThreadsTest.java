@@ -0,0 +1,170 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link HelperThreads}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class HelperThreadsTest {
+
+    private ThreadPool m_pool;
+
+    /** Creates the pool. */
+    @Before
+    public void setUp() {
+        m_pool = new ThreadPool(4);
+    }
+
+    /** Shuts the pool down. */
+    @After
+    public void tearDown() {
+        m_pool.shutdown();
+    }
+
+    /** Each item is processed exactly once, by the caller and the helpers. */
+    @Test
+    public void testAllItemsProcessedOnce() throws Exception {
+        final int nrItems = 10000;
+        final AtomicIntegerArray processed = new AtomicIntegerArray(nrItems);
+        final AtomicInteger next = new AtomicInteger();
+        HelperThreads.run(m_pool, 3, () -> {
+            for (int i = next.getAndIncrement(); i < nrItems; i = next.getAndIncrement()) {
+                processed.incrementAndGet(i);
+            }
+        });
+        for (int i = 0; i < nrItems; i++) {
+            assertEquals("Item " + i, 1, processed.get(i));
+        }
+    }
+
+    /** If the pool has no idle threads, the caller does all the work. */
+    @Test
+    public void testSaturatedPool() throws Exception {
+        m_pool.setMaxThreads(0);
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final AtomicInteger next = new AtomicInteger();
+        HelperThreads.run(m_pool, 3, () -> {
+            while (next.getAndIncrement() < 100) {
+                threads.add(Thread.currentThread());
+            }
+        });
+        assertEquals("Threads", 1, threads.size());
+        assertTrue("Work not done by the caller", threads.contains(Thread.currentThread()));
+    }
+
+    /** The failure of a helper is rethrown as it is. */
+    @Test
+    public void testHelperFailure() throws Exception {
+        final IllegalStateException failure = new IllegalStateException("Helper failed");
+        final CountDownLatch helperStarted = new CountDownLatch(1);
+        try {
+            HelperThreads.run(m_pool, 1, i -> () -> {
+                helperStarted.countDown();
+                throw failure;
+            }, () -> awaitStarted(helperStarted));
+            fail("Failure of helper not rethrown");
+        } catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+    }
+
+    /** If the caller fails, running helpers are interrupted and waited for, the error is rethrown as it is. */
+    @Test
+    public void testCallerFailureJoinsHelpers() throws Exception {
+        final Error failure = new Error("Caller failed");
+        final CountDownLatch helperStarted = new CountDownLatch(1);
+        final AtomicBoolean isInterrupted = new AtomicBoolean();
+        final AtomicBoolean isHelperFinished = new AtomicBoolean();
+        try {
+            HelperThreads.run(m_pool, 1, i -> () -> {
+                helperStarted.countDown();
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+                } catch (InterruptedException e) {
+                    isInterrupted.set(true);
+                }
+                isHelperFinished.set(true);
+            }, () -> {
+                awaitStarted(helperStarted);
+                throw failure;
+            });
+            fail("Failure of caller not rethrown");
+        } catch (Error e) {
+            assertSame(failure, e);
+        }
+        assertTrue("Helper not interrupted", isInterrupted.get());
+        assertTrue("Helper not finished", isHelperFinished.get());
+    }
+
+    private static void awaitStarted(final CountDownLatch helperStarted) {
+        try {
+            assertTrue("Helper not started", helperStarted.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
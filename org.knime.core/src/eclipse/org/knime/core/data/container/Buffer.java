@@ -77,9 +77,11 @@
 import java.util.Set;
 import java.util.UUID;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
@@ -98,6 +100,7 @@
 import org.knime.core.data.collection.CellCollection;
 import org.knime.core.data.collection.CollectionDataValue;
 import org.knime.core.data.container.BlobDataCell.BlobAddress;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
 import org.knime.core.data.container.storage.AbstractTableStoreReader.TableStoreCloseableRowIterator;
 import org.knime.core.data.container.storage.AbstractTableStoreWriter;
@@ -154,10 +157,10 @@ public class Buffer implements KNIMEStreamConstants {
 
     /**
      * Contains the information whether or not certain blob cell implementations shall be compressed when saved. This
-     * information is retrieved from the field BlobDataCell#USE_COMPRESSION.
+     * information is retrieved from the field BlobDataCell#USE_COMPRESSION. Concurrent as buffers of different nodes
+     * are written in parallel.
      */
-    private static final Map<Class<? extends BlobDataCell>, Boolean> BLOB_COMPRESS_MAP =
-            new HashMap<Class<? extends BlobDataCell>, Boolean>();
+    private static final Map<Class<? extends BlobDataCell>, Boolean> BLOB_COMPRESS_MAP = new ConcurrentHashMap<>();
 
     /** Name of the zip entry containing the data. */
     static final String ZIP_ENTRY_DATA = "data.bin";
@@ -340,15 +343,13 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         return result;
     }
 
-    /** Compression on the binary (main) file. */
-    enum CompressionFormat {
-        Gzip,
-        None;
-    }
-
     /** the file to write to. */
     private File m_binFile;
 
+    /** true if m_binFile is a memory-mapped file of the workflow (see {@link MemoryMappedTableFile}), which is not
+     * owned by this buffer and must not be deleted. */
+    private boolean m_isBinFileMemoryMapped;
+
     /** The directory where blob cells are stored or null if none available. */
     private File m_blobDir;
 
@@ -392,6 +393,10 @@ enum CompressionFormat {
     /** maximum number of rows that are in memory. */
     private int m_maxRowsInMem;
 
+    /** Number of iterations left until the file of a table that was meant to be kept in memory is put into the
+     * {@link OffHeapRowCache}; 0 if it is not to be cached (anymore). Guarded by this. */
+    private int m_nrIterationsUntilOffHeapCache;
+
     /** the current row count (how often has addRow been called). */
     private long m_size;
 
@@ -556,6 +561,14 @@ final TableStoreFormat getOutputFormat() {
         return m_outputFormat;
     }
 
+    /**
+     * Called by the {@link CopyOnAccessTask} when the bin file is a workflow file whose data is read through a
+     * registered {@link MemoryMappedTableFile}. The file is then not deleted when the buffer is cleared.
+     */
+    final void setBinFileMemoryMapped() {
+        m_isBinFileMemoryMapped = true;
+    }
+
     /**
      * Validate the version as read from the file if it can be parsed by this implementation. If unknown, uses
      * latest known version (good luck).
@@ -1010,6 +1023,11 @@ void closeInternal() {
                 String size = NumberFormat.getInstance().format(sizeInMB);
                 LOGGER.debug("Buffer file (" + m_binFile.getAbsolutePath() + ") is " + size + "MB in size");
                 initOutputReader(nodeSettings, IVERSION);
+                if (m_maxRowsInMem > 0) {
+                    // table was meant to be kept in memory, keep it off-heap instead (if there is room) -- but only
+                    // once it's read a second time, many tables are read just once
+                    m_nrIterationsUntilOffHeapCache = 2;
+                }
             } catch (IOException ioe) {
                 throw new RuntimeException("Cannot close stream of file \"" + m_binFile.getName() + "\"", ioe);
             } catch (InvalidSettingsException ex) {
@@ -1415,12 +1433,46 @@ private static String getFileName(final int fileIndex) {
      *
      * @return a new Iterator over all rows.
      */
-    synchronized CloseableRowIterator iterator() {
+    CloseableRowIterator iterator() {
+        return iterator(null);
+    }
+
+    /**
+     * Get a new <code>RowIterator</code> that only needs to materialize the cells of the argument columns. If the
+     * data is read from file the cells of all other columns are not deserialized and returned as missing cells. Rows
+     * kept in memory are returned as is.
+     *
+     * @param materializeColumnIndices The sorted indices of the columns to read or <code>null</code> to read all.
+     * @return a new Iterator over all rows.
+     */
+    CloseableRowIterator iterator(final int[] materializeColumnIndices) {
+        // copying the file may take a while, it's done without holding the lock of this buffer
+        File fileToCache = takeFileToCache();
+        if (fileToCache != null) {
+            OffHeapRowCache.getInstance().put(fileToCache);
+        }
+        return createIterator(materializeColumnIndices);
+    }
+
+    /**
+     * Counts down the iterations until the file is put into the {@link OffHeapRowCache}.
+     *
+     * @return the file to put into the cache now or <code>null</code>.
+     */
+    private synchronized File takeFileToCache() {
+        if (usesOutFile() && !m_useBackIntoMemoryIterator && m_nrIterationsUntilOffHeapCache > 0
+                && --m_nrIterationsUntilOffHeapCache == 0) {
+            return m_binFile;
+        }
+        return null;
+    }
+
+    private synchronized CloseableRowIterator createIterator(final int[] materializeColumnIndices) {
         if (usesOutFile()) {
             if (m_useBackIntoMemoryIterator) {
                 // the order of the following lines is very important!
                 m_useBackIntoMemoryIterator = false;
-                m_backIntoMemoryIterator = iterator();
+                m_backIntoMemoryIterator = createIterator(null);
                 // we never store more than 2^31 rows in memory, therefore it's safe to cast to int
                 m_list = new ArrayList<BlobSupportDataRow>((int) size());
                 return new FromListIterator();
@@ -1429,7 +1481,7 @@ synchronized CloseableRowIterator iterator() {
                 LOGGER.debug("Opening input stream on file \"" + m_binFile.getAbsolutePath() + "\", "
                         + m_nrOpenInputStreams + " open streams");
 
-                TableStoreCloseableRowIterator iterator = m_outputReader.iterator();
+                TableStoreCloseableRowIterator iterator = m_outputReader.iterator(materializeColumnIndices);
                 iterator.setBuffer(this);
                 m_nrOpenInputStreams.incrementAndGet();
                 synchronized (m_openIteratorSet) {
@@ -1448,6 +1500,37 @@ synchronized CloseableRowIterator iterator() {
         }
     }
 
+    /**
+     * Get a new <code>RowIterator</code> that starts at the argument row. If all rows are held in memory (see
+     * {@link #isInMemory()}) the iteration starts right at that row, otherwise the preceding rows are read and skipped.
+     *
+     * @param materializeColumnIndices The sorted indices of the columns to read or <code>null</code> to read all.
+     * @param fromRow The index of the first row to return.
+     * @return a new Iterator over the rows starting at <code>fromRow</code>.
+     */
+    CloseableRowIterator iterator(final int[] materializeColumnIndices, final long fromRow) {
+        synchronized (this) {
+            if (isInMemory()) {
+                // we never store more than 2^31 rows in memory, therefore it's safe to cast to int
+                return new FromListIterator((int)Math.min(fromRow, size()));
+            }
+        }
+        // the preceding rows are read and skipped without holding the lock of this buffer
+        CloseableRowIterator it = iterator(materializeColumnIndices);
+        for (long i = 0; i < fromRow && it.hasNext(); i++) {
+            it.next();
+        }
+        return it;
+    }
+
+    /**
+     * @return whether all rows are held in memory, i.e. an iteration can start at any row without reading the
+     *         preceding ones. This may change when memory gets low, as the rows are then written to disk.
+     */
+    synchronized boolean isInMemory() {
+        return m_list != null && m_backIntoMemoryIterator == null;
+    }
+
 
     private static List<OutputStream> DEBUG_STREAMS = new ArrayList<>();
 
@@ -1552,9 +1635,30 @@ final IWriteFileStoreHandler castAndGetFileStoreHandler() {
      */
     synchronized void addToZipFile(final ZipOutputStream zipOut, final ExecutionMonitor exec) throws IOException,
             CanceledExecutionException {
+        addToZipFile(zipOut, exec, false);
+    }
+
+    /**
+     * Like {@link #addToZipFile(ZipOutputStream, ExecutionMonitor)} but optionally saves the binary data
+     * uncompressed, that is, without stream compression and as {@link ZipEntry#STORED STORED} zip entry. These entries
+     * are memory-mapped when the table is read back (see {@link CopyOnAccessTask}). Only the default and the columnar
+     * table format support this, tables in other formats are saved as usual.
+     *
+     * @param zipOut To write to.
+     * @param exec For progress/cancel
+     * @param uncompressed Whether to save the binary data uncompressed.
+     * @throws IOException If it fails to write to a file.
+     * @throws CanceledExecutionException If canceled.
+     */
+    synchronized void addToZipFile(final ZipOutputStream zipOut, final ExecutionMonitor exec,
+        final boolean uncompressed) throws IOException, CanceledExecutionException {
         if (m_spec == null) {
             throw new IOException("Can't save an open Buffer.");
         }
+        if (uncompressed && supportsUncompressedOutput()) {
+            addToZipFileUncompressed(zipOut, exec);
+            return;
+        }
         // binary data is already deflated
         if (ZLIB_SUPPORTS_LEVEL_SWITCH_AP8083) {
             zipOut.setLevel(Deflater.NO_COMPRESSION);
@@ -1572,20 +1676,7 @@ synchronized void addToZipFile(final ZipOutputStream zipOut, final ExecutionMoni
                 tempFile = DataContainer.createTempFile(copy.m_outputFormat.getFilenameSuffix());
                 copy.initOutputWriter(tempFile);
             }
-            int count = 1;
-            for (RowIterator it = iterator(); it.hasNext();) {
-                final BlobSupportDataRow row = (BlobSupportDataRow)it.next();
-                final int countCurrent = count;
-                exec.setProgress(count / (double)size(),
-                    () -> "Writing row " + countCurrent + " (\"" + row.getKey() + "\")");
-                exec.checkCanceled();
-                // make a deep copy of blobs if we have a version hop
-                copy.addRow(row, m_version < IVERSION, false);
-                count++;
-            }
-            synchronized (copy) {
-                copy.closeInternal();
-            }
+            copyRowsTo(copy, exec);
             if (tempFile != null) {
                 try (InputStream in = new FileInputStream(tempFile)) {
                     IOUtils.copyLarge(in, new NonClosableOutputStream(zipOut));
@@ -1622,7 +1713,7 @@ synchronized void addToZipFile(final ZipOutputStream zipOut, final ExecutionMoni
         } else {
             // no need for BufferedInputStream here as the copy method
             // does the buffering itself
-            try (InputStream is = new FileInputStream(m_binFile)) {
+            try (InputStream is = OffHeapRowCache.getInstance().openInputStream(m_binFile)) {
                 FileUtil.copy(is, zipOut);
             }
             if (m_blobDir != null) {
@@ -1640,6 +1731,117 @@ synchronized void addToZipFile(final ZipOutputStream zipOut, final ExecutionMoni
         }
     }
 
+    /**
+     * Implementation of {@link #addToZipFile(ZipOutputStream, ExecutionMonitor, boolean)} for uncompressed data. The
+     * bin file is reused if it is already uncompressed, otherwise the rows are re-written into an uncompressed temp
+     * file first (a {@link ZipEntry#STORED STORED} entry requires size and checksum before the data is written).
+     */
+    private void addToZipFileUncompressed(final ZipOutputStream zipOut, final ExecutionMonitor exec)
+            throws IOException, CanceledExecutionException {
+        // the meta information is written by the output writer, which is only present if this buffer wrote the file
+        if (usesOutFile() && m_version >= IVERSION && m_outputWriter != null
+                && getBinFileCompressionFormat() == CompressionFormat.None) {
+            addStoredEntry(ZIP_ENTRY_DATA, zipOut, m_binFile);
+            if (m_blobDir != null) {
+                addToZip(ZIP_ENTRY_BLOBS, zipOut, m_blobDir);
+            }
+            if (hasOwnFileStoreCells()) {
+                addToZip(ZIP_ENTRY_FILESTORES, zipOut, getOwnFileStoreCellsDirectory());
+            }
+            zipOut.putNextEntry(new ZipEntry(ZIP_ENTRY_META));
+            writeMetaToFile(new NonClosableOutputStream.Zip(zipOut));
+            return;
+        }
+        // need to use new buffer, see addToZipFile
+        Buffer copy = createLocalCloneForWriting();
+        File tempFile = DataContainer.createTempFile(copy.m_outputFormat.getFilenameSuffix());
+        try {
+            copy.m_binFile = tempFile;
+            copy.m_outputWriter = createUncompressedWriter(copy.m_outputFormat, new FileOutputStream(tempFile));
+            copy.m_outputWriter.setFileStoreHandler((IWriteFileStoreHandler)copy.m_fileStoreHandler);
+            copyRowsTo(copy, exec);
+            addStoredEntry(ZIP_ENTRY_DATA, zipOut, tempFile);
+        } finally {
+            tempFile.delete();
+        }
+        File blobDir = m_version < IVERSION ? copy.m_blobDir : m_blobDir;
+        if (blobDir != null) {
+            addToZip(ZIP_ENTRY_BLOBS, zipOut, blobDir);
+        }
+        if (hasOwnFileStoreCells()) {
+            addToZip(ZIP_ENTRY_FILESTORES, zipOut, getOwnFileStoreCellsDirectory());
+        }
+        zipOut.putNextEntry(new ZipEntry(ZIP_ENTRY_META));
+        copy.writeMetaToFile(new NonClosableOutputStream.Zip(zipOut));
+    }
+
+    /** Adds all rows of this buffer to the argument buffer and closes it. Used when data is copied on save. */
+    private void copyRowsTo(final Buffer copy, final ExecutionMonitor exec) throws IOException,
+            CanceledExecutionException {
+        int count = 1;
+        for (RowIterator it = iterator(); it.hasNext();) {
+            final BlobSupportDataRow row = (BlobSupportDataRow)it.next();
+            final int countCurrent = count;
+            exec.setProgress(count / (double)size(),
+                () -> "Writing row " + countCurrent + " (\"" + row.getKey() + "\")");
+            exec.checkCanceled();
+            // make a deep copy of blobs if we have a version hop
+            copy.addRow(row, m_version < IVERSION, false);
+            count++;
+        }
+        synchronized (copy) {
+            copy.closeInternal();
+        }
+    }
+
+    /** @return whether {@link #createUncompressedWriter(TableStoreFormat, OutputStream)} supports the output format. */
+    private boolean supportsUncompressedOutput() {
+        return m_outputFormat instanceof DefaultTableStoreFormat || m_outputFormat instanceof ColumnarTableStoreFormat;
+    }
+
+    private AbstractTableStoreWriter createUncompressedWriter(final TableStoreFormat format, final OutputStream out)
+            throws IOException {
+        if (format instanceof ColumnarTableStoreFormat) {
+            return new ColumnarTableStoreWriter(m_spec, out, !shouldSkipRowKey(), CompressionFormat.None);
+        }
+        return new DefaultTableStoreWriter(m_spec, out, !shouldSkipRowKey(), CompressionFormat.None);
+    }
+
+    /** @return the compression of the bin file or null if unknown (other table formats). */
+    private CompressionFormat getBinFileCompressionFormat() {
+        if (m_outputReader instanceof DefaultTableStoreReader) {
+            return ((DefaultTableStoreReader)m_outputReader).getBinFileCompressionFormat();
+        } else if (m_outputReader instanceof ColumnarTableStoreReader) {
+            return ((ColumnarTableStoreReader)m_outputReader).getCompressionFormat();
+        }
+        return null;
+    }
+
+    /** Adds the file as uncompressed entry, size and checksum are computed in a first pass over the file. */
+    private static void addStoredEntry(final String zipEntry, final ZipOutputStream zipOut, final File file)
+            throws IOException {
+        CRC32 crc = new CRC32();
+        long size = 0;
+        try (InputStream in = OffHeapRowCache.getInstance().openInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                crc.update(buffer, 0, read);
+                size += read;
+            }
+        }
+        ZipEntry entry = new ZipEntry(zipEntry);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(size);
+        entry.setCompressedSize(size);
+        entry.setCrc(crc.getValue());
+        zipOut.putNextEntry(entry);
+        try (InputStream in = OffHeapRowCache.getInstance().openInputStream(file)) {
+            FileUtil.copy(in, zipOut);
+        }
+        zipOut.closeEntry();
+    }
+
     /**
      * Adds recursively the content of the directory <code>dir</code> to a zip output stream, prefixed with
      * <code>zipEntry</code>.
@@ -1718,7 +1920,15 @@ synchronized void clear() {
                 .forEach(f -> clearIteratorInstance(f, false));
                 m_openIteratorSet.clear();
             }
-            if (m_blobDir != null) {
+            OffHeapRowCache.getInstance().remove(m_binFile);
+            // release the mapping, if any (also of temp copies of a workflow file, see CopyOnAccessTask)
+            MemoryMappedTableFile.unregister(m_binFile);
+            if (m_isBinFileMemoryMapped) {
+                // file is part of the workflow, don't delete
+                if (m_blobDir != null) {
+                    DeleteInBackgroundThread.delete(m_blobDir);
+                }
+            } else if (m_blobDir != null) {
                 DeleteInBackgroundThread.delete(m_binFile, m_blobDir);
             } else {
                 DeleteInBackgroundThread.delete(m_binFile);
@@ -1828,6 +2038,14 @@ private class FromListIterator extends CloseableRowIterator {
         private int m_nextIndex = 0;
         private final List<BlobSupportDataRow> m_listReference = m_list;
 
+        FromListIterator() {
+        }
+
+        /** @param firstIndex the index of the first row to return, all rows must be in the list already */
+        FromListIterator(final int firstIndex) {
+            m_nextIndex = firstIndex;
+        }
+
         /**
          * {@inheritDoc}
          */
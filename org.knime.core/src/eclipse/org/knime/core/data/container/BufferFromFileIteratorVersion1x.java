@@ -103,22 +103,13 @@ final class BufferFromFileIteratorVersion1x extends FromFileIterator {
                     + "table has been cleared.");
         }
         m_tableFormatReader = tableFormatReader;
-        BufferedInputStream bufferedStream =
-            new BufferedInputStream(new FileInputStream(tableFormatReader.getBinFile()));
+        InputStream binStream = OffHeapRowCache.getInstance().openInputStream(tableFormatReader.getBinFile());
         InputStream in;
-        switch (tableFormatReader.getBinFileCompressionFormat()) {
-            case Gzip:
-                in = new GZIPInputStream(bufferedStream);
-                // buffering is important when reading gzip streams
-                in = new BufferedInputStream(in);
-                break;
-            case None:
-                in = bufferedStream;
-                break;
-            default:
-                bufferedStream.close();
-                throw new IOException("Unsupported compression format: "
-                        + tableFormatReader.getBinFileCompressionFormat());
+        try {
+            in = tableFormatReader.getBinFileCompressionFormat().wrapInputStream(binStream);
+        } catch (IOException e) {
+            binStream.close();
+            throw e;
         }
         m_inStream = new DCObjectInputStream(in);
     }
@@ -99,12 +99,18 @@ final class BufferFromFileIteratorVersion20 extends FromFileIterator {
     /** Utility object with designated functionality to deserialize datacell. */
     private DataCellStreamReader m_dataCellStreamReader;
 
+    /** Columns to deserialize, others are skipped in the stream and returned as missing cells. */
+    private final boolean[] m_materializeColumnMask;
+
     /** Inits iterator, opens input stream.
      * @param tableFormatReader The associated buffer.
+     * @param materializeColumnMask Which columns to deserialize, one element for each column.
      * @throws IOException If stream reading fails.
      */
-    BufferFromFileIteratorVersion20(final DefaultTableStoreReader tableFormatReader) throws IOException {
+    BufferFromFileIteratorVersion20(final DefaultTableStoreReader tableFormatReader,
+        final boolean[] materializeColumnMask) throws IOException {
         m_pointer = 0;
+        m_materializeColumnMask = materializeColumnMask;
         if (tableFormatReader.getBinFile() == null) {
             throw new IOException("Unable to read table from file, "
                     + "table has been cleared.");
@@ -113,20 +119,13 @@ final class BufferFromFileIteratorVersion20 extends FromFileIterator {
         assert m_tableFormatReader.getReadVersion() >= 6 : "Iterator is not backward "
             + "compatible, use instead "
             + BufferFromFileIteratorVersion1x.class.getSimpleName();
-        BufferedInputStream bufferedStream =
-            new BufferedInputStream(new FileInputStream(tableFormatReader.getBinFile()));
+        InputStream binStream = OffHeapRowCache.getInstance().openInputStream(tableFormatReader.getBinFile());
         InputStream in;
-        switch (tableFormatReader.getBinFileCompressionFormat()) {
-            case Gzip:
-                in = new GZIPInputStream(bufferedStream);
-                // buffering is important when reading gzip streams
-                in = new BufferedInputStream(in);
-                break;
-            case None:
-                in = bufferedStream;
-                break;
-            default:
-                throw new IOException("Unsupported compression format: " + tableFormatReader.getBinFileCompressionFormat());
+        try {
+            in = tableFormatReader.getBinFileCompressionFormat().wrapInputStream(binStream);
+        } catch (IOException e) {
+            binStream.close();
+            throw e;
         }
         m_dataCellStreamReader = new DataCellStreamReader(tableFormatReader);
         m_inStream = new DCObjectInputVersion2(in, m_dataCellStreamReader);
@@ -174,6 +173,16 @@ public synchronized BlobSupportDataRow next() {
         }
         DataCell[] cells = new DataCell[colCount];
         for (int i = 0; i < colCount; i++) {
+            if (!m_materializeColumnMask[i]) {
+                try {
+                    // skips all bytes of the cell without deserializing it
+                    m_inStream.endBlock();
+                } catch (final IOException e) {
+                    handleReadThrowable(e);
+                }
+                cells[i] = DataType.getMissingCell();
+                continue;
+            }
             DataCell nextCell;
             try {
                 try {
@@ -0,0 +1,122 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataType;
+
+/**
+ * Input used by the {@link ColumnarTableStoreReader}, counterpart to {@link ColumnarCellDataOutput}. It reads from
+ * a byte array holding the content of a single column chunk; the array can be replaced in order to avoid
+ * allocations while iterating a table.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ColumnarCellDataInput extends LongUTFDataInputStream implements DataCellDataInput {
+
+    private final ReusableByteArrayInputStream m_byteInput;
+
+    private final DataCellSerializer<DataCell>[] m_serializers;
+
+    /** @param serializers the serializers as per dictionary index written by {@link ColumnarCellDataOutput}. */
+    ColumnarCellDataInput(final DataCellSerializer<DataCell>[] serializers) {
+        this(new ReusableByteArrayInputStream(), serializers);
+    }
+
+    private ColumnarCellDataInput(final ReusableByteArrayInputStream byteInput,
+        final DataCellSerializer<DataCell>[] serializers) {
+        super(new DataInputStream(byteInput));
+        m_byteInput = byteInput;
+        m_serializers = serializers;
+    }
+
+    /**
+     * Sets the content to read from.
+     * @param bytes The array (not copied).
+     * @param length Number of valid bytes in the array.
+     */
+    void reset(final byte[] bytes, final int length) {
+        m_byteInput.reset(bytes, length);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DataCell readDataCell() throws IOException {
+        final int index = readInt();
+        if (index == ColumnarCellDataOutput.MISSING_CELL_INDEX) {
+            return DataType.getMissingCell();
+        }
+        if (index < 0 || index >= m_serializers.length) {
+            throw new IOException("Invalid cell class index " + index + " (expected [0, "
+                + m_serializers.length + "))");
+        }
+        return m_serializers[index].deserialize(this);
+    }
+
+    /** Byte array input whose content can be replaced. */
+    private static final class ReusableByteArrayInputStream extends ByteArrayInputStream {
+
+        ReusableByteArrayInputStream() {
+            super(new byte[0]);
+        }
+
+        void reset(final byte[] bytes, final int length) {
+            buf = bytes;
+            pos = 0;
+            count = length;
+            mark = 0;
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataTypeRegistry;
+import org.knime.core.data.filestore.FileStoreCell;
+
+/**
+ * Output used by the {@link ColumnarTableStoreWriter}. Cells are written by means of their
+ * {@link DataCellSerializer}, prefixed by an index into a dictionary of cell classes that is maintained by this object
+ * and persisted in the table's meta information.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ColumnarCellDataOutput extends LongUTFDataOutputStream implements DataCellDataOutput {
+
+    /** Index written for the singleton missing cell. */
+    static final int MISSING_CELL_INDEX = -1;
+
+    private final Map<Class<? extends DataCell>, Integer> m_cellClassIndexMap = new HashMap<>();
+
+    private final List<Class<? extends DataCell>> m_cellClasses = new ArrayList<>();
+
+    private final List<DataCellSerializer<DataCell>> m_serializers = new ArrayList<>();
+
+    /** @param out To write to. */
+    ColumnarCellDataOutput(final OutputStream out) {
+        super(new DataOutputStream(out));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeDataCell(final DataCell cell) throws IOException {
+        DataCell c = cell instanceof BlobWrapperDataCell ? ((BlobWrapperDataCell)cell).getCell() : cell;
+        if (c == DataType.getMissingCell()) {
+            writeInt(MISSING_CELL_INDEX);
+            return;
+        }
+        if (c instanceof FileStoreCell) {
+            throw new IOException("File store cells are not supported by the columnar table format");
+        }
+        final Class<? extends DataCell> cellClass = c.getClass();
+        Integer index = m_cellClassIndexMap.get(cellClass);
+        if (index == null) {
+            DataCellSerializer<DataCell> serializer = DataTypeRegistry.getInstance().getSerializer(cellClass)
+                .orElseThrow(() -> new IOException(String.format(
+                    "No serializer for cell class '%s', can't write to columnar table format", cellClass.getName())));
+            index = m_cellClasses.size();
+            m_cellClasses.add(cellClass);
+            m_serializers.add(serializer);
+            m_cellClassIndexMap.put(cellClass, index);
+        }
+        writeInt(index);
+        m_serializers.get(index).serialize(c, this);
+    }
+
+    /** @return the cell classes written so far, index in list corresponds to the index written to the stream. */
+    List<Class<? extends DataCell>> getCellClasses() {
+        return Collections.unmodifiableList(m_cellClasses);
+    }
+
+}
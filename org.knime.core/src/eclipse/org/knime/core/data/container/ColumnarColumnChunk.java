@@ -0,0 +1,619 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * A chunk of consecutive cells of a single column as used by the {@link ColumnarTableStoreFormat}. Cells of the
+ * column's native type are kept in a primitive array, missing cells are tracked in a bitmap and any other cell
+ * (including missing cells carrying an error message) is kept as "special" cell, which is written using its
+ * serializer.
+ *
+ * <p>The persisted layout of a chunk is: the missing bitmap and the special bitmap (each preceded by a flag whether
+ * any bit is set), the native values (format depends on the {@link Kind}) and finally all special cells in row
+ * order.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+abstract class ColumnarColumnChunk {
+
+    /** Encoding of a column, derived from the column's type. */
+    enum Kind {
+        /** {@link DoubleCell} as double[]. */
+        DOUBLE,
+        /** {@link IntCell} as int[]. */
+        INT,
+        /** {@link LongCell} as long[]. */
+        LONG,
+        /** {@link StringCell} as String[]. */
+        STRING,
+        /** {@link BooleanCell} as bitmap. */
+        BOOLEAN,
+        /** Any other type, all cells are written via their serializer. */
+        SERIALIZED;
+
+        /**
+         * @param type The column type, not null.
+         * @return the encoding used for columns of that type.
+         */
+        static Kind of(final DataType type) {
+            if (DoubleCell.TYPE.equals(type)) {
+                return DOUBLE;
+            } else if (IntCell.TYPE.equals(type)) {
+                return INT;
+            } else if (LongCell.TYPE.equals(type)) {
+                return LONG;
+            } else if (StringCell.TYPE.equals(type)) {
+                return STRING;
+            } else if (BooleanCell.TYPE.equals(type)) {
+                return BOOLEAN;
+            } else {
+                return SERIALIZED;
+            }
+        }
+    }
+
+    private long[] m_missingBits;
+
+    private long[] m_specialBits;
+
+    private DataCell[] m_specialCells;
+
+    private int m_size;
+
+    /**
+     * @param capacity initial number of rows (grows if needed).
+     */
+    ColumnarColumnChunk(final int capacity) {
+        allocate(capacity);
+    }
+
+    /**
+     * Creates a new chunk for a column of the given type.
+     * @param type The column type.
+     * @param capacity The initial capacity (number of rows).
+     * @return A new chunk.
+     */
+    static ColumnarColumnChunk create(final DataType type, final int capacity) {
+        switch (Kind.of(type)) {
+            case DOUBLE:
+                return new DoubleChunk(capacity);
+            case INT:
+                return new IntChunk(capacity);
+            case LONG:
+                return new LongChunk(capacity);
+            case STRING:
+                return new StringChunk(capacity);
+            case BOOLEAN:
+                return new BooleanChunk(capacity);
+            default:
+                return new SerializedChunk(capacity);
+        }
+    }
+
+    /** @return number of cells in this chunk. */
+    final int size() {
+        return m_size;
+    }
+
+    /** Removes all cells, keeps the allocated arrays. */
+    final void clear() {
+        Arrays.fill(m_missingBits, 0L);
+        Arrays.fill(m_specialBits, 0L);
+        if (m_specialCells != null) {
+            Arrays.fill(m_specialCells, 0, m_size, null);
+        }
+        m_size = 0;
+    }
+
+    /**
+     * Appends a cell to the chunk.
+     * @param cell The cell to add, not null.
+     */
+    final void add(final DataCell cell) {
+        final int index = m_size;
+        if (index >= capacity()) {
+            allocate(Math.max(16, 2 * index));
+        }
+        m_size++;
+        if (cell == DataType.getMissingCell()) {
+            setBit(m_missingBits, index);
+        } else if (!setNative(index, cell)) {
+            setBit(m_specialBits, index);
+            if (m_specialCells == null) {
+                m_specialCells = new DataCell[capacity()];
+            }
+            m_specialCells[index] = cell;
+        }
+    }
+
+    /**
+     * @param index The row index in this chunk.
+     * @return The cell at that index (new instance for native cells).
+     */
+    final DataCell getCell(final int index) {
+        if (isSet(m_missingBits, index)) {
+            return DataType.getMissingCell();
+        } else if (isSet(m_specialBits, index)) {
+            return m_specialCells[index];
+        }
+        return getNative(index);
+    }
+
+    /**
+     * Writes the chunk content.
+     * @param out To write to.
+     * @throws IOException If writing fails or a cell can't be serialized.
+     */
+    final void write(final ColumnarCellDataOutput out) throws IOException {
+        final int words = wordCount(m_size);
+        writeBits(out, m_missingBits, words);
+        final boolean hasSpecial = writeBits(out, m_specialBits, words);
+        writeNative(out, m_size);
+        if (hasSpecial) {
+            for (int i = 0; i < m_size; i++) {
+                if (isSet(m_specialBits, i)) {
+                    out.writeDataCell(m_specialCells[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the content of this chunk by the content read from the argument stream.
+     * @param in To read from.
+     * @param rowCount The number of rows in the chunk (as written in the chunk header).
+     * @throws IOException If reading fails.
+     */
+    final void read(final ColumnarCellDataInput in, final int rowCount) throws IOException {
+        clear();
+        if (rowCount > capacity()) {
+            allocate(rowCount);
+        }
+        m_size = rowCount;
+        final int words = wordCount(rowCount);
+        readBits(in, m_missingBits, words);
+        final boolean hasSpecial = readBits(in, m_specialBits, words);
+        readNative(in, rowCount);
+        if (hasSpecial) {
+            if (m_specialCells == null) {
+                m_specialCells = new DataCell[capacity()];
+            }
+            for (int i = 0; i < rowCount; i++) {
+                if (isSet(m_specialBits, i)) {
+                    m_specialCells[i] = in.readDataCell();
+                }
+            }
+        }
+    }
+
+    /** @return true if the cell at the given index is neither missing nor special. */
+    final boolean isNative(final int index) {
+        return !isSet(m_missingBits, index) && !isSet(m_specialBits, index);
+    }
+
+    private void allocate(final int capacity) {
+        final int words = wordCount(capacity);
+        m_missingBits = m_missingBits == null ? new long[words] : Arrays.copyOf(m_missingBits, words);
+        m_specialBits = m_specialBits == null ? new long[words] : Arrays.copyOf(m_specialBits, words);
+        if (m_specialCells != null) {
+            m_specialCells = Arrays.copyOf(m_specialCells, capacity);
+        }
+        ensureNativeCapacity(capacity);
+    }
+
+    /** @return the current capacity of the native arrays. */
+    abstract int capacity();
+
+    /** Grows the native arrays (keeping content).
+     * @param capacity The new capacity. */
+    abstract void ensureNativeCapacity(int capacity);
+
+    /**
+     * @param index Where to put
+     * @param cell The non-missing cell
+     * @return true if the cell is a native cell, false if it needs to be kept as special cell.
+     */
+    abstract boolean setNative(int index, DataCell cell);
+
+    /** @param index The row index within the chunk, the cell at that index must be native (see {@link #isNative(int)}).
+     * @return a new cell representing the native value at the index. */
+    abstract DataCell getNative(int index);
+
+    /** Writes the native values of all rows (or only the native rows, as per {@link #isNative(int)}).
+     * @param out The output to write to.
+     * @param rowCount The number of rows in this chunk, i.e. the number of values to write.
+     * @throws IOException If writing fails. */
+    abstract void writeNative(ColumnarCellDataOutput out, int rowCount) throws IOException;
+
+    /** Counterpart to {@link #writeNative(ColumnarCellDataOutput, int)}; bitmaps are already read.
+     * @param in The input to read from.
+     * @param rowCount The number of rows in this chunk, i.e. the number of values to read.
+     * @throws IOException If reading fails. */
+    abstract void readNative(ColumnarCellDataInput in, int rowCount) throws IOException;
+
+    static int wordCount(final int bitCount) {
+        return (bitCount + 63) >>> 6;
+    }
+
+    static void setBit(final long[] bits, final int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    static boolean isSet(final long[] bits, final int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0L;
+    }
+
+    private static boolean writeBits(final ColumnarCellDataOutput out, final long[] bits, final int words)
+        throws IOException {
+        boolean any = false;
+        for (int i = 0; i < words && !any; i++) {
+            any = bits[i] != 0L;
+        }
+        out.writeBoolean(any);
+        if (any) {
+            for (int i = 0; i < words; i++) {
+                out.writeLong(bits[i]);
+            }
+        }
+        return any;
+    }
+
+    private static boolean readBits(final ColumnarCellDataInput in, final long[] bits, final int words)
+        throws IOException {
+        if (!in.readBoolean()) {
+            return false;
+        }
+        for (int i = 0; i < words; i++) {
+            bits[i] = in.readLong();
+        }
+        return true;
+    }
+
+    /** Chunk for {@link DoubleCell}. */
+    static final class DoubleChunk extends ColumnarColumnChunk {
+
+        private double[] m_values;
+
+        DoubleChunk(final int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        int capacity() {
+            return m_values.length;
+        }
+
+        @Override
+        void ensureNativeCapacity(final int capacity) {
+            m_values = m_values == null ? new double[capacity] : Arrays.copyOf(m_values, capacity);
+        }
+
+        @Override
+        boolean setNative(final int index, final DataCell cell) {
+            if (cell.getClass() == DoubleCell.class) {
+                m_values[index] = ((DoubleCell)cell).getDoubleValue();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        DataCell getNative(final int index) {
+            return new DoubleCell(m_values[index]);
+        }
+
+        @Override
+        void writeNative(final ColumnarCellDataOutput out, final int rowCount) throws IOException {
+            for (int i = 0; i < rowCount; i++) {
+                out.writeDouble(m_values[i]);
+            }
+        }
+
+        @Override
+        void readNative(final ColumnarCellDataInput in, final int rowCount) throws IOException {
+            for (int i = 0; i < rowCount; i++) {
+                m_values[i] = in.readDouble();
+            }
+        }
+    }
+
+    /** Chunk for {@link IntCell}. */
+    static final class IntChunk extends ColumnarColumnChunk {
+
+        private int[] m_values;
+
+        IntChunk(final int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        int capacity() {
+            return m_values.length;
+        }
+
+        @Override
+        void ensureNativeCapacity(final int capacity) {
+            m_values = m_values == null ? new int[capacity] : Arrays.copyOf(m_values, capacity);
+        }
+
+        @Override
+        boolean setNative(final int index, final DataCell cell) {
+            if (cell.getClass() == IntCell.class) {
+                m_values[index] = ((IntCell)cell).getIntValue();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        DataCell getNative(final int index) {
+            return new IntCell(m_values[index]);
+        }
+
+        @Override
+        void writeNative(final ColumnarCellDataOutput out, final int rowCount) throws IOException {
+            for (int i = 0; i < rowCount; i++) {
+                out.writeInt(m_values[i]);
+            }
+        }
+
+        @Override
+        void readNative(final ColumnarCellDataInput in, final int rowCount) throws IOException {
+            for (int i = 0; i < rowCount; i++) {
+                m_values[i] = in.readInt();
+            }
+        }
+    }
+
+    /** Chunk for {@link LongCell}. */
+    static final class LongChunk extends ColumnarColumnChunk {
+
+        private long[] m_values;
+
+        LongChunk(final int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        int capacity() {
+            return m_values.length;
+        }
+
+        @Override
+        void ensureNativeCapacity(final int capacity) {
+            m_values = m_values == null ? new long[capacity] : Arrays.copyOf(m_values, capacity);
+        }
+
+        @Override
+        boolean setNative(final int index, final DataCell cell) {
+            if (cell.getClass() == LongCell.class) {
+                m_values[index] = ((LongCell)cell).getLongValue();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        DataCell getNative(final int index) {
+            return new LongCell(m_values[index]);
+        }
+
+        @Override
+        void writeNative(final ColumnarCellDataOutput out, final int rowCount) throws IOException {
+            for (int i = 0; i < rowCount; i++) {
+                out.writeLong(m_values[i]);
+            }
+        }
+
+        @Override
+        void readNative(final ColumnarCellDataInput in, final int rowCount) throws IOException {
+            for (int i = 0; i < rowCount; i++) {
+                m_values[i] = in.readLong();
+            }
+        }
+    }
+
+    /** Chunk for {@link StringCell}, only native values are written. */
+    static final class StringChunk extends ColumnarColumnChunk {
+
+        private String[] m_values;
+
+        StringChunk(final int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        int capacity() {
+            return m_values.length;
+        }
+
+        @Override
+        void ensureNativeCapacity(final int capacity) {
+            m_values = m_values == null ? new String[capacity] : Arrays.copyOf(m_values, capacity);
+        }
+
+        @Override
+        boolean setNative(final int index, final DataCell cell) {
+            if (cell.getClass() == StringCell.class) {
+                m_values[index] = ((StringCell)cell).getStringValue();
+                return true;
+            }
+            m_values[index] = null;
+            return false;
+        }
+
+        @Override
+        DataCell getNative(final int index) {
+            return new StringCell(m_values[index]);
+        }
+
+        @Override
+        void writeNative(final ColumnarCellDataOutput out, final int rowCount) throws IOException {
+            for (int i = 0; i < rowCount; i++) {
+                if (isNative(i)) {
+                    out.writeUTF(m_values[i]);
+                }
+            }
+        }
+
+        @Override
+        void readNative(final ColumnarCellDataInput in, final int rowCount) throws IOException {
+            for (int i = 0; i < rowCount; i++) {
+                m_values[i] = isNative(i) ? in.readUTF() : null;
+            }
+        }
+    }
+
+    /** Chunk for {@link BooleanCell}, values are stored as bitmap. */
+    static final class BooleanChunk extends ColumnarColumnChunk {
+
+        private long[] m_values;
+
+        private int m_capacity;
+
+        BooleanChunk(final int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        int capacity() {
+            return m_capacity;
+        }
+
+        @Override
+        void ensureNativeCapacity(final int capacity) {
+            final int words = wordCount(capacity);
+            m_values = m_values == null ? new long[words] : Arrays.copyOf(m_values, words);
+            m_capacity = capacity;
+        }
+
+        @Override
+        boolean setNative(final int index, final DataCell cell) {
+            if (cell.getClass() == BooleanCell.class) {
+                if (((BooleanCell)cell).getBooleanValue()) {
+                    setBit(m_values, index);
+                } else {
+                    m_values[index >>> 6] &= ~(1L << index);
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        DataCell getNative(final int index) {
+            return BooleanCell.get(isSet(m_values, index));
+        }
+
+        @Override
+        void writeNative(final ColumnarCellDataOutput out, final int rowCount) throws IOException {
+            for (int i = 0; i < wordCount(rowCount); i++) {
+                out.writeLong(m_values[i]);
+            }
+        }
+
+        @Override
+        void readNative(final ColumnarCellDataInput in, final int rowCount) throws IOException {
+            for (int i = 0; i < wordCount(rowCount); i++) {
+                m_values[i] = in.readLong();
+            }
+        }
+    }
+
+    /** Chunk for all other types, all non-missing cells are special. */
+    static final class SerializedChunk extends ColumnarColumnChunk {
+
+        private int m_capacity;
+
+        SerializedChunk(final int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        int capacity() {
+            return m_capacity;
+        }
+
+        @Override
+        void ensureNativeCapacity(final int capacity) {
+            m_capacity = capacity;
+        }
+
+        @Override
+        boolean setNative(final int index, final DataCell cell) {
+            return false;
+        }
+
+        @Override
+        DataCell getNative(final int index) {
+            throw new IllegalStateException("Serialized chunks have no native cells");
+        }
+
+        @Override
+        void writeNative(final ColumnarCellDataOutput out, final int rowCount) {
+            // all content is written as special cells
+        }
+
+        @Override
+        void readNative(final ColumnarCellDataInput in, final int rowCount) {
+            // all content is read as special cells
+        }
+    }
+
+}
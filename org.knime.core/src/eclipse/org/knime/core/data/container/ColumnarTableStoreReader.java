@@ -0,0 +1,278 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellSerializer;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataTypeRegistry;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.storage.AbstractTableStoreReader;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+
+/**
+ * Reader for the {@link ColumnarTableStoreFormat}, see {@link ColumnarTableStoreWriter} for the file layout.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ColumnarTableStoreReader extends AbstractTableStoreReader implements KNIMEStreamConstants {
+
+    private final File m_binFile;
+
+    private final DataTableSpec m_spec;
+
+    private final boolean m_isReadRowKey;
+
+    private final CompressionFormat m_compressionFormat;
+
+    private final DataCellSerializer<DataCell>[] m_serializers;
+
+    /**
+     * @param binFile The file to read from.
+     * @param spec The table spec.
+     * @param settings The settings as written by {@link ColumnarTableStoreWriter#writeMetaInfoAfterWrite(
+     *            org.knime.core.node.NodeSettingsWO)}.
+     * @param isReadRowKey Whether the file contains row keys.
+     * @throws InvalidSettingsException If the settings are invalid or a cell class can't be loaded.
+     */
+    ColumnarTableStoreReader(final File binFile, final DataTableSpec spec, final NodeSettingsRO settings,
+        final boolean isReadRowKey) throws InvalidSettingsException {
+        m_binFile = binFile;
+        m_spec = spec;
+        m_isReadRowKey = isReadRowKey;
+        String compression = settings.getString(ColumnarTableStoreFormat.CFG_COMPRESSION);
+        try {
+            m_compressionFormat = CompressionFormat.valueOf(compression);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSettingsException(String.format("Unable to parse \"%s\" property (\"%s\"): %s",
+                ColumnarTableStoreFormat.CFG_COMPRESSION, compression, e.getMessage()), e);
+        }
+        String[] cellClassNames = settings.getStringArray(ColumnarTableStoreFormat.CFG_CELL_CLASSES);
+        @SuppressWarnings("unchecked")
+        DataCellSerializer<DataCell>[] serializers = new DataCellSerializer[cellClassNames.length];
+        for (int i = 0; i < cellClassNames.length; i++) {
+            final String className = cellClassNames[i];
+            Class<? extends DataCell> cl = DataTypeRegistry.getInstance().getCellClass(className)
+                .orElseThrow(() -> new InvalidSettingsException("Can't load data cell class '" + className + "'"));
+            serializers[i] = DataTypeRegistry.getInstance().getSerializer(cl)
+                .orElseThrow(() -> new InvalidSettingsException("No serializer for cell class '" + className + "'"));
+        }
+        m_serializers = serializers;
+    }
+
+    /** @return the compression of the bin file. */
+    CompressionFormat getCompressionFormat() {
+        return m_compressionFormat;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TableStoreCloseableRowIterator iterator() throws IOException {
+        return iterator(null);
+    }
+
+    /** {@inheritDoc} Blocks of unselected columns are skipped, their cells are returned as missing. */
+    @Override
+    public TableStoreCloseableRowIterator iterator(final int[] materializeColumnIndices) throws IOException {
+        if (m_binFile == null) {
+            throw new IOException("Unable to read table from file, table has been cleared.");
+        }
+        return new ColumnarFromFileIterator(toColumnMask(materializeColumnIndices, m_spec.getNumColumns()));
+    }
+
+    /** Iterator reading one chunk at a time. */
+    final class ColumnarFromFileIterator extends TableStoreCloseableRowIterator {
+
+        private DataInputStream m_inStream;
+
+        private final ColumnarColumnChunk[] m_chunks;
+
+        private final boolean[] m_materializeColumnMask;
+
+        private final ColumnarCellDataInput m_blockInput;
+
+        private String[] m_rowKeys;
+
+        private byte[] m_blockBytes = new byte[1024];
+
+        private int m_rowCountInChunk;
+
+        private int m_indexInChunk;
+
+        private boolean m_isEndReached;
+
+        ColumnarFromFileIterator(final boolean[] materializeColumnMask) throws IOException {
+            m_materializeColumnMask = materializeColumnMask;
+            InputStream in = OffHeapRowCache.getInstance().openInputStream(m_binFile);
+            try {
+                in = m_compressionFormat.wrapInputStream(in);
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+            m_inStream = new DataInputStream(in);
+            m_blockInput = new ColumnarCellDataInput(m_serializers);
+            final int chunkSize = ColumnarTableStoreFormat.CHUNK_SIZE;
+            m_chunks = new ColumnarColumnChunk[m_spec.getNumColumns()];
+            for (int i = 0; i < m_chunks.length; i++) {
+                m_chunks[i] = ColumnarColumnChunk.create(m_spec.getColumnSpec(i).getType(), chunkSize);
+            }
+            m_rowKeys = m_isReadRowKey ? new String[chunkSize] : null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized boolean hasNext() {
+            if (m_indexInChunk < m_rowCountInChunk) {
+                return true;
+            }
+            if (m_isEndReached || m_inStream == null) {
+                return false;
+            }
+            try {
+                readChunk();
+            } catch (IOException ioe) {
+                throw new RuntimeException("Unable to read from file \"" + m_binFile.getName() + "\": "
+                    + ioe.getMessage(), ioe);
+            }
+            if (m_isEndReached) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized BlobSupportDataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Iterator at end");
+            }
+            final int index = m_indexInChunk++;
+            DataCell[] cells = new DataCell[m_chunks.length];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = m_materializeColumnMask[i] ? m_chunks[i].getCell(index) : DataType.getMissingCell();
+            }
+            RowKey key = m_isReadRowKey ? new RowKey(m_rowKeys[index]) : DUMMY_ROW_KEY;
+            return new BlobSupportDataRow(key, cells);
+        }
+
+        private void readChunk() throws IOException {
+            final int rowCount = m_inStream.readInt();
+            m_rowCountInChunk = rowCount;
+            m_indexInChunk = 0;
+            if (rowCount == 0) {
+                m_isEndReached = true;
+                return;
+            }
+            if (m_isReadRowKey) {
+                readBlock();
+                if (rowCount > m_rowKeys.length) {
+                    m_rowKeys = new String[rowCount];
+                }
+                for (int i = 0; i < rowCount; i++) {
+                    m_rowKeys[i] = m_blockInput.readUTF();
+                }
+            }
+            for (int i = 0; i < m_chunks.length; i++) {
+                if (m_materializeColumnMask[i]) {
+                    readBlock();
+                    m_chunks[i].read(m_blockInput, rowCount);
+                } else {
+                    skipBlock();
+                }
+            }
+        }
+
+        /** Skips over the next length prefixed block. */
+        private void skipBlock() throws IOException {
+            int remaining = m_inStream.readInt();
+            while (remaining > 0) {
+                int skipped = m_inStream.skipBytes(remaining);
+                if (skipped <= 0) {
+                    throw new IOException("Unexpected end of stream while skipping column block");
+                }
+                remaining -= skipped;
+            }
+        }
+
+        /** Reads the next length prefixed block into memory and sets it as content of the block input. */
+        private void readBlock() throws IOException {
+            final int length = m_inStream.readInt();
+            if (length > m_blockBytes.length) {
+                m_blockBytes = new byte[Math.max(length, 2 * m_blockBytes.length)];
+            }
+            m_inStream.readFully(m_blockBytes, 0, length);
+            m_blockInput.reset(m_blockBytes, length);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized boolean performClose() throws IOException {
+            if (m_inStream == null) {
+                return false;
+            }
+            DataInputStream in = m_inStream;
+            m_inStream = null;
+            m_rowCountInChunk = 0;
+            m_indexInChunk = 0;
+            in.close();
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
+import org.knime.core.data.container.storage.AbstractTableStoreWriter;
+import org.knime.core.node.NodeSettingsWO;
+
+/**
+ * Writer for the {@link ColumnarTableStoreFormat}. Rows are collected into column chunks of
+ * {@link ColumnarTableStoreFormat#CHUNK_SIZE} rows, which are then written column by column. The file layout is a
+ * sequence of chunks, each consisting of the row count, the (optional) block of row keys and one block per column.
+ * Each block is prefixed by its length in bytes. The file is terminated by a chunk with row count 0.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ColumnarTableStoreWriter extends AbstractTableStoreWriter {
+
+    private final CompressionFormat m_compressionFormat;
+
+    private final DataOutputStream m_outStream;
+
+    /** Temporary storage of a single block, needed to determine its length. */
+    private final ByteArrayOutputStream m_blockBytes;
+
+    private final ColumnarCellDataOutput m_blockOutput;
+
+    private final ColumnarColumnChunk[] m_chunks;
+
+    private final String[] m_rowKeys;
+
+    private int m_rowCountInChunk;
+
+    /**
+     * @param spec The spec of the table.
+     * @param outputStream To write to.
+     * @param writeRowKey Whether to persist the row keys.
+     * @throws IOException If the stream can't be initialized.
+     */
+    ColumnarTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey)
+        throws IOException {
+        this(spec, outputStream, writeRowKey, DefaultTableStoreFormat.COMPRESSION_FORMAT);
+    }
+
+    /**
+     * @param spec The spec of the table.
+     * @param outputStream To write to.
+     * @param writeRowKey Whether to persist the row keys.
+     * @param compressionFormat The compression of the stream.
+     * @throws IOException If the stream can't be initialized.
+     */
+    ColumnarTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey,
+        final CompressionFormat compressionFormat) throws IOException {
+        super(spec, writeRowKey);
+        m_compressionFormat = compressionFormat;
+        m_outStream = new DataOutputStream(
+            m_compressionFormat.wrapOutputStream(new BufferedOutputStream(outputStream)));
+        m_blockBytes = new ByteArrayOutputStream();
+        m_blockOutput = new ColumnarCellDataOutput(m_blockBytes);
+        final int chunkSize = ColumnarTableStoreFormat.CHUNK_SIZE;
+        m_chunks = new ColumnarColumnChunk[spec.getNumColumns()];
+        for (int i = 0; i < m_chunks.length; i++) {
+            m_chunks[i] = ColumnarColumnChunk.create(spec.getColumnSpec(i).getType(), chunkSize);
+        }
+        m_rowKeys = writeRowKey ? new String[chunkSize] : null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeRow(final DataRow row) throws IOException {
+        final int cellCount = row.getNumCells();
+        if (cellCount != m_chunks.length) {
+            throw new IOException(String.format("Row \"%s\" has %d cells, expected %d",
+                row.getKey(), cellCount, m_chunks.length));
+        }
+        if (m_rowKeys != null) {
+            m_rowKeys[m_rowCountInChunk] = row.getKey().getString();
+        }
+        for (int i = 0; i < cellCount; i++) {
+            m_chunks[i].add(row.getCell(i));
+        }
+        if (++m_rowCountInChunk >= ColumnarTableStoreFormat.CHUNK_SIZE) {
+            flushChunk();
+        }
+    }
+
+    /** Writes the current chunk to the stream and clears the column chunks. */
+    private void flushChunk() throws IOException {
+        if (m_rowCountInChunk == 0) {
+            return;
+        }
+        m_outStream.writeInt(m_rowCountInChunk);
+        if (m_rowKeys != null) {
+            for (int i = 0; i < m_rowCountInChunk; i++) {
+                m_blockOutput.writeUTF(m_rowKeys[i]);
+            }
+            writeBlock();
+        }
+        for (ColumnarColumnChunk chunk : m_chunks) {
+            chunk.write(m_blockOutput);
+            writeBlock();
+            chunk.clear();
+        }
+        m_rowCountInChunk = 0;
+    }
+
+    /** Writes the length prefixed content of {@link #m_blockBytes}. */
+    private void writeBlock() throws IOException {
+        m_blockOutput.flush();
+        m_outStream.writeInt(m_blockBytes.size());
+        m_blockBytes.writeTo(m_outStream);
+        m_blockBytes.reset();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeMetaInfoAfterWrite(final NodeSettingsWO settings) {
+        settings.addString(ColumnarTableStoreFormat.CFG_COMPRESSION, m_compressionFormat.name());
+        List<Class<? extends DataCell>> cellClasses = m_blockOutput.getCellClasses();
+        settings.addStringArray(ColumnarTableStoreFormat.CFG_CELL_CLASSES,
+            cellClasses.stream().map(Class::getName).toArray(String[]::new));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        flushChunk();
+        m_outStream.writeInt(0);
+        m_outStream.close();
+    }
+
+}
@@ -180,6 +180,16 @@ public CloseableRowIterator iterator() {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public CloseableRowIterator filteredIterator(final int[] materializeColumnIndices) {
+        if (m_tablesWrapper == null) {
+            return new MyIterator(materializeColumnIndices);
+        } else {
+            return iterator();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void putIntoTableRepository(
@@ -321,11 +331,19 @@ private class MyIterator extends CloseableRowIterator {
         private int m_tableIndex;
         private CloseableRowIterator m_curIterator;
         private DataRow m_next;
+        private final int[] m_materializeColumnIndices;
 
         /** Creates new iterator. */
         public MyIterator() {
+            this(null);
+        }
+
+        /** Creates new iterator only reading the argument columns.
+         * @param materializeColumnIndices The columns to read or <code>null</code> for all. */
+        MyIterator(final int[] materializeColumnIndices) {
+            m_materializeColumnIndices = materializeColumnIndices;
             m_tableIndex = 0;
-            m_curIterator = m_tables[m_tableIndex].iterator();
+            m_curIterator = m_tables[m_tableIndex].filteredIterator(m_materializeColumnIndices);
             m_next = internalNext();
         }
 
@@ -353,7 +371,7 @@ private DataRow internalNext() {
             }
             if (m_tableIndex < m_tables.length - 1) {
                 m_tableIndex++;
-                m_curIterator = m_tables[m_tableIndex].iterator();
+                m_curIterator = m_tables[m_tableIndex].filteredIterator(m_materializeColumnIndices);
                 return internalNext();
             }
             return null;
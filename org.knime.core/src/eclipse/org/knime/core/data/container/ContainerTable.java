@@ -49,11 +49,16 @@
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.internal.ReferencedFile;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.BufferedDataTable.KnowsRowCountTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -83,6 +88,9 @@ public final class ContainerTable implements DataTable, KnowsRowCountTable {
      * demand (e.g. iterator is opened). */
     private CopyOnAccessTask m_readTask;
     private DataTableSpec m_spec;
+    /** The zip file this table was last read from or saved to; handed on by subsequent saves instead of writing the
+     * rows again (as long as it is unchanged). Null if there is none; guarded by this. */
+    private PersistedFile m_persistedFile;
 
     /**
      * Create new Table based on a Buffer. This constructor is called from
@@ -104,6 +112,7 @@ public final class ContainerTable implements DataTable, KnowsRowCountTable {
     ContainerTable(final CopyOnAccessTask readTask, final DataTableSpec spec) {
         m_readTask = readTask;
         m_spec = spec;
+        m_persistedFile = new PersistedFile(readTask.getFileRef());
     }
 
     /**
@@ -126,6 +135,32 @@ public CloseableRowIterator iterator() {
         return m_buffer.iterator();
     }
 
+    /**
+     * {@inheritDoc}
+     * @since 3.6
+     */
+    @Override
+    public CloseableRowIterator filteredIterator(final int[] materializeColumnIndices) {
+        ensureBufferOpen();
+        return m_buffer.iterator(materializeColumnIndices);
+    }
+
+    /** Iterates the rows starting at the argument row, see {@link Buffer#iterator(int[], long)}.
+     * @param materializeColumnIndices The sorted indices of the columns to read or <code>null</code> to read all.
+     * @param fromRow The index of the first row to return.
+     * @return a new iterator.
+     */
+    CloseableRowIterator iterator(final int[] materializeColumnIndices, final long fromRow) {
+        ensureBufferOpen();
+        return m_buffer.iterator(materializeColumnIndices, fromRow);
+    }
+
+    /** @return whether the rows are held in memory, see {@link Buffer#isInMemory()}. */
+    boolean isInMemory() {
+        ensureBufferOpen();
+        return m_buffer.isInMemory();
+    }
+
     /**
      * {@inheritDoc}
      * @deprecated use {@link #size()} instead which supports more than {@link Integer#MAX_VALUE} rows
@@ -187,11 +222,134 @@ protected void restoreIntoMemory() {
     public void saveToFile(final File f, final NodeSettingsWO settings,
             final ExecutionMonitor exec) throws IOException,
             CanceledExecutionException {
+        saveToFile(f, settings, exec, false);
+    }
+
+    /**
+     * Do not call this method! Internal use!
+     * Saves the table as {@link #saveToFile(File, NodeSettingsWO, ExecutionMonitor)} and optionally stores the
+     * binary data uncompressed, so that it is memory-mapped when the table is read back.
+     *
+     * @param f The file to write to.
+     * @param settings Settings to save additional information to.
+     * @param exec For progress/cancel.
+     * @param uncompressed Whether to store the binary data uncompressed.
+     * @throws IOException If writing fails.
+     * @throws CanceledExecutionException If canceled.
+     * @since 3.6
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public void saveToFile(final File f, final NodeSettingsWO settings,
+            final ExecutionMonitor exec, final boolean uncompressed) throws IOException,
+            CanceledExecutionException {
+        // the content is immutable, a file written before is as good as a new one (unless the format is different)
+        if (reusePersistedFile(f, uncompressed)) {
+            return;
+        }
         ensureBufferOpen();
-        ZipOutputStream zipOut = new ZipOutputStream(
-                new BufferedOutputStream(new FileOutputStream(f)));
-        m_buffer.addToZipFile(zipOut, exec);
-        zipOut.close();
+        // a memory-mapped file must not be replaced while it is read from (by this or any other table)
+        MemoryMappedTableFile.copyMappingsIn(f);
+        // never write into an existing file, it may be a hard link shared with another save location
+        Files.deleteIfExists(f.toPath());
+        try (ZipOutputStream zipOut = new ZipOutputStream(
+                new BufferedOutputStream(new FileOutputStream(f)))) {
+            m_buffer.addToZipFile(zipOut, exec, uncompressed);
+        }
+        setPersistedFile(f);
+    }
+
+    /**
+     * Do not call this method! Internal use!
+     * Lets tables that read memory-mapped files in the argument directory read from temp copies of that data
+     * instead, so that the directory can be cleared and written anew while these tables are still in use.
+     *
+     * @param directory The directory that is about to be cleared, e.g. a node directory of a workflow being saved.
+     * @throws IOException If the data can't be copied.
+     * @since 3.6
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public static void detachMemoryMappedFiles(final File directory) throws IOException {
+        MemoryMappedTableFile.copyMappingsIn(directory);
+    }
+
+    /**
+     * Hands on the zip file this table was read from or saved to before by hard-linking (or, if that's not possible,
+     * copying) it to the argument file, unless the file has changed since or stores the data in a different format.
+     *
+     * @param f The file to save to.
+     * @param uncompressed Whether the binary data is to be stored uncompressed.
+     * @return true if the file is in place, false if the table needs to be written.
+     */
+    private synchronized boolean reusePersistedFile(final File f, final boolean uncompressed) {
+        PersistedFile persisted = m_persistedFile;
+        if (persisted == null || !persisted.isUnchanged()) {
+            return false;
+        }
+        Path source = persisted.getFile().toPath();
+        Path target = f.toPath();
+        try {
+            if (persisted.isStoredUncompressed() != uncompressed) {
+                return false;
+            }
+            if (Files.exists(target) && Files.isSameFile(source, target)) {
+                // saved to the same location again (or a hard link of it)
+                return true;
+            }
+            Files.deleteIfExists(target);
+            try {
+                Files.createLink(target, source);
+            } catch (IOException | UnsupportedOperationException e) {
+                // e.g. different file system or no hard link support
+                Files.copy(source, target);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to reuse data file \"" + source + "\" for \"" + target
+                + "\", writing table instead: " + e.getMessage(), e);
+            return false;
+        }
+        m_persistedFile = new PersistedFile(new ReferencedFile(f));
+        return true;
+    }
+
+    private synchronized void setPersistedFile(final File f) {
+        m_persistedFile = new PersistedFile(new ReferencedFile(f));
+    }
+
+    /** A zip file holding the data of this table, with its size and modification time taken when it was read or
+     * written. Used to identify whether it is still the file written by this table. */
+    private static final class PersistedFile {
+
+        private final ReferencedFile m_fileRef;
+        private final long m_length;
+        private final long m_lastModified;
+        /** Whether the data entry is stored uncompressed, determined on demand. */
+        private Boolean m_isStoredUncompressed;
+
+        PersistedFile(final ReferencedFile fileRef) {
+            m_fileRef = fileRef;
+            File file = fileRef.getFile();
+            m_length = file.length();
+            m_lastModified = file.lastModified();
+        }
+
+        File getFile() {
+            return m_fileRef.getFile();
+        }
+
+        boolean isUnchanged() {
+            File file = getFile();
+            return file.isFile() && file.length() == m_length && file.lastModified() == m_lastModified;
+        }
+
+        boolean isStoredUncompressed() throws IOException {
+            if (m_isStoredUncompressed == null) {
+                try (ZipFile zipFile = new ZipFile(getFile())) {
+                    ZipEntry dataEntry = zipFile.getEntry(Buffer.ZIP_ENTRY_DATA);
+                    m_isStoredUncompressed = dataEntry != null && dataEntry.getMethod() == ZipEntry.STORED;
+                }
+            }
+            return m_isStoredUncompressed;
+        }
     }
 
     /**
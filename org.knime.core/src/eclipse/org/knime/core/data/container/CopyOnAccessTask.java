@@ -56,12 +56,16 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.text.NumberFormat;
+import java.util.Enumeration;
 import java.util.Map;
 import java.util.TimerTask;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
+import org.eclipse.core.runtime.Platform;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.DataContainer.BufferCreator;
 import org.knime.core.data.filestore.internal.FileStoreHandlerRepository;
@@ -93,6 +97,11 @@ final class CopyOnAccessTask {
      * files won't report their copying (if faster than this threshold). */
     private static final long NOTIFICATION_DELAY = 3000;
 
+    /** Whether a temp copy of the workflow's zip file is mapped instead of the file itself. Windows doesn't allow
+     * deleting or replacing a file while it's mapped, which would break saving the workflow. Changed by test cases
+     * only. */
+    static boolean mapTempCopy = Platform.OS_WIN32.equals(Platform.getOS());
+
     /** To read from. */
     private final ReferencedFile m_fileRef;
     /** The spec corresponding to the table in m_fileRef. */
@@ -131,7 +140,8 @@ final class CopyOnAccessTask {
     }
 
     /**
-     * Called to start the copy process. Is only called once.
+     * Called to start the copy process. Is only called once. If the data entry in the zip file is stored uncompressed
+     * it is not copied but memory-mapped, see {@link MemoryMappedTableFile}.
      * @return The buffer instance reading from the temp file.
      * @throws IOException If the file can't be accessed.
      */
@@ -142,6 +152,11 @@ Buffer createBuffer() throws IOException {
         m_fileRef.lock();
         try {
             final File file = m_fileRef.getFile();
+            MemoryMappedTableFile mappedFile = mapTempCopy ? mapCopyInTemp(file)
+                : MemoryMappedTableFile.map(file, Buffer.ZIP_ENTRY_DATA);
+            if (mappedFile != null) {
+                return createMappedBuffer(mappedFile, mappedFile.getFile() != file);
+            }
             timerTask = new TimerTask() {
                 /** {@inheritDoc} */
                 @Override
@@ -172,55 +187,161 @@ public void run() {
      * @throws IOException If the file can't be accessed.
      */
     Buffer createBuffer(final InputStream in) throws IOException {
-        ZipInputStream inStream = new ZipInputStream(in);
-        ZipEntry entry;
         // file name ending may change later when meta info is read
         final String fallbackFileExtension = ".tmp";
         File binFile = DataContainer.createTempFile(fallbackFileExtension);
-        File blobDir = null;
-        File fileStoreDir = null;
-        // we only need to read from this file while being in
-        // this method; temp file is deleted later on.
-        File metaTempFile = FileUtil.createTempFile("meta", ".xml", true);
-        DataTableSpec spec = m_spec;
-        boolean isSpecFound = m_spec != null;
-        boolean isDataFound = false;
-        boolean isMetaFound = false;
-        while ((entry = inStream.getNextEntry()) != null) {
-            String name = entry.getName();
-            if (name.equals(Buffer.ZIP_ENTRY_DATA)) {
-                try (OutputStream output = new BufferedOutputStream(new FileOutputStream(binFile))) {
-                    FileUtil.copy(inStream, output);
+        ZipContent content = new ZipContent(binFile, Buffer.createBlobDirNameForTemp(binFile));
+        try (ZipInputStream inStream = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = inStream.getNextEntry()) != null) {
+                if (entry.getName().equals(Buffer.ZIP_ENTRY_DATA)) {
+                    try (OutputStream output = new BufferedOutputStream(new FileOutputStream(binFile))) {
+                        FileUtil.copy(inStream, output);
+                    }
+                    content.m_isDataFound = true;
+                } else {
+                    content.readEntry(entry, inStream, new NonClosableInputStream.Zip(inStream));
                 }
                 inStream.closeEntry();
-                isDataFound = true;
-            } else if (name.equals(Buffer.ZIP_ENTRY_META)) {
-                try (OutputStream output = new BufferedOutputStream(new FileOutputStream(metaTempFile))) {
-                    FileUtil.copy(inStream, output);
+            }
+        }
+        Buffer buffer = content.createBuffer();
+        // TODO fix the file ending of the temp file -- purely cosmetic change
+        // the below currently doesn't work as we change the file name in the background and that breaks the reader
+//        File binFileParent = binFile.getParentFile();
+//        String binFileSimpleName = binFile.getName();
+//        String binFileSimpleNameFixed = StringUtils.removeEnd(binFileSimpleName, fallbackFileExtension)
+//                + buffer.getOutputFormat().getFilenameSuffix();
+//        File binFileNew = new File(binFileParent, binFileSimpleNameFixed);
+//        if (!binFileNew.exists()) {
+//            binFile.renameTo(binFileNew); // we don't bother if that succeeds or not
+//        }
+        return buffer;
+    }
+
+    /**
+     * Copies the zip file to temp and maps the copy, if the data entry is stored uncompressed.
+     * @return The mapped entry of the copy or <code>null</code> if the entry can't be mapped (the copy is deleted
+     *         then).
+     */
+    private static MemoryMappedTableFile mapCopyInTemp(final File file) throws IOException {
+        try (ZipFile zipFile = new ZipFile(file)) {
+            ZipEntry dataEntry = zipFile.getEntry(Buffer.ZIP_ENTRY_DATA);
+            if (dataEntry == null || dataEntry.getMethod() != ZipEntry.STORED) {
+                return null;
+            }
+        }
+        File copy = DataContainer.createTempFile(".zip");
+        MemoryMappedTableFile mappedFile = null;
+        try {
+            Files.copy(file.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            mappedFile = MemoryMappedTableFile.map(copy, Buffer.ZIP_ENTRY_DATA);
+            return mappedFile;
+        } finally {
+            if (mappedFile == null) {
+                copy.delete();
+            }
+        }
+    }
+
+    /**
+     * Creates the buffer on a memory-mapped data entry. The zip file is the buffer's bin file (all reads go through
+     * the registered mapping), only the remaining entries are extracted.
+     * @param isTempCopy Whether the zip file is a temp copy of the workflow's file, which is then owned (and deleted)
+     *            by the buffer.
+     */
+    private Buffer createMappedBuffer(final MemoryMappedTableFile mappedFile, final boolean isTempCopy)
+        throws IOException {
+        final File file = mappedFile.getFile();
+        LOGGER.debug("Memory-mapping data file \"" + file.getAbsolutePath() + "\" ("
+            + NumberFormat.getInstance().format(mappedFile.getLength() / (double)(1 << 20)) + "MB)");
+        MemoryMappedTableFile.register(mappedFile);
+        boolean success = false;
+        try (ZipFile zipFile = new ZipFile(file)) {
+            ZipContent content = new ZipContent(file, null);
+            content.m_isDataFound = true;
+            for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();) {
+                ZipEntry entry = entries.nextElement();
+                if (!entry.getName().equals(Buffer.ZIP_ENTRY_DATA)) {
+                    try (InputStream entryIn = zipFile.getInputStream(entry)) {
+                        content.readEntry(entry, entryIn, new NonClosableInputStream(entryIn));
+                    }
                 }
-                inStream.closeEntry();
-                isMetaFound = true;
+            }
+            Buffer buffer = content.createBuffer();
+            if (!isTempCopy) {
+                buffer.setBinFileMemoryMapped();
+            }
+            success = true;
+            return buffer;
+        } finally {
+            if (!success) {
+                MemoryMappedTableFile.unregister(file);
+                if (isTempCopy) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    /** Collects the entries of a table zip file and creates the buffer from them. */
+    private final class ZipContent {
+
+        private final File m_binFile;
+
+        /** Name of the blob directory, which is created on demand; null to create a new temp directory. */
+        private final File m_blobDirName;
+
+        private File m_blobDir;
+
+        private File m_fileStoreDir;
+
+        /** we only need to read from this file while the buffer is created; temp file is deleted afterwards. */
+        private final File m_metaTempFile;
+
+        private DataTableSpec m_contentSpec = m_spec;
+
+        private boolean m_isDataFound;
+
+        private boolean m_isMetaFound;
+
+        ZipContent(final File binFile, final File blobDirName) throws IOException {
+            m_binFile = binFile;
+            m_blobDirName = blobDirName;
+            m_metaTempFile = FileUtil.createTempFile("meta", ".xml", true);
+        }
+
+        /**
+         * Handles an entry other than the data entry.
+         * @param entry The entry.
+         * @param in The entry's content.
+         * @param nonClosableIn The entry's content, closing it does not close the zip stream
+         */
+        void readEntry(final ZipEntry entry, final InputStream in, final InputStream nonClosableIn)
+            throws IOException {
+            String name = entry.getName();
+            if (name.equals(Buffer.ZIP_ENTRY_META)) {
+                try (OutputStream output = new BufferedOutputStream(new FileOutputStream(m_metaTempFile))) {
+                    FileUtil.copy(in, output);
+                }
+                m_isMetaFound = true;
             } else if (name.startsWith(Buffer.ZIP_ENTRY_BLOBS)) {
-                if (blobDir == null) {
-                    blobDir = Buffer.createBlobDirNameForTemp(binFile);
+                if (m_blobDir == null) {
+                    m_blobDir = m_blobDirName != null ? m_blobDirName
+                        : FileUtil.createTempDir("knime_blobs_datacontainer-");
                 }
-                copyEntryToDir(entry, inStream, blobDir);
+                copyEntryToDir(entry, in, m_blobDir);
             } else if (name.startsWith(Buffer.ZIP_ENTRY_FILESTORES)) {
-                if (fileStoreDir == null) {
-                    fileStoreDir = FileUtil.createTempDir("knime_fs_datacontainer-");
+                if (m_fileStoreDir == null) {
+                    m_fileStoreDir = FileUtil.createTempDir("knime_fs_datacontainer-");
                 }
-                copyEntryToDir(entry, inStream, fileStoreDir);
-            } else if (name.equals(DataContainer.ZIP_ENTRY_SPEC)
-                    && !isSpecFound) {
-                InputStream nonClosableStream =
-                    new NonClosableInputStream.Zip(inStream);
-                NodeSettingsRO settings =
-                    NodeSettings.loadFromXML(nonClosableStream);
+                copyEntryToDir(entry, in, m_fileStoreDir);
+            } else if (name.equals(DataContainer.ZIP_ENTRY_SPEC) && m_contentSpec == null) {
+                NodeSettingsRO settings = NodeSettings.loadFromXML(nonClosableIn);
                 try {
                     NodeSettingsRO specSettings = settings.getNodeSettings(
                             DataContainer.CFG_TABLESPEC);
-                    spec = DataTableSpec.load(specSettings);
-                    isSpecFound = true;
+                    m_contentSpec = DataTableSpec.load(specSettings);
                 } catch (InvalidSettingsException ise) {
                     IOException ioe = new IOException(
                             "Unable to read spec from file");
@@ -229,39 +350,39 @@ Buffer createBuffer(final InputStream in) throws IOException {
                 }
             }
         }
-        inStream.close();
-        if (!isDataFound) {
-            throw new IOException("No entry " + Buffer.ZIP_ENTRY_DATA
-                    + " in file");
-        }
-        if (!isMetaFound) {
-            throw new IOException("No entry " + Buffer.ZIP_ENTRY_META
-                    + " in file");
-        }
-        if (!isSpecFound) {
-            throw new IOException("No entry " + DataContainer.ZIP_ENTRY_SPEC
-                    + " in file");
-        }
-        InputStream metaIn = new BufferedInputStream(
-                new FileInputStream(metaTempFile));
-        Buffer buffer = m_bufferCreator.createBuffer(binFile, blobDir, fileStoreDir,
-                spec, metaIn, m_bufferID, m_tableRep, m_fileStoreHandlerRepository);
-        // TODO fix the file ending of the temp file -- purely cosmetic change
-        // the below currently doesn't work as we change the file name in the background and that breaks the reader
-//        File binFileParent = binFile.getParentFile();
-//        String binFileSimpleName = binFile.getName();
-//        String binFileSimpleNameFixed = StringUtils.removeEnd(binFileSimpleName, fallbackFileExtension)
-//                + buffer.getOutputFormat().getFilenameSuffix();
-//        File binFileNew = new File(binFileParent, binFileSimpleNameFixed);
-//        if (!binFileNew.exists()) {
-//            binFile.renameTo(binFileNew); // we don't bother if that succeeds or not
-//        }
-        if (m_needsRestoreIntoMemory) {
-            buffer.restoreIntoMemory();
+
+        /** Creates the buffer once all entries are read. */
+        Buffer createBuffer() throws IOException {
+            if (!m_isDataFound) {
+                throw new IOException("No entry " + Buffer.ZIP_ENTRY_DATA
+                        + " in file");
+            }
+            if (!m_isMetaFound) {
+                throw new IOException("No entry " + Buffer.ZIP_ENTRY_META
+                        + " in file");
+            }
+            if (m_contentSpec == null) {
+                throw new IOException("No entry " + DataContainer.ZIP_ENTRY_SPEC
+                        + " in file");
+            }
+            InputStream metaIn = new BufferedInputStream(
+                    new FileInputStream(m_metaTempFile));
+            Buffer buffer = m_bufferCreator.createBuffer(m_binFile, m_blobDir, m_fileStoreDir,
+                    m_contentSpec, metaIn, m_bufferID, m_tableRep, m_fileStoreHandlerRepository);
+            if (m_needsRestoreIntoMemory) {
+                buffer.restoreIntoMemory();
+            }
+            metaIn.close();
+            m_metaTempFile.delete();
+            return buffer;
         }
-        metaIn.close();
-        metaTempFile.delete();
-        return buffer;
+    }
+
+    /** Get the file to copy from.
+     * @return source file reference
+     */
+    ReferencedFile getFileRef() {
+        return m_fileRef;
     }
 
     /** Get name of file to copy from. Used for better error messages.
@@ -296,7 +417,7 @@ Map<Integer, ContainerTable> getTableRepository() {
      * directory. Used to copy the blobs from the zip file to /temp/.
      */
     private static void copyEntryToDir(final ZipEntry entry,
-            final ZipInputStream in, final File tempDir) throws IOException {
+            final InputStream in, final File tempDir) throws IOException {
         String path = entry.getName();
         if (path.startsWith(Buffer.ZIP_ENTRY_BLOBS + "/")) {
             path = path.substring((Buffer.ZIP_ENTRY_BLOBS + "/").length());
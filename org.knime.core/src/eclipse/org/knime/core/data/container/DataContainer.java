@@ -51,28 +51,26 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.ref.WeakReference;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.Exchanger;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
-import org.eclipse.core.runtime.Platform;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
@@ -148,7 +146,13 @@ public class DataContainer implements RowAppender {
      *
      * @see KNIMEConstants#PROPERTY_ASYNC_WRITE_CACHE_SIZE
      */
-    public static final int DEF_ASYNC_CACHE_SIZE = 10;
+    public static final int DEF_ASYNC_CACHE_SIZE = 100;
+
+    /**
+     * The number of batches (each of size {@link #ASYNC_CACHE_SIZE}) a container can hand off to the write threads
+     * before it blocks.
+     */
+    static final int ASYNC_QUEUE_SIZE = 4;
 
     /**
      * The default number of possible values being kept at most. If the number of possible values in a column exceeds
@@ -241,8 +245,25 @@ public class DataContainer implements RowAppender {
             SYNCHRONOUS_IO = false;
         }
 
-        // enh 5835: Number of asynchronous write threads to have different limits on different architectures
-        MAX_ASYNC_WRITE_THREADS = Platform.ARCH_X86.equals(Platform.getOSArch()) ? 10 : 50;
+        // a temp directory usually sits on a single disk and the write threads also serialize (and compress) the
+        // data, so the pool is bounded by the number of cores; more threads only cause thrashing
+        int asyncWriteThreads = Math.max(2, Math.min(Runtime.getRuntime().availableProcessors(), 8));
+        String valAsyncThreads = System.getProperty(KNIMEConstants.PROPERTY_ASYNC_WRITE_THREADS);
+        if (valAsyncThreads != null) {
+            String s = valAsyncThreads.trim();
+            try {
+                int newCount = Integer.parseInt(s);
+                if (newCount <= 0) {
+                    throw new NumberFormatException("async write thread count <= 0: " + newCount);
+                }
+                asyncWriteThreads = newCount;
+                LOGGER.debug("Setting number of asynchronous table write threads to " + asyncWriteThreads);
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property " + KNIMEConstants.PROPERTY_ASYNC_WRITE_THREADS
+                    + ", using default (" + asyncWriteThreads + ")", e);
+            }
+        }
+        MAX_ASYNC_WRITE_THREADS = asyncWriteThreads;
     }
 
     /**
@@ -269,19 +290,12 @@ public class DataContainer implements RowAppender {
     /** Size of buffers. */
     static final int ASYNC_CACHE_SIZE;
 
-    /** The executor, which runs the IO tasks. Currently used only while writing rows. */
-    static final ThreadPoolExecutor ASYNC_EXECUTORS =
-    // see also Executors.newCachedThreadPool(ThreadFactory)
-        new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
-            new ThreadFactory() {
-                private final AtomicInteger m_threadCount = new AtomicInteger();
-
-                /** {@inheritDoc} */
-                @Override
-                public Thread newThread(final Runnable r) {
-                    return new Thread(r, "KNIME-TableIO-" + m_threadCount.incrementAndGet());
-                }
-            });
+    /**
+     * The executor, which runs the IO tasks. Currently used only while writing rows. It's a fixed size pool
+     * ({@link #MAX_ASYNC_WRITE_THREADS}) shared by all containers; containers submit a task only when they have
+     * batches to write, so the number of concurrently writing containers is not limited by the pool size.
+     */
+    static final ThreadPoolExecutor ASYNC_EXECUTORS = createAsyncExecutors();
 
     /**
      * Whether to use synchronous IO while adding rows to a buffer or reading from an file iterator. This is by default
@@ -290,18 +304,14 @@ public Thread newThread(final Runnable r) {
     static final boolean SYNCHRONOUS_IO;
 
     /**
-     * the maximum number of asynchronous write threads, each additional container will switch to synchronous mode.
+     * The number of asynchronous write threads, see {@link KNIMEConstants#PROPERTY_ASYNC_WRITE_THREADS}. Containers
+     * block (rather than switching to synchronous mode) if the threads can't keep up.
      */
     static final int MAX_ASYNC_WRITE_THREADS;
 
-    /** Put into write queue to signal end of writing process. */
-    private static final Object CONTAINER_CLOSE = new Object();
-
+    /** Put into write queue to signal that the buffer should be flushed to disc (memory is low). */
     private static final Object FLUSH_CACHE = new Object();
 
-    /** Put into read queue to signal failure while writing a row. */
-    private static final Object CONTAINER_WRITE_FAILED = new Object();
-
     /**
      * The object that instantiates the buffer, may be set right after constructor call before any rows are added.
      */
@@ -316,28 +326,20 @@ public Thread newThread(final Runnable r) {
      */
     private int m_size;
 
-    /**
-     * The object that represent the pending task of adding a data rows to a table.
-     */
-    private Future<Void> m_asyncAddFuture;
-
-    private AtomicReference<Throwable> m_writeThrowable;
-
     /**
      * Whether this container writes synchronously, i.e. when rows come in they get written immediately. If true the
-     * fields {@link #m_asyncAddFuture} and {@link #m_writeThrowable} are null. This field coincides most of times with
-     * the {@link #SYNCHRONOUS_IO}, but may be true if there are too many concurrent write threads (more than
-     * {@value #MAX_ASYNC_WRITE_THREADS}).
+     * field {@link #m_writeQueue} is null. This field coincides with {@link #SYNCHRONOUS_IO} unless synchronous IO
+     * is forced in the constructor.
      */
     private final boolean m_isSynchronousWrite;
 
-    /** The asynchronous queue holding the most recently added rows. */
-    private Exchanger<List<Object>> m_rowBufferExchanger;
+    /** The queue handing off row batches to the write threads, null if writing synchronously. */
+    private final ASyncWriteQueue m_writeQueue;
 
+    /** The batch currently filled by {@link #addRowToTable(DataRow)}, null until the first row is added and after
+     * it has been handed off to the write queue. */
     private List<Object> m_fillingRowBuffer;
 
-    private List<Object> m_emptyingRowBuffer;
-
     private int m_maxRowsInMemory;
 
     /** Holds the keys of the added rows to check for duplicates. */
@@ -428,26 +430,8 @@ protected DataContainer(final DataTableSpec spec, final boolean initDomain, fina
         }
         m_spec = spec;
         m_duplicateChecker = new DuplicateChecker();
-        boolean isSynchronousWrite = forceSynchronousIO || SYNCHRONOUS_IO;
-        if (!isSynchronousWrite && ASYNC_EXECUTORS.getActiveCount() > MAX_ASYNC_WRITE_THREADS) {
-            LOGGER.debug("Number of Table IO write threads exceeds " + MAX_ASYNC_WRITE_THREADS
-                + " -- switching to synchronous write mode");
-            isSynchronousWrite = true;
-        }
-        m_isSynchronousWrite = isSynchronousWrite;
-        if (m_isSynchronousWrite) {
-            m_fillingRowBuffer = null;
-            m_emptyingRowBuffer = null;
-            m_asyncAddFuture = null;
-            m_rowBufferExchanger = null;
-            m_writeThrowable = null;
-        } else {
-            m_fillingRowBuffer = new ArrayList<Object>(ASYNC_CACHE_SIZE);
-            m_emptyingRowBuffer = new ArrayList<Object>(ASYNC_CACHE_SIZE);
-            m_rowBufferExchanger = new Exchanger<List<Object>>();
-            m_writeThrowable = new AtomicReference<Throwable>();
-            m_asyncAddFuture = ASYNC_EXECUTORS.submit(new ASyncWriteCallable(this, NodeContext.getContext()));
-        }
+        m_isSynchronousWrite = forceSynchronousIO || SYNCHRONOUS_IO;
+        m_writeQueue = m_isSynchronousWrite ? null : new ASyncWriteQueue(this, NodeContext.getContext());
 
         m_domainCreator = new DataTableDomainCreator(m_spec, initDomain);
         m_size = 0;
@@ -500,7 +484,7 @@ private void addRowToTableWrite(final DataRow row) {
     }
 
     private void checkAsyncWriteThrowable() {
-        Throwable t = m_writeThrowable.get();
+        Throwable t = m_writeQueue.getWriteThrowable();
         if (t != null) {
             StringBuilder error = new StringBuilder();
             if (t.getMessage() != null) {
@@ -613,14 +597,15 @@ public void close() {
         }
         if (!m_isSynchronousWrite) {
             try {
-                offerToAsynchronousQueue(CONTAINER_CLOSE);
-                m_asyncAddFuture.get();
-                checkAsyncWriteThrowable();
+                if (m_fillingRowBuffer != null) {
+                    m_writeQueue.submit(m_fillingRowBuffer);
+                    m_fillingRowBuffer = null;
+                }
+                m_writeQueue.awaitCompletion();
             } catch (InterruptedException e) {
                 throw new DataContainerException("Adding rows to table was interrupted", e);
-            } catch (ExecutionException e) {
-                throw new DataContainerException("Adding rows to table threw exception", e);
             }
+            checkAsyncWriteThrowable();
         }
         // create table spec _after_ all_ rows have been added (i.e. wait for
         // asynchronous write thread to finish)
@@ -645,38 +630,24 @@ public void close() {
     }
 
     /**
-     * Adds the argument object (which will be a DataRow unless when called from close()) to the filling data row queue.
-     * It will exchange the filling queue with the emptying queue from the write thread in case the queue is full.
+     * Adds the argument object (a DataRow or {@link #FLUSH_CACHE}) to the filling batch. The batch is handed off to
+     * the write queue when it's full (or a flush is requested), which blocks if the write threads can't keep up.
      *
      * @param object the object to add.
      */
     private void offerToAsynchronousQueue(final Object object) {
-        m_fillingRowBuffer.add(object);
-        if (m_fillingRowBuffer.size() >= ASYNC_CACHE_SIZE || object == CONTAINER_CLOSE || object == FLUSH_CACHE) {
-            while (true) {
-                try {
-                    m_fillingRowBuffer = m_rowBufferExchanger.exchange(m_fillingRowBuffer, 30, TimeUnit.SECONDS);
-                    if (!m_fillingRowBuffer.isEmpty()) {
-                        Object ob = m_fillingRowBuffer.get(0);
-                        assert ob == CONTAINER_WRITE_FAILED : "Not expected element in write queue: " + ob;
-                        m_fillingRowBuffer.clear();
-                        checkAsyncWriteThrowable();
-                    }
-                    return;
-                } catch (TimeoutException e) {
-                    if (m_asyncAddFuture.isDone()) {
-                        checkAsyncWriteThrowable();
-                        // if we reach this code, the write process has not
-                        // thrown an exception (the above line will likely
-                        // throw an exc.)
-                        throw new DataContainerException("Writing to table has unexpectedly stopped");
-                    }
-                    continue;
-                } catch (InterruptedException e) {
-                    m_asyncAddFuture.cancel(true);
-                    throw new DataContainerException("Adding rows to buffer was interrupted", e);
-                }
+        try {
+            if (m_fillingRowBuffer == null) {
+                m_fillingRowBuffer = m_writeQueue.takeEmptyBatch();
             }
+            m_fillingRowBuffer.add(object);
+            if (m_fillingRowBuffer.size() >= ASYNC_CACHE_SIZE || object == FLUSH_CACHE) {
+                List<Object> batch = m_fillingRowBuffer;
+                m_fillingRowBuffer = null;
+                m_writeQueue.submit(batch);
+            }
+        } catch (InterruptedException e) {
+            throw new DataContainerException("Adding rows to buffer was interrupted", e);
         }
     }
 
@@ -910,7 +881,7 @@ protected Map<Integer, ContainerTable> getLocalTableRepository() {
 
     /**
      * @return the isSynchronousWrite whether the data is written in the same thread that calls addRow. Property depends
-     *         on system property {@link #SYNCHRONOUS_IO} and the number of concurrent writes.
+     *         on system property {@link #SYNCHRONOUS_IO}.
      */
     boolean isSynchronousWrite() {
         return m_isSynchronousWrite;
@@ -1196,91 +1167,186 @@ public static final boolean isContainerTable(final DataTable table) {
         return table instanceof ContainerTable;
     }
 
+    /** @return a new fixed size pool with {@link #MAX_ASYNC_WRITE_THREADS} threads, which time out when idle. */
+    private static ThreadPoolExecutor createAsyncExecutors() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_ASYNC_WRITE_THREADS, MAX_ASYNC_WRITE_THREADS, 60L,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger m_threadCount = new AtomicInteger();
+
+                /** {@inheritDoc} */
+                @Override
+                public Thread newThread(final Runnable r) {
+                    return new Thread(r, "KNIME-TableIO-" + m_threadCount.incrementAndGet());
+                }
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /** @return number of row batches handed off by all containers but not yet written (current queue depth). */
+    static int getAsyncWriteQueueDepth() {
+        return ASyncWriteQueue.QUEUED_BATCH_COUNT.get();
+    }
+
+    /** @return the maximum of {@link #getAsyncWriteQueueDepth()} since startup. */
+    static int getMaxAsyncWriteQueueDepth() {
+        return ASyncWriteQueue.MAX_QUEUED_BATCH_COUNT.get();
+    }
+
+    /** @return how often containers were blocked since startup because the write threads couldn't keep up. */
+    static long getAsyncWriteBlockedCount() {
+        return ASyncWriteQueue.BLOCKED_COUNT.get();
+    }
+
     /**
-     * Background task that will write the output data. This is kept as static inner class in order to allow for a
-     * garbage collection of the outer class (which indicates an early stopped buffer writing).
+     * Hand-off of row batches from a container to the shared {@link #ASYNC_EXECUTORS}. Batches are recycled: a
+     * container owns {@link #ASYNC_QUEUE_SIZE} batch lists, which circulate between the queue of empty batches (taken
+     * by the container) and the queue of filled batches (emptied by the write task). A container that runs out of
+     * empty batches blocks until the write task catches up (back-pressure). At most one write task per container is
+     * scheduled at a time so rows are written in order; the task ends once all filled batches are written, hence
+     * idle containers don't occupy a thread.
      */
-    private static final class ASyncWriteCallable implements Callable<Void> {
+    private static final class ASyncWriteQueue {
+
+        /** Number of filled batches of all containers not yet written. */
+        static final AtomicInteger QUEUED_BATCH_COUNT = new AtomicInteger();
 
-        private final WeakReference<DataContainer> m_containerRef;
+        /** Maximum of {@link #QUEUED_BATCH_COUNT}. */
+        static final AtomicInteger MAX_QUEUED_BATCH_COUNT = new AtomicInteger();
+
+        /** Number of times a container had to wait for an empty batch. */
+        static final AtomicLong BLOCKED_COUNT = new AtomicLong();
+
+        private final DataContainer m_container;
 
         private final NodeContext m_context;
 
+        private final BlockingQueue<List<Object>> m_emptyBatches;
+
+        private final BlockingQueue<List<Object>> m_filledBatches;
+
+        private final AtomicBoolean m_isWriteTaskScheduled = new AtomicBoolean();
+
+        private final AtomicReference<Throwable> m_writeThrowable = new AtomicReference<Throwable>();
+
+        /** Time the container thread spent waiting for empty batches, only accessed by that thread. */
+        private long m_blockedNanos;
+
+        private int m_blockedCount;
+
         /**
-         * @param cont The outer container.
+         * @param container The outer container.
          * @param context owner node information, if any.
          */
-        ASyncWriteCallable(final DataContainer cont, final NodeContext context) {
+        ASyncWriteQueue(final DataContainer container, final NodeContext context) {
+            m_container = container;
             m_context = context;
-            m_containerRef = new WeakReference<DataContainer>(cont);
+            m_emptyBatches = new ArrayBlockingQueue<List<Object>>(ASYNC_QUEUE_SIZE);
+            m_filledBatches = new ArrayBlockingQueue<List<Object>>(ASYNC_QUEUE_SIZE);
+            for (int i = 0; i < ASYNC_QUEUE_SIZE; i++) {
+                m_emptyBatches.add(new ArrayList<Object>(ASYNC_CACHE_SIZE));
+            }
+        }
+
+        /** @return the error that occurred while writing or null. */
+        Throwable getWriteThrowable() {
+            return m_writeThrowable.get();
+        }
+
+        /**
+         * Gets an empty batch to fill, blocks if all batches are queued for writing.
+         *
+         * @return an empty batch.
+         * @throws InterruptedException If interrupted while waiting.
+         */
+        List<Object> takeEmptyBatch() throws InterruptedException {
+            List<Object> batch = m_emptyBatches.poll();
+            if (batch == null) {
+                BLOCKED_COUNT.incrementAndGet();
+                m_blockedCount += 1;
+                long start = System.nanoTime();
+                batch = m_emptyBatches.take();
+                m_blockedNanos += System.nanoTime() - start;
+            }
+            return batch;
         }
 
-        /** {@inheritDoc} */
-        @Override
-        public Void call() throws Exception {
+        /**
+         * Queues a filled batch (taken via {@link #takeEmptyBatch()}) and schedules the write task if needed.
+         *
+         * @param batch the batch to write.
+         */
+        void submit(final List<Object> batch) {
+            // never blocks, there are only ASYNC_QUEUE_SIZE batches
+            m_filledBatches.add(batch);
+            int queued = QUEUED_BATCH_COUNT.incrementAndGet();
+            MAX_QUEUED_BATCH_COUNT.accumulateAndGet(queued, Math::max);
+            if (m_isWriteTaskScheduled.compareAndSet(false, true)) {
+                try {
+                    ASYNC_EXECUTORS.execute(this::writeQueuedBatches);
+                } catch (RejectedExecutionException e) {
+                    m_isWriteTaskScheduled.set(false);
+                    throw new DataContainerException("Unable to schedule table write task", e);
+                }
+            }
+        }
+
+        /**
+         * Waits until all submitted batches are written. Any error is available via {@link #getWriteThrowable()}
+         * afterwards.
+         *
+         * @throws InterruptedException If interrupted while waiting.
+         */
+        void awaitCompletion() throws InterruptedException {
+            for (int i = 0; i < ASYNC_QUEUE_SIZE; i++) {
+                m_emptyBatches.take();
+            }
+            if (m_blockedCount > 0) {
+                LOGGER.debugWithFormat("Adding rows to table blocked %d time(s) for %d ms in total waiting for "
+                    + "table write threads (%d threads, max queue depth %d batches)", m_blockedCount,
+                    TimeUnit.NANOSECONDS.toMillis(m_blockedNanos), MAX_ASYNC_WRITE_THREADS,
+                    MAX_QUEUED_BATCH_COUNT.get());
+            }
+        }
+
+        /** Task run in {@link #ASYNC_EXECUTORS}, writes all queued batches. */
+        private void writeQueuedBatches() {
             NodeContext.pushContext(m_context);
             try {
-                return callWithContext();
+                do {
+                    List<Object> batch;
+                    while ((batch = m_filledBatches.poll()) != null) {
+                        QUEUED_BATCH_COUNT.decrementAndGet();
+                        try {
+                            writeBatch(batch);
+                        } finally {
+                            batch.clear();
+                            m_emptyBatches.add(batch);
+                        }
+                    }
+                    m_isWriteTaskScheduled.set(false);
+                    // a batch may have been submitted after the last poll but before the flag was reset
+                } while (!m_filledBatches.isEmpty() && m_isWriteTaskScheduled.compareAndSet(false, true));
             } finally {
                 NodeContext.removeLastContext();
             }
         }
 
-        private Void callWithContext() throws Exception {
-            DataContainer d = m_containerRef.get();
-            if (d == null) {
-                // data container was already discarded (no rows added)
-                return null;
+        private void writeBatch(final List<Object> batch) {
+            if (m_writeThrowable.get() != null) {
+                // previous batch failed, discard rows (container thread will throw an exception)
+                return;
             }
-            List<Object> queue = d.m_emptyingRowBuffer;
-            final AtomicReference<Throwable> throwable = d.m_writeThrowable;
-            final Exchanger<List<Object>> exchanger = d.m_rowBufferExchanger;
             try {
-                do {
-                    final int size = queue.size();
-                    for (int i = 0; i < size; i++) {
-                        Object obj = queue.set(i, null);
-                        if (obj == CONTAINER_CLOSE) {
-                            assert i == size - 1;
-                            // table has been closed
-                            // (some non-DataRow was queued)
-                            return null;
-                        } else if (obj == FLUSH_CACHE) {
-                            assert i == size - 1;
-                            d.m_buffer.flushBuffer();
-                        } else {
-                            DataRow row = (DataRow)obj;
-                            d.addRowToTableWrite(row);
-                        }
-                    }
-                    queue.clear();
-                    d = null;
-                    try {
-                        queue = exchanger.exchange(queue, 30, TimeUnit.SECONDS);
-                    } catch (TimeoutException te) {
-                        // can be safely ignored, do another loop on the same
-                        // (empty!) queue (or don't if container is gc'ed)
-                    }
-                    d = m_containerRef.get();
-                } while (d != null);
-                // m_containerRef.get() returned null -> close() was never
-                // called on the container (which was garbage collected
-                // already); we can end this thread
-                LOGGER.debug("Ending DataContainer write thread since container was garbage collected");
-                return null;
-            } catch (Throwable t) {
-                throwable.compareAndSet(null, t);
-                boolean callExchange = !queue.contains(CONTAINER_CLOSE);
-                queue.clear();
-                queue.add(CONTAINER_WRITE_FAILED);
-                if (callExchange) {
-                    try {
-                        exchanger.exchange(queue, 30, TimeUnit.SECONDS);
-                    } catch (Exception e) {
-                        // ignore
+                for (Object obj : batch) {
+                    if (obj == FLUSH_CACHE) {
+                        m_container.m_buffer.flushBuffer();
+                    } else {
+                        m_container.addRowToTableWrite((DataRow)obj);
                     }
                 }
-                return null;
+            } catch (Throwable t) {
+                m_writeThrowable.compareAndSet(null, t);
             }
         }
     }
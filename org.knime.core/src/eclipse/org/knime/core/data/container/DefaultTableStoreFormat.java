@@ -47,11 +47,17 @@
  */
 package org.knime.core.data.container;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
@@ -86,9 +92,13 @@ public final class DefaultTableStoreFormat implements TableStoreFormat {
     static final String CFG_CELL_SINGLE_ELEMENT_TYPE = "collection.element.type";
 
     /**
-     * Static field to enable/disable the usage of a GZipInput/OutpuStream when writing the binary data. This option
-     * defaults to {@value DataContainer#DEF_GZIP_COMPRESSION}. */
-    static final boolean IS_USE_GZIP;
+     * The compression format used for newly written tables, determined by
+     * {@link KNIMEConstants#PROPERTY_TABLE_COMPRESSION_FORMAT} or, if not set, by
+     * {@link KNIMEConstants#PROPERTY_TABLE_GZIP_COMPRESSION} (which defaults to
+     * {@value DataContainer#DEF_GZIP_COMPRESSION}). The format is stored along with each table so that tables written
+     * with a different setting can still be read.
+     */
+    static final CompressionFormat COMPRESSION_FORMAT;
 
     static {
         // prefer this block over Boolean.getBoolean(...) to cover typos
@@ -99,25 +109,108 @@ public final class DefaultTableStoreFormat implements TableStoreFormat {
             isUseGzipString = Boolean.toString(DataContainer.DEF_GZIP_COMPRESSION);
             debugLog = false;
         }
+        CompressionFormat format;
         if ("true".equals(isUseGzipString)) {
-            IS_USE_GZIP = true;
+            format = CompressionFormat.Gzip;
         } else if ("false".equals(isUseGzipString)) {
-            IS_USE_GZIP = false;
+            format = CompressionFormat.None;
         } else {
             debugLog = false;
             LOGGER.warn("Unable to read property " + KNIMEConstants.PROPERTY_TABLE_GZIP_COMPRESSION + " (\""
                     + isUseGzipString + "\"); defaulting to " + DataContainer.DEF_GZIP_COMPRESSION);
-            IS_USE_GZIP = DataContainer.DEF_GZIP_COMPRESSION;
+            format = DataContainer.DEF_GZIP_COMPRESSION ? CompressionFormat.Gzip : CompressionFormat.None;
+        }
+        String formatString = System.getProperty(KNIMEConstants.PROPERTY_TABLE_COMPRESSION_FORMAT);
+        if (formatString != null) {
+            CompressionFormat parsed = CompressionFormat.fromString(formatString);
+            if (parsed != null) {
+                format = parsed;
+                debugLog = true;
+            } else {
+                LOGGER.warn("Unable to read property " + KNIMEConstants.PROPERTY_TABLE_COMPRESSION_FORMAT + " (\""
+                    + formatString + "\"); valid values are " + Arrays.toString(CompressionFormat.values())
+                    + ", defaulting to " + format);
+            }
         }
+        COMPRESSION_FORMAT = format;
         if (debugLog) {
-            LOGGER.debug("Setting table stream compression to " + IS_USE_GZIP);
+            LOGGER.debug("Setting table stream compression to " + COMPRESSION_FORMAT);
         }
     }
 
-    /** Compression on the binary (main) file. */
+    /** Compression on the binary (main) file. The constant names are persisted in the table's meta information. */
     enum CompressionFormat {
-        Gzip,
-        None;
+        /** Deflate as per {@link GZIPOutputStream} -- good compression but CPU intensive. */
+        Gzip {
+            @Override
+            OutputStream wrapOutputStream(final OutputStream out) throws IOException {
+                // buffering the input stream is important as the blockable
+                // stream, which will be put on top of it, reads bytes individually
+                // (had a table, on which a single read-scan took ~6min without
+                // and ~30s with buffering)
+                return new BufferedOutputStream(new GZIPOutputStream(out));
+            }
+
+            @Override
+            InputStream wrapInputStream(final InputStream in) throws IOException {
+                // buffering is important when reading gzip streams
+                return new BufferedInputStream(new GZIPInputStream(in));
+            }
+        },
+        /** No compression. */
+        None {
+            @Override
+            OutputStream wrapOutputStream(final OutputStream out) {
+                return out;
+            }
+
+            @Override
+            InputStream wrapInputStream(final InputStream in) {
+                return in;
+            }
+        },
+        /** Fast block compression using {@link Lz4Codec}, lower compression ratio than gzip. */
+        Lz4 {
+            @Override
+            OutputStream wrapOutputStream(final OutputStream out) {
+                return new BufferedOutputStream(new Lz4BlockOutputStream(out));
+            }
+
+            @Override
+            InputStream wrapInputStream(final InputStream in) {
+                return new BufferedInputStream(new Lz4BlockInputStream(in));
+            }
+        };
+
+        /**
+         * Wraps the (buffered) argument stream so that the data written to the returned stream is compressed.
+         * @param out The stream to write the compressed data to.
+         * @return the stream to write to.
+         * @throws IOException If the stream can't be initialized.
+         */
+        abstract OutputStream wrapOutputStream(final OutputStream out) throws IOException;
+
+        /**
+         * Wraps the (buffered) argument stream so that the returned stream reads the uncompressed data.
+         * @param in The stream to read the compressed data from.
+         * @return the stream to read from.
+         * @throws IOException If the stream can't be initialized (e.g. invalid header).
+         */
+        abstract InputStream wrapInputStream(final InputStream in) throws IOException;
+
+        /**
+         * Case-insensitive lookup of a format by its name.
+         * @param name The name, e.g. "lz4".
+         * @return the format or null if there is no such format.
+         */
+        static CompressionFormat fromString(final String name) {
+            for (CompressionFormat f : values()) {
+                if (f.name().equalsIgnoreCase(name.trim())) {
+                    return f;
+                }
+            }
+            return null;
+        }
     }
 
     @Override
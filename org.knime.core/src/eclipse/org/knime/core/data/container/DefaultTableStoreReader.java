@@ -56,7 +56,7 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.DataTypeRegistry;
-import org.knime.core.data.container.Buffer.CompressionFormat;
+import org.knime.core.data.container.DefaultTableStoreFormat.CompressionFormat;
 import org.knime.core.data.container.storage.AbstractTableStoreReader;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeLogger;
@@ -99,10 +99,17 @@ void setBufferAfterConstruction(final Buffer buffer) {
 
     @Override
     public TableStoreCloseableRowIterator iterator() throws IOException {
+        return iterator(null);
+    }
+
+    /** {@inheritDoc} Unselected cells are skipped in the stream (no deserialization) and returned as missing. */
+    @Override
+    public TableStoreCloseableRowIterator iterator(final int[] materializeColumnIndices) throws IOException {
         if (m_version <= 5) { // 2.0 tech preview and before
             return new BufferFromFileIteratorVersion1x(this);
         } else {
-            return new BufferFromFileIteratorVersion20(this);
+            return new BufferFromFileIteratorVersion20(this,
+                toColumnMask(materializeColumnIndices, m_spec.getNumColumns()));
         }
     }
 
@@ -53,7 +53,6 @@
 import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.zip.GZIPOutputStream;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataCellSerializer;
@@ -95,8 +94,22 @@ final class DefaultTableStoreWriter extends AbstractTableStoreWriter implements
      */
     public DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream,
         final boolean writeRowKey) throws IOException {
+        this(spec, outputStream, writeRowKey, DefaultTableStoreFormat.COMPRESSION_FORMAT);
+    }
+
+    /**
+     * Writer using a specific compression format (instead of the configured default).
+     *
+     * @param spec The spec of the table.
+     * @param outputStream To write to.
+     * @param writeRowKey Whether to persist the row keys.
+     * @param compressionFormat The compression of the stream.
+     * @throws IOException If the stream can't be initialized.
+     */
+    DefaultTableStoreWriter(final DataTableSpec spec, final OutputStream outputStream, final boolean writeRowKey,
+        final CompressionFormat compressionFormat) throws IOException {
         super(spec, writeRowKey);
-        m_compressionFormat = DefaultTableStoreFormat.IS_USE_GZIP ? CompressionFormat.Gzip : CompressionFormat.None;
+        m_compressionFormat = compressionFormat;
         m_outStream = initOutFile(new BufferedOutputStream(outputStream));
     }
 
@@ -176,22 +189,7 @@ void writeDataCell(final DataCell cell, final DCObjectOutputVersion2 outStream)
      * Creates short cut array and wraps the argument stream in a {@link DCObjectOutputVersion2}.
      */
     private DCObjectOutputVersion2 initOutFile(final OutputStream outStream) throws IOException {
-        OutputStream wrap;
-        switch (m_compressionFormat) {
-            case Gzip:
-                wrap = new GZIPOutputStream(outStream);
-                // buffering the input stream is important as the blockable
-                // stream, which will be put on top of it, reads bytes individually
-                // (had a table, on which a single read-scan took ~6min without
-                // and ~30s with buffering)
-                wrap = new BufferedOutputStream(wrap);
-                break;
-            case None:
-                wrap = outStream;
-                break;
-            default:
-                throw new IOException("Unsupported compression format: " + m_compressionFormat);
-        }
+        OutputStream wrap = m_compressionFormat.wrapOutputStream(outStream);
         return new DCObjectOutputVersion2(wrap, this);
     }
 
@@ -47,6 +47,8 @@
  */
 package org.knime.core.data.container;
 
+import java.util.stream.IntStream;
+
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 
@@ -126,6 +128,22 @@ static final DataRow createOutputRow(final DataRow ref, final DataRow app,
         return new BlobSupportDataRow(ref.getKey(), cells);
     }
 
+    /** Determines the columns of one of the underlying tables that are needed to assemble the argument output
+     * columns. Used to create filtered iterators on the underlying tables.
+     * @param materializeColumnIndices The output columns to assemble or <code>null</code> for all.
+     * @param map The map containing which column maps to which index
+     * @param flags which column from which row.
+     * @param isReference Whether to determine the columns of the reference (flag is <code>true</code>) or of the
+     *            appended table.
+     * @return The sorted indices of the columns in the underlying table.
+     */
+    static int[] getUnderlyingColumnIndices(final int[] materializeColumnIndices, final int[] map,
+        final boolean[] flags, final boolean isReference) {
+        IntStream outputColumns = materializeColumnIndices == null
+                ? IntStream.range(0, map.length) : IntStream.of(materializeColumnIndices);
+        return outputColumns.filter(i -> flags[i] == isReference).map(i -> map[i]).sorted().distinct().toArray();
+    }
+
     /** {@inheritDoc} */
     @Override
     public void close() {
@@ -126,6 +126,17 @@ public CloseableRowIterator iterator() {
                 m_rightTable.iterator(), m_map, m_flags);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public CloseableRowIterator filteredIterator(final int[] materializeColumnIndices) {
+        return new JoinTableIterator(
+            m_leftTable.filteredIterator(
+                JoinTableIterator.getUnderlyingColumnIndices(materializeColumnIndices, m_map, m_flags, true)),
+            m_rightTable.filteredIterator(
+                JoinTableIterator.getUnderlyingColumnIndices(materializeColumnIndices, m_map, m_flags, false)),
+            m_map, m_flags);
+    }
+
     /**
      * Does nothing.
      * {@inheritDoc}
@@ -0,0 +1,194 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream reading data written by {@link Lz4BlockOutputStream}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class Lz4BlockInputStream extends InputStream {
+
+    private final InputStream m_in;
+
+    private byte[] m_buffer = new byte[0];
+
+    private byte[] m_compressedBuffer = new byte[0];
+
+    private int m_bufferPosition;
+
+    private int m_bufferLength;
+
+    private boolean m_isEndReached;
+
+    /**
+     * @param in The stream to read the compressed data from.
+     */
+    Lz4BlockInputStream(final InputStream in) {
+        m_in = in;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return m_buffer[m_bufferPosition++] & 0xFF;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        final int l = Math.min(len, m_bufferLength - m_bufferPosition);
+        System.arraycopy(m_buffer, m_bufferPosition, b, off, l);
+        m_bufferPosition += l;
+        return l;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long skip(final long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && ensureData()) {
+            final int l = (int)Math.min(n - skipped, m_bufferLength - m_bufferPosition);
+            m_bufferPosition += l;
+            skipped += l;
+        }
+        return skipped;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int available() throws IOException {
+        return m_bufferLength - m_bufferPosition;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        m_isEndReached = true;
+        m_in.close();
+    }
+
+    /** Reads the next block if the current one is consumed, returns false if the end of stream is reached. */
+    private boolean ensureData() throws IOException {
+        while (m_bufferPosition == m_bufferLength) {
+            if (m_isEndReached) {
+                return false;
+            }
+            readBlock();
+        }
+        return true;
+    }
+
+    private void readBlock() throws IOException {
+        final int rawLength = readInt();
+        if (rawLength == 0) {
+            m_isEndReached = true;
+            m_bufferPosition = 0;
+            m_bufferLength = 0;
+            return;
+        }
+        final int compressedLength = readInt();
+        if (rawLength < 0 || compressedLength <= 0 || compressedLength > rawLength
+            || compressedLength > Lz4Codec.maxCompressedLength(rawLength)) {
+            throw new IOException("Corrupt LZ4 stream: invalid block header (" + rawLength + ", "
+                + compressedLength + ")");
+        }
+        if (m_buffer.length < rawLength) {
+            m_buffer = new byte[rawLength];
+        }
+        if (compressedLength == rawLength) {
+            readFully(m_buffer, rawLength);
+        } else {
+            if (m_compressedBuffer.length < compressedLength) {
+                m_compressedBuffer = new byte[Lz4Codec.maxCompressedLength(rawLength)];
+            }
+            readFully(m_compressedBuffer, compressedLength);
+            Lz4Codec.decompress(m_compressedBuffer, compressedLength, m_buffer, rawLength);
+        }
+        m_bufferPosition = 0;
+        m_bufferLength = rawLength;
+    }
+
+    private void readFully(final byte[] b, final int len) throws IOException {
+        int n = 0;
+        while (n < len) {
+            final int count = m_in.read(b, n, len - n);
+            if (count < 0) {
+                throw new EOFException("Unexpected end of LZ4 stream");
+            }
+            n += count;
+        }
+    }
+
+    private int readInt() throws IOException {
+        final int b1 = m_in.read();
+        final int b2 = m_in.read();
+        final int b3 = m_in.read();
+        final int b4 = m_in.read();
+        if ((b1 | b2 | b3 | b4) < 0) {
+            throw new EOFException("Unexpected end of LZ4 stream");
+        }
+        return (b1 << 24) | (b2 << 16) | (b3 << 8) | b4;
+    }
+}
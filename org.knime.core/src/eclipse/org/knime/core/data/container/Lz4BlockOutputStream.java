@@ -0,0 +1,184 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream compressing its data in blocks using {@link Lz4Codec}. Each block is preceded by its uncompressed
+ * and compressed length (two big-endian ints); blocks that don't compress are stored as is, indicated by equal
+ * lengths. The stream is terminated by a block of length 0.
+ *
+ * <p>Similar to {@link java.util.zip.GZIPOutputStream} a call to {@link #flush()} does not finish the current block
+ * (which would hurt compression if called often) but only flushes the underlying stream; all data is written once
+ * the stream is closed.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class Lz4BlockOutputStream extends OutputStream {
+
+    /** Default size of the uncompressed blocks. */
+    static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+    private final OutputStream m_out;
+
+    private final byte[] m_buffer;
+
+    private final byte[] m_compressedBuffer;
+
+    private final int[] m_hashTable;
+
+    private int m_bufferPosition;
+
+    private boolean m_isClosed;
+
+    /**
+     * @param out The stream to write the compressed data to.
+     */
+    Lz4BlockOutputStream(final OutputStream out) {
+        this(out, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param out The stream to write the compressed data to.
+     * @param blockSize The size of the uncompressed blocks.
+     */
+    Lz4BlockOutputStream(final OutputStream out, final int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        m_out = out;
+        m_buffer = new byte[blockSize];
+        m_compressedBuffer = new byte[Lz4Codec.maxCompressedLength(blockSize)];
+        m_hashTable = Lz4Codec.createHashTable();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final int b) throws IOException {
+        ensureOpen();
+        if (m_bufferPosition == m_buffer.length) {
+            writeBlock();
+        }
+        m_buffer[m_bufferPosition++] = (byte)b;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (m_bufferPosition == m_buffer.length) {
+                writeBlock();
+            }
+            final int l = Math.min(remaining, m_buffer.length - m_bufferPosition);
+            System.arraycopy(b, offset, m_buffer, m_bufferPosition, l);
+            m_bufferPosition += l;
+            offset += l;
+            remaining -= l;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        m_out.flush();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        if (m_isClosed) {
+            return;
+        }
+        try {
+            writeBlock();
+            writeInt(0);
+            m_out.flush();
+        } finally {
+            m_isClosed = true;
+            m_out.close();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (m_bufferPosition == 0) {
+            return;
+        }
+        final int compressedLength = Lz4Codec.compress(m_buffer, m_bufferPosition, m_compressedBuffer, m_hashTable);
+        writeInt(m_bufferPosition);
+        if (compressedLength < m_bufferPosition) {
+            writeInt(compressedLength);
+            m_out.write(m_compressedBuffer, 0, compressedLength);
+        } else {
+            writeInt(m_bufferPosition);
+            m_out.write(m_buffer, 0, m_bufferPosition);
+        }
+        m_bufferPosition = 0;
+    }
+
+    private void writeInt(final int v) throws IOException {
+        m_out.write((v >>> 24) & 0xFF);
+        m_out.write((v >>> 16) & 0xFF);
+        m_out.write((v >>> 8) & 0xFF);
+        m_out.write(v & 0xFF);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (m_isClosed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
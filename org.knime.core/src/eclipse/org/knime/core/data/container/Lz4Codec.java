@@ -0,0 +1,261 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Pure Java implementation of the LZ4 block compression format. Trades compression ratio for speed; compared to
+ * deflate (as used by gzip) it compresses and decompresses several times faster, which makes writing temporary tables
+ * I/O bound rather than CPU bound. Only the block format is implemented, the framing is done in
+ * {@link Lz4BlockOutputStream} and {@link Lz4BlockInputStream}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class Lz4Codec {
+
+    private static final int MIN_MATCH = 4;
+
+    /** Matches must not start within the last 12 bytes of the input (format requirement). */
+    private static final int MF_LIMIT = 12;
+
+    /** The last 5 bytes of the input are always encoded as literals (format requirement). */
+    private static final int LAST_LITERALS = 5;
+
+    private static final int MAX_DISTANCE = (1 << 16) - 1;
+
+    private static final int RUN_MASK = 0x0F;
+
+    /** Increases the search step on incompressible data, every 2^SKIP_STRENGTH misses. */
+    private static final int SKIP_STRENGTH = 6;
+
+    /** Log of the number of entries in the hash table. */
+    static final int HASH_LOG = 12;
+
+    private Lz4Codec() {
+    }
+
+    /**
+     * @param length number of uncompressed bytes
+     * @return the size of a buffer that is large enough to hold the compressed representation (worst case)
+     */
+    static int maxCompressedLength(final int length) {
+        return length + length / 255 + 16;
+    }
+
+    /** @return a new hash table to be passed to {@link #compress(byte[], int, byte[], int[])} (can be reused). */
+    static int[] createHashTable() {
+        return new int[1 << HASH_LOG];
+    }
+
+    /**
+     * Compresses the first <code>srcLength</code> bytes of <code>src</code> into <code>dest</code>.
+     *
+     * @param src the raw data
+     * @param srcLength number of bytes to compress
+     * @param dest the destination, at least {@link #maxCompressedLength(int)} bytes long
+     * @param hashTable the (re-usable) hash table, see {@link #createHashTable()}
+     * @return the number of bytes written to <code>dest</code>
+     */
+    static int compress(final byte[] src, final int srcLength, final byte[] dest, final int[] hashTable) {
+        Arrays.fill(hashTable, -1);
+        int anchor = 0;
+        int dOff = 0;
+        final int mfLimit = srcLength - MF_LIMIT;
+        final int matchLimit = srcLength - LAST_LITERALS;
+        int sOff = 0;
+        while (sOff < mfLimit) {
+            final int sequence = readInt(src, sOff);
+            final int h = hash(sequence);
+            int ref = hashTable[h];
+            hashTable[h] = sOff;
+            if (ref < 0 || sOff - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+                sOff += 1 + ((sOff - anchor) >>> SKIP_STRENGTH);
+                continue;
+            }
+            // extend backwards into the pending literals
+            while (sOff > anchor && ref > 0 && src[sOff - 1] == src[ref - 1]) {
+                sOff--;
+                ref--;
+            }
+            int matchLength = MIN_MATCH;
+            while (sOff + matchLength < matchLimit && src[ref + matchLength] == src[sOff + matchLength]) {
+                matchLength++;
+            }
+            dOff = writeSequence(src, anchor, sOff - anchor, sOff - ref, matchLength, dest, dOff);
+            sOff += matchLength;
+            anchor = sOff;
+        }
+        return writeLastLiterals(src, anchor, srcLength - anchor, dest, dOff);
+    }
+
+    /**
+     * Decompresses a block written by {@link #compress(byte[], int, byte[], int[])}.
+     *
+     * @param src the compressed data
+     * @param srcLength number of compressed bytes
+     * @param dest the destination
+     * @param destLength expected number of uncompressed bytes
+     * @throws IOException if the data is corrupt
+     */
+    static void decompress(final byte[] src, final int srcLength, final byte[] dest, final int destLength)
+        throws IOException {
+        int sOff = 0;
+        int dOff = 0;
+        try {
+            while (true) {
+                final int token = src[sOff++] & 0xFF;
+                int literalLength = token >>> 4;
+                if (literalLength == RUN_MASK) {
+                    int b;
+                    do {
+                        b = src[sOff++] & 0xFF;
+                        literalLength += b;
+                    } while (b == 0xFF);
+                }
+                if (sOff + literalLength > srcLength || dOff + literalLength > destLength) {
+                    throw new IOException("Corrupt LZ4 block: literals exceed block bounds");
+                }
+                System.arraycopy(src, sOff, dest, dOff, literalLength);
+                sOff += literalLength;
+                dOff += literalLength;
+                if (sOff == srcLength) {
+                    break;
+                }
+                final int offset = (src[sOff++] & 0xFF) | ((src[sOff++] & 0xFF) << 8);
+                int matchLength = token & RUN_MASK;
+                if (matchLength == RUN_MASK) {
+                    int b;
+                    do {
+                        b = src[sOff++] & 0xFF;
+                        matchLength += b;
+                    } while (b == 0xFF);
+                }
+                matchLength += MIN_MATCH;
+                final int ref = dOff - offset;
+                if (offset == 0 || ref < 0 || dOff + matchLength > destLength) {
+                    throw new IOException("Corrupt LZ4 block: invalid match (offset " + offset + ")");
+                }
+                if (offset >= matchLength) {
+                    System.arraycopy(dest, ref, dest, dOff, matchLength);
+                } else {
+                    // overlapping copy, e.g. for runs of the same byte
+                    for (int i = 0; i < matchLength; i++) {
+                        dest[dOff + i] = dest[ref + i];
+                    }
+                }
+                dOff += matchLength;
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupt LZ4 block: " + e.getMessage(), e);
+        }
+        if (dOff != destLength) {
+            throw new IOException("Corrupt LZ4 block: expected " + destLength + " bytes but got " + dOff);
+        }
+    }
+
+    private static int writeSequence(final byte[] src, final int literalOffset, final int literalLength,
+        final int matchOffset, final int matchLength, final byte[] dest, final int destOffset) {
+        int dOff = destOffset;
+        final int tokenOffset = dOff++;
+        int token;
+        if (literalLength >= RUN_MASK) {
+            token = RUN_MASK << 4;
+            dOff = writeLength(literalLength - RUN_MASK, dest, dOff);
+        } else {
+            token = literalLength << 4;
+        }
+        System.arraycopy(src, literalOffset, dest, dOff, literalLength);
+        dOff += literalLength;
+        dest[dOff++] = (byte)matchOffset;
+        dest[dOff++] = (byte)(matchOffset >>> 8);
+        final int ml = matchLength - MIN_MATCH;
+        if (ml >= RUN_MASK) {
+            token |= RUN_MASK;
+            dOff = writeLength(ml - RUN_MASK, dest, dOff);
+        } else {
+            token |= ml;
+        }
+        dest[tokenOffset] = (byte)token;
+        return dOff;
+    }
+
+    private static int writeLastLiterals(final byte[] src, final int literalOffset, final int literalLength,
+        final byte[] dest, final int destOffset) {
+        int dOff = destOffset;
+        if (literalLength >= RUN_MASK) {
+            dest[dOff++] = (byte)(RUN_MASK << 4);
+            dOff = writeLength(literalLength - RUN_MASK, dest, dOff);
+        } else {
+            dest[dOff++] = (byte)(literalLength << 4);
+        }
+        System.arraycopy(src, literalOffset, dest, dOff, literalLength);
+        return dOff + literalLength;
+    }
+
+    private static int writeLength(final int length, final byte[] dest, final int destOffset) {
+        int dOff = destOffset;
+        int l = length;
+        while (l >= 0xFF) {
+            dest[dOff++] = (byte)0xFF;
+            l -= 0xFF;
+        }
+        dest[dOff++] = (byte)l;
+        return dOff;
+    }
+
+    private static int readInt(final byte[] buf, final int offset) {
+        return (buf[offset] & 0xFF) | ((buf[offset + 1] & 0xFF) << 8) | ((buf[offset + 2] & 0xFF) << 16)
+            | ((buf[offset + 3] & 0xFF) << 24);
+    }
+
+    private static int hash(final int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+}
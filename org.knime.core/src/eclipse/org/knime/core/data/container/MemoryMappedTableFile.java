@@ -0,0 +1,338 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.knime.core.data.container.OffHeapRowCache.ByteBuffersInputStream;
+
+/**
+ * An uncompressed ({@link java.util.zip.ZipEntry#STORED STORED}) entry of a zip file that is memory-mapped for
+ * reading. Used for the data file of tables that were saved with a workflow that has memory-mapped tables enabled: the
+ * buffer reads directly from the workflow's <code>data.zip</code> instead of extracting the entry to the temp folder
+ * first. All streams opened on an instance share the same mapping (and hence the operating system's page cache).
+ *
+ * <p>Mapped files are registered by the file they are mapped from, see {@link #register(MemoryMappedTableFile)}, so
+ * that {@link OffHeapRowCache#openInputStream(File)} can serve them to the table readers. Registrations are by file
+ * instance (the bin file of the reading buffer), tables that map the same file have separate registrations.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class MemoryMappedTableFile {
+
+    /** Maximum size of a single mapping, {@link FileChannel#map} is limited to 2GB. */
+    static final int MAP_CHUNK_SIZE = 1 << 30;
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+
+    private static final int END_OF_CENTRAL_DIR_SIGNATURE = 0x06054b50;
+
+    private static final int END_OF_CENTRAL_DIR_LENGTH = 22;
+
+    private static final int CENTRAL_HEADER_LENGTH = 46;
+
+    private static final int LOCAL_HEADER_LENGTH = 30;
+
+    private static final int METHOD_STORED = 0;
+
+    /** Value of size and offset fields of entries that use the ZIP64 extension (not supported here). */
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    /** Keyed by identity, see class comment. */
+    private static final Map<File, MemoryMappedTableFile> MAPPED_FILES =
+        Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final File m_file;
+
+    private final ByteBuffer[] m_chunks;
+
+    private final long m_length;
+
+    /** Temp file the data is mapped from instead of m_file (see {@link #copyMappingsIn(File)}), or null. */
+    private final File m_tempCopy;
+
+    private MemoryMappedTableFile(final File file, final ByteBuffer[] chunks, final long length,
+        final File tempCopy) {
+        m_file = file;
+        m_chunks = chunks;
+        m_length = length;
+        m_tempCopy = tempCopy;
+    }
+
+    /** @return the (zip) file the data is mapped from. */
+    File getFile() {
+        return m_file;
+    }
+
+    /** @return length of the mapped data in bytes. */
+    long getLength() {
+        return m_length;
+    }
+
+    /** @return A new, independent stream on the mapped data. It does not need further buffering. */
+    InputStream openInputStream() {
+        return new ByteBuffersInputStream(m_chunks);
+    }
+
+    /**
+     * Maps the entry with the given name from a zip file, if the entry is stored uncompressed.
+     *
+     * @param zipFile The zip file.
+     * @param entryName The name of the entry.
+     * @return The mapped entry or <code>null</code> if there is no such entry, it is compressed or the zip file uses
+     *         the ZIP64 extension.
+     * @throws IOException If the file can't be read or is not a valid zip file.
+     */
+    static MemoryMappedTableFile map(final File zipFile, final String entryName) throws IOException {
+        try (FileChannel channel = FileChannel.open(zipFile.toPath(), StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            if (fileSize < END_OF_CENTRAL_DIR_LENGTH) {
+                throw new IOException("Not a zip file: " + zipFile.getAbsolutePath());
+            }
+            // the end of central directory record is followed by a comment of at most 64kB
+            int tailLength = (int)Math.min(fileSize, END_OF_CENTRAL_DIR_LENGTH + 0xFFFF);
+            ByteBuffer tail = read(channel, fileSize - tailLength, tailLength);
+            int eocd = -1;
+            for (int i = tailLength - END_OF_CENTRAL_DIR_LENGTH; i >= 0; i--) {
+                if (tail.getInt(i) == END_OF_CENTRAL_DIR_SIGNATURE) {
+                    eocd = i;
+                    break;
+                }
+            }
+            if (eocd < 0) {
+                throw new IOException("No end of central directory record in " + zipFile.getAbsolutePath());
+            }
+            final long centralDirSize = tail.getInt(eocd + 12) & ZIP64_MAGIC;
+            final long centralDirOffset = tail.getInt(eocd + 16) & ZIP64_MAGIC;
+            if (centralDirSize == ZIP64_MAGIC || centralDirOffset == ZIP64_MAGIC
+                    || centralDirOffset + centralDirSize > fileSize) {
+                return null;
+            }
+            ByteBuffer centralDir = read(channel, centralDirOffset, (int)centralDirSize);
+            final byte[] name = entryName.getBytes(StandardCharsets.UTF_8);
+            int pos = 0;
+            while (pos + CENTRAL_HEADER_LENGTH <= centralDir.limit()
+                    && centralDir.getInt(pos) == CENTRAL_HEADER_SIGNATURE) {
+                final int nameLength = centralDir.getShort(pos + 28) & 0xFFFF;
+                final int extraLength = centralDir.getShort(pos + 30) & 0xFFFF;
+                final int commentLength = centralDir.getShort(pos + 32) & 0xFFFF;
+                if (nameLength == name.length && equals(centralDir, pos + CENTRAL_HEADER_LENGTH, name)) {
+                    final int method = centralDir.getShort(pos + 10) & 0xFFFF;
+                    final long size = centralDir.getInt(pos + 20) & ZIP64_MAGIC;
+                    final long localHeaderOffset = centralDir.getInt(pos + 42) & ZIP64_MAGIC;
+                    if (method != METHOD_STORED || size == ZIP64_MAGIC || localHeaderOffset == ZIP64_MAGIC) {
+                        return null;
+                    }
+                    return map(zipFile, channel, localHeaderOffset, size);
+                }
+                pos += CENTRAL_HEADER_LENGTH + nameLength + extraLength + commentLength;
+            }
+            return null;
+        }
+    }
+
+    private static MemoryMappedTableFile map(final File zipFile, final FileChannel channel,
+        final long localHeaderOffset, final long size) throws IOException {
+        ByteBuffer localHeader = read(channel, localHeaderOffset, LOCAL_HEADER_LENGTH);
+        if (localHeader.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new IOException("Invalid local file header in " + zipFile.getAbsolutePath());
+        }
+        final long dataOffset = localHeaderOffset + LOCAL_HEADER_LENGTH + (localHeader.getShort(26) & 0xFFFF)
+            + (localHeader.getShort(28) & 0xFFFF);
+        if (dataOffset + size > channel.size()) {
+            throw new IOException("Zip entry exceeds file length in " + zipFile.getAbsolutePath());
+        }
+        ByteBuffer[] chunks = mapChunks(channel, dataOffset, size);
+        // the mapping stays valid after the channel is closed
+        return new MemoryMappedTableFile(zipFile, chunks, size, null);
+    }
+
+    /** Maps the given range of a channel in chunks of at most {@link #MAP_CHUNK_SIZE} bytes. */
+    private static ByteBuffer[] mapChunks(final FileChannel channel, final long position, final long size)
+        throws IOException {
+        final int chunkCount = (int)((size + MAP_CHUNK_SIZE - 1) / MAP_CHUNK_SIZE);
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long offset = (long)i * MAP_CHUNK_SIZE;
+            chunks[i] =
+                channel.map(FileChannel.MapMode.READ_ONLY, position + offset, Math.min(MAP_CHUNK_SIZE, size - offset));
+        }
+        return chunks;
+    }
+
+    /**
+     * Writes the mapped data to a temp file and maps that file instead, registered under the same (original) file.
+     *
+     * @return The mapping of the copy, whose temp file is deleted when it is unregistered.
+     */
+    private MemoryMappedTableFile copyToTemp() throws IOException {
+        File copy = DataContainer.createTempFile(".bin");
+        boolean success = false;
+        try (FileChannel channel = FileChannel.open(copy.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (ByteBuffer chunk : m_chunks) {
+                ByteBuffer source = chunk.duplicate();
+                source.rewind();
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+            }
+            MemoryMappedTableFile result = new MemoryMappedTableFile(m_file, mapChunks(channel, 0, m_length),
+                m_length, copy);
+            success = true;
+            return result;
+        } finally {
+            if (!success) {
+                copy.delete();
+            }
+        }
+    }
+
+    /**
+     * Detaches the registered mappings of the argument file, or of all files in the argument directory, from these
+     * files: the mapped data is copied to temp files, which are mapped and registered instead. Afterwards the files
+     * can be deleted or replaced without affecting the tables reading them (streams that are open already keep
+     * reading the old mapping, which stays valid when the file is deleted). Called before a workflow file is replaced.
+     *
+     * @param fileOrDirectory The file or directory that is about to be deleted or overwritten.
+     * @throws IOException If the data can't be copied.
+     */
+    static void copyMappingsIn(final File fileOrDirectory) throws IOException {
+        if (MAPPED_FILES.isEmpty()) {
+            return;
+        }
+        final Path path = fileOrDirectory.toPath().toAbsolutePath().normalize();
+        final List<Map.Entry<File, MemoryMappedTableFile>> affected;
+        synchronized (MAPPED_FILES) {
+            affected = MAPPED_FILES.entrySet().stream()
+                .filter(e -> e.getValue().m_tempCopy == null)
+                .filter(e -> e.getKey().toPath().toAbsolutePath().normalize().startsWith(path))
+                .map(SimpleImmutableEntry::new).collect(Collectors.toList());
+        }
+        // data is copied outside the lock, streams are opened concurrently
+        for (Map.Entry<File, MemoryMappedTableFile> e : affected) {
+            MemoryMappedTableFile mappedFile = e.getValue();
+            MemoryMappedTableFile copy = mappedFile.copyToTemp();
+            if (!MAPPED_FILES.replace(e.getKey(), mappedFile, copy)) {
+                // unregistered (or detached) concurrently
+                copy.m_tempCopy.delete();
+            }
+        }
+    }
+
+    /** Reads <code>length</code> bytes starting at <code>position</code> into a little endian buffer. */
+    private static ByteBuffer read(final FileChannel channel, final long position, final int length)
+        throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of zip file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static boolean equals(final ByteBuffer buffer, final int offset, final byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer.get(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registers the argument so that streams opened by {@link OffHeapRowCache#openInputStream(File)} on its file read
+     * the mapped data.
+     *
+     * @param mappedFile The mapped file to register.
+     */
+    static void register(final MemoryMappedTableFile mappedFile) {
+        MAPPED_FILES.put(mappedFile.getFile(), mappedFile);
+    }
+
+    /**
+     * Removes the registration of a mapped file. The mapping itself is released when it is garbage collected, the
+     * temp copy of a detached mapping (see {@link #copyMappingsIn(File)}) is deleted.
+     *
+     * @param file The file as passed to {@link #map(File, String)} (the same instance).
+     */
+    static void unregister(final File file) {
+        MemoryMappedTableFile mappedFile = MAPPED_FILES.remove(file);
+        if (mappedFile != null && mappedFile.m_tempCopy != null) {
+            // may fail while the mapping is still referenced (Windows), the file is deleted on exit then
+            mappedFile.m_tempCopy.delete();
+        }
+    }
+
+    /**
+     * @param file The file in question, the instance the mapping was registered with.
+     * @return The registered mapping for the file or <code>null</code>.
+     */
+    static MemoryMappedTableFile get(final File file) {
+        return MAPPED_FILES.get(file);
+    }
+
+}
@@ -0,0 +1,407 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.knime.core.data.util.memory.MemoryAlert;
+import org.knime.core.data.util.memory.MemoryAlertListener;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.NodeContext;
+
+/**
+ * Off-heap cache tier for tables that were meant to be kept in memory but didn't fit on the heap, either because
+ * they exceeded the number of cells to be held in memory or because the {@link MemoryAlertSystem} forced them out of
+ * the heap. The content of such a table's temp file is copied into direct byte buffers so that subsequent iterations
+ * read from main memory rather than from disc, without putting pressure on the garbage collector. The temp file is
+ * still written, so an entry can be dropped at any time.
+ *
+ * <p>
+ * All entries share a global budget (see {@link KNIMEConstants#PROPERTY_TABLE_OFFHEAP_CACHE_SIZE}), the least
+ * recently used entries are evicted to make room for new ones. The cache is also controlled by the {@link
+ * MemoryAlertSystem}: all entries are evicted on a memory alert and no new entries are added while memory is low.
+ * A table is only added when it is iterated for the second time (see {@link Buffer}), tables that are read once don't
+ * pay for the copy.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class OffHeapRowCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(OffHeapRowCache.class);
+
+    /** Size of the direct buffers a file is split into. */
+    static final int CHUNK_SIZE = 1 << 24;
+
+    /** Default budget, a quarter of the maximum heap size (which is also the default limit of direct memory). */
+    private static final long DEF_BUDGET = Runtime.getRuntime().maxMemory() / 4;
+
+    private static final OffHeapRowCache INSTANCE = createInstance();
+
+    /** Called after a file's memory is reserved and before it is read. Changed by test cases only. */
+    static Consumer<File> beforeCopyHook = f -> {
+    };
+
+    private final long m_budget;
+
+    /** Cached files in access order, guarded by this. */
+    private final LinkedHashMap<File, ByteBuffer[]> m_entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Files that are being copied into the cache, mapped to the number of bytes reserved for them; guarded by this. A
+     * copy is only published if its file is still pending then, i.e. it hasn't been removed or evicted meanwhile.
+     */
+    private final Map<File, Long> m_pendingEntries = new HashMap<>();
+
+    /** Number of bytes that are in use or reserved, guarded by this. */
+    private long m_usedBytes;
+
+    /**
+     * @param budget The maximum number of bytes held in the cache, 0 to disable caching.
+     */
+    OffHeapRowCache(final long budget) {
+        m_budget = budget;
+    }
+
+    /** @return the singleton instance. */
+    static OffHeapRowCache getInstance() {
+        return INSTANCE;
+    }
+
+    /** Creates the singleton and registers it with the memory alert system. */
+    private static OffHeapRowCache createInstance() {
+        final OffHeapRowCache cache = new OffHeapRowCache(readBudget());
+        if (cache.getBudget() > 0) {
+            // the listener lives as long as the application, don't let it hold on to the current node's context
+            NodeContext.pushContext((NodeContext)null);
+            try {
+                MemoryAlertSystem.getInstance().addListener(new MemoryAlertListener() {
+                    @Override
+                    protected boolean memoryAlert(final MemoryAlert alert) {
+                        cache.evictAll();
+                        return false;
+                    }
+                });
+            } finally {
+                NodeContext.removeLastContext();
+            }
+        }
+        return cache;
+    }
+
+    private static long readBudget() {
+        String property = KNIMEConstants.PROPERTY_TABLE_OFFHEAP_CACHE_SIZE;
+        String value = System.getProperty(property);
+        if (value != null) {
+            try {
+                long sizeInMB = Long.parseLong(value.trim());
+                if (sizeInMB < 0) {
+                    throw new NumberFormatException("off-heap cache size < 0: " + sizeInMB);
+                }
+                LOGGER.debug("Setting off-heap table cache size to " + sizeInMB + "MB");
+                return sizeInMB << 20;
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property " + property + ", using default ("
+                    + (DEF_BUDGET >> 20) + "MB)", e);
+            }
+        }
+        return DEF_BUDGET;
+    }
+
+    /** @return the maximum number of bytes held in the cache. */
+    long getBudget() {
+        return m_budget;
+    }
+
+    /** @return the number of bytes currently held in the cache. */
+    synchronized long getUsedBytes() {
+        return m_usedBytes;
+    }
+
+    /**
+     * @param binFile A file.
+     * @return whether the file's content is held in the cache.
+     */
+    synchronized boolean contains(final File binFile) {
+        return m_entries.containsKey(binFile);
+    }
+
+    /**
+     * Copies the content of the file into the cache, evicting the least recently used entries if needed. Files that
+     * are larger than the budget or that can't be read are not cached.
+     *
+     * @param binFile The (completely written) file to cache.
+     * @return whether the file is cached now.
+     */
+    boolean put(final File binFile) {
+        final long size = binFile.length();
+        synchronized (this) {
+            if (size == 0 || size > m_budget || m_entries.containsKey(binFile) || m_pendingEntries.containsKey(binFile)
+                    || MemoryAlertSystem.getInstance().isMemoryLow()) {
+                return m_entries.containsKey(binFile);
+            }
+            for (Iterator<Map.Entry<File, ByteBuffer[]>> it = m_entries.entrySet().iterator();
+                    it.hasNext() && m_usedBytes + size > m_budget;) {
+                Map.Entry<File, ByteBuffer[]> eldest = it.next();
+                it.remove();
+                m_usedBytes -= sizeOf(eldest.getValue());
+                LOGGER.debug("Evicted \"" + eldest.getKey().getName() + "\" from off-heap table cache");
+            }
+            if (m_usedBytes + size > m_budget) {
+                return false;
+            }
+            // reserve the memory, the file is read outside the lock
+            m_usedBytes += size;
+            m_pendingEntries.put(binFile, size);
+        }
+        beforeCopyHook.accept(binFile);
+        ByteBuffer[] chunks;
+        try {
+            chunks = read(binFile, size);
+        } catch (IOException | OutOfMemoryError e) {
+            // OOME is thrown if the direct memory is exhausted
+            LOGGER.debug("Unable to copy \"" + binFile.getName() + "\" into off-heap table cache: "
+                + e.getMessage(), e);
+            synchronized (this) {
+                if (m_pendingEntries.remove(binFile) != null) {
+                    m_usedBytes -= size;
+                }
+            }
+            return false;
+        }
+        synchronized (this) {
+            if (m_pendingEntries.remove(binFile) == null) {
+                // removed (e.g. deleted) or evicted while it was copied, the reservation is released already
+                return false;
+            }
+            m_entries.putIfAbsent(binFile, chunks);
+        }
+        LOGGER.debug("Copied \"" + binFile.getName() + "\" (" + (size >> 10) + "kB) into off-heap table cache");
+        return true;
+    }
+
+    private static ByteBuffer[] read(final File binFile, final long size) throws IOException {
+        ByteBuffer[] chunks = new ByteBuffer[(int)((size + CHUNK_SIZE - 1) / CHUNK_SIZE)];
+        try (FileChannel channel = FileChannel.open(binFile.toPath(), StandardOpenOption.READ)) {
+            long position = 0;
+            for (int i = 0; i < chunks.length; i++) {
+                ByteBuffer chunk = ByteBuffer.allocateDirect((int)Math.min(CHUNK_SIZE, size - position));
+                while (chunk.hasRemaining()) {
+                    if (channel.read(chunk, position + chunk.position()) < 0) {
+                        throw new IOException("Unexpected end of file");
+                    }
+                }
+                chunk.flip();
+                position += chunk.limit();
+                chunks[i] = chunk;
+            }
+        }
+        return chunks;
+    }
+
+    private static long sizeOf(final ByteBuffer[] chunks) {
+        long size = 0;
+        for (ByteBuffer chunk : chunks) {
+            size += chunk.limit();
+        }
+        return size;
+    }
+
+    /**
+     * Removes the file from the cache, called when the file is deleted. If the file is being copied into the cache,
+     * the copy is discarded.
+     *
+     * @param binFile The file to remove, may be <code>null</code>.
+     */
+    synchronized void remove(final File binFile) {
+        if (binFile == null) {
+            return;
+        }
+        ByteBuffer[] chunks = m_entries.remove(binFile);
+        if (chunks != null) {
+            m_usedBytes -= sizeOf(chunks);
+        }
+        Long reserved = m_pendingEntries.remove(binFile);
+        if (reserved != null) {
+            m_usedBytes -= reserved;
+        }
+    }
+
+    /**
+     * Removes all entries from the cache, called on a memory alert. The memory is released once streams still reading
+     * from an entry are closed (and the buffers are garbage collected). Copies in progress are discarded.
+     *
+     * @return the number of bytes evicted.
+     */
+    synchronized long evictAll() {
+        long evicted = 0;
+        for (ByteBuffer[] chunks : m_entries.values()) {
+            evicted += sizeOf(chunks);
+        }
+        for (long reserved : m_pendingEntries.values()) {
+            evicted += reserved;
+        }
+        int count = m_entries.size() + m_pendingEntries.size();
+        m_entries.clear();
+        m_pendingEntries.clear();
+        m_usedBytes -= evicted;
+        if (count > 0) {
+            LOGGER.debug("Evicted " + count + " table(s) (" + (evicted >> 10) + "kB) from off-heap table cache "
+                + "to free memory");
+        }
+        return evicted;
+    }
+
+    /**
+     * Opens a stream on the content of the file, reading from the cache if the file is cached or from disc
+     * otherwise. Files registered as {@link MemoryMappedTableFile} are read from their mapping. The returned stream
+     * does not need further buffering.
+     *
+     * @param binFile The file to read.
+     * @return A new stream on the file's content.
+     * @throws IOException If the file can't be opened.
+     */
+    InputStream openInputStream(final File binFile) throws IOException {
+        MemoryMappedTableFile mappedFile = MemoryMappedTableFile.get(binFile);
+        if (mappedFile != null) {
+            return mappedFile.openInputStream();
+        }
+        ByteBuffer[] chunks;
+        synchronized (this) {
+            chunks = m_entries.get(binFile);
+        }
+        if (chunks != null) {
+            return new ByteBuffersInputStream(chunks);
+        }
+        return new BufferedInputStream(new FileInputStream(binFile));
+    }
+
+    /** Stream reading a sequence of byte buffers, the buffers are duplicated so that streams are independent. */
+    static final class ByteBuffersInputStream extends InputStream {
+
+        private final ByteBuffer[] m_chunks;
+
+        private int m_chunkIndex;
+
+        ByteBuffersInputStream(final ByteBuffer[] chunks) {
+            m_chunks = new ByteBuffer[chunks.length];
+            for (int i = 0; i < chunks.length; i++) {
+                m_chunks[i] = chunks[i].duplicate();
+            }
+        }
+
+        /** @return the current chunk with remaining bytes or null if at end. */
+        private ByteBuffer current() {
+            while (m_chunkIndex < m_chunks.length && !m_chunks[m_chunkIndex].hasRemaining()) {
+                m_chunkIndex++;
+            }
+            return m_chunkIndex < m_chunks.length ? m_chunks[m_chunkIndex] : null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read() {
+            ByteBuffer chunk = current();
+            return chunk != null ? chunk.get() & 0xFF : -1;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            ByteBuffer chunk = current();
+            if (chunk == null) {
+                return -1;
+            }
+            int count = Math.min(len, chunk.remaining());
+            chunk.get(b, off, count);
+            return count;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long skip(final long n) {
+            long skipped = 0;
+            ByteBuffer chunk;
+            while (skipped < n && (chunk = current()) != null) {
+                int count = (int)Math.min(n - skipped, chunk.remaining());
+                chunk.position(chunk.position() + count);
+                skipped += count;
+            }
+            return skipped;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int available() {
+            ByteBuffer chunk = current();
+            return chunk != null ? chunk.remaining() : 0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+            m_chunkIndex = m_chunks.length;
+        }
+    }
+}
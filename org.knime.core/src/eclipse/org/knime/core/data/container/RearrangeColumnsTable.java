@@ -50,8 +50,10 @@
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -59,8 +61,12 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.xml.bind.DatatypeConverter;
 
@@ -84,9 +90,11 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.util.HelperThreads;
 import org.knime.core.util.MultiThreadWorker;
 import org.knime.core.util.Pair;
 
@@ -274,13 +282,26 @@ public DataTableSpec getDataTableSpec() {
      */
     @Override
     public CloseableRowIterator iterator() {
+        return filteredIterator(null);
+    }
+
+    /**
+     * {@inheritDoc} Only the columns of the reference and the appended table that are used by this table (or are
+     * contained in the argument filter) are read from the underlying tables.
+     * @since 3.6
+     */
+    @Override
+    public CloseableRowIterator filteredIterator(final int[] materializeColumnIndices) {
         CloseableRowIterator appendIt;
         if (m_appendTable != null) {
-            appendIt = m_appendTable.iterator();
+            appendIt = m_appendTable.filteredIterator(JoinTableIterator.getUnderlyingColumnIndices(
+                materializeColumnIndices, m_map, m_isFromRefTable, false));
         } else {
             appendIt = EMPTY_ITERATOR;
         }
-        return new JoinTableIterator(m_reference.iterator(), appendIt, m_map, m_isFromRefTable);
+        CloseableRowIterator referenceIt = m_reference.filteredIterator(JoinTableIterator.getUnderlyingColumnIndices(
+            materializeColumnIndices, m_map, m_isFromRefTable, true));
+        return new JoinTableIterator(referenceIt, appendIt, m_map, m_isFromRefTable);
     }
 
     /**
@@ -296,6 +317,32 @@ public CloseableRowIterator iterator() {
      */
     public static RearrangeColumnsTable create(final ColumnRearranger rearranger, final BufferedDataTable table,
         final ExecutionMonitor subProgress, final ExecutionContext context) throws CanceledExecutionException {
+        return create(new ColumnRearranger[]{rearranger}, table, subProgress, context);
+    }
+
+    /**
+     * Like {@link #create(ColumnRearranger, BufferedDataTable, ExecutionMonitor, ExecutionContext)} but computes the
+     * new columns concurrently in partitions, each of which uses one of the argument rearrangers. The rearrangers
+     * must describe the same output and must not share cell factories, so that no factory is called from two threads.
+     * The rows of the created table have the order of the input table.
+     *
+     * @param partitionRearrangers The rearrangers, one per partition, the first one is used for the table structure.
+     * @param table The reference table.
+     * @param subProgress The progress monitor for progress/cancel.
+     * @param context Used for data container creation.
+     * @return The newly created table.
+     * @throws CanceledExecutionException If canceled.
+     * @throws IllegalArgumentException If the spec is not equal to the spec of the rearrangers, the rearrangers
+     *             create different columns or share cell factories.
+     * @since 3.6
+     */
+    public static RearrangeColumnsTable create(final ColumnRearranger[] partitionRearrangers,
+        final BufferedDataTable table, final ExecutionMonitor subProgress, final ExecutionContext context)
+        throws CanceledExecutionException {
+        if (partitionRearrangers.length == 0) {
+            throw new IllegalArgumentException("No rearranger given");
+        }
+        ColumnRearranger rearranger = partitionRearrangers[0];
         DataTableSpec originalSpec = rearranger.getOriginalSpec();
         Vector<SpecAndFactoryObject> includes = rearranger.getIncludes();
         // names and types of the specs must match
@@ -325,7 +372,11 @@ public static RearrangeColumnsTable create(final ColumnRearranger rearranger, fi
             }
             newColSpecsList.add(s.getColSpec());
         }
-        initProcessing(newColsProducerMapping, context);
+        NewColumnsProducerMapping[] partitionMappings =
+            createPartitionMappings(partitionRearrangers, newColsProducerMapping, newColSpecsList);
+        for (NewColumnsProducerMapping mapping : partitionMappings) {
+            initProcessing(mapping, context);
+        }
         final int newColCount = newColSpecsList.size();
         DataColumnSpec[] newColSpecs = newColSpecsList.toArray(new DataColumnSpec[newColSpecsList.size()]);
         ContainerTable appendTable;
@@ -338,14 +389,18 @@ public static RearrangeColumnsTable create(final ColumnRearranger rearranger, fi
             container.setBufferCreator(new NoKeyBufferCreator());
             assert newColumnFactoryList.size() == newColCount;
             try {
-                if (workerCount <= 0) {
+                if (partitionMappings.length > 1) {
+                    calcNewColsInPartitions(table, subProgress, partitionMappings, container);
+                } else if (workerCount <= 0) {
                     calcNewColsSynchronously(table, subProgress, newColsProducerMapping, container);
                 } else {
                     calcNewColsASynchronously(table, subProgress, newColsProducerMapping, container);
                 }
             } finally {
                 container.close();
-                finishProcessing(newColsProducerMapping);
+                for (NewColumnsProducerMapping mapping : partitionMappings) {
+                    finishProcessing(mapping);
+                }
             }
             appendTable = container.getBufferedTable();
             appendTableSpec = appendTable.getDataTableSpec();
@@ -382,6 +437,41 @@ public static RearrangeColumnsTable create(final ColumnRearranger rearranger, fi
         return new RearrangeColumnsTable(table, includesIndex, isFromRefTable, spec, appendTable);
     }
 
+    /**
+     * Creates the producer mappings for all partitions, the first one being the argument mapping of the first
+     * rearranger. Checks that all partitions create the same columns with their own cell factories.
+     */
+    private static NewColumnsProducerMapping[] createPartitionMappings(final ColumnRearranger[] partitionRearrangers,
+        final NewColumnsProducerMapping firstMapping, final List<DataColumnSpec> newColSpecs) {
+        NewColumnsProducerMapping[] mappings = new NewColumnsProducerMapping[partitionRearrangers.length];
+        mappings[0] = firstMapping;
+        DataTableSpec newSpec = new DataTableSpec(newColSpecs.toArray(new DataColumnSpec[newColSpecs.size()]));
+        Set<CellFactory> usedFactories =
+            Collections.newSetFromMap(new IdentityHashMap<CellFactory, Boolean>());
+        usedFactories.addAll(firstMapping.getUniqueCellFactoryMap().keySet());
+        for (int p = 1; p < partitionRearrangers.length; p++) {
+            NewColumnsProducerMapping mapping =
+                createNewColumnsProducerMapping(partitionRearrangers[p].getIncludes());
+            List<SpecAndFactoryObject> newColumns = mapping.getAllNewColumnsList();
+            DataColumnSpec[] specs = new DataColumnSpec[newColumns.size()];
+            for (int i = 0; i < specs.length; i++) {
+                specs[i] = newColumns.get(i).getColSpec();
+            }
+            if (!newSpec.equalStructure(new DataTableSpec(specs))) {
+                throw new IllegalArgumentException("The rearranger of partition " + p
+                    + " does not create the same columns as the rearranger of the first partition");
+            }
+            for (CellFactory factory : mapping.getUniqueCellFactoryMap().keySet()) {
+                if (!usedFactories.add(factory)) {
+                    throw new IllegalArgumentException("The rearranger of partition " + p
+                        + " shares a cell factory with another partition");
+                }
+            }
+            mappings[p] = mapping;
+        }
+        return mappings;
+    }
+
     /** Set a file store factory on the {@link AbstractCellFactory}.
      * See {@link AbstractCellFactory#getFileStoreFactory()} for details.
      * @param newColumnFactoryList To work on.
@@ -481,6 +571,15 @@ private static void calcNewColsASynchronously(final BufferedDataTable table, fin
         }
     }
 
+    /**
+     * Processes input concurrently using a {@link PartitionedNewColCalculator}, one partition per mapping.
+     */
+    private static void calcNewColsInPartitions(final BufferedDataTable table, final ExecutionMonitor subProgress,
+        final NewColumnsProducerMapping[] partitionMappings, final DataContainer container)
+        throws CanceledExecutionException {
+        new PartitionedNewColCalculator(table, subProgress, partitionMappings, container).run();
+    }
+
     private static Set<Class<? extends CellFactory>> codingProblemsCellFactoryClasses;
 
     /**
@@ -750,6 +849,195 @@ protected void processFinished(final ComputationTask task) throws ExecutionExcep
 
     }
 
+    /**
+     * Computes the new cells in chunks of rows, each partition using its own {@link NewColumnsProducerMapping} so that
+     * no cell factory is called concurrently. The first partition is run by the caller thread, which also reads the
+     * input and adds the results to the container in input order; the other partitions are run by helpers on the
+     * {@link KNIMEConstants#GLOBAL_THREAD_POOL} (as many as the pool allows).
+     */
+    private static final class PartitionedNewColCalculator {
+
+        /** Number of rows handed to a partition at once. */
+        private static final int CHUNK_SIZE = 256;
+
+        private final BufferedDataTable m_table;
+
+        private final ExecutionMonitor m_subProgress;
+
+        private final NewColumnsProducerMapping[] m_mappings;
+
+        private final DataContainer m_container;
+
+        private final CellFactory m_facForProgress;
+
+        /** Chunks not yet taken by a partition. */
+        private final BlockingQueue<Chunk> m_todo;
+
+        /** Chunks not yet added to the container, in input order. */
+        private final ArrayDeque<Chunk> m_pending = new ArrayDeque<Chunk>();
+
+        private final int m_maxPending;
+
+        private volatile boolean m_isFinished;
+
+        private long m_rowIndex;
+
+        private PartitionedNewColCalculator(final BufferedDataTable table, final ExecutionMonitor subProgress,
+            final NewColumnsProducerMapping[] mappings, final DataContainer container) {
+            m_table = table;
+            m_subProgress = subProgress;
+            m_mappings = mappings;
+            m_container = container;
+            Set<CellFactory> factories = mappings[0].getUniqueCellFactoryMap().keySet();
+            m_facForProgress = factories.isEmpty() ? null : factories.iterator().next();
+            m_todo = new ArrayBlockingQueue<Chunk>(2 * mappings.length);
+            m_maxPending = 4 * mappings.length;
+        }
+
+        private void run() throws CanceledExecutionException {
+            // factories are finished by the caller afterwards, the helpers are joined before
+            HelperThreads.run(KNIMEConstants.GLOBAL_THREAD_POOL, m_mappings.length - 1,
+                p -> createHelper(m_mappings[p + 1]), () -> {
+                    try (CloseableRowIterator it = m_table.iterator()) {
+                        Chunk chunk = new Chunk();
+                        while (it.hasNext()) {
+                            chunk.add(it.next());
+                            if (chunk.isFull()) {
+                                submit(chunk);
+                                chunk = new Chunk();
+                            }
+                        }
+                        if (chunk.m_size > 0) {
+                            submit(chunk);
+                        }
+                        writeFinished(0);
+                    } finally {
+                        m_isFinished = true;
+                        m_todo.clear();
+                    }
+                });
+        }
+
+        /** Computes queued chunks until the caller is finished; failures are reported with the chunk. */
+        private HelperThreads.Work createHelper(final NewColumnsProducerMapping mapping) {
+            return () -> {
+                try {
+                    while (!m_isFinished) {
+                        Chunk chunk = m_todo.poll(100, TimeUnit.MILLISECONDS);
+                        if (chunk != null) {
+                            chunk.compute(mapping);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // canceled as the caller failed
+                }
+            };
+        }
+
+        /** Queues the chunk, computing queued chunks in the caller thread as long as the queue is full. */
+        private void submit(final Chunk chunk) throws CanceledExecutionException {
+            m_pending.add(chunk);
+            while (!m_todo.offer(chunk)) {
+                Chunk other = m_todo.poll();
+                if (other != null) {
+                    other.compute(m_mappings[0]);
+                }
+            }
+            writeFinished(m_maxPending);
+        }
+
+        /**
+         * Adds the computed chunks at the head of the pending chunks to the container. As long as more than
+         * <code>maxPending</code> chunks are pending, it waits for the head chunk (helping with queued chunks).
+         */
+        private void writeFinished(final int maxPending) throws CanceledExecutionException {
+            while (!m_pending.isEmpty()) {
+                Chunk chunk = m_pending.peek();
+                if (!chunk.isDone()) {
+                    if (m_pending.size() <= maxPending) {
+                        return;
+                    }
+                    Chunk other = m_todo.poll();
+                    if (other != null) {
+                        other.compute(m_mappings[0]);
+                        continue;
+                    }
+                    try {
+                        // taken by a helper, which always counts down
+                        chunk.m_done.await();
+                    } catch (InterruptedException e) {
+                        CanceledExecutionException cee = new CanceledExecutionException(e.getMessage());
+                        cee.initCause(e);
+                        throw cee;
+                    }
+                }
+                m_pending.poll();
+                write(chunk);
+            }
+        }
+
+        private void write(final Chunk chunk) throws CanceledExecutionException {
+            if (chunk.m_error != null) {
+                if (chunk.m_error instanceof RuntimeException) {
+                    throw (RuntimeException)chunk.m_error;
+                }
+                if (chunk.m_error instanceof Error) {
+                    throw (Error)chunk.m_error;
+                }
+                throw new RuntimeException(chunk.m_error);
+            }
+            for (int i = 0; i < chunk.m_size; i++) {
+                m_container.addRowToTable(chunk.m_out[i]);
+                m_rowIndex++;
+                if (m_facForProgress == null) {
+                    // no factory added means at least one columns gets type converted.
+                    assert !m_mappings[0].getConverterToIndexMap().isEmpty();
+                } else {
+                    m_facForProgress.setProgress(m_rowIndex, m_table.size(), chunk.m_in[i].getKey(), m_subProgress);
+                }
+            }
+            m_subProgress.checkCanceled();
+        }
+
+        /** Consecutive input rows and their new cells. */
+        private static final class Chunk {
+
+            private final DataRow[] m_in = new DataRow[CHUNK_SIZE];
+
+            private final DataRow[] m_out = new DataRow[CHUNK_SIZE];
+
+            private final CountDownLatch m_done = new CountDownLatch(1);
+
+            private int m_size;
+
+            private Throwable m_error;
+
+            private void add(final DataRow row) {
+                m_in[m_size++] = row;
+            }
+
+            private boolean isFull() {
+                return m_size == CHUNK_SIZE;
+            }
+
+            private boolean isDone() {
+                return m_done.getCount() == 0;
+            }
+
+            private void compute(final NewColumnsProducerMapping mapping) {
+                try {
+                    for (int i = 0; i < m_size; i++) {
+                        m_out[i] = calcNewCellsForRow(m_in[i], mapping);
+                    }
+                } catch (Throwable t) {
+                    m_error = t;
+                } finally {
+                    m_done.countDown();
+                }
+            }
+        }
+    }
+
     /**
      * A class that helps to distinguish SpecAndFactoryObjects. There are three kinds: representing input columns,
      * created with a cell factory, created with a converter (often molecular type adapter)
@@ -0,0 +1,289 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.BufferedDataTable.KnowsRowCountTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+
+/**
+ * Special table implementation that represents a consecutive range of rows of a given {@link BufferedDataTable}
+ * without copying them, used for instance for the chunks of a parallel chunk loop. The referenced table must be a
+ * container table whose rows are held in memory, so that iterating a range starts right at its first row (see
+ * {@link #isInMemory(KnowsRowCountTable)}). Only if the rows have been written to disk in the meantime, e.g. because
+ * memory got low or after the workflow was loaded, the rows before the range are read and skipped. This class is
+ * used by the framework and should not be of public interest.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.6
+ */
+public final class RowRangeTable implements KnowsRowCountTable {
+
+    private static final String CFG_INTERNAL_META = "meta_internal";
+    private static final String CFG_REFERENCE_ID = "table_reference_ID";
+    private static final String CFG_FROM_ROW = "from_row";
+    private static final String CFG_TO_ROW = "to_row";
+
+    private final BufferedDataTable m_table;
+
+    private final ContainerTable m_rows;
+
+    private final long m_fromRow;
+
+    private final long m_toRow;
+
+    /** Creates new table representing rows <code>fromRow</code> (inclusive) to <code>toRow</code> (exclusive) of the
+     * argument.
+     * @param table Table to reference
+     * @param rows The implementation of <code>table</code>, which holds the rows.
+     * @param fromRow Index of the first row in the range.
+     * @param toRow Index after the last row in the range.
+     * @throws NullPointerException If the table is null.
+     * @throws IllegalArgumentException If the range is not within the table.
+     */
+    public RowRangeTable(final BufferedDataTable table, final ContainerTable rows, final long fromRow,
+        final long toRow) {
+        if (table == null || rows == null) {
+            throw new NullPointerException("Table must not be null.");
+        }
+        if (fromRow < 0 || toRow < fromRow || toRow > table.size()) {
+            throw new IllegalArgumentException("Invalid row range [" + fromRow + ", " + toRow
+                + ") for table with " + table.size() + " rows");
+        }
+        m_table = table;
+        m_rows = rows;
+        m_fromRow = fromRow;
+        m_toRow = toRow;
+    }
+
+    /** Whether a row range view can be created on the argument table, i.e. it is a container table whose rows are
+     * held in memory. Ranges of other tables should be copied, reaching the first row would otherwise require to read
+     * all preceding rows.
+     * @param table The implementation of a {@link BufferedDataTable}.
+     * @return whether the table can be referenced by a row range.
+     */
+    public static boolean isInMemory(final KnowsRowCountTable table) {
+        return table instanceof ContainerTable && ((ContainerTable)table).isInMemory();
+    }
+
+    /** @return the referenced table. */
+    public BufferedDataTable getTable() {
+        return m_table;
+    }
+
+    /** @return the index of the first row in the referenced table. */
+    public long getFromRow() {
+        return m_fromRow;
+    }
+
+    /** @return the index after the last row in the referenced table. */
+    public long getToRow() {
+        return m_toRow;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void ensureOpen() {
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BufferedDataTable[] getReferenceTables() {
+        return new BufferedDataTable[]{m_table};
+    }
+
+    /**
+     * {@inheritDoc}
+     * @deprecated use {@link #size()} instead which supports more than {@link Integer#MAX_VALUE} rows
+     */
+    @Override
+    @Deprecated
+    public int getRowCount() {
+        return KnowsRowCountTable.checkRowCount(size());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long size() {
+        return m_toRow - m_fromRow;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CloseableRowIterator iterator() {
+        return new RowRangeIterator(m_rows.iterator(null, m_fromRow));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CloseableRowIterator filteredIterator(final int[] materializeColumnIndices) {
+        return new RowRangeIterator(m_rows.iterator(materializeColumnIndices, m_fromRow));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DataTableSpec getDataTableSpec() {
+        return m_table.getDataTableSpec();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putIntoTableRepository(
+            final HashMap<Integer, ContainerTable> rep) {
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean removeFromTableRepository(
+            final HashMap<Integer, ContainerTable> rep) {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void saveToFile(final File f, final NodeSettingsWO s,
+            final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        NodeSettingsWO subSettings = s.addNodeSettings(CFG_INTERNAL_META);
+        subSettings.addInt(CFG_REFERENCE_ID, m_table.getBufferedTableId());
+        subSettings.addLong(CFG_FROM_ROW, m_fromRow);
+        subSettings.addLong(CFG_TO_ROW, m_toRow);
+    }
+
+    /** Restore table, reverse operation to
+     * {@link #saveToFile(File, NodeSettingsWO, ExecutionMonitor) save}.
+     * @param s To load from
+     * @param tblRep Global table loader map.
+     * @param delegates Gives access to the implementation of the referenced table.
+     * @return A freshly created row range table.
+     * @throws InvalidSettingsException If settings are invalid.
+     */
+    public static RowRangeTable load(final NodeSettingsRO s,
+            final Map<Integer, BufferedDataTable> tblRep,
+            final Function<BufferedDataTable, KnowsRowCountTable> delegates)
+        throws InvalidSettingsException {
+        NodeSettingsRO subSettings = s.getNodeSettings(CFG_INTERNAL_META);
+        int refID = subSettings.getInt(CFG_REFERENCE_ID);
+        BufferedDataTable reference =
+            BufferedDataTable.getDataTable(tblRep, refID);
+        KnowsRowCountTable rows = delegates.apply(reference);
+        if (!(rows instanceof ContainerTable)) {
+            throw new InvalidSettingsException("Row range refers to a table of unsupported type "
+                + rows.getClass().getSimpleName());
+        }
+        long fromRow = subSettings.getLong(CFG_FROM_ROW);
+        long toRow = subSettings.getLong(CFG_TO_ROW);
+        try {
+            return new RowRangeTable(reference, (ContainerTable)rows, fromRow, toRow);
+        } catch (IllegalArgumentException iae) {
+            throw new InvalidSettingsException(iae.getMessage(), iae);
+        }
+    }
+
+    /** Iterator on the referenced table that starts at the first row of the range and stops after the last one. */
+    private final class RowRangeIterator extends CloseableRowIterator {
+
+        private final CloseableRowIterator m_iterator;
+
+        private long m_nextRow = m_fromRow;
+
+        RowRangeIterator(final CloseableRowIterator iterator) {
+            m_iterator = iterator;
+            if (!hasNext()) {
+                m_iterator.close();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return m_nextRow < m_toRow && m_iterator.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more rows in range");
+            }
+            DataRow row = m_iterator.next();
+            m_nextRow++;
+            if (m_nextRow == m_toRow) {
+                // release the underlying stream, the remaining rows are not needed
+                m_iterator.close();
+            }
+            return row;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+            m_iterator.close();
+        }
+    }
+
+}
@@ -207,6 +207,12 @@ public CloseableRowIterator iterator() {
         return m_reference.iterator();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public CloseableRowIterator filteredIterator(final int[] materializeColumnIndices) {
+        return m_reference.filteredIterator(materializeColumnIndices);
+    }
+
     /**
      * {@inheritDoc}
      * @deprecated use {@link #size()} instead which supports more than {@link Integer#MAX_VALUE} rows
@@ -124,6 +124,12 @@ public CloseableRowIterator iterator() {
         return m_table.iterator();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public CloseableRowIterator filteredIterator(final int[] materializeColumnIndices) {
+        return m_table.filteredIterator(materializeColumnIndices);
+    }
+
     /** {@inheritDoc} */
     @Override
     public DataTableSpec getDataTableSpec() {
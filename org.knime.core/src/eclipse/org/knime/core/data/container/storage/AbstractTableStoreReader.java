@@ -48,6 +48,7 @@
 package org.knime.core.data.container.storage;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.knime.core.data.container.Buffer;
 import org.knime.core.data.container.CloseableRowIterator;
@@ -78,6 +79,35 @@ public final void setFileStoreHandlerRepository(final FileStoreHandlerRepository
 
     public abstract TableStoreCloseableRowIterator iterator() throws IOException;
 
+    /** Creates an iterator that only needs to materialize the cells of the argument columns. Cells of all other
+     * columns are undefined; implementations may return the actual cell or a missing cell. This default
+     * implementation ignores the filter and returns {@link #iterator()}.
+     * @param materializeColumnIndices The sorted indices of the columns to read or <code>null</code> to read all.
+     * @return A new iterator.
+     * @throws IOException Any type of I/O problem.
+     * @since 3.6
+     */
+    public TableStoreCloseableRowIterator iterator(final int[] materializeColumnIndices) throws IOException {
+        return iterator();
+    }
+
+    /** Converts the argument column filter into a mask.
+     * @param materializeColumnIndices The column indices, may be <code>null</code>.
+     * @param columnCount The number of columns in the table.
+     * @return A mask of length <code>columnCount</code>, all <code>true</code> if the argument is <code>null</code>.
+     */
+    protected static boolean[] toColumnMask(final int[] materializeColumnIndices, final int columnCount) {
+        boolean[] mask = new boolean[columnCount];
+        if (materializeColumnIndices == null) {
+            Arrays.fill(mask, true);
+        } else {
+            for (int i : materializeColumnIndices) {
+                mask[i] = true;
+            }
+        }
+        return mask;
+    }
+
     public static abstract class TableStoreCloseableRowIterator extends CloseableRowIterator {
 
         private Buffer m_buffer;
@@ -51,6 +51,7 @@
 import java.text.NumberFormat;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -62,6 +63,13 @@
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
@@ -73,12 +81,14 @@
 import org.knime.core.data.DataValueComparator;
 import org.knime.core.data.container.DataContainer;
 import org.knime.core.data.def.StringCell;
+import org.knime.core.data.sort.NormalizedKeyEncoder.KeyedRow;
 import org.knime.core.data.util.memory.MemoryAlertSystem;
 import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.NodeLogger;
+import org.knime.core.util.ThreadUtils;
 
 /**
  * Class to sort a table. See <a href="package.html">package description</a> for details.
@@ -118,6 +128,32 @@ abstract class AbstractTableSorter {
 
     private boolean m_sortInMemory = false;
 
+    /**
+     * Encodes the sort columns into normalized keys, only available if sorted according to
+     * {@link #setSortColumns(Collection, boolean[], boolean)}. Used if {@link #m_useNormalizedKeys} is set.
+     */
+    private NormalizedKeyEncoder m_keyEncoder;
+
+    private boolean m_useNormalizedKeys = true;
+
+    /** Number of threads used for sorting, see {@link #setParallelism(int)}. */
+    private int m_parallelism = 1;
+
+    /** Pool used to sort chunks, write and merge temporary tables; only non-null during a parallel sort. */
+    private ForkJoinPool m_pool;
+
+    /** Asynchronous write of the previous chunk in a parallel sort, null if there is none pending. */
+    private Future<DataTable> m_pendingChunkWrite;
+
+    /** Progress to add once {@link #m_pendingChunkWrite} has completed. */
+    private double m_pendingChunkWriteProgress;
+
+    /**
+     * Guards creating, closing and clearing temporary tables, which modifies the (not thread-safe) local table
+     * repository of the execution context when sorting in parallel.
+     */
+    private final Object m_temporaryTableLock = new Object();
+
     /** The RowComparator to compare two DataRows (inner class). */
     private Comparator<DataRow> m_rowComparator;
 
@@ -278,6 +314,7 @@ public void setRowComparator(final Comparator<DataRow> rowComparator) {
             throw new NullPointerException("Argument must not be null.");
         }
         m_rowComparator = rowComparator;
+        m_keyEncoder = null;
     }
 
     /**
@@ -334,6 +371,39 @@ public void setSortColumns(final Collection<String> inclList, final boolean[] so
             indices[curIndex++] = index;
         }
         setRowComparator(new RowComparator(indices, sortAscending, sortMissingsToEnd, spec));
+        m_keyEncoder = NormalizedKeyEncoder.create(spec, indices, sortAscending, sortMissingsToEnd,
+            NormalizedKeyEncoder.DEFAULT_KEY_LENGTH);
+    }
+
+    /**
+     * @return the useNormalizedKeys property, see {@link #setUseNormalizedKeys(boolean)} for details.
+     * @since 3.6
+     */
+    public boolean isUseNormalizedKeys() {
+        return m_useNormalizedKeys;
+    }
+
+    /**
+     * Whether to compare rows using normalized keys. If the table is sorted according to
+     * {@link #setSortColumns(Collection, boolean[], boolean) sort columns} the leading int, long, double, boolean and
+     * string columns (or the row key) are encoded into a short binary key per row, which is compared as a sequence of
+     * unsigned numbers. Only rows with equal keys are compared using the column comparators. This does not change the
+     * result but saves most comparator calls when sorting and merging. It has no effect if a custom row comparator is
+     * used.
+     *
+     * <p>
+     * The default value for this option is <b>true</b>.
+     *
+     * @param useNormalizedKeys the property to set
+     * @since 3.6
+     */
+    public void setUseNormalizedKeys(final boolean useNormalizedKeys) {
+        m_useNormalizedKeys = useNormalizedKeys;
+    }
+
+    /** @return the key encoder to use or null if normalized keys are not available/disabled. */
+    private NormalizedKeyEncoder getKeyEncoder() {
+        return m_useNormalizedKeys ? m_keyEncoder : null;
     }
 
     /**
@@ -405,6 +475,35 @@ public void setSortInMemory(final boolean sortInMemory) {
         m_sortInMemory = sortInMemory;
     }
 
+    /**
+     * @return the number of threads used for sorting, see {@link #setParallelism(int)} for details.
+     * @since 3.6
+     */
+    public int getParallelism() {
+        return m_parallelism;
+    }
+
+    /**
+     * Sets the number of threads used for sorting. If larger than 1 the chunks are sorted with a parallel merge sort,
+     * each sorted chunk is written to disk while the next chunk is read, and intermediate merge rounds (only needed if
+     * there are more chunks than {@link #getMaxOpenContainers() open containers}) are run concurrently, each keeping up
+     * to {@link #getMaxOpenContainers()} files open. All merges use a loser tree instead of a priority queue.
+     *
+     * <p>
+     * The default is 1, i.e. the table is sorted in the calling thread only.
+     *
+     * @param parallelism the number of threads, e.g. {@link org.knime.core.util.ThreadPool#getMaxThreads()} of the
+     *            global thread pool.
+     * @throws IllegalArgumentException If argument is smaller than 1.
+     * @since 3.6
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism: " + parallelism);
+        }
+        m_parallelism = parallelism;
+    }
+
     /**
      * Sorts the table passed in the constructor according to the settings and returns the sorted output table.
      *
@@ -414,13 +513,33 @@ public void setSortInMemory(final boolean sortInMemory) {
      */
     DataTable sortInternal(final ExecutionMonitor exec) throws CanceledExecutionException {
         DataTable result;
-        if (m_sortInMemory && (m_rowsInInputTable <= Integer.MAX_VALUE)) {
-            result = sortInMemory(exec);
-        } else {
-            if (m_rowsInInputTable > Integer.MAX_VALUE) {
-                LOGGER.info("Not sorting table in memory, because it has more than " + Integer.MAX_VALUE + " rows.");
+        if (m_parallelism > 1) {
+            m_pool = new ForkJoinPool(m_parallelism, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("KNIME-Sorter-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        }
+        try {
+            if (m_sortInMemory && (m_rowsInInputTable <= Integer.MAX_VALUE)) {
+                result = sortInMemory(exec);
+            } else {
+                if (m_rowsInInputTable > Integer.MAX_VALUE) {
+                    LOGGER.info("Not sorting table in memory, because it has more than " + Integer.MAX_VALUE
+                        + " rows.");
+                }
+                result = sortOnDisk(exec);
+            }
+        } finally {
+            if (m_pool != null) {
+                if (m_pendingChunkWrite != null) {
+                    // only on exception (e.g. cancelation, which the write task also notices)
+                    m_pendingChunkWrite.cancel(false);
+                    m_pendingChunkWrite = null;
+                }
+                m_pool.shutdownNow();
+                m_pool = null;
             }
-            result = sortOnDisk(exec);
         }
         exec.setProgress(1.0);
         return result;
@@ -451,7 +570,7 @@ private DataTable sortInMemory(final ExecutionMonitor exec) throws CanceledExecu
         }
 
         exec.setMessage("Sorting");
-        Collections.sort(rowList, m_rowComparator);
+        sortChunk(rowList);
 
         exec.setMessage("Creating sorted table");
 
@@ -509,6 +628,9 @@ private DataTable sortOnDisk(final ExecutionMonitor exec) throws CanceledExecuti
         }
 
         exec.setMessage("Merging temporary tables");
+        if (m_pool != null) {
+            mergeChunksInParallel(exec);
+        }
         // The final output container
         // merge chunks until there are only so much left, as m_maxopencontainers
         Iterator<DataRow> result = mergeChunks(exec, false);
@@ -553,7 +675,8 @@ Iterator<DataRow> mergeChunks(final ExecutionMonitor exec, final boolean mergeCo
                 containersToMerge.add(new MergeEntry(m_chunksContainer.poll(), i, m_rowComparator));
             }
 
-            MergingIterator mergingIterator = new MergingIterator(containersToMerge);
+            Iterator<DataRow> mergingIterator = m_pool != null
+                ? new LoserTreeMergingIterator(containersToMerge) : new MergingIterator(containersToMerge);
 
             if (m_chunksContainer.isEmpty() && (!mergeCompletely || containersToMerge.size() == 1)) {
                 return mergingIterator;
@@ -578,6 +701,197 @@ Iterator<DataRow> mergeChunks(final ExecutionMonitor exec, final boolean mergeCo
         return Collections.<DataRow>emptyList().iterator();
     }
 
+    /**
+     * Used in a parallel sort if there are more chunks than {@link #m_maxOpenContainers}: Merges groups of chunks
+     * concurrently (each group into a new temporary table) until the remaining chunks can be merged in one pass. Other
+     * than in {@link #mergeChunks(ExecutionMonitor, boolean)} the merged chunks keep their position in the chunk queue
+     * so that the sort remains stable.
+     */
+    private void mergeChunksInParallel(final ExecutionMonitor exec) throws CanceledExecutionException {
+        int rounds = 0;
+        for (long c = m_chunksContainer.size(); c > m_maxOpenContainers; c = (c + m_maxOpenContainers - 1)
+            / m_maxOpenContainers) {
+            rounds++;
+        }
+        while (m_chunksContainer.size() > m_maxOpenContainers) {
+            exec.setMessage("Merging temporary tables, " + m_chunksContainer.size() + " remaining");
+            // the final merge (in mergeChunks) counts as one more round
+            final double progressPerRound = (1.0 - m_progress) / (rounds + 1);
+            List<Future<DataTable>> mergedChunks = new ArrayList<>();
+            List<Iterable<DataRow>> unmergedChunks = new ArrayList<>();
+            while (!m_chunksContainer.isEmpty()) {
+                Queue<MergeEntry> group = new ArrayDeque<>();
+                for (int i = 0; !m_chunksContainer.isEmpty() && i < m_maxOpenContainers; i++) {
+                    group.add(new MergeEntry(m_chunksContainer.poll(), i, m_rowComparator));
+                }
+                if (group.size() == 1) {
+                    unmergedChunks.add(group.poll().m_iterable);
+                } else {
+                    mergedChunks.add(m_pool.submit(ThreadUtils.callableWithContext(
+                        () -> writeTemporaryTable(new LoserTreeMergingIterator(group), exec))));
+                }
+            }
+            final double progressPerGroup = progressPerRound / mergedChunks.size();
+            for (Future<DataTable> f : mergedChunks) {
+                m_chunksContainer.add(await(f));
+                m_progress += progressPerGroup;
+                exec.setProgress(m_progress);
+            }
+            m_chunksContainer.addAll(unmergedChunks);
+            rounds--;
+        }
+    }
+
+    /**
+     * Writes all rows of the iterator into a new temporary table (in the calling thread). Used for chunks in a parallel
+     * sort.
+     */
+    private DataTable writeTemporaryTable(final Iterator<DataRow> rows, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        DataContainer container;
+        synchronized (m_temporaryTableLock) {
+            container = createDataContainer(m_dataTableSpec, true);
+        }
+        container.setMaxPossibleValues(0);
+        try {
+            while (rows.hasNext()) {
+                container.addRowToTable(rows.next());
+                exec.checkCanceled();
+            }
+        } catch (CanceledExecutionException | RuntimeException e) {
+            synchronized (m_temporaryTableLock) {
+                container.close();
+                clearTable(container.getTable());
+            }
+            throw e;
+        }
+        synchronized (m_temporaryTableLock) {
+            container.close();
+        }
+        return container.getTable();
+    }
+
+    /**
+     * Sorts the argument list, in the fork-join pool if this is a parallel sort.
+     *
+     * @param chunk The rows to sort, modified in place.
+     */
+    private void sortChunk(final List<DataRow> chunk) {
+        if (m_pool == null && getKeyEncoder() == null) {
+            Collections.sort(chunk, m_rowComparator);
+        } else {
+            DataRow[] rows = chunk.toArray(new DataRow[chunk.size()]);
+            sortRows(rows);
+            for (int i = 0; i < rows.length; i++) {
+                chunk.set(i, rows[i]);
+            }
+        }
+    }
+
+    /**
+     * Sorts the array (stable), using normalized keys if available and the fork-join pool if this is a parallel sort.
+     *
+     * @param rows The rows to sort, modified in place.
+     */
+    private void sortRows(final DataRow[] rows) {
+        final NormalizedKeyEncoder keyEncoder = getKeyEncoder();
+        if (keyEncoder == null) {
+            sortArray(rows, m_rowComparator);
+            return;
+        }
+        KeyedRow[] keyedRows = new KeyedRow[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            keyedRows[i] = new KeyedRow(keyEncoder.encode(rows[i]), rows[i]);
+        }
+        sortArray(keyedRows, NormalizedKeyEncoder.createKeyedRowComparator(m_rowComparator));
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = keyedRows[i].getRow();
+        }
+    }
+
+    private <T> void sortArray(final T[] array, final Comparator<? super T> comparator) {
+        if (m_pool == null) {
+            Arrays.sort(array, comparator);
+        } else {
+            ChunkSortTask<T> task = new ChunkSortTask<>(array, array.clone(), 0, array.length, comparator);
+            if (ForkJoinTask.inForkJoinPool()) {
+                // already running in the pool (async write), the subtasks also run there
+                task.invoke();
+            } else {
+                m_pool.invoke(task);
+            }
+        }
+    }
+
+    /**
+     * Used in a parallel sort: Sorts the chunk and writes it to a temporary table in the background. Waits for the
+     * previously submitted chunk, i.e. there is at most one chunk being written while the next chunk is read. The
+     * rows are removed from the argument list.
+     */
+    private void writeChunkAsync(final List<DataRow> chunk, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        awaitPendingChunkWrite(exec);
+        final DataRow[] rows = chunk.toArray(new DataRow[chunk.size()]);
+        chunk.clear();
+        m_pendingChunkWriteProgress = m_rowsInInputTable > 0 ? rows.length * m_incProgress : 0.0;
+        Callable<DataTable> sortAndWrite = () -> {
+            sortRows(rows);
+            return writeTemporaryTable(new Iterator<DataRow>() {
+                private int m_index;
+
+                @Override
+                public boolean hasNext() {
+                    return m_index < rows.length;
+                }
+
+                @Override
+                public DataRow next() {
+                    // release rows as they are written
+                    DataRow r = rows[m_index];
+                    rows[m_index++] = null;
+                    return r;
+                }
+            }, exec);
+        };
+        m_pendingChunkWrite = m_pool.submit(ThreadUtils.callableWithContext(sortAndWrite));
+    }
+
+    /** Waits for the chunk submitted in {@link #writeChunkAsync(List, ExecutionMonitor)} and adds it to the queue. */
+    private void awaitPendingChunkWrite(final ExecutionMonitor exec) throws CanceledExecutionException {
+        if (m_pendingChunkWrite == null) {
+            return;
+        }
+        try {
+            m_chunksContainer.add(await(m_pendingChunkWrite));
+        } finally {
+            m_pendingChunkWrite = null;
+        }
+        if (m_rowsInInputTable > 0) {
+            m_progress += m_pendingChunkWriteProgress;
+            exec.setProgress(m_progress);
+        }
+    }
+
+    /** Waits for the future and unwraps exceptions. */
+    private static DataTable await(final Future<DataTable> future) throws CanceledExecutionException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CanceledExecutionException("Interrupted while waiting for temporary table");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new RuntimeException("Writing temporary table failed: " + cause.getMessage(), cause);
+        }
+    }
+
     private long createInitialChunks(final ExecutionMonitor exec, final DataTable dataTable)
         throws CanceledExecutionException {
         long outerCounter;
@@ -609,9 +923,16 @@ private long createInitialChunks(final ExecutionMonitor exec, final DataTable da
                     long estimatedIncrements = m_rowsInInputTable - counter + buffer.size();
                     m_incProgress = (0.5 - m_progress) / estimatedIncrements;
                 }
+                if (m_pool != null) {
+                    exec.setMessage("Sorting and writing temporary table in background");
+                    writeChunkAsync(buffer, exec);
+                    chunkStartRow = counter + 1;
+                    rowsInCurrentChunk = 0;
+                    continue;
+                }
                 exec.setMessage("Sorting temporary buffer");
                 // sort buffer
-                Collections.sort(buffer, m_rowComparator);
+                sortChunk(buffer);
                 // write buffer to disk
                 openChunk();
                 final int totalBufferSize = buffer.size();
@@ -635,10 +956,12 @@ private long createInitialChunks(final ExecutionMonitor exec, final DataTable da
                 rowsInCurrentChunk = 0;
             }
         }
+        // keep chunk order (the merge is stable)
+        awaitPendingChunkWrite(exec);
         // Add buffer to the chunks
         if (!buffer.isEmpty()) {
             // sort buffer
-            Collections.sort(buffer, m_rowComparator);
+            sortChunk(buffer);
             m_chunksContainer.add(buffer);
         }
         outerCounter = counter;
@@ -696,6 +1019,11 @@ private String getMemUsage() {
     private final class MergeEntry implements Comparable<MergeEntry>, Iterator<DataRow> {
         private DataRow m_row;
 
+        /** Normalized key of m_row, null if not available. */
+        private long[] m_key;
+
+        private final NormalizedKeyEncoder m_keyEncoder = getKeyEncoder();
+
         private Iterable<DataRow> m_iterable;
 
         private Iterator<DataRow> m_iterator;
@@ -719,11 +1047,22 @@ private void open() {
             if (m_iterator == null) {
                 m_iterator = m_iterable.iterator();
                 if (m_iterator.hasNext()) {
-                    m_row = m_iterator.next();
+                    setRow(m_iterator.next());
                 }
             }
         }
 
+        private void setRow(final DataRow row) {
+            m_row = row;
+            m_key = row != null && m_keyEncoder != null ? m_keyEncoder.encode(row) : null;
+        }
+
+        /** Compares the current rows, using the normalized keys first. */
+        private int compareRows(final MergeEntry that) {
+            int value = NormalizedKeyEncoder.compare(m_key, that.m_key);
+            return value != 0 ? value : m_comparator.compare(this.m_row, that.m_row);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -732,7 +1071,9 @@ public boolean hasNext() {
             // open the file lazily
             if (m_row == null) {
                 if (m_iterable instanceof DataTable) {
-                    clearTable((DataTable)m_iterable);
+                    synchronized (m_temporaryTableLock) {
+                        clearTable((DataTable)m_iterable);
+                    }
                 }
                 return false;
             }
@@ -749,7 +1090,7 @@ public DataRow next() {
                 throw new NoSuchElementException();
             }
             DataRow toReturn = m_row;
-            m_row = m_iterator.hasNext() ? m_iterator.next() : null;
+            setRow(m_iterator.hasNext() ? m_iterator.next() : null);
             return toReturn;
         }
 
@@ -766,7 +1107,7 @@ public void remove() {
          */
         @Override
         public int compareTo(final MergeEntry that) {
-            int value = m_comparator.compare(this.m_row, that.m_row);
+            int value = compareRows(that);
             if (value == 0) {
                 return this.m_index - that.m_index;
             } else {
@@ -866,6 +1207,152 @@ public void remove() {
         }
     }
 
+    /**
+     * Merges the given MergeEntry's (the runs of a merging step) using a loser tree (tournament tree), which needs
+     * about log2(k) comparisons per row, fewer than a binary heap. Ties are broken by the index of the run, so the
+     * merge is stable. Used in parallel sorts.
+     */
+    private static final class LoserTreeMergingIterator implements Iterator<DataRow> {
+
+        private final MergeEntry[] m_entries;
+
+        /** m_tree[0] is the index of the current winner, m_tree[1..k-1] the losers of the inner nodes. */
+        private final int[] m_tree;
+
+        private boolean m_opened;
+
+        private LoserTreeMergingIterator(final Collection<MergeEntry> containerToMerge) {
+            m_entries = containerToMerge.toArray(new MergeEntry[containerToMerge.size()]);
+            m_tree = new int[Math.max(m_entries.length, 1)];
+        }
+
+        private void open() {
+            final int k = m_entries.length;
+            for (MergeEntry entry : m_entries) {
+                entry.open();
+                // clears empty runs
+                entry.hasNext();
+            }
+            // index k is a virtual entry that beats all others, it gets replaced while the leaves are inserted
+            Arrays.fill(m_tree, k);
+            for (int i = k - 1; i >= 0; i--) {
+                adjust(i);
+            }
+            m_opened = true;
+        }
+
+        /** Replays the matches from leaf s to the root. */
+        private void adjust(final int leaf) {
+            int winner = leaf;
+            for (int node = (winner + m_entries.length) / 2; node > 0; node /= 2) {
+                if (beats(m_tree[node], winner)) {
+                    int loser = winner;
+                    winner = m_tree[node];
+                    m_tree[node] = loser;
+                }
+            }
+            m_tree[0] = winner;
+        }
+
+        /** Whether run a precedes run b; exhausted runs lose against all others. */
+        private boolean beats(final int a, final int b) {
+            final int k = m_entries.length;
+            if (a == k || b == k) {
+                return a == k;
+            }
+            final DataRow rowA = m_entries[a].m_row;
+            final DataRow rowB = m_entries[b].m_row;
+            if (rowA == null || rowB == null) {
+                return rowA != null || (rowB == null && a < b);
+            }
+            final int cmp = m_entries[a].compareRows(m_entries[b]);
+            return cmp < 0 || (cmp == 0 && a < b);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            if (!m_opened) {
+                open();
+            }
+            return m_entries.length > 0 && m_entries[m_tree[0]].m_row != null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final int winner = m_tree[0];
+            final MergeEntry entry = m_entries[winner];
+            DataRow row = entry.next();
+            // clears the temporary table once the run is exhausted
+            entry.hasNext();
+            adjust(winner);
+            return row;
+        }
+    }
+
+    /**
+     * Stable parallel merge sort on an array range, the leafs are sorted using {@link Arrays#sort(Object[], int, int,
+     * Comparator)}.
+     */
+    private static final class ChunkSortTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /** Ranges smaller than this are sorted sequentially. */
+        private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+        private final T[] m_rows;
+
+        private final T[] m_temp;
+
+        private final int m_from;
+
+        private final int m_to;
+
+        private final Comparator<? super T> m_comparator;
+
+        ChunkSortTask(final T[] rows, final T[] temp, final int from, final int to,
+            final Comparator<? super T> comparator) {
+            m_rows = rows;
+            m_temp = temp;
+            m_from = from;
+            m_to = to;
+            m_comparator = comparator;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (m_to - m_from <= SEQUENTIAL_THRESHOLD) {
+                Arrays.sort(m_rows, m_from, m_to, m_comparator);
+                return;
+            }
+            final int mid = (m_from + m_to) >>> 1;
+            invokeAll(new ChunkSortTask<>(m_rows, m_temp, m_from, mid, m_comparator),
+                new ChunkSortTask<>(m_rows, m_temp, mid, m_to, m_comparator));
+            if (m_comparator.compare(m_rows[mid - 1], m_rows[mid]) <= 0) {
+                return; // already in order
+            }
+            System.arraycopy(m_rows, m_from, m_temp, m_from, mid - m_from);
+            int left = m_from;
+            int right = mid;
+            int dest = m_from;
+            while (left < mid && right < m_to) {
+                // take from the left on ties to keep the sort stable
+                m_rows[dest++] = m_comparator.compare(m_rows[right], m_temp[left]) < 0 ? m_rows[right++]
+                    : m_temp[left++];
+            }
+            while (left < mid) {
+                m_rows[dest++] = m_temp[left++];
+            }
+            Arrays.fill(m_temp, m_from, mid, null);
+        }
+    }
+
     /**
      * The private class RowComparator is used to compare two DataRows. It implements the Comparator-interface, so we
      * can use the Arrays.sort method to sort an array of DataRows.
@@ -68,6 +68,7 @@
  * <p>
  * Usage: Client implementations will initialize this object with the table to be sorted, set properties using the
  * varies set-methods (defaults are generally fine) and finally call the {@link #sort(ExecutionContext)} method.
+ * Large tables can be sorted using multiple threads, see {@link #setParallelism(int)}.
  *
  * <p>
  * For details on the sorting mechanism see the <a href="package.html"> package description</a>.
@@ -0,0 +1,342 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.data.sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.DoubleValueComparator;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.IntValueComparator;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.LongValueComparator;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.StringValueComparator;
+import org.knime.core.data.def.BooleanCell;
+
+/**
+ * Encodes the leading sort columns of a row into a fixed-length normalized key whose unsigned lexicographic order
+ * agrees with the order of the row comparator: if the keys of two rows differ, their order decides; if they are equal
+ * (e.g. because a string was truncated or a column wasn't encoded) the full row comparator must be consulted. The key
+ * is packed into longs so that most comparisons are a few integer comparisons instead of a
+ * {@link DataValueComparator} call per column.
+ *
+ * <p>
+ * Supported are columns compared by the default comparators of {@link IntValue}, {@link LongValue},
+ * {@link DoubleValue}, {@link BooleanValue} and {@link StringValue} (the latter also for the row key). Encoding stops
+ * at the first unsupported column, at a string column (which is truncated) or when the key is full.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class NormalizedKeyEncoder {
+
+    /** Default length of the normalized key in bytes. */
+    static final int DEFAULT_KEY_LENGTH = 24;
+
+    /** Class of the (anonymous) boolean comparator. */
+    private static final Class<?> BOOLEAN_COMPARATOR_CLASS = BooleanCell.TYPE.getComparator().getClass();
+
+    /** Compares normalized keys first, the rows using the row comparator if the keys are equal. */
+    static final class KeyedRow {
+
+        private final long[] m_key;
+
+        private final DataRow m_row;
+
+        KeyedRow(final long[] key, final DataRow row) {
+            m_key = key;
+            m_row = row;
+        }
+
+        /** @return the row */
+        DataRow getRow() {
+            return m_row;
+        }
+
+        /** @return the normalized key */
+        long[] getKey() {
+            return m_key;
+        }
+    }
+
+    private enum Encoding {
+        INT(4), LONG(8), DOUBLE(8), BOOLEAN(1), STRING(-1);
+
+        /** Number of value bytes, -1 for variable length. */
+        private final int m_length;
+
+        Encoding(final int length) {
+            m_length = length;
+        }
+    }
+
+    /** Column index per encoded column (-1 for the row key). */
+    private final int[] m_indices;
+
+    private final Encoding[] m_encodings;
+
+    private final boolean[] m_ascending;
+
+    private final boolean m_sortMissingsToEnd;
+
+    private final int m_keyLength;
+
+    private NormalizedKeyEncoder(final int[] indices, final Encoding[] encodings, final boolean[] ascending,
+        final boolean sortMissingsToEnd, final int keyLength) {
+        m_indices = indices;
+        m_encodings = encodings;
+        m_ascending = ascending;
+        m_sortMissingsToEnd = sortMissingsToEnd;
+        m_keyLength = keyLength;
+    }
+
+    /**
+     * Creates an encoder for the given sort columns, as used by the row comparator of the {@link AbstractTableSorter}.
+     *
+     * @param spec The spec of the table.
+     * @param indices The sort column indices, -1 for the row key.
+     * @param ascending The sort order per column.
+     * @param sortMissingsToEnd Whether missing values are sorted to the end independent of the order.
+     * @param keyLength The length of the key in bytes.
+     * @return a new encoder or <code>null</code> if the first sort column can't be encoded.
+     */
+    static NormalizedKeyEncoder create(final DataTableSpec spec, final int[] indices, final boolean[] ascending,
+        final boolean sortMissingsToEnd, final int keyLength) {
+        List<Encoding> encodings = new ArrayList<>();
+        int length = 0;
+        for (int i = 0; i < indices.length && length < keyLength; i++) {
+            Encoding encoding;
+            if (indices[i] < 0) {
+                encoding = Encoding.STRING;
+            } else {
+                encoding = getEncoding(spec.getColumnSpec(indices[i]).getType().getComparator());
+            }
+            if (encoding == null) {
+                break;
+            }
+            encodings.add(encoding);
+            if (encoding == Encoding.STRING) {
+                break;
+            }
+            length += 1 + encoding.m_length;
+        }
+        if (encodings.isEmpty()) {
+            return null;
+        }
+        int n = encodings.size();
+        int[] encodedIndices = new int[n];
+        boolean[] encodedAscending = new boolean[n];
+        System.arraycopy(indices, 0, encodedIndices, 0, n);
+        System.arraycopy(ascending, 0, encodedAscending, 0, n);
+        return new NormalizedKeyEncoder(encodedIndices, encodings.toArray(new Encoding[n]), encodedAscending,
+            sortMissingsToEnd, keyLength);
+    }
+
+    private static Encoding getEncoding(final DataValueComparator comparator) {
+        final Class<?> cl = comparator.getClass();
+        if (cl == IntValueComparator.class) {
+            return Encoding.INT;
+        } else if (cl == LongValueComparator.class) {
+            return Encoding.LONG;
+        } else if (cl == DoubleValueComparator.class) {
+            return Encoding.DOUBLE;
+        } else if (cl == StringValueComparator.class) {
+            return Encoding.STRING;
+        } else if (cl == BOOLEAN_COMPARATOR_CLASS) {
+            return Encoding.BOOLEAN;
+        }
+        return null;
+    }
+
+    /**
+     * Encodes the sort columns of the row.
+     *
+     * @param row The row to encode.
+     * @return its normalized key, or <code>null</code> if a cell has an unexpected type (the row then needs to be
+     *         compared by the row comparator).
+     */
+    long[] encode(final DataRow row) {
+        final byte[] bytes = new byte[m_keyLength];
+        int pos = 0;
+        for (int i = 0; i < m_indices.length && pos < m_keyLength; i++) {
+            final int start = pos;
+            final boolean ascending = m_ascending[i];
+            if (m_indices[i] < 0) {
+                bytes[pos++] = 1;
+                pos = putString(row.getKey().getString(), bytes, pos);
+            } else {
+                final DataCell cell = row.getCell(m_indices[i]);
+                if (cell.isMissing()) {
+                    // missings are the smallest values unless sorted to the end (zero value bytes)
+                    bytes[pos++] = (byte)(m_sortMissingsToEnd ? 1 : 0);
+                    pos = m_encodings[i] == Encoding.STRING ? m_keyLength
+                        : Math.min(m_keyLength, pos + m_encodings[i].m_length);
+                } else {
+                    bytes[pos++] = (byte)(m_sortMissingsToEnd ? 0 : 1);
+                    if (pos < m_keyLength) {
+                        pos = putValue(m_encodings[i], cell, bytes, pos);
+                        if (pos < 0) {
+                            return null;
+                        }
+                    }
+                }
+            }
+            if (!ascending) {
+                // descending: invert all bytes of the column; the flag byte is already final if missings go to the end
+                final int from = m_sortMissingsToEnd ? start + 1 : start;
+                for (int b = from; b < pos; b++) {
+                    bytes[b] = (byte)~bytes[b];
+                }
+            }
+        }
+        final long[] key = new long[(m_keyLength + 7) / 8];
+        for (int i = 0; i < m_keyLength; i++) {
+            key[i >>> 3] |= (bytes[i] & 0xFFL) << (56 - 8 * (i & 7));
+        }
+        return key;
+    }
+
+    /** Writes the big-endian, sign-flipped value bytes (truncated at the end of the key); -1 on wrong cell type. */
+    private int putValue(final Encoding encoding, final DataCell cell, final byte[] bytes, final int pos) {
+        long bits;
+        switch (encoding) {
+            case INT:
+                if (!(cell instanceof IntValue)) {
+                    return -1;
+                }
+                bits = ((IntValue)cell).getIntValue() ^ Integer.MIN_VALUE;
+                return putBits(bits, 4, bytes, pos);
+            case LONG:
+                if (!(cell instanceof LongValue)) {
+                    return -1;
+                }
+                bits = ((LongValue)cell).getLongValue() ^ Long.MIN_VALUE;
+                return putBits(bits, 8, bytes, pos);
+            case DOUBLE:
+                if (!(cell instanceof DoubleValue)) {
+                    return -1;
+                }
+                // same total order as Double#compare (-0.0 < 0.0, NaN largest)
+                bits = Double.doubleToLongBits(((DoubleValue)cell).getDoubleValue());
+                bits ^= (bits >> 63) | Long.MIN_VALUE;
+                return putBits(bits, 8, bytes, pos);
+            case BOOLEAN:
+                if (!(cell instanceof BooleanValue)) {
+                    return -1;
+                }
+                bytes[pos] = (byte)(((BooleanValue)cell).getBooleanValue() ? 1 : 0);
+                return pos + 1;
+            case STRING:
+                if (!(cell instanceof StringValue)) {
+                    return -1;
+                }
+                return putString(((StringValue)cell).getStringValue(), bytes, pos);
+            default:
+                throw new IllegalStateException("Unknown encoding: " + encoding);
+        }
+    }
+
+    private int putBits(final long bits, final int length, final byte[] bytes, final int pos) {
+        int p = pos;
+        for (int shift = 8 * (length - 1); shift >= 0 && p < m_keyLength; shift -= 8) {
+            bytes[p++] = (byte)(bits >>> shift);
+        }
+        return p;
+    }
+
+    /** Chars as unsigned 16 bit big-endian values (as String#compareTo), zero padded; fills the key. */
+    private int putString(final String s, final byte[] bytes, final int pos) {
+        int p = pos;
+        for (int i = 0; i < s.length() && p < m_keyLength; i++) {
+            final char c = s.charAt(i);
+            bytes[p++] = (byte)(c >>> 8);
+            if (p < m_keyLength) {
+                bytes[p++] = (byte)c;
+            }
+        }
+        return m_keyLength;
+    }
+
+    /**
+     * Compares two keys as unsigned numbers, <code>null</code> keys (rows that couldn't be encoded) are equal to all
+     * others.
+     *
+     * @param k1 first key
+     * @param k2 second key
+     * @return the comparison result
+     */
+    static int compare(final long[] k1, final long[] k2) {
+        if (k1 == null || k2 == null) {
+            return 0;
+        }
+        for (int i = 0; i < k1.length; i++) {
+            if (k1[i] != k2[i]) {
+                return Long.compareUnsigned(k1[i], k2[i]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param rowComparator the comparator consulted if the keys are equal
+     * @return a comparator on keyed rows
+     */
+    static Comparator<KeyedRow> createKeyedRowComparator(final Comparator<DataRow> rowComparator) {
+        return (r1, r2) -> {
+            final int c = compare(r1.m_key, r2.m_key);
+            return c != 0 ? c : rowComparator.compare(r1.m_row, r2.m_row);
+        };
+    }
+}
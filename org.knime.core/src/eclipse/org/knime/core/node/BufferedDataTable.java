@@ -60,6 +60,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import javax.swing.JComponent;
 import javax.swing.SwingUtilities;
@@ -78,6 +79,7 @@
 import org.knime.core.data.container.DataContainer;
 import org.knime.core.data.container.JoinedTable;
 import org.knime.core.data.container.RearrangeColumnsTable;
+import org.knime.core.data.container.RowRangeTable;
 import org.knime.core.data.container.TableSpecReplacerTable;
 import org.knime.core.data.container.VoidTable;
 import org.knime.core.data.container.WrappedTable;
@@ -145,7 +147,7 @@ public static BufferedDataTable getDataTable(
         }
         // update the lastID counter!
         assert result.m_tableID == tableID;
-        LAST_ID.set(Math.max(tableID, LAST_ID.get()));
+        LAST_ID.accumulateAndGet(tableID, Math::max);
         return result;
     }
 
@@ -216,6 +218,13 @@ static PortObjectSerializer<BufferedDataTable> getPortObjectSerializer() {
         this(table, generateNewID());
     }
 
+    /** Creates a new buffered data table based on a row range of another table.
+     * @param table The reference.
+     */
+    BufferedDataTable(final RowRangeTable table) {
+        this(table, generateNewID());
+    }
+
     /** Creates a new buffered data table based on a concatenation of
      * BufferedDataTables.
      * @param table The reference.
@@ -325,6 +334,35 @@ public CloseableRowIterator iterator() {
         return m_delegate.iterator();
     }
 
+    /**
+     * Get an iterator that only needs to read the cells of the given columns. Rows returned by the iterator have
+     * the full number of cells but cells of columns not contained in the argument are undefined; they may be the
+     * actual cells or missing cells. Use this method when only few columns of a (wide) table are accessed as it
+     * saves reading and deserializing the unused cells when the table is stored on disc.
+     *
+     * @param materializeColumnIndices The indices of the columns that are accessed by the caller or
+     *            <code>null</code> to read all columns.
+     * @return A new iterator over all rows of this table.
+     * @throws IndexOutOfBoundsException If any index is out of range.
+     * @since 3.6
+     */
+    public CloseableRowIterator filteredIterator(final int... materializeColumnIndices) {
+        if (materializeColumnIndices == null) {
+            return iterator();
+        }
+        final int colCount = getDataTableSpec().getNumColumns();
+        int[] sortedIndices = IntStream.of(materializeColumnIndices).sorted().distinct().toArray();
+        for (int i : sortedIndices) {
+            if (i < 0 || i >= colCount) {
+                throw new IndexOutOfBoundsException("Column index " + i + " out of range [0, " + colCount + ")");
+            }
+        }
+        if (sortedIndices.length == colCount) {
+            return iterator();
+        }
+        return m_delegate.filteredIterator(sortedIndices);
+    }
+
     /**
      * Get an iterator instance that will return missing values when the table
      * is cleared as part of a node reset.
@@ -449,6 +487,7 @@ public void close() {
     private static final String TABLE_TYPE_NEW_SPEC = "new_spec_table";
     private static final String TABLE_TYPE_WRAPPED = "wrapped_table";
     private static final String TABLE_TYPE_CONCATENATE = "concatenate_table";
+    private static final String TABLE_TYPE_ROW_RANGE = "row_range_table";
     private static final String TABLE_TYPE_JOINED = "joined_table";
     private static final String TABLE_TYPE_VOID = "void_table";
     /** The table is referenced multiple times in a node, e.g. provided at
@@ -470,11 +509,13 @@ public void close() {
      * @param savedTableIDs Ids of tables that were previously saved, used to identify
      * tables that are referenced by the same nodes multiple times.
      * @param exec The progress monitor for cancellation.
+     * @param isMemoryMappedTables Whether container tables store their data uncompressed (to be memory-mapped on
+     * load), see {@link org.knime.core.node.workflow.WorkflowManager#isMemoryMappedTables()}.
      * @throws IOException If writing fails.
      * @throws CanceledExecutionException If canceled.
      */
-    void save(final File dir, final Set<Integer> savedTableIDs, final ExecutionMonitor exec)
-        throws IOException, CanceledExecutionException {
+    void save(final File dir, final Set<Integer> savedTableIDs, final ExecutionMonitor exec,
+        final boolean isMemoryMappedTables) throws IOException, CanceledExecutionException {
         NodeSettings s = new NodeSettings(CFG_TABLE_META);
         Integer bufferedTableID = getBufferedTableId();
         s.addInt(CFG_TABLE_ID, bufferedTableID);
@@ -483,7 +524,7 @@ void save(final File dir, final Set<Integer> savedTableIDs, final ExecutionMonit
             s.addString(CFG_TABLE_TYPE, TABLE_TYPE_REFERENCE_IN_SAME_NODE);
         } else if (m_delegate instanceof ContainerTable) {
             s.addString(CFG_TABLE_TYPE, TABLE_TYPE_CONTAINER);
-            m_delegate.saveToFile(outFile, s, exec);
+            ((ContainerTable)m_delegate).saveToFile(outFile, s, exec, isMemoryMappedTables);
         } else {
             if (m_delegate instanceof RearrangeColumnsTable) {
                 s.addString(CFG_TABLE_TYPE, TABLE_TYPE_REARRANGE_COLUMN);
@@ -497,6 +538,8 @@ void save(final File dir, final Set<Integer> savedTableIDs, final ExecutionMonit
                 s.addString(CFG_TABLE_TYPE, TABLE_TYPE_VOID);
             } else if (m_delegate instanceof ConcatenateTable) {
                 s.addString(CFG_TABLE_TYPE, TABLE_TYPE_CONCATENATE);
+            } else if (m_delegate instanceof RowRangeTable) {
+                s.addString(CFG_TABLE_TYPE, TABLE_TYPE_ROW_RANGE);
             } else {
                 assert m_delegate instanceof ExtensionTable;
                 s.addString(CFG_TABLE_TYPE, TABLE_TYPE_EXTENSION);
@@ -516,7 +559,7 @@ void save(final File dir, final Set<Integer> savedTableIDs, final ExecutionMonit
                         throw new IOException("Unable to write directory " + subDir.getAbsolutePath());
                     }
                     referenceDirs.add(dirName);
-                    reference.save(subDir, savedTableIDs, exec);
+                    reference.save(subDir, savedTableIDs, exec, isMemoryMappedTables);
                 }
             }
             s.addStringArray(CFG_TABLE_REFERENCE,
@@ -625,7 +668,8 @@ static BufferedDataTable loadFromFile(final ReferencedFile dirRef,
             isVersion11x = true;
         }
         int id = s.getInt(CFG_TABLE_ID);
-        LAST_ID.set(Math.max(LAST_ID.get(), id + 1));
+        // atomic update, tables of independent nodes may be loaded concurrently
+        LAST_ID.accumulateAndGet(id + 1, Math::max);
         String fileName = s.getString(CFG_TABLE_FILE_NAME);
         ReferencedFile fileRef;
         if (fileName != null) {
@@ -698,6 +742,9 @@ static BufferedDataTable loadFromFile(final ReferencedFile dirRef,
             } else if (tableType.equals(TABLE_TYPE_WRAPPED)) {
                 WrappedTable wt = WrappedTable.load(s, tblRep);
                 t = new BufferedDataTable(wt);
+            } else if (tableType.equals(TABLE_TYPE_ROW_RANGE)) {
+                RowRangeTable rt = RowRangeTable.load(s, tblRep, BufferedDataTable::getDelegate);
+                t = new BufferedDataTable(rt);
             } else if (tableType.equals(TABLE_TYPE_NEW_SPEC)) {
                 TableSpecReplacerTable replTable;
                 if (isVersion11x) {
@@ -741,6 +788,23 @@ void setOwnerRecursively(final Node owner) {
         }
     }
 
+    /** Makes <code>newOwner</code> the owner of this table and of all directly reachable tables that are owned by one
+     * of the nodes in <code>oldOwners</code>. Used to keep tables alive when their creating nodes are removed, see
+     * {@link ExecutionContext#adoptTable(BufferedDataTable, Set, ExecutionMonitor)}.
+     * @param oldOwners The nodes whose tables are taken over.
+     * @param newOwner The new owner.
+     */
+    synchronized void transferOwnershipRecursively(final Set<Node> oldOwners, final Node newOwner) {
+        if (!oldOwners.contains(getOwner())) {
+            return;
+        }
+        m_owner = newOwner;
+        BufferedDataTable[] references = m_delegate.getReferenceTables();
+        for (BufferedDataTable reference : references) {
+            reference.transferOwnershipRecursively(oldOwners, newOwner);
+        }
+    }
+
     /** Finds all tables owned by the argument node, which are directly
      * reachable (including this table).
      * @param dataOwner The owner.
@@ -859,6 +923,16 @@ void saveToFile(final File f, final NodeSettingsWO settings,
         @Override
         public CloseableRowIterator iterator();
 
+        /** Implementation of {@link BufferedDataTable#filteredIterator(int...)}. The default implementation ignores
+         * the filter and returns {@link #iterator()}.
+         * @param materializeColumnIndices The sorted and valid column indices or <code>null</code> for all columns.
+         * @return A new iterator.
+         * @since 3.6
+         */
+        default CloseableRowIterator filteredIterator(final int[] materializeColumnIndices) {
+            return iterator();
+        }
+
         /** Reference to the underlying tables, if any. A reference
          * table exists if this object is just a wrapper, such as a
          * RearrangeColumnsTable or if this table concatenates a set of
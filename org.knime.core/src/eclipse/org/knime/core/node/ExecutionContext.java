@@ -49,18 +49,24 @@
 import java.lang.reflect.Constructor;
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
 import org.knime.core.data.RowIterator;
+import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.container.ColumnRearranger;
 import org.knime.core.data.container.ConcatenateTable;
 import org.knime.core.data.container.ContainerTable;
 import org.knime.core.data.container.JoinedTable;
 import org.knime.core.data.container.RearrangeColumnsTable;
+import org.knime.core.data.container.RowRangeTable;
 import org.knime.core.data.container.TableSpecReplacerTable;
 import org.knime.core.data.container.VoidTable;
 import org.knime.core.data.container.WrappedTable;
@@ -120,6 +126,12 @@ public class ExecutionContext extends ExecutionMonitor {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(ExecutionContext.class);
 
+    /** Minimum number of rows per partition in {@link #getNrColumnRearrangePartitions(BufferedDataTable)}. */
+    private static final long MIN_ROWS_PER_PARTITION = 1000;
+
+    private static final boolean DISABLE_PARTITIONED_EXECUTION =
+        Boolean.getBoolean(KNIMEConstants.PROPERTY_DISABLE_PARTITIONED_EXECUTION);
+
     private final Node m_node;
     private final MemoryPolicy m_memoryPolicy;
     private final HashMap<Integer, ContainerTable> m_globalTableRepository;
@@ -375,6 +387,53 @@ public BufferedDataTable createColumnRearrangeTable(
         return out;
     }
 
+    /**
+     * Creates a new <code>BufferedDataTable</code> like
+     * {@link #createColumnRearrangeTable(BufferedDataTable, ColumnRearranger, ExecutionMonitor)} but computes the
+     * new columns concurrently on the {@link KNIMEConstants#GLOBAL_THREAD_POOL}. The input is split into chunks of
+     * rows, each chunk is processed by one of the partitions and the results are concatenated in the order of the
+     * input.
+     * <p>Each partition uses its own rearranger, which must describe the same columns as the others but must not
+     * share any cell factory with them. This is what nodes promise when declaring their input as distributable (see
+     * {@link org.knime.core.node.streamable.InputPortRole#isDistributable()}), i.e. the rearrangers are typically
+     * created by calling the same method once per partition.
+     * @param in The input table, i.e. reference table.
+     * @param partitionRearrangers The rearrangers, one per partition, see
+     *        {@link #getNrColumnRearrangePartitions(BufferedDataTable)}.
+     * @param subProgressMon Typically the object on which this method is
+     * performed unless the processing is only a part of the total work.
+     * @return A new table which can be returned in the execute method.
+     * @throws CanceledExecutionException If canceled.
+     * @since 3.6
+     */
+    public BufferedDataTable createColumnRearrangeTable(final BufferedDataTable in,
+        final ColumnRearranger[] partitionRearrangers, final ExecutionMonitor subProgressMon)
+        throws CanceledExecutionException {
+        RearrangeColumnsTable t = RearrangeColumnsTable.create(partitionRearrangers, in, subProgressMon, this);
+        BufferedDataTable out = new BufferedDataTable(t);
+        out.setOwnerRecursively(m_node);
+        return out;
+    }
+
+    /**
+     * Number of partitions in which a distributable node should process the argument table using
+     * {@link #createColumnRearrangeTable(BufferedDataTable, ColumnRearranger[], ExecutionMonitor)}. It depends on
+     * the number of threads of the {@link KNIMEConstants#GLOBAL_THREAD_POOL} and on the size of the table (small
+     * tables are not split). Returns 1 if partitioned execution is disabled via
+     * {@link KNIMEConstants#PROPERTY_DISABLE_PARTITIONED_EXECUTION}.
+     * @param in The input table.
+     * @return The number of partitions, at least 1.
+     * @since 3.6
+     */
+    public int getNrColumnRearrangePartitions(final BufferedDataTable in) {
+        if (DISABLE_PARTITIONED_EXECUTION) {
+            return 1;
+        }
+        long nrPartitions = Math.min(KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads(),
+            in.size() / MIN_ROWS_PER_PARTITION);
+        return (int)Math.max(1, nrPartitions);
+    }
+
     /**
      * Creates a new <code>BufferedDataTable</code> based on a given input table
      * (<code>in</code>) whereby only the table spec of it has changed.
@@ -409,6 +468,131 @@ public BufferedDataTable createWrappedTable(final BufferedDataTable in) {
         return out;
     }
 
+    /**
+     * Splits the argument table into consecutive ranges of rows, for instance the chunks of the start node of a
+     * parallel chunk loop. If the rows of the table are held in memory, the returned tables are views on the argument
+     * table that don't copy the rows; when the workflow is saved, only the range information is stored. Otherwise the
+     * ranges are copied in a single pass over the table, as reaching the first row of a view would require to read
+     * all preceding rows.
+     * @param in The input table, i.e. reference table.
+     * @param fromRows The index of the first row of each range, in ascending order. Each range ends where the next
+     *            one starts, the last one at the end of the table.
+     * @param subProgressMon For progress and cancelation of a copy.
+     * @return One new table per range, which can be returned in the execute method.
+     * @throws CanceledExecutionException If canceled while copying.
+     * @throws IllegalArgumentException If the ranges are not within <code>in</code> or not in ascending order.
+     * @throws NullPointerException If the table argument is null.
+     * @since 3.6
+     */
+    public BufferedDataTable[] createRowRangeTables(final BufferedDataTable in, final long[] fromRows,
+        final ExecutionMonitor subProgressMon) throws CanceledExecutionException {
+        final long rowCount = in.size();
+        for (int i = 0; i < fromRows.length; i++) {
+            final long toRow = i + 1 < fromRows.length ? fromRows[i + 1] : rowCount;
+            if (fromRows[i] < 0 || toRow < fromRows[i] || toRow > rowCount) {
+                throw new IllegalArgumentException("Invalid row range [" + fromRows[i] + ", " + toRow
+                    + ") for table with " + rowCount + " rows");
+            }
+        }
+        BufferedDataTable reference = in;
+        long offset = 0;
+        if (in.getDelegate() instanceof RowRangeTable) {
+            // range of a range: reference the underlying table directly
+            RowRangeTable range = (RowRangeTable)in.getDelegate();
+            reference = range.getTable();
+            offset = range.getFromRow();
+        }
+        final BufferedDataTable[] result = new BufferedDataTable[fromRows.length];
+        if (RowRangeTable.isInMemory(reference.getDelegate())) {
+            final ContainerTable rows = (ContainerTable)reference.getDelegate();
+            for (int i = 0; i < fromRows.length; i++) {
+                final long toRow = i + 1 < fromRows.length ? fromRows[i + 1] : rowCount;
+                result[i] =
+                    new BufferedDataTable(new RowRangeTable(reference, rows, offset + fromRows[i], offset + toRow));
+                result[i].setOwnerRecursively(m_node);
+            }
+            return result;
+        }
+        long row = 0;
+        try (CloseableRowIterator it = in.iterator()) {
+            for (int i = 0; i < fromRows.length; i++) {
+                final long toRow = i + 1 < fromRows.length ? fromRows[i + 1] : rowCount;
+                for (; row < fromRows[i]; row++) {
+                    it.next();
+                }
+                BufferedDataContainer c = createDataContainer(in.getDataTableSpec());
+                try {
+                    for (; row < toRow; row++) {
+                        c.addRowToTable(it.next());
+                        subProgressMon.setProgress(row / (double)rowCount);
+                        subProgressMon.checkCanceled();
+                    }
+                } finally {
+                    c.close();
+                }
+                result[i] = c.getTable();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Takes over a table that was created by nodes that are going to be removed from the workflow, for instance the
+     * output of a chunk of a parallel chunk loop. The table and all tables it references that are owned by one of
+     * the argument nodes become owned by the node of this context. They are then neither cleared nor removed from
+     * the table repository when the argument nodes are removed, so the table can be returned or referenced (e.g. in a
+     * {@link #createConcatenateTable(ExecutionMonitor, Optional, boolean, BufferedDataTable...) concatenate table})
+     * without copying it.
+     * <p>Tables that may contain file store cells are copied instead, as their file stores are bound to the nodes
+     * that created them.
+     * <p>This is a framework method and not meant to be used by node implementations.
+     * @param table The table to take over.
+     * @param owners The nodes whose tables are taken over. Tables owned by other nodes are only referenced.
+     * @param subProgressMon For progress and cancelation of a copy.
+     * @return The argument table or a copy of it, owned by the node of this context.
+     * @throws CanceledExecutionException If canceled while copying.
+     * @since 3.6
+     */
+    public BufferedDataTable adoptTable(final BufferedDataTable table, final Set<Node> owners,
+        final ExecutionMonitor subProgressMon) throws CanceledExecutionException {
+        if (!owners.contains(table.getOwner())) {
+            return table;
+        }
+        if (mayContainFileStores(table.getDataTableSpec())) {
+            BufferedDataContainer c = createDataContainer(table.getDataTableSpec());
+            final long rowCount = table.size();
+            long row = 0;
+            try (CloseableRowIterator it = table.iterator()) {
+                while (it.hasNext()) {
+                    c.addRowToTable(it.next());
+                    row++;
+                    subProgressMon.setProgress(row / (double)rowCount);
+                    subProgressMon.checkCanceled();
+                }
+            } finally {
+                c.close();
+            }
+            return c.getTable();
+        }
+        table.transferOwnershipRecursively(owners, m_node);
+        return table;
+    }
+
+    /** Whether a table of the argument spec may contain {@link FileStoreCell}s (conservative). */
+    private static boolean mayContainFileStores(final DataTableSpec spec) {
+        for (DataColumnSpec colSpec : spec) {
+            DataType type = colSpec.getType();
+            while (type.isCollectionType() && type.getCollectionElementType() != null) {
+                type = type.getCollectionElementType();
+            }
+            Class<? extends DataCell> cellClass = type.getCellClass();
+            if (cellClass == null || FileStoreCell.class.isAssignableFrom(cellClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /** Create new "void" table. It's a framework method that is used by the streaming executor to populate the output
      * of a node. It has a table specification but no data (which is also indicated in the view).
      *
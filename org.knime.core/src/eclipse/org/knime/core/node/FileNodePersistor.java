@@ -1225,11 +1225,13 @@ public static void save(final NativeNodeContainer nnc, final NodeSettingsWO sett
          * table is returned in multiple outputs or if an output table is used
          * as "internal" held table. See bug 2117. */
         final Set<Integer> savedTableIDs = new HashSet<Integer>();
+        final boolean isMemoryMappedTables = nnc.getParent().getProjectWFM().isMemoryMappedTables();
         execMon.setMessage("Ports");
-        savePorts(node, nodeDirRef, settings, savedTableIDs, portMon, isSaveData);
+        savePorts(node, nodeDirRef, settings, savedTableIDs, portMon, isSaveData, isMemoryMappedTables);
         portMon.setProgress(1.0);
         execMon.setMessage("Internal Tables");
-        saveInternalHeldTables(node, nodeDirRef, settings, savedTableIDs, internalMon, isSaveData);
+        saveInternalHeldTables(node, nodeDirRef, settings, savedTableIDs, internalMon, isSaveData,
+            isMemoryMappedTables);
         intTblsMon.setProgress(1.0);
         // save them last as now all tables have been saved (all cells ran through persistor) and all
         // FileStore#getFile() have been called and saved
@@ -1240,8 +1242,8 @@ public static void save(final NativeNodeContainer nnc, final NodeSettingsWO sett
     }
 
     private static void savePorts(final Node node, final ReferencedFile nodeDirRef, final NodeSettingsWO settings,
-        final Set<Integer> savedTableIDs, final ExecutionMonitor exec, final boolean saveData) throws IOException,
-        CanceledExecutionException {
+        final Set<Integer> savedTableIDs, final ExecutionMonitor exec, final boolean saveData,
+        final boolean isMemoryMappedTables) throws IOException, CanceledExecutionException {
         if (node.getNrOutPorts() == 0) {
             return;
         }
@@ -1272,7 +1274,8 @@ private static void savePorts(final Node node, final ReferencedFile nodeDirRef,
                 if (!portDir.canWrite()) {
                     throw new IOException("Cannot write to port directory " + portDir.getAbsolutePath());
                 }
-                savePort(node, portDir, singlePortSetting, savedTableIDs, subProgress, i, saveData);
+                savePort(node, portDir, singlePortSetting, savedTableIDs, subProgress, i, saveData,
+                    isMemoryMappedTables);
             } else {
                 portDirName = null;
             }
@@ -1283,7 +1286,7 @@ private static void savePorts(final Node node, final ReferencedFile nodeDirRef,
 
     private static void saveInternalHeldTables(final Node node, final ReferencedFile nodeDirRef,
         final NodeSettingsWO settings, final Set<Integer> savedTableIDs, final ExecutionMonitor exec,
-        final boolean saveData) throws IOException, CanceledExecutionException {
+        final boolean saveData, final boolean isMemoryMappedTables) throws IOException, CanceledExecutionException {
         PortObject[] internalObjects = node.getInternalHeldPortObjects();
         if (internalObjects == null || !saveData) {
             return;
@@ -1310,7 +1313,7 @@ private static void saveInternalHeldTables(final Node node, final ReferencedFile
                 singlePortSetting.addString("type", "null");
             } else if (t instanceof BufferedDataTable) {
                 BufferedDataTable table = (BufferedDataTable)t;
-                saveBufferedDataTable(table, savedTableIDs, createDirectory(portDir), exec);
+                saveBufferedDataTable(table, savedTableIDs, createDirectory(portDir), exec, isMemoryMappedTables);
                 singlePortSetting.addString("type", "table");
                 singlePortSetting.addString("table_dir_location", objName);
             } else {
@@ -1348,8 +1351,8 @@ private static File createDirectory(final File portDir) throws IOException {
     }
 
     private static void savePort(final Node node, final File portDir, final NodeSettingsWO settings,
-        final Set<Integer> savedTableIDs, final ExecutionMonitor exec, final int portIdx, final boolean saveData)
-        throws IOException, CanceledExecutionException {
+        final Set<Integer> savedTableIDs, final ExecutionMonitor exec, final int portIdx, final boolean saveData,
+        final boolean isMemoryMappedTables) throws IOException, CanceledExecutionException {
         PortObjectSpec spec = node.getOutputSpec(portIdx);
         PortObject object = node.getOutputObject(portIdx);
         String summary = node.getOutputObjectSummary(portIdx);
@@ -1368,7 +1371,7 @@ private static void savePort(final Node node, final File portDir, final NodeSett
                 + object.getClass().getSimpleName();
             // executed and instructed to save data
             if (saveData && object != null) {
-                saveBufferedDataTable((BufferedDataTable)object, savedTableIDs, portDir, exec);
+                saveBufferedDataTable((BufferedDataTable)object, savedTableIDs, portDir, exec, isMemoryMappedTables);
             }
         } else {
             if (isSaveObject) {
@@ -1461,8 +1464,9 @@ private static void saveFileStoreObjects(final Node node, final ReferencedFile n
     }
 
     private static void saveBufferedDataTable(final BufferedDataTable table, final Set<Integer> savedTableIDs,
-        final File directory, final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
-        table.save(directory, savedTableIDs, exec);
+        final File directory, final ExecutionMonitor exec, final boolean isMemoryMappedTables)
+        throws IOException, CanceledExecutionException {
+        table.save(directory, savedTableIDs, exec, isMemoryMappedTables);
     }
 
     private static void saveHasContent(final Node node, final NodeSettingsWO settings) {
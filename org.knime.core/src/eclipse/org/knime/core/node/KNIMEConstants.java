@@ -130,6 +130,13 @@ public final class KNIMEConstants {
     public static final String PROPERTY_ASYNC_WRITE_CACHE_SIZE =
         "knime.async.io.cachesize";
 
+    /** Java property to specify the number of threads writing KNIME tables asynchronously. The threads are shared
+     * by all table containers; a container waits if the threads can't keep up with the rows it produces. The
+     * default is the number of available processors but at least 2 and at most 8. This property has no effect if
+     * tables are written synchronously (see {@link #PROPERTY_SYNCHRONOUS_IO}).
+     * @since 3.6 */
+    public static final String PROPERTY_ASYNC_WRITE_THREADS = "knime.async.io.threads";
+
     /** The number of nominal values kept in the domain when adding rows to a table. This is only the default and
      * may be overruled by individual node implementations. If not specified the default is {@value
      * org.knime.core.data.container.DataContainer#DEF_MAX_POSSIBLE_VALUES}.
@@ -162,6 +169,40 @@ public final class KNIMEConstants {
     public static final String PROPERTY_TABLE_GZIP_COMPRESSION =
         "knime.compress.io";
 
+    /** Java property to choose the compression codec for table streams, one of "gzip", "lz4" or "none"
+     * (case-insensitive). If set it takes precedence over {@link #PROPERTY_TABLE_GZIP_COMPRESSION}. "lz4" is a
+     * fast codec that compresses less than "gzip" but keeps writing large intermediate tables I/O bound.
+     * The codec is stored along with each table so that tables written with a different setting can still be read.
+     * @since 3.6
+     */
+    public static final String PROPERTY_TABLE_COMPRESSION_FORMAT = "knime.compress.io.format";
+
+    /** Java property to set the size in MB of the off-heap cache for tables that don't fit into the heap but were
+     * meant to be kept in memory. Such tables are read from direct memory rather than from disc. 0 disables the
+     * cache, the default is a quarter of the maximum heap size.
+     * @since 3.6
+     */
+    public static final String PROPERTY_TABLE_OFFHEAP_CACHE_SIZE = "knime.table.offheapcache.size";
+
+    /** Java property to disable the partitioned execution of distributable column rearrangements, see
+     * {@link ExecutionContext#getNrColumnRearrangePartitions(org.knime.core.node.BufferedDataTable)}. If set, such
+     * nodes compute their output in a single thread.
+     * @since 3.6
+     */
+    public static final String PROPERTY_DISABLE_PARTITIONED_EXECUTION = "knime.disable.partitionedexecution";
+
+    /** Java property to disable the concurrent loading of the nodes' settings, port objects and internals when a
+     * workflow is opened. If set, nodes are loaded one after another in breadth first order.
+     * @since 3.6
+     */
+    public static final String PROPERTY_DISABLE_PARALLEL_WORKFLOW_LOAD = "knime.disable.parallelworkflowload";
+
+    /** Java property to disable the concurrent writing of a workflow's nodes when it is saved. If set, nodes are
+     * written one after another.
+     * @since 3.6
+     */
+    public static final String PROPERTY_DISABLE_PARALLEL_WORKFLOW_SAVE = "knime.disable.parallelworkflowsave";
+
     /** Java property to enable/disable row ID duplicate checks on tables.
      * Tables in KNIME are supposed to have unique IDs, whereby the uniqueness
      * is asserted using a duplicate checker. This property will disable this
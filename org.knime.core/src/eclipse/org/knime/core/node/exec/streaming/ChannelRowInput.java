@@ -0,0 +1,133 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.exec.streaming;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.exec.streaming.RowChannel.Batch;
+import org.knime.core.node.streamable.RowInput;
+
+/**
+ * Row input of one partition of a streamed node, reads the batches of a {@link RowChannel}. The outputs of a
+ * distributed partition are notified about each new batch so that they can keep the order of the rows.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ChannelRowInput extends RowInput {
+
+    private final DataTableSpec m_spec;
+
+    private final RowChannel m_channel;
+
+    private final List<SequencedRowOutput> m_sequencedOutputs = new ArrayList<SequencedRowOutput>();
+
+    private DataRow[] m_rows = new DataRow[0];
+
+    private int m_index;
+
+    private boolean m_isEnd;
+
+    private boolean m_isClosed;
+
+    /**
+     * @param spec the spec of the streamed table
+     * @param channel the channel to read from
+     */
+    ChannelRowInput(final DataTableSpec spec, final RowChannel channel) {
+        m_spec = spec;
+        m_channel = channel;
+    }
+
+    /** @param output an output of the same partition that attributes its rows to the batches of this input */
+    void addSequencedOutput(final SequencedRowOutput output) {
+        m_sequencedOutputs.add(output);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DataTableSpec getDataTableSpec() {
+        return m_spec;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DataRow poll() throws InterruptedException {
+        while (m_index >= m_rows.length) {
+            if (m_isEnd || m_isClosed) {
+                return null;
+            }
+            final Batch batch = m_channel.take();
+            if (batch.getRows() == null) {
+                m_isEnd = true;
+                for (SequencedRowOutput output : m_sequencedOutputs) {
+                    output.endBatches();
+                }
+                return null;
+            }
+            for (SequencedRowOutput output : m_sequencedOutputs) {
+                output.startBatch(batch.getSequence());
+            }
+            m_rows = batch.getRows();
+            m_index = 0;
+        }
+        return m_rows[m_index++];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        if (!m_isClosed) {
+            m_isClosed = true;
+            m_rows = new DataRow[0];
+            m_channel.closeReader();
+        }
+    }
+}
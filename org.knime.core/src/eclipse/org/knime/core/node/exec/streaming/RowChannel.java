@@ -0,0 +1,316 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.exec.streaming;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.container.DataContainer;
+
+/**
+ * Bounded queue of row batches from one output port to one input port. The input may be read by several partitions
+ * of the consuming node, each batch is then taken by exactly one of them.
+ *
+ * <p>If the queue is full the writer either waits until a reader has taken a batch or, for a channel with a spill
+ * spec, writes the batch to a temporary file. The latter is used for consumers that read from several channels and
+ * can't be allowed to block their producers. Batches are always read in the order they were written.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RowChannel {
+
+    /** A batch of rows and its position in the stream. */
+    static final class Batch {
+
+        private final long m_sequence;
+
+        private final DataRow[] m_rows;
+
+        Batch(final long sequence, final DataRow[] rows) {
+            m_sequence = sequence;
+            m_rows = rows;
+        }
+
+        /** @return the position of the batch in the stream, starting at 0 */
+        long getSequence() {
+            return m_sequence;
+        }
+
+        /** @return the rows, <code>null</code> for the end of the stream */
+        DataRow[] getRows() {
+            return m_rows;
+        }
+    }
+
+    /** Batches written to a temporary table, in the order they were put. */
+    private static final class SpillSegment {
+
+        private final DataContainer m_container;
+
+        private final List<long[]> m_batches = new ArrayList<long[]>();
+
+        private ContainerTable m_table;
+
+        private CloseableRowIterator m_iterator;
+
+        private int m_nextBatch;
+
+        private SpillSegment(final DataTableSpec spec) {
+            // no cells in memory, the rows are written to disk right away
+            m_container = new DataContainer(spec, false, 0);
+        }
+
+        private void add(final Batch batch) {
+            for (DataRow row : batch.getRows()) {
+                m_container.addRowToTable(row);
+            }
+            m_batches.add(new long[]{batch.getSequence(), batch.getRows().length});
+        }
+
+        private void finishWriting() {
+            m_container.close();
+            m_table = (ContainerTable)m_container.getTable();
+        }
+
+        private boolean hasNext() {
+            return m_nextBatch < m_batches.size();
+        }
+
+        private Batch next() {
+            if (m_iterator == null) {
+                m_iterator = m_table.iterator();
+            }
+            final long[] batch = m_batches.get(m_nextBatch++);
+            final DataRow[] rows = new DataRow[(int)batch[1]];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = m_iterator.next();
+            }
+            return new Batch(batch[0], rows);
+        }
+
+        private void clear() {
+            if (m_table == null) {
+                finishWriting();
+            }
+            if (m_iterator != null) {
+                m_iterator.close();
+            }
+            m_table.clear();
+        }
+    }
+
+    private static final Batch END = new Batch(-1, null);
+
+    private final int m_capacity;
+
+    private final DataTableSpec m_spillSpec;
+
+    private final ReentrantLock m_lock = new ReentrantLock();
+
+    private final Condition m_notEmpty = m_lock.newCondition();
+
+    private final Condition m_notFull = m_lock.newCondition();
+
+    /** The batches in memory, they precede all spilled batches. */
+    private final Deque<Batch> m_queue = new ArrayDeque<Batch>();
+
+    /** The segments that have been written completely, the first one is being read. */
+    private final Deque<SpillSegment> m_spilled = new ArrayDeque<SpillSegment>();
+
+    /** The segment being written, follows all segments in {@link #m_spilled}. */
+    private SpillSegment m_writing;
+
+    private boolean m_isEnd;
+
+    private final AtomicInteger m_openReaders;
+
+    private volatile boolean m_closedByReaders;
+
+    /**
+     * @param capacity the maximum number of batches held in memory
+     * @param nrReaders the number of partitions reading from this channel
+     * @param spillSpec the spec of the rows to write batches exceeding the capacity to disk, <code>null</code> to
+     *            let the writer wait for space instead
+     */
+    RowChannel(final int capacity, final int nrReaders, final DataTableSpec spillSpec) {
+        m_capacity = capacity;
+        m_spillSpec = spillSpec;
+        m_openReaders = new AtomicInteger(nrReaders);
+    }
+
+    /**
+     * Adds a batch. If the queue is full this blocks or, if the channel spills, writes the batch to disk.
+     *
+     * @param batch the batch
+     * @return <code>false</code> if all readers have closed the channel, the batch is dropped then
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean put(final Batch batch) throws InterruptedException {
+        m_lock.lockInterruptibly();
+        try {
+            if (m_spillSpec == null) {
+                while (!m_closedByReaders && m_queue.size() >= m_capacity) {
+                    m_notFull.await();
+                }
+            }
+            if (m_closedByReaders) {
+                return false;
+            }
+            if (m_queue.size() < m_capacity && m_spilled.isEmpty() && m_writing == null) {
+                m_queue.add(batch);
+            } else {
+                if (m_writing == null) {
+                    m_writing = new SpillSegment(m_spillSpec);
+                }
+                m_writing.add(batch);
+                if (m_writing.m_batches.size() >= m_capacity) {
+                    // hand full segments to the readers, they don't need to wait for the writer then
+                    m_writing.finishWriting();
+                    m_spilled.add(m_writing);
+                    m_writing = null;
+                }
+            }
+            m_notEmpty.signal();
+            return true;
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the end of the stream.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void putEnd() throws InterruptedException {
+        m_lock.lockInterruptibly();
+        try {
+            m_isEnd = true;
+            m_notEmpty.signalAll();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the next batch, blocks while the queue is empty.
+     *
+     * @return the next batch, the end of the stream has <code>null</code> rows
+     * @throws InterruptedException if interrupted while waiting
+     */
+    Batch take() throws InterruptedException {
+        m_lock.lockInterruptibly();
+        try {
+            while (true) {
+                if (!m_queue.isEmpty()) {
+                    m_notFull.signal();
+                    return m_queue.poll();
+                }
+                if (m_spilled.isEmpty() && m_writing != null) {
+                    // don't wait for the writer to fill the segment
+                    m_writing.finishWriting();
+                    m_spilled.add(m_writing);
+                    m_writing = null;
+                }
+                if (!m_spilled.isEmpty()) {
+                    final SpillSegment segment = m_spilled.peek();
+                    if (segment.hasNext()) {
+                        return segment.next();
+                    }
+                    m_spilled.poll().clear();
+                    continue;
+                }
+                if (m_isEnd || m_closedByReaders) {
+                    // the end stays in place for the other readers
+                    return END;
+                }
+                m_notEmpty.await();
+            }
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    /** Called by each reader that doesn't need any further rows. */
+    void closeReader() {
+        if (m_openReaders.decrementAndGet() == 0) {
+            m_lock.lock();
+            try {
+                m_closedByReaders = true;
+                // unblock the writer, it won't put any further batch
+                m_queue.clear();
+                for (SpillSegment segment : m_spilled) {
+                    segment.clear();
+                }
+                m_spilled.clear();
+                if (m_writing != null) {
+                    m_writing.clear();
+                    m_writing = null;
+                }
+                m_notFull.signalAll();
+                m_notEmpty.signalAll();
+            } finally {
+                m_lock.unlock();
+            }
+        }
+    }
+
+    /** @return whether all readers have closed the channel */
+    boolean isClosedByReaders() {
+        return m_closedByReaders;
+    }
+}
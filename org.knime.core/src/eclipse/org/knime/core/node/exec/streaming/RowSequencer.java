@@ -0,0 +1,131 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.exec.streaming;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.knime.core.data.DataRow;
+
+/**
+ * Collects the rows that the partitions of a distributed node create for one output port and forwards them in the
+ * order of the input batches they were derived from.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RowSequencer {
+
+    private final StreamedRowOutput m_output;
+
+    private final Map<Long, List<DataRow>> m_pending = new HashMap<Long, List<DataRow>>();
+
+    private final List<DataRow> m_trailing = new ArrayList<DataRow>();
+
+    private long m_nextSequence;
+
+    /** @param output the output that receives the ordered rows */
+    RowSequencer(final StreamedRowOutput output) {
+        m_output = output;
+    }
+
+    /** @see StreamedRowOutput#checkNodeOutputsOpen() */
+    void checkNodeOutputsOpen() {
+        m_output.checkNodeOutputsOpen();
+    }
+
+    /**
+     * Called when a partition has finished an input batch.
+     *
+     * @param sequence the sequence number of the batch
+     * @param rows the rows the partition created while processing the batch
+     * @throws InterruptedException if interrupted while forwarding rows
+     */
+    synchronized void complete(final long sequence, final List<DataRow> rows) throws InterruptedException {
+        m_pending.put(sequence, rows);
+        List<DataRow> next;
+        while ((next = m_pending.remove(m_nextSequence)) != null) {
+            for (DataRow row : next) {
+                m_output.push(row);
+            }
+            m_nextSequence++;
+        }
+    }
+
+    /**
+     * Called for rows that can't be attributed to any input batch, e.g. rows created after the end of the input.
+     * They are appended after all other rows.
+     *
+     * @param rows the rows
+     */
+    synchronized void addTrailing(final List<DataRow> rows) {
+        m_trailing.addAll(rows);
+    }
+
+    /**
+     * Called once all partitions are done, forwards the remaining rows and closes the output.
+     *
+     * @throws InterruptedException if interrupted while forwarding rows
+     */
+    synchronized void close() throws InterruptedException {
+        // batches that were never read (all partitions closed their input early) leave gaps
+        for (List<DataRow> rows : new TreeMap<Long, List<DataRow>>(m_pending).values()) {
+            for (DataRow row : rows) {
+                m_output.push(row);
+            }
+        }
+        m_pending.clear();
+        for (DataRow row : m_trailing) {
+            m_output.push(row);
+        }
+        m_trailing.clear();
+        m_output.close();
+    }
+}
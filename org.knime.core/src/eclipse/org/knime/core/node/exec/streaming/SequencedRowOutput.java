@@ -0,0 +1,139 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.exec.streaming;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.node.streamable.RowOutput;
+
+/**
+ * Output of one partition of a distributed node. Rows are attributed to the input batch the partition currently
+ * processes and handed to a {@link RowSequencer} when the partition moves on to the next batch.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class SequencedRowOutput extends RowOutput {
+
+    private final RowSequencer m_sequencer;
+
+    private List<DataRow> m_rows = new ArrayList<DataRow>();
+
+    /** sequence of the current batch; -1 before the first batch, -2 after the end of the input. */
+    private long m_sequence = -1;
+
+    private boolean m_isClosed;
+
+    /** @param sequencer the sequencer of the output port */
+    SequencedRowOutput(final RowSequencer sequencer) {
+        m_sequencer = sequencer;
+    }
+
+    /**
+     * Called by the partition's input when it starts reading a new batch.
+     *
+     * @param sequence the sequence number of the new batch
+     * @throws InterruptedException if interrupted while forwarding rows
+     */
+    void startBatch(final long sequence) throws InterruptedException {
+        if (m_isClosed) {
+            // the partition won't create any further rows, don't hold back the batches of the other partitions
+            m_sequencer.complete(sequence, new ArrayList<DataRow>());
+            return;
+        }
+        if (m_sequence >= 0) {
+            m_sequencer.complete(m_sequence, m_rows);
+            m_rows = new ArrayList<DataRow>();
+        }
+        // rows pushed before the first batch are put in front of it
+        m_sequence = sequence;
+    }
+
+    /**
+     * Called by the partition's input when the end of the input has been reached.
+     *
+     * @throws InterruptedException if interrupted while forwarding rows
+     */
+    void endBatches() throws InterruptedException {
+        if (m_isClosed) {
+            return;
+        }
+        finishBatch();
+        m_sequence = -2;
+    }
+
+    private void finishBatch() throws InterruptedException {
+        if (m_sequence >= 0) {
+            m_sequencer.complete(m_sequence, m_rows);
+        } else if (!m_rows.isEmpty()) {
+            m_sequencer.addTrailing(m_rows);
+        }
+        m_rows = new ArrayList<DataRow>();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void push(final DataRow row) throws InterruptedException {
+        if (m_isClosed) {
+            throw new IllegalStateException("Output is closed");
+        }
+        m_sequencer.checkNodeOutputsOpen();
+        m_rows.add(row);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws InterruptedException {
+        if (!m_isClosed) {
+            m_isClosed = true;
+            finishBatch();
+            m_sequence = -2;
+        }
+    }
+}
@@ -0,0 +1,516 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.exec.streaming;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.MergeOperator;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectInput;
+import org.knime.core.node.streamable.PortObjectOutput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.RowOutput.OutputClosedException;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.node.streamable.StreamableOperatorInternals;
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.NodeContext;
+
+/**
+ * Executes one node of a streamed component. The node's streamable operator runs on inputs that are connected to
+ * the outputs of the upstream nodes, which run concurrently. Port indices used in this class are the indices of the
+ * {@link NodeModel}, i.e. they exclude the flow variable port.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class StreamedNode {
+
+    /** Where an input port gets its data from. */
+    private static final class Source {
+
+        private final RowChannel m_channel;
+
+        private final CompletableFuture<PortObject> m_object;
+
+        private Source(final RowChannel channel, final CompletableFuture<PortObject> object) {
+            m_channel = channel;
+            m_object = object;
+        }
+    }
+
+    private final NativeNodeContainer m_nnc;
+
+    private final boolean m_isExecuted;
+
+    private final PortObjectSpec[] m_inSpecs;
+
+    private final boolean[] m_isStreamed;
+
+    private final Source[] m_sources;
+
+    private final StreamedRowOutput[] m_tableOutputs;
+
+    private final CompletableFuture<PortObject>[] m_objectOutputs;
+
+    private final List<CompletableFuture<Void>> m_predecessors = new ArrayList<CompletableFuture<Void>>();
+
+    private final CompletableFuture<Void> m_done = new CompletableFuture<Void>();
+
+    private InputPortRole[] m_inRoles;
+
+    private OutputPortRole[] m_outRoles;
+
+    private MergeOperator m_mergeOperator;
+
+    private StreamableOperatorInternals m_initialInternals;
+
+    private int m_distributedPort = -1;
+
+    private int m_nrPartitions = 1;
+
+    private volatile ExecutionContext m_exec;
+
+    /**
+     * @param nnc the node
+     * @param inSpecs the specs at the input ports of the node model, <code>null</code> for unconnected ports
+     */
+    @SuppressWarnings("unchecked")
+    StreamedNode(final NativeNodeContainer nnc, final PortObjectSpec[] inSpecs) {
+        m_nnc = nnc;
+        m_isExecuted = nnc.getNodeContainerState().isExecuted();
+        m_inSpecs = inSpecs;
+        m_isStreamed = new boolean[inSpecs.length];
+        m_sources = new Source[inSpecs.length];
+        final int nrOutputs = nnc.getNrOutPorts() - 1;
+        m_tableOutputs = new StreamedRowOutput[nrOutputs];
+        m_objectOutputs = new CompletableFuture[nrOutputs];
+    }
+
+    /**
+     * Determines which inputs are streamed and how many partitions execute the node.
+     *
+     * @param batchSize the number of rows per batch of the table outputs
+     * @param maxPartitions the maximum number of partitions of a distributable node
+     */
+    void plan(final int batchSize, final int maxPartitions) {
+        final int nrOutputs = m_tableOutputs.length;
+        for (int i = 0; i < nrOutputs; i++) {
+            if (isTable(m_nnc.getOutPort(i + 1).getPortType())) {
+                m_tableOutputs[i] = new StreamedRowOutput(batchSize);
+            } else {
+                m_objectOutputs[i] = new CompletableFuture<PortObject>();
+            }
+        }
+        final List<StreamedRowOutput> siblings = new ArrayList<StreamedRowOutput>();
+        for (StreamedRowOutput output : m_tableOutputs) {
+            if (output != null) {
+                siblings.add(output);
+            }
+        }
+        for (StreamedRowOutput output : siblings) {
+            output.setSiblings(Collections.unmodifiableList(siblings));
+        }
+        if (m_isExecuted) {
+            return;
+        }
+        final NodeModel model = m_nnc.getNodeModel();
+        m_inRoles = model.getInputPortRoles();
+        m_outRoles = model.getOutputPortRoles();
+        m_mergeOperator = model.createMergeOperator();
+        m_initialInternals = model.createInitialStreamableOperatorInternals();
+        // iterating nodes read their input several times, they get the entire tables
+        final boolean isIterating = m_initialInternals != null;
+        boolean isPartitionable = maxPartitions > 1 && !isIterating;
+        for (int i = 0; i < m_inSpecs.length; i++) {
+            if (m_inSpecs[i] == null) {
+                continue;
+            }
+            m_isStreamed[i] = !isIterating && isTable(m_nnc.getInPort(i + 1).getPortType())
+                && m_inRoles[i].isStreamable() && m_inSpecs[i] instanceof DataTableSpec;
+            if (m_isStreamed[i] && m_inRoles[i].isDistributable() && m_distributedPort < 0) {
+                m_distributedPort = i;
+            } else if (m_inRoles[i].isDistributable()) {
+                // a second distributed input would be split independently of the first one
+                isPartitionable = false;
+            } else if (m_isStreamed[i]) {
+                // a non-distributed stream can only be read by one partition
+                isPartitionable = false;
+            }
+        }
+        isPartitionable = isPartitionable && m_distributedPort >= 0;
+        for (int i = 0; i < nrOutputs && isPartitionable; i++) {
+            if (isRunFinalOutput(i) && (!m_outRoles[i].isDistributable() || m_tableOutputs[i] == null)) {
+                isPartitionable = false;
+            }
+        }
+        m_nrPartitions = isPartitionable ? maxPartitions : 1;
+    }
+
+    /**
+     * Connects an input port to the output of an upstream node.
+     *
+     * @param inPort the input port of this node
+     * @param producer the upstream node
+     * @param outPort the output port of the upstream node
+     * @param channelCapacity the number of batches a channel holds in memory
+     * @param spill whether a full channel writes further batches to disk rather than blocking the producer
+     */
+    void connect(final int inPort, final StreamedNode producer, final int outPort, final int channelCapacity,
+        final boolean spill) {
+        if (m_isExecuted) {
+            return;
+        }
+        final StreamedRowOutput tableOutput = producer.m_tableOutputs[outPort];
+        if (m_isStreamed[inPort]) {
+            final DataTableSpec spillSpec = spill ? (DataTableSpec)m_inSpecs[inPort] : null;
+            m_sources[inPort] = new Source(tableOutput.addChannel(channelCapacity, m_nrPartitions, spillSpec), null);
+        } else if (tableOutput != null) {
+            m_sources[inPort] = new Source(null, tableOutput.requestTable());
+        } else {
+            m_sources[inPort] = new Source(null, producer.m_objectOutputs[outPort]);
+        }
+    }
+
+    /**
+     * Adds a dependency on a node that is connected via the flow variable ports.
+     *
+     * @param predecessor the upstream node
+     */
+    void addPredecessor(final StreamedNode predecessor) {
+        m_predecessors.add(predecessor.m_done);
+    }
+
+    /** @return the node container */
+    NativeNodeContainer getNodeContainer() {
+        return m_nnc;
+    }
+
+    /** @return the number of partitions that execute the node */
+    int getNrPartitions() {
+        return m_nrPartitions;
+    }
+
+    /**
+     * Executes the node, called on a dedicated thread.
+     *
+     * @param executor used to run additional partitions
+     * @throws Exception any exception thrown by the node
+     */
+    void run(final ExecutorService executor) throws Exception {
+        NodeContext.pushContext(m_nnc);
+        try {
+            for (CompletableFuture<Void> predecessor : m_predecessors) {
+                predecessor.get();
+            }
+            if (m_isExecuted) {
+                publishExecutedOutputs();
+            } else {
+                execute(executor);
+            }
+            m_done.complete(null);
+        } catch (Throwable t) {
+            m_done.completeExceptionally(t);
+            for (int i = 0; i < m_tableOutputs.length; i++) {
+                if (m_objectOutputs[i] != null) {
+                    m_objectOutputs[i].completeExceptionally(t);
+                }
+            }
+            throw t instanceof Exception ? (Exception)t : new ExecutionException(t);
+        } finally {
+            NodeContext.removeLastContext();
+        }
+    }
+
+    /** Marks the node's execution as canceled, for operators that check the cancel status of their context. */
+    void cancel() {
+        final ExecutionContext exec = m_exec;
+        if (exec != null) {
+            exec.getProgressMonitor().setExecuteCanceled();
+        }
+    }
+
+    private void publishExecutedOutputs() throws InterruptedException {
+        for (int i = 0; i < m_tableOutputs.length; i++) {
+            final PortObject object = m_nnc.getOutPort(i + 1).getPortObject();
+            if (m_tableOutputs[i] != null) {
+                m_tableOutputs[i].setFully((BufferedDataTable)object);
+            } else {
+                m_objectOutputs[i].complete(object);
+            }
+        }
+    }
+
+    private void execute(final ExecutorService executor) throws Exception {
+        final NodeModel model = m_nnc.getNodeModel();
+        final ExecutionContext exec = m_nnc.createExecutionContext();
+        m_exec = exec;
+        final int nrOutputs = m_tableOutputs.length;
+        PortObjectSpec[] outSpecs = new PortObjectSpec[nrOutputs];
+        for (int i = 0; i < nrOutputs; i++) {
+            outSpecs[i] = m_nnc.getOutPort(i + 1).getPortObjectSpec();
+        }
+        StreamableOperatorInternals internals = m_initialInternals;
+        if (internals != null) {
+            while (model.iterate(internals)) {
+                final StreamableOperator operator = createOperator(model, 0);
+                operator.loadInternals(internals);
+                operator.runIntermediate(createInputs(null), exec);
+                internals = operator.saveInternals();
+            }
+            outSpecs = model.computeFinalOutputSpecs(internals, m_inSpecs);
+        }
+        for (int i = 0; i < nrOutputs; i++) {
+            if (m_tableOutputs[i] != null) {
+                m_tableOutputs[i].init(exec, outSpecs[i] instanceof DataTableSpec ? (DataTableSpec)outSpecs[i] : null);
+            }
+        }
+
+        final PortOutput[][] partitionOutputs = new PortOutput[m_nrPartitions][];
+        final StreamableOperatorInternals[] partitionInternals = new StreamableOperatorInternals[m_nrPartitions];
+        if (m_nrPartitions == 1) {
+            partitionOutputs[0] = createRunFinalOutputs(null);
+            partitionInternals[0] = runPartition(model, 0, internals, createInputs(null), partitionOutputs[0], exec);
+        } else {
+            runPartitions(model, internals, partitionOutputs, partitionInternals, executor, exec);
+        }
+
+        final PortOutput[] finishOutputs = new PortOutput[nrOutputs];
+        if (m_mergeOperator != null) {
+            for (int i = 0; i < nrOutputs; i++) {
+                if (!isRunFinalOutput(i)) {
+                    finishOutputs[i] = m_tableOutputs[i] != null ? m_tableOutputs[i] : new PortObjectOutput();
+                }
+            }
+            final StreamableOperatorInternals merged = m_mergeOperator.mergeFinal(partitionInternals);
+            try {
+                model.finishStreamableExecution(merged, exec, finishOutputs);
+            } catch (OutputClosedException e) {
+                // no consumer needs any further rows
+            }
+        }
+        for (int i = 0; i < nrOutputs; i++) {
+            if (m_tableOutputs[i] != null) {
+                close(m_tableOutputs[i]);
+            } else {
+                final PortOutput output = finishOutputs[i] != null ? finishOutputs[i] : partitionOutputs[0][i];
+                m_objectOutputs[i].complete(((PortObjectOutput)output).getPortObject());
+            }
+        }
+    }
+
+    private StreamableOperatorInternals runPartition(final NodeModel model, final int partition,
+        final StreamableOperatorInternals internals, final PortInput[] inputs, final PortOutput[] outputs,
+        final ExecutionContext exec) throws Exception {
+        final StreamableOperator operator = createOperator(model, partition);
+        if (internals != null) {
+            operator.loadInternals(internals);
+        }
+        try {
+            operator.runFinal(inputs, outputs, exec);
+        } catch (OutputClosedException e) {
+            // no consumer needs any further rows
+        } finally {
+            // unblocks the upstream nodes if the operator didn't read its entire input
+            for (PortInput input : inputs) {
+                if (input instanceof ChannelRowInput) {
+                    ((ChannelRowInput)input).close();
+                }
+            }
+        }
+        for (PortOutput output : outputs) {
+            if (output instanceof RowOutput) {
+                close((RowOutput)output);
+            }
+        }
+        return operator.saveInternals();
+    }
+
+    private void runPartitions(final NodeModel model, final StreamableOperatorInternals internals,
+        final PortOutput[][] partitionOutputs, final StreamableOperatorInternals[] partitionInternals,
+        final ExecutorService executor, final ExecutionContext exec) throws Exception {
+        final RowSequencer[] sequencers = new RowSequencer[m_tableOutputs.length];
+        for (int i = 0; i < sequencers.length; i++) {
+            if (isRunFinalOutput(i)) {
+                sequencers[i] = new RowSequencer(m_tableOutputs[i]);
+            }
+        }
+        final List<Future<?>> futures = new ArrayList<Future<?>>();
+        try {
+            for (int p = 1; p < m_nrPartitions; p++) {
+                final int partition = p;
+                partitionOutputs[p] = createRunFinalOutputs(sequencers);
+                final PortInput[] inputs = createInputs(partitionOutputs[p]);
+                final ExecutionContext subExec = exec.createSubExecutionContext(1.0 / m_nrPartitions);
+                futures.add(executor.submit(() -> {
+                    NodeContext.pushContext(m_nnc);
+                    try {
+                        partitionInternals[partition] =
+                            runPartition(model, partition, internals, inputs, partitionOutputs[partition], subExec);
+                    } finally {
+                        NodeContext.removeLastContext();
+                    }
+                    return null;
+                }));
+            }
+            partitionOutputs[0] = createRunFinalOutputs(sequencers);
+            partitionInternals[0] = runPartition(model, 0, internals, createInputs(partitionOutputs[0]),
+                partitionOutputs[0], exec.createSubExecutionContext(1.0 / m_nrPartitions));
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    throw cause instanceof Exception ? (Exception)cause : e;
+                }
+            }
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+        for (RowSequencer sequencer : sequencers) {
+            if (sequencer != null) {
+                try {
+                    sequencer.close();
+                } catch (OutputClosedException e) {
+                    // no consumer needs any further rows
+                }
+            }
+        }
+    }
+
+    private StreamableOperator createOperator(final NodeModel model, final int partition)
+        throws InvalidSettingsException {
+        return model.createStreamableOperator(new PartitionInfo(partition, m_nrPartitions), m_inSpecs);
+    }
+
+    /**
+     * @param sequencedOutputs the outputs of the partition, <code>null</code> if the node isn't partitioned
+     */
+    private PortInput[] createInputs(final PortOutput[] sequencedOutputs) throws Exception {
+        final PortInput[] inputs = new PortInput[m_sources.length];
+        for (int i = 0; i < inputs.length; i++) {
+            final Source source = m_sources[i];
+            if (source == null) {
+                continue;
+            }
+            if (source.m_channel != null) {
+                final ChannelRowInput input = new ChannelRowInput((DataTableSpec)m_inSpecs[i], source.m_channel);
+                if (sequencedOutputs != null && i == m_distributedPort) {
+                    for (PortOutput output : sequencedOutputs) {
+                        if (output instanceof SequencedRowOutput) {
+                            input.addSequencedOutput((SequencedRowOutput)output);
+                        }
+                    }
+                }
+                inputs[i] = input;
+            } else {
+                final PortObject object = source.m_object.get();
+                if (object instanceof BufferedDataTable && m_inRoles[i].isStreamable()) {
+                    inputs[i] = new DataTableRowInput((BufferedDataTable)object);
+                } else if (object != null) {
+                    inputs[i] = new PortObjectInput(object);
+                }
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * @param sequencers the sequencers of the outputs, <code>null</code> if the node isn't partitioned
+     */
+    private PortOutput[] createRunFinalOutputs(final RowSequencer[] sequencers) {
+        final PortOutput[] outputs = new PortOutput[m_tableOutputs.length];
+        for (int i = 0; i < outputs.length; i++) {
+            if (!isRunFinalOutput(i)) {
+                continue;
+            }
+            if (m_tableOutputs[i] == null) {
+                outputs[i] = new PortObjectOutput();
+            } else {
+                outputs[i] = sequencers == null ? m_tableOutputs[i] : new SequencedRowOutput(sequencers[i]);
+            }
+        }
+        return outputs;
+    }
+
+    /** Whether the output is set by the operator; otherwise it's set when the node finishes the execution. */
+    private boolean isRunFinalOutput(final int outPort) {
+        return m_mergeOperator == null || m_outRoles[outPort].isDistributable();
+    }
+
+    private static void close(final RowOutput output) throws InterruptedException {
+        try {
+            output.close();
+        } catch (OutputClosedException e) {
+            // no consumer needs any further rows
+        }
+    }
+
+    private static boolean isTable(final PortType type) {
+        return BufferedDataTable.TYPE.equals(type);
+    }
+}
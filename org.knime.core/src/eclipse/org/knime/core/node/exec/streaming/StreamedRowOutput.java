@@ -0,0 +1,264 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.exec.streaming;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.exec.streaming.RowChannel.Batch;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.streamable.RowOutput;
+
+/**
+ * Table output of a streamed node. The rows are sent in batches to the streaming consumers, consumers that need
+ * the entire table get it once the output is closed.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class StreamedRowOutput extends RowOutput {
+
+    private final int m_batchSize;
+
+    private final List<RowChannel> m_channels = new ArrayList<RowChannel>();
+
+    private CompletableFuture<PortObject> m_table;
+
+    private List<StreamedRowOutput> m_siblings;
+
+    private ExecutionContext m_exec;
+
+    private DataTableSpec m_spec;
+
+    private BufferedDataContainer m_container;
+
+    private DataRow[] m_batch;
+
+    private int m_batchLength;
+
+    private long m_nextSequence;
+
+    private boolean m_hasRows;
+
+    private boolean m_isClosed;
+
+    /** @param batchSize the number of rows per batch */
+    StreamedRowOutput(final int batchSize) {
+        m_batchSize = batchSize;
+    }
+
+    /**
+     * Adds a streaming consumer.
+     *
+     * @param capacity the number of batches the channel holds in memory
+     * @param nrReaders the number of partitions of the consumer reading the channel
+     * @param spillSpec the spec to write further batches to disk, <code>null</code> to block instead
+     * @return the new channel
+     */
+    RowChannel addChannel(final int capacity, final int nrReaders, final DataTableSpec spillSpec) {
+        final RowChannel channel = new RowChannel(capacity, nrReaders, spillSpec);
+        m_channels.add(channel);
+        return channel;
+    }
+
+    /** @return the future of the entire table, used by consumers that don't stream the input */
+    CompletableFuture<PortObject> requestTable() {
+        if (m_table == null) {
+            m_table = new CompletableFuture<PortObject>();
+        }
+        return m_table;
+    }
+
+    /** @param siblings all table outputs of the node, incl. this one */
+    void setSiblings(final List<StreamedRowOutput> siblings) {
+        m_siblings = siblings;
+    }
+
+    /**
+     * Called before the node starts.
+     *
+     * @param exec the context of the producing node, used to create the table for non-streaming consumers
+     * @param spec the spec of the output or <code>null</code> if unknown
+     */
+    void init(final ExecutionContext exec, final DataTableSpec spec) {
+        m_exec = exec;
+        m_spec = spec;
+    }
+
+    /**
+     * @return whether no consumer needs any further row: there were streaming consumers but all of them stopped
+     *         reading
+     */
+    boolean isAbandoned() {
+        if (m_table != null || m_channels.isEmpty()) {
+            return false;
+        }
+        for (RowChannel channel : m_channels) {
+            if (!channel.isClosedByReaders()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Throws an {@link OutputClosedException} if the rows of the node are not needed anymore, i.e. if all table
+     * outputs of the node are abandoned.
+     */
+    void checkNodeOutputsOpen() {
+        if (!isAbandoned()) {
+            return;
+        }
+        for (StreamedRowOutput sibling : m_siblings) {
+            if (!sibling.isAbandoned()) {
+                return;
+            }
+        }
+        throw new OutputClosedException();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void push(final DataRow row) throws InterruptedException {
+        if (m_isClosed) {
+            throw new IllegalStateException("Output is closed");
+        }
+        checkNodeOutputsOpen();
+        m_hasRows = true;
+        if (m_table != null) {
+            if (m_container == null) {
+                if (m_spec == null) {
+                    throw new IllegalStateException("No table spec available for streamed output");
+                }
+                m_container = m_exec.createDataContainer(m_spec);
+            }
+            m_container.addRowToTable(row);
+        }
+        if (m_channels.isEmpty()) {
+            return;
+        }
+        if (m_batch == null) {
+            m_batch = new DataRow[m_batchSize];
+        }
+        m_batch[m_batchLength++] = row;
+        if (m_batchLength == m_batchSize) {
+            flush();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setFully(final BufferedDataTable table) throws InterruptedException {
+        if (m_hasRows) {
+            throw new IllegalStateException("Rows have been added previously");
+        }
+        if (m_table != null) {
+            // consumers that need the entire table share the one just created
+            m_table.complete(table);
+        }
+        if (!m_channels.isEmpty()) {
+            for (DataRow row : table) {
+                if (isAbandoned()) {
+                    break;
+                }
+                m_batch = m_batch == null ? new DataRow[m_batchSize] : m_batch;
+                m_batch[m_batchLength++] = row;
+                if (m_batchLength == m_batchSize) {
+                    flush();
+                }
+            }
+        }
+        close();
+    }
+
+    private void flush() throws InterruptedException {
+        if (m_batchLength == 0) {
+            return;
+        }
+        final Batch batch = new Batch(m_nextSequence++, Arrays.copyOf(m_batch, m_batchLength));
+        m_batchLength = 0;
+        for (RowChannel channel : m_channels) {
+            // the batch is read-only, all consumers share it
+            channel.put(batch);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws InterruptedException {
+        if (m_isClosed) {
+            return;
+        }
+        m_isClosed = true;
+        flush();
+        for (RowChannel channel : m_channels) {
+            channel.putEnd();
+        }
+        if (m_table != null && !m_table.isDone()) {
+            if (m_container == null) {
+                if (m_spec == null) {
+                    throw new IllegalStateException("No table spec available for streamed output");
+                }
+                m_container = m_exec.createDataContainer(m_spec);
+            }
+            m_container.close();
+            m_table.complete(m_container.getTable());
+        }
+    }
+
+    /** @return whether the output has been closed */
+    boolean isClosed() {
+        return m_isClosed;
+    }
+}
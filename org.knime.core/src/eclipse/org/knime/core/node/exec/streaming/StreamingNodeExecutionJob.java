@@ -0,0 +1,334 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.exec.streaming;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.inactive.InactiveBranchPortObjectSpec;
+import org.knime.core.node.workflow.ConnectionContainer;
+import org.knime.core.node.workflow.ConnectionContainer.ConnectionType;
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeExecutionJob;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.NodeMessage;
+import org.knime.core.node.workflow.ScopeEndNode;
+import org.knime.core.node.workflow.ScopeStartNode;
+import org.knime.core.node.workflow.SubNodeContainer;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.node.workflow.execresult.NodeContainerExecutionStatus;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Executes the content of a component in a streaming fashion. All contained nodes run at the same time, each on a
+ * dedicated thread; tables are passed from node to node in batches of rows through bounded queues, so intermediate
+ * tables are not written unless a node needs its entire input or the queue into a node with several inputs
+ * overflows. Nodes with a distributable input are executed in several partitions that read batches from the same
+ * queue, their output keeps the order of the input.
+ *
+ * <p>The contained nodes are switched through the states of a remote execution; they don't keep their output data
+ * and flow variables created during the execution are not passed on to downstream nodes.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class StreamingNodeExecutionJob extends NodeExecutionJob {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(StreamingNodeExecutionJob.class);
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final int m_batchSize;
+
+    private final int m_channelCapacity;
+
+    private final int m_maxPartitions;
+
+    private final ExecutorService m_executor;
+
+    private final Map<Integer, Boolean> m_childSuccess = new ConcurrentHashMap<Integer, Boolean>();
+
+    private Collection<StreamedNode> m_nodes;
+
+    private Future<?> m_future;
+
+    private boolean m_isAborted;
+
+    private volatile boolean m_isCanceled;
+
+    /**
+     * @param snc the component to execute
+     * @param data the input data of the component
+     * @param batchSize the number of rows per batch
+     * @param channelCapacity the number of batches that can be queued per connection
+     * @param maxPartitions the maximum number of partitions of a distributable node
+     */
+    StreamingNodeExecutionJob(final SubNodeContainer snc, final PortObject[] data, final int batchSize,
+        final int channelCapacity, final int maxPartitions) {
+        super(snc, data);
+        m_batchSize = batchSize;
+        m_channelCapacity = channelCapacity;
+        m_maxPartitions = maxPartitions;
+        m_executor = Executors.newCachedThreadPool(r -> {
+            final Thread thread = new Thread(r, "KNIME-Streaming-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** @param future the future that represents the pending execution */
+    void setFuture(final Future<?> future) {
+        m_future = future;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean isReConnecting() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean cancel() {
+        if (m_future == null) {
+            throw new IllegalStateException("Future that represents the execution has not been set.");
+        }
+        m_isCanceled = true;
+        abort();
+        return m_future.cancel(true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected NodeContainerExecutionStatus mainExecute() {
+        final SubNodeContainer snc = (SubNodeContainer)getNodeContainer();
+        final WorkflowManager wfm = snc.getWorkflowManager();
+        try {
+            final String error = checkSupported(wfm);
+            if (error != null) {
+                snc.setNodeMessage(new NodeMessage(NodeMessage.Type.ERROR, error));
+                return NodeContainerExecutionStatus.FAILURE;
+            }
+            final Map<NodeID, StreamedNode> nodes = createNodes(wfm);
+            synchronized (this) {
+                if (m_isAborted) {
+                    return NodeContainerExecutionStatus.FAILURE;
+                }
+                m_nodes = nodes.values();
+            }
+            final ExecutorCompletionService<StreamedNode> completion =
+                new ExecutorCompletionService<StreamedNode>(m_executor);
+            for (StreamedNode node : nodes.values()) {
+                completion.submit(() -> runNode(node));
+            }
+            // the thread of this job is idle while waiting, allow the pool to start other jobs
+            final Callable<Void> waitForNodes = () -> {
+                int remaining = nodes.size();
+                while (remaining > 0) {
+                    try {
+                        completion.take();
+                        remaining--;
+                    } catch (InterruptedException e) {
+                        // canceled, wait for the nodes to stop
+                        m_isCanceled = true;
+                        abort();
+                    }
+                }
+                return null;
+            };
+            final ThreadPool pool = ThreadPool.currentPool();
+            if (pool != null) {
+                pool.runInvisible(waitForNodes);
+            } else {
+                waitForNodes.call();
+            }
+        } catch (Exception e) {
+            LOGGER.error(e.getClass().getSimpleName() + " while waiting for streamed nodes to complete", e);
+            abort();
+            return NodeContainerExecutionStatus.FAILURE;
+        } finally {
+            m_executor.shutdownNow();
+        }
+        final boolean isSuccess;
+        synchronized (this) {
+            isSuccess = !m_isAborted;
+        }
+        if (!isSuccess && m_isCanceled) {
+            snc.setNodeMessage(new NodeMessage(NodeMessage.Type.WARNING, "Execution canceled"));
+        }
+        return new NodeContainerExecutionStatus() {
+
+            @Override
+            public boolean isSuccess() {
+                return isSuccess;
+            }
+
+            @Override
+            public NodeContainerExecutionStatus getChildStatus(final int idSuffix) {
+                return Boolean.TRUE.equals(m_childSuccess.get(idSuffix)) ? NodeContainerExecutionStatus.SUCCESS
+                    : NodeContainerExecutionStatus.FAILURE;
+            }
+        };
+    }
+
+    private StreamedNode runNode(final StreamedNode node) {
+        final NativeNodeContainer nnc = node.getNodeContainer();
+        try {
+            node.run(m_executor);
+            m_childSuccess.put(nnc.getID().getIndex(), Boolean.TRUE);
+        } catch (Throwable t) {
+            boolean isFirstFailure;
+            synchronized (this) {
+                isFirstFailure = !m_isAborted && !m_isCanceled;
+            }
+            if (isFirstFailure) {
+                // subsequent failures are caused by this one, only this node gets an error message
+                final String message = t.getMessage() != null ? t.getMessage() : t.getClass().getSimpleName();
+                LOGGER.error("Execute failed: " + message + " (" + nnc.getNameWithID() + ")", t);
+                nnc.setNodeMessage(new NodeMessage(NodeMessage.Type.ERROR, "Execute failed: " + message));
+                getNodeContainer().setNodeMessage(new NodeMessage(NodeMessage.Type.ERROR,
+                    "Streamed execution failed in contained node " + nnc.getNameWithID()));
+            }
+            abort();
+        }
+        return node;
+    }
+
+    /** Stops all nodes, the execution fails. */
+    private void abort() {
+        final Collection<StreamedNode> nodes;
+        synchronized (this) {
+            if (m_isAborted) {
+                return;
+            }
+            m_isAborted = true;
+            nodes = m_nodes;
+        }
+        if (nodes != null) {
+            for (StreamedNode node : nodes) {
+                node.cancel();
+            }
+        }
+        // interrupts nodes waiting for input or for space in the queue of their consumers
+        m_executor.shutdownNow();
+    }
+
+    private Map<NodeID, StreamedNode> createNodes(final WorkflowManager wfm) {
+        final Map<NodeID, StreamedNode> nodes = new LinkedHashMap<NodeID, StreamedNode>();
+        for (NodeContainer nc : wfm.getNodeContainers()) {
+            final NativeNodeContainer nnc = (NativeNodeContainer)nc;
+            final PortObjectSpec[] inSpecs = new PortObjectSpec[nnc.getNrInPorts() - 1];
+            for (int i = 0; i < inSpecs.length; i++) {
+                final ConnectionContainer cc = wfm.getIncomingConnectionFor(nnc.getID(), i + 1);
+                if (cc != null) {
+                    inSpecs[i] = wfm.getNodeContainer(cc.getSource()).getOutPort(cc.getSourcePort())
+                        .getPortObjectSpec();
+                }
+            }
+            final StreamedNode node = new StreamedNode(nnc, inSpecs);
+            node.plan(m_batchSize, m_maxPartitions);
+            nodes.put(nnc.getID(), node);
+        }
+        for (StreamedNode node : nodes.values()) {
+            final NodeID id = node.getNodeContainer().getID();
+            final Collection<ConnectionContainer> incoming = wfm.getIncomingConnectionsFor(id);
+            // a node reading from several upstream nodes may wait on one input while the others fill up; if the
+            // inputs share an upstream node, blocking queues would block that node forever, hence these spill to disk
+            final boolean spill = incoming.size() > 1;
+            for (ConnectionContainer cc : incoming) {
+                final StreamedNode producer = nodes.get(cc.getSource());
+                if (cc.getDestPort() == 0 || cc.getSourcePort() == 0) {
+                    node.addPredecessor(producer);
+                } else {
+                    node.connect(cc.getDestPort() - 1, producer, cc.getSourcePort() - 1, m_channelCapacity, spill);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    /** @return an error message if the component contains nodes that can't be streamed, otherwise null */
+    private static String checkSupported(final WorkflowManager wfm) {
+        for (NodeContainer nc : wfm.getNodeContainers()) {
+            if (!(nc instanceof NativeNodeContainer)) {
+                return "Streaming doesn't support metanodes or nested components: " + nc.getNameWithID();
+            }
+            final NativeNodeContainer nnc = (NativeNodeContainer)nc;
+            if (nnc.isModelCompatibleTo(ScopeStartNode.class) || nnc.isModelCompatibleTo(ScopeEndNode.class)) {
+                return "Streaming doesn't support loops or other scopes: " + nc.getNameWithID();
+            }
+            if (nnc.isInactive()) {
+                return "Streaming doesn't support inactive branches: " + nc.getNameWithID();
+            }
+            for (ConnectionContainer cc : wfm.getIncomingConnectionsFor(nc.getID())) {
+                if (cc.getType() != ConnectionType.STD) {
+                    return "Streaming doesn't support connections to the component's border: "
+                        + nc.getNameWithID();
+                }
+                final PortObjectSpec spec =
+                    wfm.getNodeContainer(cc.getSource()).getOutPort(cc.getSourcePort()).getPortObjectSpec();
+                if (spec instanceof InactiveBranchPortObjectSpec) {
+                    return "Streaming doesn't support inactive branches: " + nc.getNameWithID();
+                }
+            }
+        }
+        return null;
+    }
+}
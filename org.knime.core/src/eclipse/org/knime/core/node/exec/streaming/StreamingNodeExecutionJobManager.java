@@ -0,0 +1,168 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.exec.streaming;
+
+import java.net.URL;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.workflow.AbstractNodeExecutionJobManager;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeContainer.NodeContainerSettings.SplitType;
+import org.knime.core.node.workflow.NodeExecutionJob;
+import org.knime.core.node.workflow.NodeExecutionJobManagerPanel;
+import org.knime.core.node.workflow.SubNodeContainer;
+
+/**
+ * Job manager for components that executes the contained nodes in a streaming fashion: all nodes run at the same
+ * time and pass their output rows to downstream nodes in batches, so that no intermediate table is written unless a
+ * node needs its entire input.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.6
+ */
+public final class StreamingNodeExecutionJobManager extends AbstractNodeExecutionJobManager {
+
+    /** Config key for the number of rows per batch. */
+    static final String CFG_BATCH_SIZE = "batch_size";
+
+    /** Config key for the number of batches that can be queued per connection. */
+    static final String CFG_QUEUE_CAPACITY = "queue_capacity";
+
+    /** Config key for the maximum number of partitions of a distributable node. */
+    static final String CFG_MAX_PARTITIONS = "max_partitions";
+
+    /** Default number of rows per batch. */
+    static final int DEFAULT_BATCH_SIZE = 50;
+
+    /** Default number of batches that can be queued per connection. */
+    static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    /** Default maximum number of partitions of a distributable node. */
+    static final int DEFAULT_MAX_PARTITIONS = Runtime.getRuntime().availableProcessors();
+
+    private int m_batchSize = DEFAULT_BATCH_SIZE;
+
+    private int m_queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private int m_maxPartitions = DEFAULT_MAX_PARTITIONS;
+
+    /** {@inheritDoc} */
+    @Override
+    public NodeExecutionJob submitJob(final NodeContainer nc, final PortObject[] data) {
+        if (!(nc instanceof SubNodeContainer)) {
+            throw new IllegalStateException(getClass().getSimpleName()
+                    + " is only able to execute components: " + nc.getNameWithID());
+        }
+        StreamingNodeExecutionJob job = new StreamingNodeExecutionJob((SubNodeContainer)nc, data,
+            m_batchSize, m_queueCapacity, m_maxPartitions);
+        Future<?> future = KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(job);
+        job.setFuture(future);
+        return job;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean canExecute(final NodeContainer nc) {
+        return nc instanceof SubNodeContainer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getID() {
+        return StreamingNodeExecutionJobManagerFactory.INSTANCE.getID();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "Streaming Job Manager";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public URL getIcon() {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NodeExecutionJobManagerPanel getSettingsPanelComponent(final SplitType nodeSplitType) {
+        return new StreamingNodeExecutionJobManagerPanel();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void save(final NodeSettingsWO settings) {
+        settings.addInt(CFG_BATCH_SIZE, m_batchSize);
+        settings.addInt(CFG_QUEUE_CAPACITY, m_queueCapacity);
+        settings.addInt(CFG_MAX_PARTITIONS, m_maxPartitions);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void load(final NodeSettingsRO settings) throws InvalidSettingsException {
+        m_batchSize = loadPositiveInt(settings, CFG_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        m_queueCapacity = loadPositiveInt(settings, CFG_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY);
+        m_maxPartitions = loadPositiveInt(settings, CFG_MAX_PARTITIONS, DEFAULT_MAX_PARTITIONS);
+    }
+
+    private static int loadPositiveInt(final NodeSettingsRO settings, final String key, final int defaultValue)
+        throws InvalidSettingsException {
+        final int value = settings.getInt(key, defaultValue);
+        if (value < 1) {
+            throw new InvalidSettingsException("Invalid value for \"" + key + "\": " + value
+                + " (must be positive)");
+        }
+        return value;
+    }
+}
@@ -114,7 +114,19 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
         throws Exception {
         BufferedDataTable in = inData[0];
         ColumnRearranger r = createColumnRearranger(in.getDataTableSpec());
-        BufferedDataTable out = exec.createColumnRearrangeTable(in, r, exec);
+        int nrPartitions = isDistributable() ? exec.getNrColumnRearrangePartitions(in) : 1;
+        BufferedDataTable out;
+        if (nrPartitions > 1) {
+            // distributable: each partition computes its chunks of rows with its own rearranger
+            ColumnRearranger[] partitionRearrangers = new ColumnRearranger[nrPartitions];
+            partitionRearrangers[0] = r;
+            for (int p = 1; p < nrPartitions; p++) {
+                partitionRearrangers[p] = createColumnRearranger(in.getDataTableSpec());
+            }
+            out = exec.createColumnRearrangeTable(in, partitionRearrangers, exec);
+        } else {
+            out = exec.createColumnRearrangeTable(in, r, exec);
+        }
         return new BufferedDataTable[]{out};
     }
 
@@ -129,7 +141,11 @@ protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws Invali
 
     /**
      * Can the computation of the individual nodes run in parallel? Default is <code>true</code> but subclasses can
-     * enforce sequential access by overwriting this method and returning <code>false</code>.
+     * enforce sequential access by overwriting this method and returning <code>false</code>. If <code>true</code>,
+     * also {@link #execute(BufferedDataTable[], ExecutionContext) execute} processes large tables in concurrent
+     * partitions, each using a rearranger of its own (see
+     * {@link ExecutionContext#createColumnRearrangeTable(BufferedDataTable, ColumnRearranger[],
+     * org.knime.core.node.ExecutionMonitor)}).
      *
      * @return true (possibly overwritten).
      */
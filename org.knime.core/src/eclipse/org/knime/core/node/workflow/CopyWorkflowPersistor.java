@@ -82,6 +82,7 @@ class CopyWorkflowPersistor implements WorkflowPersistor {
     private final WorkflowCipher m_workflowCipher;
     private final MetaNodeTemplateInformation m_templateInformation;
     private final AuthorInformation m_authorInformation;
+    private final boolean m_isMemoryMappedTables;
     private final CopyNodeContainerMetaPersistor m_metaPersistor;
     private final HashMap<Integer, ContainerTable> m_tableRep;
     private final WorkflowFileStoreHandlerRepository m_fileStoreHandlerRepository;
@@ -128,6 +129,7 @@ class CopyWorkflowPersistor implements WorkflowPersistor {
         m_workflowCipher = original.getWorkflowCipher().clone();
         m_templateInformation = original.getTemplateInformation().clone();
         m_authorInformation = original.getAuthorInformation();
+        m_isMemoryMappedTables = original.isMemoryMappedTables();
         m_metaPersistor = new CopyNodeContainerMetaPersistor(
                 original, preserveDeletableFlags, isUndoableDeleteCommand);
         if (m_isProject) {
@@ -240,6 +242,12 @@ public AuthorInformation getAuthorInformation() {
         return m_authorInformation;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean isMemoryMappedTables() {
+        return m_isMemoryMappedTables;
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<FlowVariable> getWorkflowVariables() {
@@ -557,6 +557,8 @@ protected static String save(final SingleNodeContainer singleNC, final Reference
         }
         boolean nodeDirDeleted = true;
         if (singleNC instanceof NativeNodeContainer) {
+            // tables (of this or any other node) may still read memory-mapped data files in the directory
+            ContainerTable.detachMemoryMappedFiles(nodeDir);
             nodeDirDeleted = deleteChildren(nodeDir, SingleNodeContainer.DROP_DIR_NAME);
         }
         nodeDir.mkdirs();
@@ -62,6 +62,7 @@
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -225,6 +226,8 @@ public String toString() {
 
     private static final String CFG_AUTHOR_INFORMATION = "authorInformation";
 
+    private static final String CFG_MEMORY_MAPPED_TABLES = "memoryMappedTables";
+
     private static final String CFG_EDITOR_SNAP_GRID = "workflow.editor.snapToGrid";
 
     private static final String CFG_EDITOR_SHOW_GRID = "workflow.editor.ShowGrid";
@@ -288,6 +291,8 @@ public String toString() {
 
     private AuthorInformation m_authorInformation;
 
+    private boolean m_isMemoryMappedTables;
+
     /** see {@link #setNameOverwrite(String)}. */
     private String m_nameOverwrite;
 
@@ -461,6 +466,13 @@ public AuthorInformation getAuthorInformation() {
         return m_authorInformation;
     }
 
+    /** {@inheritDoc}
+     * @since 3.6 */
+    @Override
+    public boolean isMemoryMappedTables() {
+        return m_isMemoryMappedTables;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -677,6 +689,8 @@ public void preLoadNodeContainer(final WorkflowPersistor parentPersistor, final
             loadResult.addError(error);
             m_authorInformation = AuthorInformation.UNKNOWN;
         }
+        // added in 3.6
+        m_isMemoryMappedTables = m_workflowSett.getBoolean(CFG_MEMORY_MAPPED_TABLES, false);
         try {
             m_workflowVariables = loadWorkflowVariables(m_workflowSett);
         } catch (InvalidSettingsException e) {
@@ -2004,6 +2018,9 @@ private static void saveContent(final WorkflowManager wm, final NodeSettings pre
             }
             saveWorkflowName(preFilledSettings, wm.getNameField());
             saveAuthorInformation(wm.getAuthorInformation(), preFilledSettings);
+            if (wm.isProject()) {
+                preFilledSettings.addBoolean(CFG_MEMORY_MAPPED_TABLES, wm.isMemoryMappedTables());
+            }
             saveWorkflowCipher(preFilledSettings, wm.getWorkflowCipher());
             FileNodeContainerMetaPersistor.save(preFilledSettings, wm, workflowDirRef);
             saveWorkflowVariables(wm, preFilledSettings);
@@ -2014,14 +2031,22 @@ private static void saveContent(final WorkflowManager wm, final NodeSettings pre
             Collection<NodeContainer> nodes = wm.getNodeContainers();
             double progRatio = 1.0 / (nodes.size() + 1);
 
+            // native nodes are written concurrently afterwards, metanodes and components right here
+            Map<NativeNodeContainer, NodeSettingsWO> nativeNodes = new LinkedHashMap<>();
             for (NodeContainer nextNode : nodes) {
                 int id = nextNode.getID().getIndex();
+                NodeSettingsWO sub = nodesSettings.addNodeSettings("node_" + id);
+                if (nextNode instanceof NativeNodeContainer) {
+                    nativeNodes.put((NativeNodeContainer)nextNode, sub);
+                    continue;
+                }
                 ExecutionMonitor subExec = execMon.createSubProgress(progRatio);
                 execMon.setMessage(nextNode.getNameWithID());
-                NodeSettingsWO sub = nodesSettings.addNodeSettings("node_" + id);
                 saveNodeContainer(sub, workflowDirRef, nextNode, subExec, saveHelper);
                 subExec.setProgress(1.0);
             }
+            ParallelNodeContainerSaver.save(nativeNodes, workflowDirRef,
+                execMon.createSubProgress(progRatio * nativeNodes.size()), saveHelper);
 
             execMon.setMessage("connection information");
             NodeSettingsWO connSettings = saveSettingsForConnections(preFilledSettings);
@@ -55,7 +55,9 @@
  */
 public interface LoopEndParallelizeNode extends LoopEndNode {
 
-    /** Set master object holding all parallel chunks.
+    /** Set master object holding all parallel chunks. The chunk results should be collected using
+     * {@link org.knime.core.node.workflow.virtual.parchunk.ParallelizedChunkContent#adoptOutportContent(
+     * org.knime.core.node.ExecutionContext)} so they can be concatenated without copying.
      *
      * @param pcm
      */
@@ -57,6 +57,9 @@
 public interface LoopStartParallelizeNode extends LoopStartNode {
 
     /**
+     * Table chunks should be views on the input table rather than copies where possible, see
+     * {@link org.knime.core.node.ExecutionContext#createRowRangeTables(org.knime.core.node.BufferedDataTable, long[],
+     * org.knime.core.node.ExecutionMonitor)}.
      * @param chunkIndex index
      * @return virtual input node for the given chunk
      */
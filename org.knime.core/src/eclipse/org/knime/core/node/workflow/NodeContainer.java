@@ -131,7 +131,8 @@ public boolean executionInProgress() {
         }
     };
 
-    private InternalNodeContainerState m_state;
+    /** Current state; volatile as it is read without holding the workflow lock. */
+    private volatile InternalNodeContainerState m_state;
 
     private final NodeID m_id;
 
@@ -0,0 +1,310 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.workflow;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.WorkflowPersistor.LoadResult;
+import org.knime.core.util.HelperThreads;
+
+/**
+ * Runs the first load step of a workflow's nodes, {@link NodeContainerPersistor#loadNodeContainer(Map,
+ * ExecutionMonitor, LoadResult)} (reading settings, port objects and internals from disc), concurrently before the
+ * {@link WorkflowManager} connects and configures the nodes one by one in breadth first order.
+ *
+ * <p>Only native nodes loaded from file take part. A node is loaded once all its predecessors are loaded as its
+ * tables may reference tables of upstream nodes; nodes downstream of metanodes or components are left to the
+ * sequential load. The work is done by the calling thread, which is joined by helpers from the
+ * {@link KNIMEConstants#GLOBAL_THREAD_POOL} as long as that pool has free capacity. The concurrent load can be
+ * switched off with the {@link KNIMEConstants#PROPERTY_DISABLE_PARALLEL_WORKFLOW_LOAD} property.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ParallelNodeContainerLoader {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ParallelNodeContainerLoader.class);
+
+    /** Outcome of loading a single node, picked up by the sequential part of the workflow load. */
+    static final class LoadedNode {
+
+        private final LoadResult m_loadResult;
+
+        private final boolean m_isFailed;
+
+        private LoadedNode(final LoadResult loadResult, final boolean isFailed) {
+            m_loadResult = loadResult;
+            m_isFailed = isFailed;
+        }
+
+        /** @return the load result the errors and warnings of the node were added to. */
+        LoadResult getLoadResult() {
+            return m_loadResult;
+        }
+
+        /** @return true if loading the node failed with an exception, the node then needs to be reset. */
+        boolean isFailed() {
+            return m_isFailed;
+        }
+    }
+
+    private final Map<NodeID, NodeContainer> m_nodeContainers;
+
+    private final Map<NodeID, NodeContainerPersistor> m_persistorMap;
+
+    /** Synchronized view on the table repository, nodes of independent branches add their tables concurrently. */
+    private final Map<Integer, BufferedDataTable> m_tblRep;
+
+    private final ExecutionMonitor m_exec;
+
+    /** Successors of a node that are loaded concurrently, too. */
+    private final Map<NodeID, Set<NodeID>> m_successors;
+
+    /** Number of predecessors of a node that are not loaded yet; guarded by this. */
+    private final Map<NodeID, Integer> m_pendingPredecessorCounts;
+
+    /** Nodes whose predecessors are all loaded; guarded by this. */
+    private final Deque<NodeID> m_readyNodes;
+
+    /** Guarded by this. */
+    private final Map<NodeID, LoadedNode> m_loadedNodes;
+
+    /** Number of nodes not loaded yet; guarded by this. */
+    private int m_remainingCount;
+
+    /** Set when loading was canceled or the load has been abandoned; guarded by this. */
+    private boolean m_isAborted;
+
+    /** The cancellation that caused the abort, if any; guarded by this. */
+    private CanceledExecutionException m_canceledException;
+
+    private ParallelNodeContainerLoader(final WorkflowManager wfm, final Workflow workflow,
+        final Collection<NodeID> bfsSortedIDs, final Map<NodeID, NodeContainerPersistor> persistorMap,
+        final CredentialsStore credentialsStore, final Map<Integer, BufferedDataTable> tblRep,
+        final ExecutionMonitor exec) {
+        m_nodeContainers = new LinkedHashMap<>();
+        m_persistorMap = persistorMap;
+        m_tblRep = Collections.synchronizedMap(tblRep);
+        m_exec = exec;
+        m_successors = new HashMap<>();
+        m_pendingPredecessorCounts = new HashMap<>();
+        m_readyNodes = new ArrayDeque<>();
+        m_loadedNodes = new HashMap<>();
+        // predecessors come first in breadth first order, a node qualifies if all its predecessors qualify
+        for (NodeID id : bfsSortedIDs) {
+            if (!(persistorMap.get(id) instanceof FileNativeNodeContainerPersistor)) {
+                continue;
+            }
+            Set<NodeID> predecessors = new LinkedHashSet<>();
+            boolean isEligible = true;
+            for (ConnectionContainer cc : workflow.getConnectionsByDest(id)) {
+                NodeID source = cc.getSource();
+                if (source.equals(wfm.getID())) {
+                    continue;
+                }
+                if (!m_nodeContainers.containsKey(source)) {
+                    isEligible = false;
+                    break;
+                }
+                predecessors.add(source);
+            }
+            if (!isEligible) {
+                continue;
+            }
+            NodeContainer cont = wfm.getNodeContainer(id);
+            // initialize node container with CredentialsStore, the sequential load does the same later on
+            ((SingleNodeContainer)cont).setCredentialsStore(credentialsStore);
+            m_nodeContainers.put(id, cont);
+            m_successors.put(id, new LinkedHashSet<>());
+            for (NodeID predecessor : predecessors) {
+                m_successors.get(predecessor).add(id);
+            }
+            m_pendingPredecessorCounts.put(id, predecessors.size());
+            if (predecessors.isEmpty()) {
+                m_readyNodes.add(id);
+            }
+        }
+        m_remainingCount = m_nodeContainers.size();
+    }
+
+    /**
+     * Loads the eligible nodes of the argument workflow concurrently.
+     *
+     * @param wfm the workflow being loaded
+     * @param workflow its node and connection container
+     * @param bfsSortedIDs the IDs of the nodes to load, in breadth first order
+     * @param persistorMap the persistors of the nodes to load
+     * @param credentialsStore the credentials store set on each loaded node
+     * @param tblRep the table repository of the load
+     * @param exec for cancellation
+     * @return the nodes that were loaded, mapped to their outcome; empty if the concurrent load is disabled or if
+     *         there is nothing to gain
+     * @throws CanceledExecutionException if canceled
+     */
+    static Map<NodeID, LoadedNode> load(final WorkflowManager wfm, final Workflow workflow,
+        final Collection<NodeID> bfsSortedIDs, final Map<NodeID, NodeContainerPersistor> persistorMap,
+        final CredentialsStore credentialsStore, final Map<Integer, BufferedDataTable> tblRep,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        // read on each load (not cached) so that it can be switched at runtime, e.g. by test cases
+        if (Boolean.getBoolean(KNIMEConstants.PROPERTY_DISABLE_PARALLEL_WORKFLOW_LOAD)
+            || KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads() < 2) {
+            return Collections.emptyMap();
+        }
+        ParallelNodeContainerLoader loader = new ParallelNodeContainerLoader(
+            wfm, workflow, bfsSortedIDs, persistorMap, credentialsStore, tblRep, exec);
+        if (loader.m_remainingCount < 2) {
+            return Collections.emptyMap();
+        }
+        return loader.run();
+    }
+
+    private Map<NodeID, LoadedNode> run() throws CanceledExecutionException {
+        final int helperCount =
+            Math.min(KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads(), m_nodeContainers.size()) - 1;
+        // all helpers must be finished before the sequential load continues with the shared table repository
+        HelperThreads.run(KNIMEConstants.GLOBAL_THREAD_POOL, helperCount, this::loadReadyNodes);
+        synchronized (this) {
+            if (m_canceledException != null) {
+                throw m_canceledException;
+            }
+            return m_loadedNodes;
+        }
+    }
+
+    /** Loads nodes as they become ready until all nodes are loaded or the load is aborted. */
+    private void loadReadyNodes() {
+        boolean isCompleted = false;
+        try {
+            NodeID id;
+            while ((id = nextReadyNode()) != null) {
+                onNodeLoaded(id, loadNode(id));
+            }
+            isCompleted = true;
+        } catch (CanceledExecutionException e) {
+            synchronized (this) {
+                if (m_canceledException == null) {
+                    m_canceledException = e;
+                }
+            }
+        } finally {
+            if (!isCompleted) {
+                // canceled or failed with an error: don't leave the other threads waiting for this node
+                synchronized (this) {
+                    m_isAborted = true;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /** @return the next node to load or null if all nodes are loaded or the load is aborted. */
+    private synchronized NodeID nextReadyNode() {
+        while (m_readyNodes.isEmpty() && m_remainingCount > 0 && !m_isAborted) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (m_canceledException == null) {
+                    m_canceledException = new CanceledExecutionException("Interrupted while loading nodes");
+                }
+                m_isAborted = true;
+                notifyAll();
+            }
+        }
+        return m_isAborted ? null : m_readyNodes.poll();
+    }
+
+    private synchronized void onNodeLoaded(final NodeID id, final LoadedNode loadedNode) {
+        m_loadedNodes.put(id, loadedNode);
+        m_remainingCount--;
+        // successors are loaded even if this node failed, just as in the sequential load (they get reset later)
+        for (NodeID successor : m_successors.get(id)) {
+            if (m_pendingPredecessorCounts.merge(successor, -1, Integer::sum) == 0) {
+                m_readyNodes.add(successor);
+            }
+        }
+        notifyAll();
+    }
+
+    private LoadedNode loadNode(final NodeID id) throws CanceledExecutionException {
+        m_exec.checkCanceled();
+        NodeContainer cont = m_nodeContainers.get(id);
+        LoadResult loadResult = new LoadResult(cont.getNameWithID());
+        boolean isFailed = false;
+        NodeContext.pushContext(cont);
+        try {
+            m_persistorMap.get(id).loadNodeContainer(m_tblRep, m_exec.createSilentSubProgress(0.0), loadResult);
+        } catch (CanceledExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            if (!(e instanceof InvalidSettingsException) && !(e instanceof IOException)) {
+                LOGGER.error("Caught unexpected \"" + e.getClass().getSimpleName() + "\" during node loading", e);
+            }
+            loadResult.addError("Errors loading, skipping it: " + e.getMessage());
+            isFailed = true;
+        } finally {
+            NodeContext.removeLastContext();
+        }
+        return new LoadedNode(loadResult, isFailed);
+    }
+
+}
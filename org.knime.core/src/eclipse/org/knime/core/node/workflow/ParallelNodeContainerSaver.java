@@ -0,0 +1,179 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.node.workflow;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.knime.core.internal.ReferencedFile;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.util.HelperThreads;
+import org.knime.core.util.LockFailedException;
+
+/**
+ * Writes the native nodes of a workflow concurrently as part of
+ * {@link FileWorkflowPersistor#save(WorkflowManager, ReferencedFile, ExecutionMonitor, WorkflowSaveHelper)}. Each
+ * native node is saved into its own directory and doesn't depend on other nodes (unchanged nodes are skipped by
+ * {@link FileSingleNodeContainerPersistor} anyway). Metanodes and components are not handled here, they are saved by
+ * the calling thread.
+ *
+ * <p>The work is done by the calling thread, which is joined by helpers from the
+ * {@link KNIMEConstants#GLOBAL_THREAD_POOL} as long as that pool has free capacity. The concurrent save can be
+ * switched off with the {@link KNIMEConstants#PROPERTY_DISABLE_PARALLEL_WORKFLOW_SAVE} property.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ParallelNodeContainerSaver {
+
+    private final ReferencedFile m_workflowDirRef;
+
+    private final ExecutionMonitor m_exec;
+
+    private final WorkflowSaveHelper m_saveHelper;
+
+    private final int m_nodeCount;
+
+    /** Nodes not yet taken by any thread, mapped to the settings they are saved to; guarded by this. */
+    private final Iterator<Map.Entry<NativeNodeContainer, NodeSettingsWO>> m_pendingNodes;
+
+    /** Number of saved nodes; guarded by this. */
+    private int m_savedCount;
+
+    /** The first failure, stops all threads from taking further nodes; guarded by this. */
+    private Exception m_failure;
+
+    private ParallelNodeContainerSaver(final Map<NativeNodeContainer, NodeSettingsWO> nodes,
+        final ReferencedFile workflowDirRef, final ExecutionMonitor exec, final WorkflowSaveHelper saveHelper) {
+        m_workflowDirRef = workflowDirRef;
+        m_exec = exec;
+        m_saveHelper = saveHelper;
+        m_nodeCount = nodes.size();
+        m_pendingNodes = nodes.entrySet().iterator();
+    }
+
+    /**
+     * Saves the argument nodes, concurrently if enabled and there is more than one.
+     *
+     * @param nodes the native nodes of the workflow, mapped to the (separate) settings each one is saved to
+     * @param workflowDirRef the directory of the workflow being saved
+     * @param exec for progress and cancellation
+     * @param saveHelper the save options
+     * @throws IOException if writing any of the nodes fails
+     * @throws CanceledExecutionException if canceled
+     * @throws LockFailedException if a node directory can't be locked
+     */
+    static void save(final Map<NativeNodeContainer, NodeSettingsWO> nodes, final ReferencedFile workflowDirRef,
+        final ExecutionMonitor exec, final WorkflowSaveHelper saveHelper)
+        throws IOException, CanceledExecutionException, LockFailedException {
+        ParallelNodeContainerSaver saver = new ParallelNodeContainerSaver(nodes, workflowDirRef, exec, saveHelper);
+        // read on each save (not cached) so that it can be switched at runtime, e.g. by test cases
+        final boolean isDisabled = Boolean.getBoolean(KNIMEConstants.PROPERTY_DISABLE_PARALLEL_WORKFLOW_SAVE);
+        final int helperCount = isDisabled ? 0
+            : Math.min(KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads(), nodes.size()) - 1;
+        // all helpers must be finished before the workflow file is written and the lock is released
+        HelperThreads.run(KNIMEConstants.GLOBAL_THREAD_POOL, helperCount, saver::saveNodes);
+        saver.rethrowFailure();
+        exec.setProgress(1.0);
+    }
+
+    /** Saves nodes until there are no more nodes or saving a node failed. */
+    private void saveNodes() {
+        boolean isCompleted = false;
+        try {
+            Map.Entry<NativeNodeContainer, NodeSettingsWO> next;
+            while ((next = nextNode()) != null) {
+                NativeNodeContainer nnc = next.getKey();
+                m_exec.checkCanceled();
+                FileWorkflowPersistor.saveNodeContainer(next.getValue(), m_workflowDirRef, nnc,
+                    m_exec.createSilentSubProgress(0.0), m_saveHelper);
+                onNodeSaved(nnc);
+            }
+            isCompleted = true;
+        } catch (IOException | CanceledExecutionException | LockFailedException e) {
+            onFailure(e);
+            isCompleted = true;
+        } finally {
+            if (!isCompleted) {
+                // failed with an unchecked exception or error (rethrown), stop the other threads
+                onFailure(null);
+            }
+        }
+    }
+
+    private synchronized Map.Entry<NativeNodeContainer, NodeSettingsWO> nextNode() {
+        return m_failure == null && m_pendingNodes.hasNext() ? m_pendingNodes.next() : null;
+    }
+
+    private synchronized void onNodeSaved(final NativeNodeContainer nnc) {
+        m_savedCount += 1;
+        m_exec.setProgress(m_savedCount / (double)m_nodeCount, nnc.getNameWithID());
+    }
+
+    private synchronized void onFailure(final Exception e) {
+        if (m_failure == null) {
+            m_failure = e != null ? e : new IllegalStateException("Saving nodes failed");
+        }
+    }
+
+    private synchronized void rethrowFailure() throws IOException, CanceledExecutionException, LockFailedException {
+        if (m_failure instanceof IOException) {
+            throw (IOException)m_failure;
+        } else if (m_failure instanceof CanceledExecutionException) {
+            throw (CanceledExecutionException)m_failure;
+        } else if (m_failure instanceof LockFailedException) {
+            throw (LockFailedException)m_failure;
+        } else if (m_failure != null) {
+            throw (RuntimeException)m_failure;
+        }
+    }
+
+}
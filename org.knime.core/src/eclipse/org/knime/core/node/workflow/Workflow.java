@@ -58,6 +58,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.port.MetaPortInfo;
@@ -90,6 +91,12 @@ class Workflow {
     private final Map<NodeID, Set<ConnectionContainer>> m_connectionsByDest
                                   = new TreeMap<NodeID, Set<ConnectionContainer>>();
 
+    /** Guards the node and connection maps above. Modifications are done while also holding the
+     * {@link WorkflowLock} but the structure can be read concurrently, e.g. to query connections of a node
+     * without contending on the workflow lock. Traversal methods in this class still expect the caller to hold the
+     * workflow lock. */
+    private final ReentrantReadWriteLock m_graphLock = new ReentrantReadWriteLock();
+
     private WorkflowManager m_wfm;
     private NodeID m_id;
 
@@ -141,7 +148,12 @@ NodeID createUniqueID() {
      * @return node with that id
      */
     NodeContainer getNode(final NodeID id) {
-        return m_nodes.get(id);
+        m_graphLock.readLock().lock();
+        try {
+            return m_nodes.get(id);
+        } finally {
+            m_graphLock.readLock().unlock();
+        }
     }
 
     /** Store NodeContainer with a given id.
@@ -149,12 +161,17 @@ NodeContainer getNode(final NodeID id) {
      * @param id of NC
      * @param nc NodeContainer itself
      */
-    synchronized void putNode(final NodeID id, final NodeContainer nc) {
-        // create Sets of in and outgoing connections
-        m_connectionsBySource.put(id, new LinkedHashSet<ConnectionContainer>());
-        m_connectionsByDest.put(id, new LinkedHashSet<ConnectionContainer>());
-        // and then add node (avoid inconsistent node - connection setup)
-        m_nodes.put(id, nc);
+    void putNode(final NodeID id, final NodeContainer nc) {
+        m_graphLock.writeLock().lock();
+        try {
+            // create Sets of in and outgoing connections
+            m_connectionsBySource.put(id, new LinkedHashSet<ConnectionContainer>());
+            m_connectionsByDest.put(id, new LinkedHashSet<ConnectionContainer>());
+            // and then add node (avoid inconsistent node - connection setup)
+            m_nodes.put(id, nc);
+        } finally {
+            m_graphLock.writeLock().unlock();
+        }
         clearGraphAnnotationCache();
     }
 
@@ -163,46 +180,71 @@ synchronized void putNode(final NodeID id, final NodeContainer nc) {
      * @param id of NodeContainer to be removed.
      * @return removed NodeContainer
      */
-    synchronized NodeContainer removeNode(final NodeID id) {
-        // remove node
-        NodeContainer node = m_nodes.remove(id);
-        // and then clean up the connection lists  (avoid inconsistent node - connection setup)
-        m_connectionsBySource.remove(id);
-        m_connectionsByDest.remove(id);
+    NodeContainer removeNode(final NodeID id) {
+        NodeContainer node;
+        m_graphLock.writeLock().lock();
+        try {
+            // remove node
+            node = m_nodes.remove(id);
+            // and then clean up the connection lists  (avoid inconsistent node - connection setup)
+            m_connectionsBySource.remove(id);
+            m_connectionsByDest.remove(id);
+        } finally {
+            m_graphLock.writeLock().unlock();
+        }
         clearGraphAnnotationCache();
         // and return removed node container
         return node;
     }
 
     /**
-     * @return collection of all NodeContainers that are part of this workflow.
+     * @return unmodifiable copy of all NodeContainers that are part of this workflow (in the order of their IDs), it
+     *         can be iterated without holding the workflow lock.
      */
-    synchronized Collection<NodeContainer> getNodeValues() {
-        Collection<NodeContainer> cnc = m_nodes.values();
-        return Collections.unmodifiableCollection(cnc);
+    Collection<NodeContainer> getNodeValues() {
+        m_graphLock.readLock().lock();
+        try {
+            return Collections.unmodifiableList(new ArrayList<NodeContainer>(m_nodes.values()));
+        } finally {
+            m_graphLock.readLock().unlock();
+        }
     }
 
     /**
-     * @return unmodifiable collection of all NodeIDs that are part of this workflow.
+     * @return unmodifiable copy of all NodeIDs that are part of this workflow (sorted), see {@link #getNodeValues()}.
      */
-    synchronized Set<NodeID> getNodeIDs() {
-        Set<NodeID> sn = m_nodes.keySet();
-        return Collections.unmodifiableSet(sn);
+    Set<NodeID> getNodeIDs() {
+        m_graphLock.readLock().lock();
+        try {
+            return Collections.unmodifiableSet(new LinkedHashSet<NodeID>(m_nodes.keySet()));
+        } finally {
+            m_graphLock.readLock().unlock();
+        }
     }
 
     /**
      * @return number of nodes
      */
-    synchronized int getNrNodes() {
-        return m_nodes.size();
+    int getNrNodes() {
+        m_graphLock.readLock().lock();
+        try {
+            return m_nodes.size();
+        } finally {
+            m_graphLock.readLock().unlock();
+        }
     }
 
     /**
      * @param id of node.
      * @return true of a node with this key already exists.
      */
-    synchronized boolean containsNodeKey(final NodeID id) {
-        return m_nodes.containsKey(id);
+    boolean containsNodeKey(final NodeID id) {
+        m_graphLock.readLock().lock();
+        try {
+            return m_nodes.containsKey(id);
+        } finally {
+            m_graphLock.readLock().unlock();
+        }
     }
 
     /** Return all connections having the same destination.
@@ -210,9 +252,14 @@ synchronized boolean containsNodeKey(final NodeID id) {
      * @param id of destination node
      * @return set as described above
      */
-    synchronized Set<ConnectionContainer> getConnectionsByDest(final NodeID id) {
-        Set<ConnectionContainer> scc = m_connectionsByDest.get(id);
-        return scc == null ? null : Collections.unmodifiableSet(scc);
+    Set<ConnectionContainer> getConnectionsByDest(final NodeID id) {
+        m_graphLock.readLock().lock();
+        try {
+            Set<ConnectionContainer> scc = m_connectionsByDest.get(id);
+            return scc == null ? null : Collections.unmodifiableSet(scc);
+        } finally {
+            m_graphLock.readLock().unlock();
+        }
     }
 
     /** Return all connections having the same destination.
@@ -220,18 +267,75 @@ synchronized Set<ConnectionContainer> getConnectionsByDest(final NodeID id) {
      * @param id of destination node
      * @return set as described above
      */
-    synchronized Set<ConnectionContainer> getConnectionsBySource(final NodeID id) {
-        Set<ConnectionContainer> scc = m_connectionsBySource.get(id);
-        return scc == null ? null : Collections.unmodifiableSet(scc);
+    Set<ConnectionContainer> getConnectionsBySource(final NodeID id) {
+        m_graphLock.readLock().lock();
+        try {
+            Set<ConnectionContainer> scc = m_connectionsBySource.get(id);
+            return scc == null ? null : Collections.unmodifiableSet(scc);
+        } finally {
+            m_graphLock.readLock().unlock();
+        }
+    }
+
+    /** Copy of the connections having the given destination. Unlike {@link #getConnectionsByDest(NodeID)} the
+     * result is not a view and can be used without holding the workflow lock.
+     *
+     * @param id of destination node
+     * @return a new set or null if the node is unknown
+     */
+    Set<ConnectionContainer> copyConnectionsByDest(final NodeID id) {
+        m_graphLock.readLock().lock();
+        try {
+            Set<ConnectionContainer> scc = m_connectionsByDest.get(id);
+            return scc == null ? null : new LinkedHashSet<ConnectionContainer>(scc);
+        } finally {
+            m_graphLock.readLock().unlock();
+        }
+    }
+
+    /** Copy of the connections having the given source, see {@link #copyConnectionsByDest(NodeID)}.
+     *
+     * @param id of source node
+     * @return a new set or null if the node is unknown
+     */
+    Set<ConnectionContainer> copyConnectionsBySource(final NodeID id) {
+        m_graphLock.readLock().lock();
+        try {
+            Set<ConnectionContainer> scc = m_connectionsBySource.get(id);
+            return scc == null ? null : new LinkedHashSet<ConnectionContainer>(scc);
+        } finally {
+            m_graphLock.readLock().unlock();
+        }
     }
 
     /**
      * @return a collection of sets of ConnectionContainers, grouped by
      *   source node ID.
      */
-    synchronized Collection<Set<ConnectionContainer>> getConnectionsBySourceValues() {
-        Collection<Set<ConnectionContainer>> cscc = m_connectionsBySource.values();
-        return cscc == null ? null : Collections.unmodifiableCollection(cscc);
+    Collection<Set<ConnectionContainer>> getConnectionsBySourceValues() {
+        m_graphLock.readLock().lock();
+        try {
+            Collection<Set<ConnectionContainer>> cscc = m_connectionsBySource.values();
+            return cscc == null ? null : Collections.unmodifiableCollection(cscc);
+        } finally {
+            m_graphLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return a new set of all connections in this workflow, see {@link #copyConnectionsByDest(NodeID)}.
+     */
+    Set<ConnectionContainer> copyAllConnections() {
+        m_graphLock.readLock().lock();
+        try {
+            Set<ConnectionContainer> result = new LinkedHashSet<ConnectionContainer>();
+            for (Set<ConnectionContainer> scc : m_connectionsBySource.values()) {
+                result.addAll(scc);
+            }
+            return result;
+        } finally {
+            m_graphLock.readLock().unlock();
+        }
     }
 
     /** Remove a connection.
@@ -239,15 +343,20 @@ synchronized Collection<Set<ConnectionContainer>> getConnectionsBySourceValues()
      * @param cc the connection to be removed.
      * @throws IllegalArgumentException if connection does not exist.
      */
-    synchronized void removeConnection(final ConnectionContainer cc) throws IllegalArgumentException {
+    void removeConnection(final ConnectionContainer cc) throws IllegalArgumentException {
         clearGraphAnnotationCache();
-        // 1) try to delete it from set of outgoing connections
-        if (!m_connectionsBySource.get(cc.getSource()).remove(cc)) {
-            throw new IllegalArgumentException("Connection does not exist!");
-        }
-        // 2) remove connection from set of ingoing connections
-        if (!m_connectionsByDest.get(cc.getDest()).remove(cc)) {
-            throw new IllegalArgumentException("Connection did not exist (it did exist as outcoming conn.)!");
+        m_graphLock.writeLock().lock();
+        try {
+            // 1) try to delete it from set of outgoing connections
+            if (!m_connectionsBySource.get(cc.getSource()).remove(cc)) {
+                throw new IllegalArgumentException("Connection does not exist!");
+            }
+            // 2) remove connection from set of ingoing connections
+            if (!m_connectionsByDest.get(cc.getDest()).remove(cc)) {
+                throw new IllegalArgumentException("Connection did not exist (it did exist as outcoming conn.)!");
+            }
+        } finally {
+            m_graphLock.writeLock().unlock();
         }
     }
 
@@ -256,15 +365,20 @@ synchronized void removeConnection(final ConnectionContainer cc) throws IllegalA
     * @param cc the connection to be added.
     * @throws IllegalArgumentException if connection cannot be added.
     */
-    synchronized void addConnection(final ConnectionContainer cc) throws IllegalArgumentException {
+    void addConnection(final ConnectionContainer cc) throws IllegalArgumentException {
         clearGraphAnnotationCache();
-        // 1) try to insert it into set of outgoing connections
-        if (!m_connectionsBySource.get(cc.getSource()).add(cc)) {
-            throw new IllegalArgumentException("Connection already exists!");
-        }
-        // 2) insert connection into set of ingoing connections
-        if (!m_connectionsByDest.get(cc.getDest()).add(cc)) {
-            throw new IllegalArgumentException("Connection already exists (oddly enough only as incoming)!");
+        m_graphLock.writeLock().lock();
+        try {
+            // 1) try to insert it into set of outgoing connections
+            if (!m_connectionsBySource.get(cc.getSource()).add(cc)) {
+                throw new IllegalArgumentException("Connection already exists!");
+            }
+            // 2) insert connection into set of ingoing connections
+            if (!m_connectionsByDest.get(cc.getDest()).add(cc)) {
+                throw new IllegalArgumentException("Connection already exists (oddly enough only as incoming)!");
+            }
+        } finally {
+            m_graphLock.writeLock().unlock();
         }
     }
 
@@ -74,7 +74,11 @@ public final class WorkflowLock implements AutoCloseable {
     private final ReentrantLock m_reentrantLock;
     private final WorkflowManager m_wfm;
 
-    private boolean m_checkForNodeStateChanges;
+    private volatile boolean m_checkForNodeStateChanges;
+
+    /** Whether the state of the workflow as stored in the node container is current, i.e. no state check is queued
+     * or in progress. Read without holding the lock, see {@link #getWFMInternalStateIfUpToDate()}. */
+    private volatile boolean m_isStateUpToDate = true;
     private boolean m_propagateChanges;
 
     /** For each thread doing something with this {@link WorkflowLock} a counter how often the thread went through
@@ -159,6 +163,8 @@ public void unlock() {
                 m_propagateChanges = false;
                 m_checkForNodeStateChanges = false;
                 m_wfm.setInternalStateAfterLockRelease(m_wfm.computeNewState(), propagateChanges);
+                // a listener may have queued another check while setting the state
+                m_isStateUpToDate = !m_checkForNodeStateChanges;
             }
         } finally {
             m_reentrantLock.unlock();
@@ -178,6 +184,13 @@ InternalNodeContainerState getWFMInternalState() {
         return m_checkForNodeStateChanges ? m_wfm.computeNewState() : m_wfm.getMostRecentInternalState();
     }
 
+    /** Lock-free variant of {@link #getWFMInternalState()} for threads not holding the lock.
+     * @return The state of the workflow or null if a state check is pending, in which case the caller needs to
+     * acquire the lock and use {@link #getWFMInternalState()}. */
+    InternalNodeContainerState getWFMInternalStateIfUpToDate() {
+        return m_isStateUpToDate ? m_wfm.getMostRecentInternalState() : null;
+    }
+
     /** Queues a state update check and notification when the lock is finally released by the calling thread.
      * This method is to be called when the lock is hold by the calling thread.
      * @param propagateChanges Whether to propagate state changes to the parent workflow (if any)
@@ -185,6 +198,7 @@ InternalNodeContainerState getWFMInternalState() {
      */
     void queueCheckForNodeStateChangeNotification(final boolean propagateChanges) {
         assert m_reentrantLock.isHeldByCurrentThread() : "Can't queue state check - lock not held by current thread";
+        m_isStateUpToDate = false;
         m_checkForNodeStateChanges = true;
         if (propagateChanges) {
             m_propagateChanges = true;
@@ -296,6 +296,9 @@ public Thread newThread(final Runnable r) {
     /** When and by whom was workflow changed, null if not saved yet. */
     private AuthorInformation m_authorInformation;
 
+    /** Whether tables are saved uncompressed and memory-mapped when the workflow is loaded (projects only). */
+    private boolean m_isMemoryMappedTables;
+
     /**
      * Template information encapsulating template source URI and reference date. This field is
      * {@link MetaNodeTemplateInformation#NONE} for workflow projects and metanodes, which are not used as linked
@@ -501,6 +504,7 @@ private NodeContainerParent assertParentAssignments(final NodeContainerParent di
         m_editorInfo = persistor.getEditorUIInformation();
         m_templateInformation = persistor.getTemplateInformation();
         m_authorInformation = persistor.getAuthorInformation();
+        m_isMemoryMappedTables = persistor.isMemoryMappedTables();
         m_loadVersion = persistor.getLoadVersion();
         m_workflowVariables = new Vector<FlowVariable>(persistor.getWorkflowVariables());
         m_credentialsStore = new CredentialsStore(this, persistor.getCredentials());
@@ -1377,19 +1381,18 @@ public void removeConnection(final ConnectionContainer cc) {
      * @return all outgoing connections for the passed node at the specified port
      */
     public Set<ConnectionContainer> getOutgoingConnectionsFor(final NodeID id, final int portIdx) {
-        try (WorkflowLock lock = lock()) {
-            Set<ConnectionContainer> outConnections = m_workflow.getConnectionsBySource(id);
-            Set<ConnectionContainer> outConsForPort = new HashSet<ConnectionContainer>();
-            if (outConnections == null) {
-                return outConsForPort;
-            }
-            for (ConnectionContainer cont : outConnections) {
-                if (cont.getSourcePort() == portIdx) {
-                    outConsForPort.add(cont);
-                }
-            }
+        // copy of the connection set, no need to acquire the workflow lock (graph structure is guarded separately)
+        Set<ConnectionContainer> outConnections = m_workflow.copyConnectionsBySource(id);
+        Set<ConnectionContainer> outConsForPort = new HashSet<ConnectionContainer>();
+        if (outConnections == null) {
             return outConsForPort;
         }
+        for (ConnectionContainer cont : outConnections) {
+            if (cont.getSourcePort() == portIdx) {
+                outConsForPort.add(cont);
+            }
+        }
+        return outConsForPort;
     }
 
     /**
@@ -1400,10 +1403,11 @@ public Set<ConnectionContainer> getOutgoingConnectionsFor(final NodeID id, final
      * @throws IllegalArgumentException If the node is unknown or null.
      */
     public Set<ConnectionContainer> getOutgoingConnectionsFor(final NodeID id) {
-        try (WorkflowLock lock = lock()) {
+        Set<ConnectionContainer> outConnections = m_workflow.copyConnectionsBySource(id);
+        if (outConnections == null) {
             getNodeContainer(id); // for exception handling
-            return new LinkedHashSet<ConnectionContainer>(m_workflow.getConnectionsBySource(id));
         }
+        return outConnections;
     }
 
     /**
@@ -1414,13 +1418,11 @@ public Set<ConnectionContainer> getOutgoingConnectionsFor(final NodeID id) {
      * @return incoming connection at that port of the given node or null if it doesn't exist
      */
     public ConnectionContainer getIncomingConnectionFor(final NodeID id, final int portIdx) {
-        try (WorkflowLock lock = lock()) {
-            Set<ConnectionContainer> inConns = m_workflow.getConnectionsByDest(id);
-            if (inConns != null) {
-                for (ConnectionContainer cont : inConns) {
-                    if (cont.getDestPort() == portIdx) {
-                        return cont;
-                    }
+        Set<ConnectionContainer> inConns = m_workflow.copyConnectionsByDest(id);
+        if (inConns != null) {
+            for (ConnectionContainer cont : inConns) {
+                if (cont.getDestPort() == portIdx) {
+                    return cont;
                 }
             }
         }
@@ -1435,10 +1437,11 @@ public ConnectionContainer getIncomingConnectionFor(final NodeID id, final int p
      * @throws IllegalArgumentException If the node is unknown or null.
      */
     public Set<ConnectionContainer> getIncomingConnectionsFor(final NodeID id) {
-        try (WorkflowLock lock = lock()) {
+        Set<ConnectionContainer> inConnections = m_workflow.copyConnectionsByDest(id);
+        if (inConnections == null) {
             getNodeContainer(id); // for exception handling
-            return new LinkedHashSet<ConnectionContainer>(m_workflow.getConnectionsByDest(id));
         }
+        return inConnections;
     }
 
     /**
@@ -1448,9 +1451,7 @@ public Set<ConnectionContainer> getIncomingConnectionsFor(final NodeID id) {
      * @return the connection with the specified id
      */
     public ConnectionContainer getConnection(final ConnectionID id) {
-        try (WorkflowLock lock = lock()) {
-            return getIncomingConnectionFor(id.getDestinationNode(), id.getDestinationPort());
-        }
+        return getIncomingConnectionFor(id.getDestinationNode(), id.getDestinationPort());
     }
 
     /**
@@ -6286,13 +6287,7 @@ public Collection<NodeContainer> getNodeContainers() {
      * @return collection of ConnectionContainer in this WFM
      */
     public Collection<ConnectionContainer> getConnectionContainers() {
-        Set<ConnectionContainer> result = new LinkedHashSet<ConnectionContainer>();
-        for (Set<ConnectionContainer> s : m_workflow.getConnectionsBySourceValues()) {
-            if (s != null) {
-                result.addAll(s);
-            }
-        }
-        return result;
+        return m_workflow.copyAllConnections();
     }
 
     /**
@@ -7422,6 +7417,33 @@ public AuthorInformation getAuthorInformation() {
         return m_authorInformation;
     }
 
+    /**
+     * Whether the data of tables is saved uncompressed with this workflow. These tables are not extracted to the temp
+     * folder when the workflow is loaded but read through memory-mapped files, which is faster when re-opening large
+     * workflows and lets concurrent iterations share the operating system's page cache (at the cost of larger
+     * workflows on disc). Only used for projects, nodes in metanodes and components use the project's property.
+     *
+     * @return that property
+     * @since 3.6
+     */
+    public boolean isMemoryMappedTables() {
+        return m_isMemoryMappedTables;
+    }
+
+    /**
+     * Sets the property described in {@link #isMemoryMappedTables()}. Takes effect for nodes that are saved
+     * afterwards, a change marks the workflow dirty.
+     *
+     * @param value the new value
+     * @since 3.6
+     */
+    public void setMemoryMappedTables(final boolean value) {
+        if (value != m_isMemoryMappedTables) {
+            m_isMemoryMappedTables = value;
+            setDirty();
+        }
+    }
+
     /**
      * @param directory The directory to load from
      * @param exec The execution monitor
@@ -7794,14 +7816,20 @@ private void postLoad(final Map<NodeID, NodeContainerPersistor> persistorMap,
         // had NPE below - adding this line to get better debug information
         CheckUtils.checkArgumentNotNull(nodeIDsInPersistorSet,
             "NodeID list from persistor must not be null for workflow %s", getNameWithID());
-        for (NodeID bfsID : m_workflow.createBreadthFirstSortedList(nodeIDsInPersistorSet, true).keySet()) {
+        final Set<NodeID> bfsSortedIDs = m_workflow.createBreadthFirstSortedList(nodeIDsInPersistorSet, true).keySet();
+        // first load step (settings, port objects, internals) of independent native nodes is run concurrently
+        final Map<NodeID, ParallelNodeContainerLoader.LoadedNode> loadedNodes = ParallelNodeContainerLoader.load(
+            this, m_workflow, bfsSortedIDs, persistorMap, m_credentialsStore, tblRep, exec);
+        for (NodeID bfsID : bfsSortedIDs) {
             NodeContainer cont = getNodeContainer(bfsID);
             // initialize node container with CredentialsStore
             if (cont instanceof SingleNodeContainer) {
                 SingleNodeContainer snc = (SingleNodeContainer)cont;
                 snc.setCredentialsStore(m_credentialsStore);
             }
-            LoadResult subResult = new LoadResult(cont.getNameWithID());
+            final ParallelNodeContainerLoader.LoadedNode loadedNode = loadedNodes.get(bfsID);
+            LoadResult subResult =
+                loadedNode != null ? loadedNode.getLoadResult() : new LoadResult(cont.getNameWithID());
             boolean isFullyConnected = isFullyConnected(bfsID);
             boolean needsReset;
             switch (cont.getInternalState()) {
@@ -7850,19 +7878,24 @@ private void postLoad(final Map<NodeID, NodeContainerPersistor> persistorMap,
             // two steps below: loadNodeContainer and loadContent
             ExecutionMonitor sub1 = exec.createSubProgress(1.0 / (2 * m_workflow.getNrNodes()));
             ExecutionMonitor sub2 = exec.createSubProgress(1.0 / (2 * m_workflow.getNrNodes()));
-            NodeContext.pushContext(cont);
-            try {
-                persistor.loadNodeContainer(tblRep, sub1, subResult);
-            } catch (CanceledExecutionException e) {
-                throw e;
-            } catch (Exception e) {
-                if (!(e instanceof InvalidSettingsException) && !(e instanceof IOException)) {
-                    LOGGER.error("Caught unexpected \"" + e.getClass().getSimpleName() + "\" during node loading", e);
+            if (loadedNode != null) {
+                needsReset |= loadedNode.isFailed();
+            } else {
+                NodeContext.pushContext(cont);
+                try {
+                    persistor.loadNodeContainer(tblRep, sub1, subResult);
+                } catch (CanceledExecutionException e) {
+                    throw e;
+                } catch (Exception e) {
+                    if (!(e instanceof InvalidSettingsException) && !(e instanceof IOException)) {
+                        LOGGER.error(
+                            "Caught unexpected \"" + e.getClass().getSimpleName() + "\" during node loading", e);
+                    }
+                    subResult.addError("Errors loading, skipping it: " + e.getMessage());
+                    needsReset = true;
+                } finally {
+                    NodeContext.removeLastContext();
                 }
-                subResult.addError("Errors loading, skipping it: " + e.getMessage());
-                needsReset = true;
-            } finally {
-                NodeContext.removeLastContext();
             }
             sub1.setProgress(1.0);
             // if cont == isolated metanodes, then we need to block that metanode as well
@@ -8462,6 +8495,14 @@ public void setDirty() {
      */
     @Override
     InternalNodeContainerState getInternalState() {
+        if (!m_workflowLock.isHeldByCurrentThread()) {
+            // fast path for threads not modifying the workflow (e.g. UI, remote job managers) -- avoids contending on
+            // the lock, which is shared with all metanodes and components, if no state update is pending
+            InternalNodeContainerState state = m_workflowLock.getWFMInternalStateIfUpToDate();
+            if (state != null) {
+                return state;
+            }
+        }
         try (WorkflowLock lock = lock()) {
             return lock.getWFMInternalState();
         }
@@ -208,6 +208,14 @@ public interface WorkflowPersistor extends NodeContainerPersistor {
      */
     public AuthorInformation getAuthorInformation();
 
+    /** Whether tables of the workflow are saved uncompressed and memory-mapped when loaded, only used for projects.
+     * @return that property, false by default (for persistors that don't carry workflow settings)
+     * @since 3.6
+     */
+    public default boolean isMemoryMappedTables() {
+        return false;
+    }
+
     /** Open decryption stream for locked metanodes. Implementations will
      * also call the decipher method on their parent workflow persistors.
      * @param input The input to decipher.
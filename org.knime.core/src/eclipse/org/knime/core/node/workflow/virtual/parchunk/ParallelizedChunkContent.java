@@ -48,8 +48,19 @@
  */
 package org.knime.core.node.workflow.virtual.parchunk;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.Node;
 import org.knime.core.node.port.PortObject;
+import org.knime.core.node.workflow.NativeNodeContainer;
+import org.knime.core.node.workflow.NodeContainer;
 import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.SubNodeContainer;
 import org.knime.core.node.workflow.WorkflowManager;
 
 /**
@@ -174,4 +185,48 @@ public PortObject[] getOutportContent() {
                 m_virtualOutputID, VirtualParallelizedChunkPortObjectOutNodeModel.class);
         return vpoonm.getOutObjects();
     }
+
+    /**
+     * Returns the content of the virtual output node like {@link #getOutportContent()}, whereby the tables created
+     * by the nodes of this chunk are taken over by the node of the argument context (see
+     * {@link ExecutionContext#adoptTable(BufferedDataTable, Set, ExecutionMonitor)}). The returned tables stay valid
+     * when the chunk is removed, so the loop end node can reference them (e.g. in a concatenate table) instead of
+     * copying them.
+     *
+     * @param exec The context of the loop end node.
+     * @return array with PortObjects at the end node of this chunk.
+     * @throws CanceledExecutionException If canceled while copying a table that cannot be taken over.
+     * @since 3.6
+     */
+    public PortObject[] adoptOutportContent(final ExecutionContext exec) throws CanceledExecutionException {
+        PortObject[] content = getOutportContent();
+        Set<Node> chunkNodes = new HashSet<Node>();
+        collectNodes(m_manager.getNodeContainer(m_virtualInputID), chunkNodes);
+        for (NodeID id : m_copiedLoopContent) {
+            collectNodes(m_manager.getNodeContainer(id), chunkNodes);
+        }
+        collectNodes(m_manager.getNodeContainer(m_virtualOutputID), chunkNodes);
+        PortObject[] result = new PortObject[content.length];
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] instanceof BufferedDataTable) {
+                result[i] = exec.adoptTable((BufferedDataTable)content[i], chunkNodes, exec);
+            } else {
+                result[i] = content[i];
+            }
+        }
+        return result;
+    }
+
+    /** Adds the nodes of the argument, including those in metanodes and components, to the set. */
+    private static void collectNodes(final NodeContainer nc, final Set<Node> result) {
+        if (nc instanceof NativeNodeContainer) {
+            result.add(((NativeNodeContainer)nc).getNode());
+        } else if (nc instanceof SubNodeContainer) {
+            collectNodes(((SubNodeContainer)nc).getWorkflowManager(), result);
+        } else if (nc instanceof WorkflowManager) {
+            for (NodeContainer child : ((WorkflowManager)nc).getNodeContainers()) {
+                collectNodes(child, result);
+            }
+        }
+    }
 }
@@ -0,0 +1,212 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ *
+ * History
+ *   Oct 17, 2026 (KNIME AG): created
+ */
+package org.knime.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.knime.core.node.CanceledExecutionException;
+
+/**
+ * Runs work on the calling thread, joined by helpers from a {@link ThreadPool} as long as the pool has idle threads
+ * (see {@link ThreadPool#trySubmit(Runnable)}). It never blocks waiting for a free thread, hence it can be used by
+ * tasks that run in the pool themselves. The work is typically a loop that takes items from a shared queue until
+ * there are none left: if the pool is saturated, the threads that are there do all of it.
+ *
+ * <p>Helpers run in the {@link org.knime.core.node.workflow.NodeContext} of the caller, as all tasks of the pool. The
+ * method returns only once all started helpers are finished, also if the work fails. Helpers that didn't start until
+ * the caller is done with its own work are skipped.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.6
+ */
+public final class HelperThreads {
+
+    /** A piece of work that can be run by the caller and the helpers. */
+    @FunctionalInterface
+    public interface Work {
+
+        /**
+         * Does the work.
+         *
+         * @throws CanceledExecutionException if canceled
+         */
+        void run() throws CanceledExecutionException;
+    }
+
+    private HelperThreads() {
+    }
+
+    /**
+     * Runs the argument work on the calling thread and on up to <code>maxHelpers</code> idle threads of the pool, see
+     * {@link #run(ThreadPool, int, IntFunction, Work)}.
+     *
+     * @param pool the pool to take idle threads from
+     * @param maxHelpers the maximum number of helpers, 0 or less to run the work on the calling thread only
+     * @param work the work, run by each thread
+     * @throws CanceledExecutionException if the work was canceled or if interrupted while waiting for the helpers
+     */
+    public static void run(final ThreadPool pool, final int maxHelpers, final Work work)
+        throws CanceledExecutionException {
+        run(pool, maxHelpers, i -> work, work);
+    }
+
+    /**
+     * Runs the caller's work on the calling thread and the work of each helper on an idle thread of the pool. If the
+     * caller's work fails or if the caller is interrupted, the helpers are canceled (interrupted) and waited for.
+     * The first failure (the caller's before the helpers') is rethrown as it is after all helpers are finished; if the
+     * caller was interrupted, its interrupted flag is set again.
+     *
+     * @param pool the pool to take idle threads from
+     * @param maxHelpers the maximum number of helpers, 0 or less to run the caller's work only
+     * @param helperWork creates the work of the helper with the given index (0 to <code>maxHelpers - 1</code>)
+     * @param callerWork the work of the calling thread
+     * @throws CanceledExecutionException if the work was canceled or if interrupted while waiting for the helpers
+     */
+    public static void run(final ThreadPool pool, final int maxHelpers, final IntFunction<Work> helperWork,
+        final Work callerWork) throws CanceledExecutionException {
+        final List<Helper> helpers = new ArrayList<Helper>();
+        Throwable failure = null;
+        try {
+            for (int i = 0; i < maxHelpers; i++) {
+                final Helper helper = new Helper(helperWork.apply(i));
+                helper.m_future = pool.trySubmit(helper);
+                if (helper.m_future == null) {
+                    // pool is saturated, the work is done by the threads that are there
+                    break;
+                }
+                helpers.add(helper);
+            }
+            callerWork.run();
+        } catch (CanceledExecutionException | RuntimeException | Error e) {
+            failure = e;
+            helpers.forEach(h -> h.m_future.cancel(true));
+        }
+        boolean isInterrupted = false;
+        for (Helper helper : helpers) {
+            while (true) {
+                try {
+                    helper.join();
+                    break;
+                } catch (InterruptedException e) {
+                    if (!isInterrupted) {
+                        isInterrupted = true;
+                        helpers.forEach(h -> h.m_future.cancel(true));
+                    }
+                }
+            }
+            if (failure == null) {
+                failure = helper.m_failure;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+            if (failure == null) {
+                failure = new CanceledExecutionException("Interrupted while waiting for helper threads");
+            }
+        }
+        if (failure instanceof CanceledExecutionException) {
+            throw (CanceledExecutionException)failure;
+        } else if (failure instanceof Error) {
+            throw (Error)failure;
+        } else if (failure != null) {
+            throw (RuntimeException)failure;
+        }
+    }
+
+    /** Runs the work of a helper, unless it is joined before it started. */
+    private static final class Helper implements Runnable {
+
+        private static final int NEW = 0;
+
+        private static final int RUNNING = 1;
+
+        private static final int SKIPPED = 2;
+
+        private final Work m_work;
+
+        private final AtomicInteger m_state = new AtomicInteger(NEW);
+
+        private final CountDownLatch m_done = new CountDownLatch(1);
+
+        private Future<?> m_future;
+
+        private volatile Throwable m_failure;
+
+        private Helper(final Work work) {
+            m_work = work;
+        }
+
+        @Override
+        public void run() {
+            if (!m_state.compareAndSet(NEW, RUNNING)) {
+                return;
+            }
+            try {
+                m_work.run();
+            } catch (CanceledExecutionException | RuntimeException | Error e) {
+                m_failure = e;
+            } finally {
+                m_done.countDown();
+            }
+        }
+
+        /** Waits until the helper is finished or prevents it from starting if it hasn't yet. */
+        private void join() throws InterruptedException {
+            if (m_state.compareAndSet(NEW, SKIPPED)) {
+                m_future.cancel(false);
+            } else {
+                m_done.await();
+            }
+        }
+    }
+}
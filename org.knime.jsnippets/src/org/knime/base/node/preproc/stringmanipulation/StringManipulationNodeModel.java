@@ -106,8 +106,19 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
         ColumnRearranger c = createColumnRearranger(inSpec);
         m_rowCount = inData[0].size();
         try {
-            BufferedDataTable o = exec.createColumnRearrangeTable(
-                    inData[0], c, exec);
+            int nrPartitions = usesRowIndex() ? 1 : exec.getNrColumnRearrangePartitions(inData[0]);
+            BufferedDataTable o;
+            if (nrPartitions > 1) {
+                // each partition evaluates the expression with its own compiled calculator
+                ColumnRearranger[] partitionRearrangers = new ColumnRearranger[nrPartitions];
+                partitionRearrangers[0] = c;
+                for (int p = 1; p < nrPartitions; p++) {
+                    partitionRearrangers[p] = createColumnRearranger(inSpec);
+                }
+                o = exec.createColumnRearrangeTable(inData[0], partitionRearrangers, exec);
+            } else {
+                o = exec.createColumnRearrangeTable(inData[0], c, exec);
+            }
             return new BufferedDataTable[]{o};
         } finally {
             m_rowCount = -1L;
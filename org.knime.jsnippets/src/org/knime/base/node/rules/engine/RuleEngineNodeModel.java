@@ -507,8 +507,22 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
             throws Exception {
         m_rowCount = inData[0].size();
         try {
-            List<Rule> rules = parseRules(inData[0].getDataTableSpec(), RuleNodeSettings.RuleEngine);
-            ColumnRearranger crea = createRearranger(inData[0].getDataTableSpec(), rules, inData[0].size(), false);
+            final DataTableSpec spec = inData[0].getDataTableSpec();
+            List<Rule> rules = parseRules(spec, RuleNodeSettings.RuleEngine);
+            ColumnRearranger crea = createRearranger(spec, rules, inData[0].size(), false);
+            final boolean distributable =
+                !hasNonDistributableRule(RuleFactory.getInstance(RuleNodeSettings.RuleEngine));
+            int nrPartitions = distributable ? exec.getNrColumnRearrangePartitions(inData[0]) : 1;
+            if (nrPartitions > 1) {
+                // each partition evaluates its own copy of the rules
+                ColumnRearranger[] partitionRearrangers = new ColumnRearranger[nrPartitions];
+                partitionRearrangers[0] = crea;
+                for (int p = 1; p < nrPartitions; p++) {
+                    partitionRearrangers[p] = createRearranger(spec,
+                        parseRules(spec, RuleNodeSettings.RuleEngine), inData[0].size(), false);
+                }
+                return new BufferedDataTable[]{exec.createColumnRearrangeTable(inData[0], partitionRearrangers, exec)};
+            }
             return new BufferedDataTable[]{exec.createColumnRearrangeTable(inData[0], crea, exec)};
         } finally {
             m_rowCount = -1;